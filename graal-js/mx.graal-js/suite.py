@@ -341,10 +341,13 @@ suite = {
         "com.oracle.truffle.js.scriptengine",
         "sdk:GRAAL_SDK",
         "mx:JUNIT",
+        "mx:JMH_1_21",
         "GRAALJS",
       ],
       "checkstyle" : "com.oracle.truffle.js",
       "javaCompliance" : "8+",
+      "annotationProcessors" : ["mx:JMH_1_21"],
+      "spotbugsIgnoresGenerated" : True,
       "workingSets" : "Truffle,JavaScript",
       "testProject" : True,
     },
@@ -507,6 +510,7 @@ suite = {
       "dependencies" : ["com.oracle.truffle.js.scriptengine.test"],
       "distDependencies" : [
         "mx:JUNIT",
+        "mx:JMH_1_21",
         "sdk:GRAAL_SDK",
         "GRAALJS",
         "GRAALJS_SCRIPTENGINE",
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHArrayBuiltinsBenchmark {
+    @State(Scope.Thread)
+    public static class MyState {
+        protected static final int OBJECT_COUNT = 1000000;
+
+        Context context;
+        Value objects;
+        Value numbers;
+        Value sortByField;
+        Value sortDefault;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            objects = context.eval(Source.create("js", "" +
+                            "var objects = new Array(" + OBJECT_COUNT + ");\n" +
+                            "var seed = 42;\n" +
+                            "for (var i = 0; i < objects.length; i++) {\n" +
+                            "  seed = (seed * 1103515245 + 12345) & 0x7fffffff;\n" +
+                            "  objects[i] = {x: seed, name: 'o' + i};\n" +
+                            "}\n" +
+                            "objects;"));
+            numbers = context.eval(Source.create("js", "objects.map(o => o.x / 1000)"));
+            sortByField = context.eval(Source.create("js", "(function(objects) { return objects.slice().sort((a, b) => a.x - b.x); })"));
+            sortDefault = context.eval(Source.create("js", "(function(array) { return array.slice().sort(); })"));
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ArrayBuildingState {
+        protected static final int ELEMENT_COUNT = 100000;
+
+        Context context;
+        Value ints;
+        Value doubles;
+        Value pushMany;
+        Value concat;
+        Value sliceChunks;
+        Value spliceMiddle;
+        Value mapFilterReduce;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            ints = context.eval(Source.create("js", "Array.from({length: " + ELEMENT_COUNT + "}, (v, i) => i)"));
+            doubles = context.eval(Source.create("js", "Array.from({length: " + ELEMENT_COUNT + "}, (v, i) => i + 0.5)"));
+            pushMany = context.eval(Source.create("js", "" +
+                            "(function(n) {\n" +
+                            "  var a = [];\n" +
+                            "  for (var i = 0; i < n; i += 4) {\n" +
+                            "    a.push(i, i + 1, i + 2, i + 3);\n" +
+                            "  }\n" +
+                            "  return a;\n" +
+                            "})"));
+            concat = context.eval(Source.create("js", "(function(a, b) { return a.concat(b, a); })"));
+            sliceChunks = context.eval(Source.create("js", "" +
+                            "(function(a) {\n" +
+                            "  var sum = 0;\n" +
+                            "  for (var i = 0; i < a.length; i += 1000) {\n" +
+                            "    sum += a.slice(i, i + 1000).length;\n" +
+                            "  }\n" +
+                            "  return sum;\n" +
+                            "})"));
+            spliceMiddle = context.eval(Source.create("js", "(function(a) { return a.slice().splice(1000, a.length - 2000); })"));
+            mapFilterReduce = context.eval(Source.create("js", "(function(a) { return a.map(x => x * 3).filter(x => (x & 1) === 0).reduce((acc, x) => acc + x, 0); })"));
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Value testSortObjectsByField(MyState state) {
+        return state.sortByField.execute(state.objects);
+    }
+
+    @Benchmark
+    public Value testSortNumbersDefault(MyState state) {
+        return state.sortDefault.execute(state.numbers);
+    }
+
+    @Benchmark
+    public Value testPushMany(ArrayBuildingState state) {
+        return state.pushMany.execute(ArrayBuildingState.ELEMENT_COUNT);
+    }
+
+    @Benchmark
+    public Value testConcatIntsDoubles(ArrayBuildingState state) {
+        return state.concat.execute(state.ints, state.doubles);
+    }
+
+    @Benchmark
+    public Value testSliceChunks(ArrayBuildingState state) {
+        return state.sliceChunks.execute(state.doubles);
+    }
+
+    @Benchmark
+    public Value testSpliceMiddle(ArrayBuildingState state) {
+        return state.spliceMiddle.execute(state.ints);
+    }
+
+    @Benchmark
+    public Value testMapFilterReduceInts(ArrayBuildingState state) {
+        return state.mapFilterReduce.execute(state.ints);
+    }
+
+    @Benchmark
+    public Value testMapFilterReduceDoubles(ArrayBuildingState state) {
+        return state.mapFilterReduce.execute(state.doubles);
+    }
+}
@@ -40,6 +40,8 @@
  */
 package com.oracle.truffle.js.jmh;
 
+import java.util.List;
+
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
@@ -125,4 +127,24 @@ public class JMHArrayInteropBenchmark {
         }
         return array;
     }
+
+    @Benchmark
+    public long testIterateJSArrayAsListFromJava(MyState state) {
+        List<?> list = state.preallocatedArray.as(List.class);
+        long sum = 0;
+        for (Object element : list) {
+            sum += ((Number) element).longValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int[] testConvertJSArrayToIntArray(MyState state) {
+        return state.preallocatedArray.as(int[].class);
+    }
+
+    @Benchmark
+    public int[] testConvertJSTypedArrayToIntArray(MyState state) {
+        return state.preallocatedTypedArray.as(int[].class);
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures CommonJS {@code require} in short-lived contexts of a shared engine. The fixture is a
+ * deeply nested application folder whose packages are located in the top-level
+ * {@code node_modules} folder, so that every resolution has to walk up the whole directory tree.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHCommonJSRequireBenchmark {
+    private static final int DEPTH = 12;
+    private static final int PACKAGES = 20;
+
+    @State(Scope.Thread)
+    public static class MyState {
+        @Param({"false", "true"}) boolean resolutionCache;
+
+        Engine engine;
+        Path root;
+        Path cwd;
+        Source requireSource;
+
+        @Setup(Level.Trial)
+        public void doSetup() throws IOException {
+            engine = Engine.create();
+            root = Files.createTempDirectory("jmh-commonjs");
+            cwd = root;
+            for (int i = 0; i < DEPTH; i++) {
+                cwd = cwd.resolve("dir" + i);
+            }
+            Files.createDirectories(cwd);
+            StringBuilder src = new StringBuilder("var sum = 0;\n");
+            for (int i = 0; i < PACKAGES; i++) {
+                Path pkg = root.resolve("node_modules").resolve("pkg" + i);
+                Files.createDirectories(pkg.resolve("lib"));
+                write(pkg.resolve("package.json"), "{\"name\": \"pkg" + i + "\", \"main\": \"lib/main\"}");
+                write(pkg.resolve("lib").resolve("main.js"), "module.exports = require('./value');");
+                write(pkg.resolve("lib").resolve("value.js"), "module.exports = " + i + ";");
+                src.append("sum += require('pkg").append(i).append("');\n");
+            }
+            src.append("sum;");
+            requireSource = Source.create("js", src.toString());
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() throws IOException {
+            engine.close();
+            try (Stream<Path> files = Files.walk(root)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+
+        private static void write(Path file, String content) throws IOException {
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public int testRequireDeepNodeModules(MyState state) {
+        try (Context context = Context.newBuilder("js").engine(state.engine).allowIO(true).allowExperimentalOptions(true).//
+                        option("js.commonjs-require", "true").//
+                        option("js.commonjs-require-cwd", state.cwd.toString()).//
+                        option("js.commonjs-resolution-cache", String.valueOf(state.resolutionCache)).build()) {
+            return context.eval(state.requireSource).asInt();
+        }
+    }
+}
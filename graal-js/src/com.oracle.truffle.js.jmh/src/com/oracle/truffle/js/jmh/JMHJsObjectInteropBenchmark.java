@@ -67,6 +67,7 @@ public class JMHJsObjectInteropBenchmark {
         protected static final int MIN_PROPERTY_VALUE_LENGTH = 3;
         protected static final int MAX_PROPERTY_VALUE_LENGTH = 50;
         protected static final int PROPERTIES_COUNT = 10;
+        protected static final int WIDE_OBJECT_PROPERTIES_COUNT = 30;
         protected static final Character[] ALLOWED_CHARS = IntStream.range(0, 256).filter(i -> Character.isAlphabetic(i) || Character.isDigit(i)).mapToObj(i -> (char) i).toArray(Character[]::new);
 
         String generateString(int length) {
@@ -81,6 +82,8 @@ public class JMHJsObjectInteropBenchmark {
         Source emptyObjectSource;
         String[] propertyKeys;
         String[] propertyValues;
+        String[] wideObjectKeys;
+        Value wideObject;
         Random rnd;
 
         @Setup(Level.Trial)
@@ -92,6 +95,8 @@ public class JMHJsObjectInteropBenchmark {
                             String[]::new);
             propertyValues = IntStream.range(0, PROPERTIES_COUNT).mapToObj(i -> generateString(3 + rnd.nextInt(MAX_PROPERTY_VALUE_LENGTH - MIN_PROPERTY_VALUE_LENGTH + 1))).toArray(
                             String[]::new);
+            wideObjectKeys = IntStream.range(0, WIDE_OBJECT_PROPERTIES_COUNT).mapToObj(i -> "p" + i).toArray(String[]::new);
+            wideObject = context.eval("js", "(function(n) { var o = {}; for (var i = 0; i < n; i++) { o['p' + i] = i; } return o; })").execute(WIDE_OBJECT_PROPERTIES_COUNT);
         }
 
         @TearDown(Level.Trial)
@@ -109,4 +114,22 @@ public class JMHJsObjectInteropBenchmark {
         return object;
     }
 
+    @Benchmark
+    public int testReadJSObjectMembersFromJava(MyState state) {
+        int sum = 0;
+        for (String key : state.wideObjectKeys) {
+            sum += state.wideObject.getMember(key).asInt();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Value testWriteJSObjectMembersFromJava(MyState state) {
+        Value object = state.wideObject;
+        String[] keys = state.wideObjectKeys;
+        for (int i = 0; i < keys.length; i++) {
+            object.putMember(keys[i], i);
+        }
+        return object;
+    }
 }
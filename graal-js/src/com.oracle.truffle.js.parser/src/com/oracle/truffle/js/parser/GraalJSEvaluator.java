@@ -104,6 +104,7 @@ import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSModuleNamespace;
 import com.oracle.truffle.js.runtime.builtins.JSPromise;
 import com.oracle.truffle.js.runtime.objects.ExportResolution;
+import com.oracle.truffle.js.runtime.objects.JSModuleData;
 import com.oracle.truffle.js.runtime.objects.JSModuleLoader;
 import com.oracle.truffle.js.runtime.objects.JSModuleRecord;
 import com.oracle.truffle.js.runtime.objects.JSModuleRecord.Status;
@@ -353,7 +354,12 @@ public final class GraalJSEvaluator implements JSParser {
     @Override
     public JSModuleRecord parseModule(JSContext context, Source source, JSModuleLoader moduleLoader) {
         try {
-            return JavaScriptTranslator.translateModule(NodeFactory.getInstance(context), context, source, moduleLoader);
+            JSModuleData parsedModule = context.getCachedModuleData(source);
+            if (parsedModule == null) {
+                parsedModule = JavaScriptTranslator.translateModule(NodeFactory.getInstance(context), context, source);
+                parsedModule = context.putCachedModuleData(source, parsedModule);
+            }
+            return new JSModuleRecord(parsedModule, context, moduleLoader);
         } catch (com.oracle.js.parser.ParserException e) {
             throw Errors.createSyntaxError(e.getMessage(), e, null);
         }
@@ -103,6 +103,22 @@ public final class DoubleConversion {
         return buffer.format(DtoaMode.SHORTEST, 0);
     }
 
+    /**
+     * Appends the shortest string representation of a double number to a string builder, without
+     * creating an intermediate string.
+     *
+     * @param value number to convert
+     * @param builder string builder to append to
+     */
+    public static void appendShortest(final double value, final StringBuilder builder) {
+        assert Double.isFinite(value) : value;
+
+        final DtoaBuffer buffer = new DtoaBuffer(FastDtoa.kFastDtoaMaximalLength);
+        dtoaShortest(value, buffer);
+
+        buffer.format(DtoaMode.SHORTEST, 0, builder);
+    }
+
     private static void dtoaShortest(final double value, final DtoaBuffer buffer) {
         final double absValue = Math.abs(value);
 
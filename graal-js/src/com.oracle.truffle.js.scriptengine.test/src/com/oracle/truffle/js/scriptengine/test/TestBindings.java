@@ -41,8 +41,11 @@
 package com.oracle.truffle.js.scriptengine.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeFalse;
@@ -55,7 +58,9 @@ import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 import javax.script.SimpleBindings;
+import javax.script.SimpleScriptContext;
 
+import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.HostAccess;
 import org.junit.Test;
 
@@ -115,6 +120,167 @@ public class TestBindings {
         assertTrue(result);
     }
 
+    @Test
+    public void bindingsAddGlobalAfterEval() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        Bindings bindings = engine.getBindings(ScriptContext.GLOBAL_SCOPE);
+        bindings.put("first", 1);
+        assertEquals(1, ((Number) engine.eval("first")).intValue());
+        assertEquals(1, ((Number) engine.eval("first")).intValue());
+        bindings.put("second", 2);
+        assertEquals(3, ((Number) engine.eval("first + second")).intValue());
+    }
+
+    @Test
+    public void bindingsDeleteImportedGlobal() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        Bindings bindings = engine.getBindings(ScriptContext.GLOBAL_SCOPE);
+        bindings.put("first", 1);
+        assertEquals(1, ((Number) engine.eval("first")).intValue());
+        assertTrue((boolean) engine.eval("delete globalThis.first"));
+        // the deleted global is imported again
+        assertEquals(1, ((Number) engine.eval("first")).intValue());
+        // the binding is visible again right after the delete
+        assertEquals(1, ((Number) engine.eval("delete globalThis.first; first")).intValue());
+        bindings.remove("first");
+        assertTrue((boolean) engine.eval("delete globalThis.first; typeof first === 'undefined'"));
+    }
+
+    @Test
+    public void pooledContextIsReset() throws Exception {
+        GraalJSScriptEngine engine = getPooledEngine("60000");
+        Bindings first = engine.createBindings();
+        engine.eval("var a = 1; let b = 2; function f() {} Math = null;", first);
+        Context firstContext = getPolyglotContext(engine, first);
+        ((AutoCloseable) first).close();
+
+        Bindings second = engine.createBindings();
+        assertTrue((boolean) engine.eval("typeof a === 'undefined' && typeof b === 'undefined' && typeof f === 'undefined' && typeof Math === 'object'", second));
+        assertEquals(3, ((Number) engine.eval("let b = 3; b", second)).intValue());
+        assertSame(firstContext, getPolyglotContext(engine, second));
+        ((AutoCloseable) second).close();
+        engine.close();
+    }
+
+    @Test
+    public void pooledContextResetIsHidden() throws Exception {
+        GraalJSScriptEngine engine = getPooledEngine("60000");
+        Bindings bindings = engine.createBindings();
+        assertTrue((boolean) engine.eval("typeof resetScriptEngineGlobal === 'undefined' && !('resetScriptEngineGlobal' in globalThis)", bindings));
+        assertFalse(getPolyglotContext(engine, bindings).getBindings("js").hasMember("resetScriptEngineGlobal"));
+        ((AutoCloseable) bindings).close();
+        engine.close();
+    }
+
+    @Test
+    public void modifiedBuiltinsAreNotPooled() throws Exception {
+        GraalJSScriptEngine engine = getPooledEngine("60000");
+        Bindings first = engine.createBindings();
+        engine.eval("Array.prototype.first = function() { return this[0]; };", first);
+        Context firstContext = getPolyglotContext(engine, first);
+        ((AutoCloseable) first).close();
+        assertClosed(firstContext);
+
+        Bindings second = engine.createBindings();
+        assertTrue((boolean) engine.eval("[].first === undefined", second));
+        assertNotSame(firstContext, getPolyglotContext(engine, second));
+        ((AutoCloseable) second).close();
+        engine.close();
+    }
+
+    @Test
+    public void pooledContextRealmStateIsReset() throws Exception {
+        GraalJSScriptEngine engine = getPooledEngine("60000");
+        Context firstContext = null;
+        for (int i = 0; i < 3; i++) {
+            Bindings bindings = engine.createBindings();
+            assertTrue((boolean) engine.eval("RegExp.$1 === '' && typeof Reflect.ownKeys === 'function'", bindings));
+            engine.eval("/(a)/.exec('a'); Promise.resolve().then(() => { globalThis.late = true; });", bindings);
+            Context context = getPolyglotContext(engine, bindings);
+            if (firstContext == null) {
+                firstContext = context;
+            } else {
+                assertSame(firstContext, context);
+            }
+            ((AutoCloseable) bindings).close();
+        }
+        engine.close();
+    }
+
+    @Test
+    public void symbolRegistryChangesAreNotPooled() throws Exception {
+        GraalJSScriptEngine engine = getPooledEngine("60000");
+        Bindings bindings = engine.createBindings();
+        engine.eval("Symbol.for('pooled')", bindings);
+        Context context = getPolyglotContext(engine, bindings);
+        ((AutoCloseable) bindings).close();
+        assertClosed(context);
+        engine.close();
+    }
+
+    @Test
+    public void idleContextsAreClosed() throws Exception {
+        GraalJSScriptEngine engine = getPooledEngine("60000");
+        Bindings bindings = engine.createBindings();
+        engine.eval("1", bindings);
+        Context pooledContext = getPolyglotContext(engine, bindings);
+        ((AutoCloseable) bindings).close();
+        engine.close();
+        assertClosed(pooledContext);
+
+        engine = getPooledEngine("10");
+        bindings = engine.createBindings();
+        engine.eval("1", bindings);
+        pooledContext = getPolyglotContext(engine, bindings);
+        ((AutoCloseable) bindings).close();
+        // evicted by the timer, without further use of the engine
+        for (int i = 0; i < 500 && isOpen(pooledContext); i++) {
+            Thread.sleep(10);
+        }
+        assertClosed(pooledContext);
+        engine.close();
+    }
+
+    private GraalJSScriptEngine getPooledEngine(String idleTimeout) {
+        String poolSizeProperty = "graaljs.scriptengine-context-pool-size";
+        String idleTimeoutProperty = "graaljs.scriptengine-context-pool-idle-timeout";
+        String previousPoolSize = System.setProperty(poolSizeProperty, "1");
+        String previousIdleTimeout = System.setProperty(idleTimeoutProperty, idleTimeout);
+        try {
+            return (GraalJSScriptEngine) getEngine();
+        } finally {
+            restoreProperty(poolSizeProperty, previousPoolSize);
+            restoreProperty(idleTimeoutProperty, previousIdleTimeout);
+        }
+    }
+
+    private static void restoreProperty(String key, String previous) {
+        if (previous == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, previous);
+        }
+    }
+
+    private static boolean isOpen(Context context) {
+        try {
+            context.eval("js", "1");
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private static void assertClosed(Context context) {
+        assertFalse(isOpen(context));
+    }
+
+    private static Context getPolyglotContext(GraalJSScriptEngine engine, Bindings bindings) {
+        ScriptContext scriptContext = new SimpleScriptContext();
+        scriptContext.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+        return engine.getPolyglotContext(scriptContext);
+    }
+
     @Test
     public void bindingsRemoveGlobal() throws ScriptException {
         ScriptEngine engine = getEngine();
@@ -98,6 +98,26 @@ public class TestEngine {
         assertEquals(true, ((Compilable) getEngine()).compile("true").eval());
     }
 
+    @Test
+    public void evalSameScriptRepeatedly() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        String script = "var counter = (typeof counter === 'undefined') ? 1 : counter + 1; counter;";
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(i, ((Number) engine.eval(script)).intValue());
+        }
+    }
+
+    @Test
+    public void evalSameScriptWithDifferentFileNames() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        String script = "new Error().stack";
+        assertTrue(((String) engine.eval(script)).contains("<eval>"));
+        engine.getContext().setAttribute(ScriptEngine.FILENAME, "first.js", ScriptContext.ENGINE_SCOPE);
+        assertTrue(((String) engine.eval(script)).contains("first.js"));
+        engine.getContext().setAttribute(ScriptEngine.FILENAME, "second.js", ScriptContext.ENGINE_SCOPE);
+        assertTrue(((String) engine.eval(script)).contains("second.js"));
+    }
+
     @Test
     public void compileSyntaxError() throws ScriptException {
         expectedException.expect(ScriptException.class);
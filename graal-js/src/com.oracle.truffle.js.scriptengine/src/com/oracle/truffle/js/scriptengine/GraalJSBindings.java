@@ -41,6 +41,7 @@
 package com.oracle.truffle.js.scriptengine;
 
 import java.util.AbstractMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -67,10 +68,23 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     private Context.Builder contextBuilder;
     // ScriptContext of the ScriptEngine where these bindings form ENGINE_SCOPE bindings
     private ScriptContext engineScriptContext;
+    // GLOBAL_SCOPE bindings imported into the global object, and the keys imported so far
+    private Bindings importedGlobalBindings;
+    private final Set<String> importedGlobalKeys = new HashSet<>();
+    // pool the context is taken from and returned to, null if the context is not pooled
+    private GraalJSContextPool contextPool;
+    // internal function that resets the global environment before the context is pooled
+    private Value resetFunction;
+    private boolean closed;
 
     GraalJSBindings(Context.Builder contextBuilder, ScriptContext scriptContext) {
+        this(contextBuilder, scriptContext, null);
+    }
+
+    GraalJSBindings(Context.Builder contextBuilder, ScriptContext scriptContext, GraalJSContextPool contextPool) {
         this.contextBuilder = contextBuilder;
         this.engineScriptContext = scriptContext;
+        this.contextPool = contextPool;
     }
 
     GraalJSBindings(Context context, ScriptContext scriptContext) {
@@ -81,12 +95,22 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
 
     private void requireContext() {
         if (context == null) {
+            if (closed) {
+                throw new IllegalStateException("bindings have been closed");
+            }
             initContext();
         }
     }
 
     private void initContext() {
-        context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        GraalJSContextPool.PooledContext pooledContext = contextPool == null ? null : contextPool.acquire();
+        if (pooledContext != null) {
+            context = pooledContext.context;
+            resetFunction = pooledContext.resetFunction;
+        } else {
+            context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+            resetFunction = GraalJSContextPool.takeResetFunction(context);
+        }
         initGlobal();
     }
 
@@ -118,6 +142,8 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
                     throw new IllegalArgumentException("unkown graal-js option \"" + name + "\"");
                 } else {
                     contextBuilder = optionSetter.setOption(contextBuilder, v);
+                    // contexts with custom options must not be shared with other bindings
+                    contextPool = null;
                     return true;
                 }
             } else {
@@ -171,10 +197,27 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
         return global.entrySet();
     }
 
+    /**
+     * Closes the polyglot context of these bindings or, if they were created by a
+     * {@link GraalJSScriptEngine} with context pooling enabled, resets it and returns it to the
+     * pool of the engine. This is the only way how a context gets back into the pool.
+     */
     @Override
     public void close() {
         if (context != null) {
-            context.close();
+            if (contextPool != null) {
+                contextPool.release(context, resetFunction);
+                context = null;
+                resetFunction = null;
+                global = null;
+                deleteProperty = null;
+                clear = null;
+                importedGlobalBindings = null;
+                importedGlobalKeys.clear();
+                closed = true;
+            } else {
+                context.close();
+            }
         }
     }
 
@@ -183,10 +226,28 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     }
 
     void importGlobalBindings(ScriptContext scriptContext) {
+        requireContext();
         Bindings globalBindings = scriptContext.getBindings(ScriptContext.GLOBAL_SCOPE);
-        if (globalBindings != null && !globalBindings.isEmpty() && this != globalBindings) {
+        if (globalBindings != null && !globalBindings.isEmpty() && this != globalBindings && hasNewKeys(globalBindings)) {
             getContext().getBindings("js").getMember(SCRIPT_CONTEXT_GLOBAL_BINDINGS_IMPORT_FUNCTION_NAME).execute(globalBindings);
+            importedGlobalKeys.addAll(globalBindings.keySet());
+        }
+    }
+
+    /**
+     * Imported bindings are accessed through live property proxies that the global object restores
+     * when they are deleted, so they only need to be imported again if keys have been added since
+     * the last import. The GLOBAL_SCOPE bindings are usually owned by the ScriptEngineManager and
+     * modified directly, so the keys are compared on the host side without calling into the
+     * context.
+     */
+    private boolean hasNewKeys(Bindings globalBindings) {
+        if (globalBindings != importedGlobalBindings) {
+            importedGlobalBindings = globalBindings;
+            importedGlobalKeys.clear();
+            return true;
         }
+        return !importedGlobalKeys.containsAll(globalBindings.keySet());
     }
 
     void updateEngineScriptContext(ScriptContext scriptContext) {
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Value;
+
+/**
+ * Pool of idle polyglot contexts of a {@link GraalJSScriptEngine}. Contexts are reset to their
+ * initial global environment when they are released, so that bindings created later can reuse an
+ * initialized (and warmed-up) context instead of building a new one. Contexts whose built-in
+ * objects have been modified by scripts are closed instead. Contexts that stayed idle for longer
+ * than the idle timeout are closed by a background timer, and all idle contexts are closed when
+ * the pool is closed together with its engine.
+ */
+final class GraalJSContextPool implements AutoCloseable {
+    private static final String RESET_FUNCTION_NAME = "resetScriptEngineGlobal";
+
+    private static ScheduledExecutorService evictionExecutor;
+
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final ArrayDeque<PooledContext> idleContexts = new ArrayDeque<>();
+    private ScheduledFuture<?> scheduledEviction;
+    private boolean closed;
+
+    GraalJSContextPool(int maxSize, long idleTimeoutMillis) {
+        assert maxSize > 0;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Takes the internal reset function from a newly created context and removes it from the
+     * bindings, so that neither scripts nor other users of the bindings can reach it. Returns
+     * {@code null} if the context does not provide it.
+     */
+    static Value takeResetFunction(Context context) {
+        Value bindings = context.getBindings(GraalJSScriptEngine.ID);
+        Value reset = bindings.getMember(RESET_FUNCTION_NAME);
+        if (reset == null || !reset.canExecute()) {
+            return null;
+        }
+        bindings.removeMember(RESET_FUNCTION_NAME);
+        return reset;
+    }
+
+    /**
+     * Returns the most recently released context, or {@code null} if the pool is empty.
+     */
+    synchronized PooledContext acquire() {
+        evictIdleContexts(System.currentTimeMillis());
+        return idleContexts.pollLast();
+    }
+
+    /**
+     * Resets the global environment of the context and returns it to the pool. The context is
+     * closed instead if it cannot be reset or if the pool is full or closed.
+     */
+    void release(Context context, Value resetFunction) {
+        if (!resetGlobal(context, resetFunction)) {
+            return;
+        }
+        synchronized (this) {
+            if (!closed) {
+                long now = System.currentTimeMillis();
+                evictIdleContexts(now);
+                if (idleContexts.size() < maxSize) {
+                    idleContexts.addLast(new PooledContext(context, resetFunction, now));
+                    scheduleEviction();
+                    return;
+                }
+            }
+        }
+        context.close();
+    }
+
+    /**
+     * Closes all idle contexts. Contexts released afterwards are closed immediately.
+     */
+    @Override
+    public void close() {
+        List<PooledContext> toClose;
+        synchronized (this) {
+            closed = true;
+            if (scheduledEviction != null) {
+                scheduledEviction.cancel(false);
+                scheduledEviction = null;
+            }
+            toClose = new ArrayList<>(idleContexts);
+            idleContexts.clear();
+        }
+        for (PooledContext idle : toClose) {
+            closeQuietly(idle.context);
+        }
+    }
+
+    private static boolean resetGlobal(Context context, Value resetFunction) {
+        try {
+            if (resetFunction != null && resetFunction.execute().asBoolean()) {
+                return true;
+            }
+            // built-in objects have been modified, or the context cannot be reset
+            context.close();
+        } catch (PolyglotException e) {
+            closeQuietly(context);
+        } catch (IllegalStateException e) {
+            // context already closed
+        }
+        return false;
+    }
+
+    private static void closeQuietly(Context context) {
+        try {
+            context.close();
+        } catch (IllegalStateException e) {
+            // context already closed or in use by another thread
+        }
+    }
+
+    private void evictIdleContexts(long now) {
+        if (idleTimeoutMillis <= 0) {
+            return;
+        }
+        for (Iterator<PooledContext> iterator = idleContexts.iterator(); iterator.hasNext();) {
+            PooledContext idle = iterator.next();
+            if (now - idle.releaseTime < idleTimeoutMillis) {
+                // contexts are ordered by release time
+                break;
+            }
+            iterator.remove();
+            closeQuietly(idle.context);
+        }
+    }
+
+    /**
+     * Schedules the eviction of the oldest idle context, unless an eviction is already pending.
+     */
+    private void scheduleEviction() {
+        assert Thread.holdsLock(this);
+        if (idleTimeoutMillis <= 0 || closed || scheduledEviction != null || idleContexts.isEmpty()) {
+            return;
+        }
+        long delay = Math.max(0, idleContexts.peekFirst().releaseTime + idleTimeoutMillis - System.currentTimeMillis());
+        scheduledEviction = getEvictionExecutor().schedule(this::runScheduledEviction, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void runScheduledEviction() {
+        scheduledEviction = null;
+        if (!closed) {
+            evictIdleContexts(System.currentTimeMillis());
+            scheduleEviction();
+        }
+    }
+
+    private static synchronized ScheduledExecutorService getEvictionExecutor() {
+        if (evictionExecutor == null) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "graaljs-scriptengine-context-pool-eviction");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            evictionExecutor = executor;
+        }
+        return evictionExecutor;
+    }
+
+    /**
+     * A pooled context and the reset function taken from it when it was created.
+     */
+    static final class PooledContext {
+        final Context context;
+        final Value resetFunction;
+        final long releaseTime;
+
+        PooledContext(Context context, Value resetFunction, long releaseTime) {
+            this.context = context;
+            this.resetFunction = resetFunction;
+            this.releaseTime = releaseTime;
+        }
+    }
+}
@@ -82,18 +82,21 @@ import org.graalvm.polyglot.proxy.Proxy;
  */
 public final class GraalJSScriptEngine extends AbstractScriptEngine implements Compilable, Invocable, AutoCloseable {
 
-    private static final String ID = "js";
+    static final String ID = "js";
     private static final String POLYGLOT_CONTEXT = "polyglot.context";
     private static final String OUT_SYMBOL = "$$internal.out$$";
     private static final String IN_SYMBOL = "$$internal.in$$";
     private static final String ERR_SYMBOL = "$$internal.err$$";
     private static final String JS_SYNTAX_EXTENSIONS_OPTION = "js.syntax-extensions";
     private static final String JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION = "js.script-engine-global-scope-import";
+    private static final String JS_SCRIPT_ENGINE_CONTEXT_RESET_OPTION = "js.script-engine-context-reset";
     private static final String JS_LOAD_OPTION = "js.load";
     private static final String JS_PRINT_OPTION = "js.print";
     private static final String JS_GLOBAL_ARGUMENTS_OPTION = "js.global-arguments";
     private static final String NASHORN_COMPATIBILITY_MODE_SYSTEM_PROPERTY = "polyglot.js.nashorn-compat";
     private static final String INSECURE_SCRIPTENGINE_ACCESS_SYSTEM_PROPERTY = "graaljs.insecure-scriptengine-access";
+    private static final String CONTEXT_POOL_SIZE_SYSTEM_PROPERTY = "graaljs.scriptengine-context-pool-size";
+    private static final String CONTEXT_POOL_IDLE_TIMEOUT_SYSTEM_PROPERTY = "graaljs.scriptengine-context-pool-idle-timeout";
     static final String MAGIC_OPTION_PREFIX = "polyglot.js.";
 
     private static final HostAccess NASHORN_HOST_ACCESS = createNashornHostAccess();
@@ -255,6 +258,12 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     private final GraalJSEngineFactory factory;
     private final Context.Builder contextConfig;
+    /**
+     * Idle contexts of closed bindings, reused by bindings created later. Disabled by default.
+     * Contexts are only returned to the pool when bindings are closed explicitly, see
+     * {@link #createBindings()}.
+     */
+    private final GraalJSContextPool contextPool = createContextPool();
 
     private boolean evalCalled;
 
@@ -282,8 +291,19 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
             }
         }
         this.factory = (factory == null) ? new GraalJSEngineFactory(engineToUse) : factory;
+        if (contextPool != null) {
+            contextConfigToUse.option(JS_SCRIPT_ENGINE_CONTEXT_RESET_OPTION, "true");
+        }
         this.contextConfig = contextConfigToUse.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engineToUse);
-        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.context), ScriptContext.ENGINE_SCOPE);
+        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.context, contextPool), ScriptContext.ENGINE_SCOPE);
+    }
+
+    private static GraalJSContextPool createContextPool() {
+        int poolSize = Integer.getInteger(CONTEXT_POOL_SIZE_SYSTEM_PROPERTY, 0);
+        if (poolSize <= 0) {
+            return null;
+        }
+        return new GraalJSContextPool(poolSize, Long.getLong(CONTEXT_POOL_IDLE_TIMEOUT_SYSTEM_PROPERTY, 60000));
     }
 
     private static void updateForNashornCompatibilityMode(Context.Builder builder) {
@@ -309,11 +329,15 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     /**
      * Closes the current context and makes it unusable. Operations performed after closing will
-     * throw an {@link IllegalStateException}.
+     * throw an {@link IllegalStateException}. If context pooling is enabled, all idle contexts of
+     * the pool are closed as well.
      */
     @Override
     public void close() {
         getPolyglotContext().close();
+        if (contextPool != null) {
+            contextPool.close();
+        }
     }
 
     /**
@@ -346,9 +370,20 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         return context.eval(Source.newBuilder(ID, script, "internal-script").internal(true).buildLiteral());
     }
 
+    /**
+     * Creates new bindings with their own polyglot context, which is created when the bindings are
+     * first used.
+     *
+     * If context pooling is enabled (system property
+     * {@code graaljs.scriptengine-context-pool-size}), the bindings may reuse an idle context of
+     * this engine instead. A context is only returned to the pool when its bindings are closed
+     * explicitly by casting them to {@link AutoCloseable}; bindings that are simply dropped, as is
+     * common with the {@code javax.script} API, never make their context available to other
+     * bindings.
+     */
     @Override
     public Bindings createBindings() {
-        return new GraalJSBindings(contextConfig, null);
+        return new GraalJSBindings(contextConfig, null, contextPool);
     }
 
     @Override
@@ -477,7 +512,10 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
                     engineB.remove(optionSetter.getOptionKey());
                 }
             }
-            ctx = createDefaultContext(builder);
+            Context newContext = createDefaultContext(builder);
+            // only contexts of GraalJSBindings are pooled, hide the reset function from others
+            GraalJSContextPool.takeResetFunction(newContext);
+            ctx = newContext;
             engineB.put(POLYGLOT_CONTEXT, ctx);
         }
         return (Context) ctx;
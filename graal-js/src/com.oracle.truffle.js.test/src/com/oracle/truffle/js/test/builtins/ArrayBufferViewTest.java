@@ -84,4 +84,57 @@ public class ArrayBufferViewTest {
         }
     }
 
-}
+    private static void assertScript(String expected, String script) {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value value = context.eval(JavaScriptLanguage.ID, script);
+            assertEquals(expected, value.asString());
+        }
+    }
+
+    @Test
+    public void testFill() {
+        assertScript("0,7,7,7,0", "var a = new Int16Array(5); a.fill(7, 1, -1); a.join();");
+        assertScript("255,255,255", "new Uint8ClampedArray(3).fill(300).join();");
+        assertScript("1.5,1.5,1.5,1.5,1.5,1.5,1.5", "new Float64Array(7).fill(1.5).join();");
+        assertScript("0,5,5,0", "var a = new Int32Array(new ArrayBuffer(24), 4, 4); a.fill(5, 1, 3); a.join();");
+    }
+
+    @Test
+    public void testReverse() {
+        assertScript("5,4,3,2,1", "new Uint16Array([1, 2, 3, 4, 5]).reverse().join();");
+        assertScript("-0.5,2.5,1", "new Float32Array([1, 2.5, -0.5]).reverse().join();");
+        assertScript("0,3,2,1,0", "var b = new ArrayBuffer(40); var a = new Float64Array(b, 8, 3); a.set([1, 2, 3]); a.reverse(); new Float64Array(b).join();");
+    }
+
+    @Test
+    public void testCopyWithin() {
+        assertScript("1,2,1,2,3", "new Int32Array([1, 2, 3, 4, 5]).copyWithin(2, 0, 3).join();");
+        assertScript("3,4,5,4,5", "new Int8Array([1, 2, 3, 4, 5]).copyWithin(0, 2).join();");
+        assertScript("1,2,3,1,2,3,4", "var a = new Float32Array([1, 2, 3, 4, 5, 6, 7]); a.copyWithin(3, 0, 4); a.join();");
+    }
+
+    @Test
+    public void testSlice() {
+        assertScript("2,3,4", "new Float64Array([1, 2, 3, 4, 5]).slice(1, -1).join();");
+        assertScript("4294967295,1", "new Uint32Array([0, 4294967295, 1]).slice(1).join();");
+        assertScript("255,1", "class MyArray extends Int16Array { static get [Symbol.species]() { return Uint8Array; } }; new MyArray([-1, 1]).slice().join();");
+    }
+
+    @Test
+    public void testSearch() {
+        assertScript("3,3,-1,-1,true,false", "var a = new Float64Array([0, NaN, 1, -0]);" +
+                        "[a.indexOf(-0, 1), a.lastIndexOf(0), a.indexOf(NaN), a.indexOf('1'), a.includes(NaN), new Int8Array(2).includes(NaN)].join();");
+        assertScript("1,1,-1,true", "var a = new Uint32Array([1, 4294967295]);" +
+                        "[a.indexOf(4294967295), a.lastIndexOf(4294967295), a.indexOf(-1), a.includes(4294967295, -1)].join();");
+        assertScript("-1,false", "var a = new BigInt64Array([1n]); [a.indexOf(1), a.includes(1)].join();");
+    }
+
+    @Test
+    public void testSetDifferentTypes() {
+        assertScript("1,-1,255,0", "var f = new Float64Array(4); f.set(new Int8Array([1, -1])); f.set(new Uint8Array([255]), 2); f.join();");
+        assertScript("4294967295,0", "var f = new Float64Array(2); f.set(new Uint32Array([4294967295])); f.join();");
+        assertScript("1,-1,0,0,-16", "var i = new Int8Array(5); i.set(new Float64Array([1.9, -1.9, NaN, Infinity, 240])); i.join();");
+        assertScript("0,255,2", "var i = new Uint8ClampedArray(3); i.set(new Float32Array([-3, 300, 1.5])); i.join();");
+    }
+
+}
\ No newline at end of file
@@ -49,6 +49,7 @@ import org.graalvm.polyglot.Value;
 import org.junit.Test;
 
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
 import com.oracle.truffle.js.test.JSTest;
 
 public class ArrayPrototypeBuiltins {
@@ -81,4 +82,169 @@ public class ArrayPrototypeBuiltins {
         }
     }
 
+    @Test
+    public void testSortPrimitive() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            // compare against comparators that are not recognized as numeric comparators
+            context.eval(JavaScriptLanguage.ID, "function asc(a, b) { var d = a - b; return d; }" +
+                            "function desc(a, b) { var d = b - a; return d; }" +
+                            "function same(a, b) { return a.length === b.length && a.every((x, i) => Object.is(x, b[i])); }");
+
+            Value value = context.eval(JavaScriptLanguage.ID, "var a = [10, 9, 1, -5, -10, 0, 2147483647, -2147483648, 100, 1]; " +
+                            "same(a.slice().sort(), a.map(String).sort().map(Number))");
+            assertTrue(value.asBoolean());
+            value = context.eval(JavaScriptLanguage.ID, "same(a.slice().sort((a, b) => a - b), a.slice().sort(asc)) && same(a.slice().sort(function(x, y) { return y - x; }), a.slice().sort(desc))");
+            assertTrue(value.asBoolean());
+
+            // -0 and NaN are left to the comparator
+            value = context.eval(JavaScriptLanguage.ID, "var d = [0.5, 0, -0, NaN, -1.5, 0]; same(d.slice().sort((a, b) => a - b), d.slice().sort(asc))");
+            assertTrue(value.asBoolean());
+
+            value = context.eval(JavaScriptLanguage.ID, "var u = new Uint32Array([4294967295, 1, 2147483648, 0]); u.sort(); Array.from(u).join()");
+            assertEquals("0,1,2147483648,4294967295", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "var f = new Float64Array([3, NaN, -0, 0, -Infinity, 1.5]); f.sort(); same(Array.from(f), [-Infinity, -0, 0, 1.5, 3, NaN])");
+            assertTrue(value.asBoolean());
+            value = context.eval(JavaScriptLanguage.ID, "var i = new Int16Array([5, -3, 7, 0]); i.sort((a, b) => b - a); Array.from(i).join()");
+            assertEquals("7,5,0,-3", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "var b = new BigUint64Array([2n ** 64n - 1n, 0n, 2n ** 63n]); b.sort(); b.join()");
+            assertEquals("0,9223372036854775808,18446744073709551615", value.asString());
+
+            // formatting and comments, the same comparator reused for several sorts
+            value = context.eval(JavaScriptLanguage.ID, "var cmp = (x, y) => /* ascending */ (x - y); var f = function (x, y) {\n  // descending\n  return (y - x)\n};" +
+                            "same(a.slice().sort(cmp), a.slice().sort(asc)) && same(a.slice().sort(cmp), a.slice().sort(asc)) && same(a.slice().sort(f), a.slice().sort(desc))");
+            assertTrue(value.asBoolean());
+        }
+    }
+
+    @Test
+    public void testSortWithComparatorFunction() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            // stable, undefined last, holes removed, comparator never called with undefined
+            Value value = context.eval(JavaScriptLanguage.ID, "var a = [];" +
+                            "for (var i = 0; i < 100; i++) { a.push(i % 3 === 0 ? undefined : {k: i % 7, i: i}); }" +
+                            "a.length = 110;" +
+                            "var calledWithUndefined = false;" +
+                            "a.sort((x, y) => { if (x === undefined || y === undefined) calledWithUndefined = true; return x.k - y.k; });" +
+                            "var ok = !calledWithUndefined && a.length === 110 && !(105 in a) && a[66] === undefined;" +
+                            "for (var j = 1; j < 66; j++) { ok = ok && (a[j - 1].k < a[j].k || (a[j - 1].k === a[j].k && a[j - 1].i < a[j].i)); }" +
+                            "ok");
+            assertTrue(value.asBoolean());
+
+            value = context.eval(JavaScriptLanguage.ID, "['b', 'a', 'c'].sort((x, y) => ({valueOf() { return x < y ? 1 : -1; }})).join()");
+            assertEquals("c,b,a", value.asString());
+
+            value = context.eval(JavaScriptLanguage.ID, "try { [3, 2, 1].sort(() => { throw new Error('thrown'); }); } catch (e) { e.message }");
+            assertEquals("thrown", value.asString());
+        }
+    }
+
+    @Test
+    public void testSortDefaultComparator() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value value = context.eval(JavaScriptLanguage.ID, "[1.5, 10, -0.5, 'b', true, null, undefined, 1e21, 2, 'B', 100n, , NaN].sort().map(String).join()");
+            assertEquals("-0.5,1.5,10,100,1e+21,2,B,NaN,b,null,true,undefined,", value.asString());
+
+            // objects are still converted in each comparison
+            value = context.eval(JavaScriptLanguage.ID, "var calls = 0; var o = {toString() { calls++; return 'o'; }}; ['p', o, 'n'].sort().join() + (calls > 0)");
+            assertEquals("n,o,ptrue", value.asString());
+
+            value = context.eval(JavaScriptLanguage.ID, "try { [1, Symbol()].sort(); } catch (e) { e instanceof TypeError }");
+            assertTrue(value.asBoolean());
+
+            // no comparison, so the symbols are never converted
+            value = context.eval(JavaScriptLanguage.ID, "var s = Symbol(); [s].sort()[0] === s && [s, undefined].sort()[0] === s && [undefined, s].sort()[0] === s");
+            assertTrue(value.asBoolean());
+        }
+    }
+
+    @Test
+    public void testBulkCopy() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(JavaScriptLanguage.ID, "function same(a, b) { return a.length === b.length && a.every((x, i) => Object.is(x, b[i])); }" +
+                            "var ints = [1, 2, 3, 4, 5]; var doubles = [0.5, -0, NaN]; var objects = ['a', {}, null];");
+
+            // concat widens int storage to double and object storage
+            Value value = context.eval(JavaScriptLanguage.ID, "same(ints.concat(doubles), [1, 2, 3, 4, 5, 0.5, -0, NaN]) && same(ints.concat(objects, ints), [1, 2, 3, 4, 5, 'a', objects[1], null, 1, 2, 3, 4, 5])");
+            assertTrue(value.asBoolean());
+            value = context.eval(JavaScriptLanguage.ID, "var r = []; for (var i = 0; i < 50; i++) { r = r.concat(ints, [i + 0.5]); } r.length + ',' + r[5] + ',' + r[299]");
+            assertEquals("300,0.5,49.5", value.asString());
+
+            // holes are copied as holes, including elements inherited from the prototype
+            value = context.eval(JavaScriptLanguage.ID, "var h = [1, , 3]; var c = h.concat(h); c.length === 6 && !(1 in c) && !(4 in c) && c[5] === 3");
+            assertTrue(value.asBoolean());
+
+            // slice and splice of contiguous arrays with an offset
+            value = context.eval(JavaScriptLanguage.ID, "var s = [10, 20, 30, 40, 50, 60]; s.shift(); same(s.slice(1, 4), [30, 40, 50]) && same(s.slice(-2), [50, 60])");
+            assertTrue(value.asBoolean());
+            value = context.eval(JavaScriptLanguage.ID, "var p = [1.5, 2.5, 3.5, 4.5]; var removed = p.splice(1, 2, 'x'); same(removed, [2.5, 3.5]) && same(p, [1.5, 'x', 4.5])");
+            assertTrue(value.asBoolean());
+
+            // species results: array subclasses keep their prototype, frozen arrays throw
+            value = context.eval(JavaScriptLanguage.ID, "class MyArray extends Array {}; var m = MyArray.from(ints).slice(1, 3); m instanceof MyArray && same(m, [2, 3])");
+            assertTrue(value.asBoolean());
+            value = context.eval(JavaScriptLanguage.ID, "var f = [1, 2, 3]; f.constructor = { [Symbol.species]: function(n) { return Object.freeze([]); } };" +
+                            "try { f.slice(); 'no error'; } catch (e) { e.constructor.name; }");
+            assertEquals("TypeError", value.asString());
+
+            // push with several values
+            value = context.eval(JavaScriptLanguage.ID, "var q = []; for (var i = 0; i < 100; i += 4) { q.push(i, i + 1, i + 2, i + 3); } q.length + ',' + q[99] + ',' + q.push(0.5, 'x')");
+            assertEquals("100,99,102", value.asString());
+            // a large length must not pre-allocate contiguous storage up to the length
+            value = context.eval(JavaScriptLanguage.ID, "var g = [1, 2]; g.length = 5e8; g.push(3, 4) + ',' + g[500000001] + ',' + (2 in g)");
+            assertEquals("500000002,4,false", value.asString());
+        }
+    }
+
+    @Test
+    public void testJoinFastArrays() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value value = context.eval(JavaScriptLanguage.ID, "[0, -1, 42, 2147483647, -2147483648].join()");
+            assertEquals("0,-1,42,2147483647,-2147483648", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "[0.5, -0, NaN, Infinity, -Infinity, 1e21, 1.5e-7, 0.1, 3].join(' ')");
+            assertEquals("0.5 0 NaN Infinity -Infinity 1e+21 1.5e-7 0.1 3", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "['a', 1, null, undefined, 'bc'].join('--')");
+            assertEquals("a--1------bc", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "[1, 2, 3].join('') + [1.5, 2.5, 3.5].toString() + [1, , 3].join() + [true, {}, 'x'].join()");
+            assertEquals("1231.5,2.5,3.51,,3true,[object Object],x", value.asString());
+        }
+    }
+
+    @Test
+    public void testIterateModifiedArray() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value value = context.eval(JavaScriptLanguage.ID, "[1, 2, 3, 4].map(x => x * 2).filter(x => x > 2).reduce((acc, x) => acc + x, 0)");
+            assertEquals(18, value.asInt());
+            // the callback changes the array strategy, shrinks the array and adds holes
+            value = context.eval(JavaScriptLanguage.ID, "var a = [1, 2, 3, 4, 5]; a.map((x, i, arr) => { if (i === 0) arr[4] = 0.5; return x; }).join()");
+            assertEquals("1,2,3,4,0.5", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "var b = [1, 2, 3, 4, 5]; b.map((x, i, arr) => { if (i === 1) arr.length = 3; return x; }).length + ':' + Object.keys(b.map(x => x))");
+            assertEquals("5:0,1,2", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "var c = [1, 2, 3, 4, 5]; var seen = []; c.forEach((x, i, arr) => { if (i === 0) delete arr[2]; seen.push(x); }); seen.join()");
+            assertEquals("1,2,4,5", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "var d = ['a', 'b']; d.filter((x, i, arr) => { if (i === 0) arr.push('c'); return true; }).join()");
+            assertEquals("a,b", value.asString());
+        }
+    }
+
+    @Test
+    public void testParallelSort() {
+        try (Context context = JSTest.newContextBuilder().allowCreateThread(true).option(JSContextOptions.PARALLEL_SORT_THRESHOLD_NAME, "16").build()) {
+            context.eval(JavaScriptLanguage.ID, "function sorted(a, cmp) { for (var i = 1; i < a.length; i++) { if (cmp(a[i - 1], a[i]) > 0) return false; } return true; }" +
+                            "var seed = 7; function next() { seed = (seed * 1103515245 + 12345) & 0x7fffffff; return seed; }");
+            Value value = context.eval(JavaScriptLanguage.ID, "var ints = Array.from({length: 10000}, () => next() - 0x40000000); ints.sort((a, b) => a - b); sorted(ints, (a, b) => a - b)");
+            assertTrue(value.asBoolean());
+            value = context.eval(JavaScriptLanguage.ID, "var f = Float64Array.from({length: 10000}, () => next() / 7 - 1e8); f[3] = NaN; f[5] = -0; f.sort();" +
+                            "sorted(f.subarray(0, f.length - 1), (a, b) => a - b) && isNaN(f[f.length - 1])");
+            assertTrue(value.asBoolean());
+            value = context.eval(JavaScriptLanguage.ID, "var u = Uint32Array.from({length: 10000}, () => next() * 2); u.sort((a, b) => b - a); sorted(u, (a, b) => b - a)");
+            assertTrue(value.asBoolean());
+            value = context.eval(JavaScriptLanguage.ID, "var s = Array.from({length: 100}, (v, i) => 100 - i); s.sort(); s.slice(0, 5).join()");
+            assertEquals("1,10,100,11,12", value.asString());
+        }
+        // without thread creation, the threshold is ignored and arrays are sorted sequentially
+        try (Context context = JSTest.newContextBuilder().allowCreateThread(false).option(JSContextOptions.PARALLEL_SORT_THRESHOLD_NAME, "16").build()) {
+            Value value = context.eval(JavaScriptLanguage.ID, "var a = Array.from({length: 100}, (v, i) => 100 - i); a.sort((x, y) => x - y); a.slice(0, 5).join()");
+            assertEquals("1,2,3,4,5", value.asString());
+        }
+    }
 }
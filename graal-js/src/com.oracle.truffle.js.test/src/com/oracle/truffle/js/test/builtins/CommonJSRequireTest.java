@@ -41,6 +41,7 @@
 package com.oracle.truffle.js.test.builtins;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.PolyglotAccess;
 import org.graalvm.polyglot.PolyglotException;
@@ -55,6 +56,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -68,6 +70,7 @@ import static com.oracle.truffle.js.runtime.JSContextOptions.COMMONJS_REQUIRE_CW
 import static com.oracle.truffle.js.runtime.JSContextOptions.COMMONJS_CORE_MODULES_REPLACEMENTS_NAME;
 import static com.oracle.truffle.js.runtime.JSContextOptions.COMMONJS_REQUIRE_GLOBAL_PROPERTIES_NAME;
 import static com.oracle.truffle.js.runtime.JSContextOptions.COMMONJS_REQUIRE_NAME;
+import static com.oracle.truffle.js.runtime.JSContextOptions.COMMONJS_RESOLUTION_CACHE_NAME;
 import static com.oracle.truffle.js.runtime.JSContextOptions.ECMASCRIPT_VERSION_NAME;
 import static com.oracle.truffle.js.runtime.JSContextOptions.GLOBAL_PROPERTY_NAME;
 import static org.junit.Assert.assertEquals;
@@ -241,6 +244,82 @@ public class CommonJSRequireTest {
         testBasicPackageJsonRequire("'./wrong-package'");
     }
 
+    @Test
+    public void resolutionCacheSharedBetweenContexts() {
+        Map<String, String> options = getDefaultOptions();
+        options.put(COMMONJS_RESOLUTION_CACHE_NAME, "true");
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            for (int i = 0; i < 2; i++) {
+                try (Context cx = JSTest.newContextBuilder().engine(engine).options(options).allowIO(true).build()) {
+                    for (String module : new String[]{"with-package", "./with-package", "wrong-package", "no-package"}) {
+                        Assert.assertEquals(module, 42, cx.eval(ID, "require('" + module + "').foo;").asInt());
+                    }
+                    try {
+                        cx.eval(ID, "require('unknown')");
+                        Assert.fail("module should not be found");
+                    } catch (PolyglotException e) {
+                        assertEquals("TypeError: Cannot load CommonJS module: 'unknown'", e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void resolutionCacheDoesNotCacheMissingModules() throws IOException {
+        Path folder = Files.createTempDirectory("commonjs-resolution-cache");
+        Path module = folder.resolve("late.js");
+        Map<String, String> options = new HashMap<>();
+        options.put(COMMONJS_REQUIRE_NAME, "true");
+        options.put(COMMONJS_REQUIRE_CWD_NAME, folder.toAbsolutePath().toString());
+        options.put(COMMONJS_RESOLUTION_CACHE_NAME, "true");
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            try (Context cx = JSTest.newContextBuilder().engine(engine).options(options).allowIO(true).build()) {
+                cx.eval(ID, "require('./late')");
+                Assert.fail("module should not be found");
+            } catch (PolyglotException e) {
+                assertEquals("TypeError: Cannot load CommonJS module: './late'", e.getMessage());
+            }
+            Files.write(module, "exports.foo = 42;".getBytes(StandardCharsets.UTF_8));
+            try (Context cx = JSTest.newContextBuilder().engine(engine).options(options).allowIO(true).build()) {
+                Assert.assertEquals(42, cx.eval(ID, "require('./late').foo;").asInt());
+            }
+        } finally {
+            Files.deleteIfExists(module);
+            Files.delete(folder);
+        }
+    }
+
+    @Test
+    public void resolutionCacheRevalidatesResolvedModules() throws IOException {
+        Path folder = Files.createTempDirectory("commonjs-resolution-cache");
+        Path file = folder.resolve("moved.js");
+        Path directory = folder.resolve("moved");
+        Path index = directory.resolve("index.js");
+        Map<String, String> options = new HashMap<>();
+        options.put(COMMONJS_REQUIRE_NAME, "true");
+        options.put(COMMONJS_REQUIRE_CWD_NAME, folder.toAbsolutePath().toString());
+        options.put(COMMONJS_RESOLUTION_CACHE_NAME, "true");
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            Files.write(file, "exports.foo = 'file';".getBytes(StandardCharsets.UTF_8));
+            try (Context cx = JSTest.newContextBuilder().engine(engine).options(options).allowIO(true).build()) {
+                assertEquals("file", cx.eval(ID, "require('./moved').foo;").asString());
+            }
+            // the cached resolution refers to a file that no longer exists
+            Files.delete(file);
+            Files.createDirectory(directory);
+            Files.write(index, "exports.foo = 'directory';".getBytes(StandardCharsets.UTF_8));
+            try (Context cx = JSTest.newContextBuilder().engine(engine).options(options).allowIO(true).build()) {
+                assertEquals("directory", cx.eval(ID, "require('./moved').foo;").asString());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(index);
+            Files.deleteIfExists(directory);
+            Files.delete(folder);
+        }
+    }
+
     @Test
     public void testMissingPackageJson() {
         testBasicPackageJsonRequire("'no-package'");
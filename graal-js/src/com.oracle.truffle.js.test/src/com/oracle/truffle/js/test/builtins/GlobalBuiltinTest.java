@@ -45,7 +45,10 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
@@ -116,6 +119,31 @@ public class GlobalBuiltinTest extends JSTest {
         }
     }
 
+    @Test
+    public void testMapBuffer() throws IOException {
+        Path file = Files.createTempFile("mapbuffer", ".bin");
+        try {
+            Files.write(file, new byte[]{1, 2, 3, 4});
+            try (Context ctx = JSTest.newContextBuilder().allowIO(true).option(JSContextOptions.MAP_BUFFER_NAME, "true").build()) {
+                ctx.getBindings(JavaScriptLanguage.ID).putMember("path", file.toString());
+                assertEquals("4:1,2,3,4", ctx.eval(JavaScriptLanguage.ID, "var ab = mapbuffer(path); ab.byteLength + ':' + new Uint8Array(ab);").asString());
+                assertTrue(ctx.eval(JavaScriptLanguage.ID, "try { new Uint8Array(mapbuffer(path, 'r'))[0] = 42; false; } catch (e) { e instanceof TypeError; }").asBoolean());
+                assertEquals("2,3,4", ctx.eval(JavaScriptLanguage.ID, "'' + new Uint8Array(mapbuffer(path), 1)").asString());
+                assertTrue(ctx.eval(JavaScriptLanguage.ID, "new Int32Array(mapbuffer(path))[0] === new Int32Array(new Uint8Array([1, 2, 3, 4]).buffer)[0]").asBoolean());
+                assertTrue(ctx.eval(JavaScriptLanguage.ID, "var ro = new Int16Array(mapbuffer(path), 2); try { ro[0] = 42; false; } catch (e) { e instanceof TypeError && ro[0] === new Int16Array(new Uint8Array([3, 4]).buffer)[0]; }").asBoolean());
+                assertEquals("42,2,3,4", ctx.eval(JavaScriptLanguage.ID, "var cow = new Uint8Array(mapbuffer(path, 'c')); cow[0] = 42; '' + cow;").asString());
+            }
+            // copy-on-write changes never reach the file
+            assertEquals(1, Files.readAllBytes(file)[0]);
+
+            try (Context ctx = JSTest.newContextBuilder().allowIO(true).build()) {
+                assertEquals("undefined", ctx.eval(JavaScriptLanguage.ID, "typeof mapbuffer").asString());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
     // GR-29654 an empty InputStream should not result in Java `null` being returned.
     @Test
     public void testReadlineEmpty() {
@@ -132,4 +160,21 @@ public class GlobalBuiltinTest extends JSTest {
         }
     }
 
+    // Intl, Reflect and Atomics are installed lazily, but must behave like data properties.
+    @Test
+    public void testLazyGlobals() {
+        try (Context ctx = JSTest.newContextBuilder().build()) {
+            for (String name : new String[]{"Intl", "Reflect", "Atomics"}) {
+                String getDescriptor = "Object.getOwnPropertyDescriptor(globalThis, '" + name + "')";
+                assertTrue(ctx.eval(JavaScriptLanguage.ID, "var d = " + getDescriptor + "; d.writable && d.configurable && !d.enumerable && d.value === " + name).asBoolean());
+                assertTrue(ctx.eval(JavaScriptLanguage.ID, "Object.prototype.toString.call(" + name + ") === '[object " + name + "]'").asBoolean());
+            }
+        }
+        try (Context ctx = JSTest.newContextBuilder().build()) {
+            assertEquals(42, ctx.eval(JavaScriptLanguage.ID, "Atomics = 42; Atomics").asInt());
+            assertEquals("undefined", ctx.eval(JavaScriptLanguage.ID, "delete Intl; typeof Intl").asString());
+            assertTrue(ctx.eval(JavaScriptLanguage.ID, "Reflect.apply(Math.max, null, [1, 2]) === 2").asBoolean());
+        }
+    }
+
 }
@@ -47,6 +47,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.junit.Test;
@@ -141,6 +142,46 @@ public class JavaBuiltinsTest extends JSTest {
         test("Java.from({a:'foo'});", "Cannot convert to JavaScript");
     }
 
+    @Test
+    public void testJavaFromPrimitiveArray() {
+        assertEquals("1,2,3|true", test("var t = Java.from(arg); t + '|' + Array.isArray(t);", null, true, new int[]{1, 2, 3}));
+        assertEquals("0.5,-1,NaN", test("var t = Java.from(arg); ''+t;", null, true, new double[]{0.5, -1, Double.NaN}));
+        assertEquals("-128,0,127", test("var t = Java.from(arg); ''+t;", null, true, new byte[]{-128, 0, 127}));
+        assertEquals("1,4294967296", test("var t = Java.from(arg); ''+t;", null, true, new long[]{1, 1L << 32}));
+        assertEquals("1,2.5,x", test("var t = Java.from(arg); t.push('x'); ''+t;", null, true, new double[]{1, 2.5}));
+
+        List<Object> list = new ArrayList<>();
+        list.add(1);
+        list.add(2.5);
+        assertEquals("1,2.5", test("var t = Java.from(arg); ''+t;", null, true, list));
+    }
+
+    @Test
+    public void testJavaToPrimitiveArray() {
+        assertEquals("3:3:true", test("var t = Java.to([1, 2, 3], 'int[]'); t.length + ':' + t[2] + ':' + Java.isJavaObject(t);"));
+        assertEquals("1.5", test("var t = Java.to([1, 1.5], 'double[]'); ''+t[1];"));
+        assertEquals("-1", test("var t = Java.to([-1], 'byte[]'); ''+t[0];"));
+        // copied from the backing array of writable and offset arrays
+        assertEquals("2,3,4|4", test("var a = [0, 1, 2, 3, 4]; a.push(5); a.shift(); a.shift(); var t = Java.to(a, 'int[]'); t[0] + ',' + t[1] + ',' + t[2] + '|' + t.length;"));
+        assertEquals("-1,7", test("var a = [-1]; a.push(7); var t = Java.to(a, 'long[]'); t[0] + ',' + t[1];"));
+        assertEquals("0.5,2", test("var a = [0.5]; a.push(2); var t = Java.to(a, 'double[]'); t[0] + ',' + t[1];"));
+        // elements that do not fit are still converted one by one
+        assertEquals("1,a", test("var t = Java.to([1, 'a'], 'java.lang.Object[]'); t[0] + ',' + t[1];"));
+    }
+
+    @Test
+    public void testPrimitiveArrayWithoutArrayAccess() {
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.newBuilder().allowArrayAccess(false).build()).allowHostClassLookup(s -> true).build()) {
+            Value errorName = context.eval(JavaScriptLanguage.ID, "(function(f, a) { try { f(a); return 'no error'; } catch (e) { return e.constructor.name; } })");
+            Value javaFrom = context.eval(JavaScriptLanguage.ID, "(function(a) { return Java.from(a); })");
+            assertEquals("TypeError", errorName.execute(javaFrom, new int[]{1, 2, 3}).asString());
+            Value javaTo = context.eval(JavaScriptLanguage.ID, "(function(a) { return Java.to(a, 'int[]'); })");
+            assertEquals("TypeError", errorName.execute(javaTo, context.eval(JavaScriptLanguage.ID, "[1, 2, 3]")).asString());
+            Value javaToDouble = context.eval(JavaScriptLanguage.ID, "(function(a) { return Java.to(a, 'double[]'); })");
+            assertEquals("TypeError", errorName.execute(javaToDouble, context.eval(JavaScriptLanguage.ID, "({length: 2, 0: 1, 1: 0.5})")).asString());
+        }
+    }
+
     @Test
     public void testJavaTo() {
         String result = test("var t = Java.to({a:'foo'}); ''+t;");
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests for sources shared between contexts ({@code js.shared-source-cache}).
+ */
+public class SharedSourceCacheTest {
+
+    private static Context newContext(Engine engine) {
+        return JSTest.newContextBuilder().engine(engine).allowIO(true).option(JSContextOptions.SHARED_SOURCE_CACHE_NAME, "true").build();
+    }
+
+    @Test
+    public void testLoadSharedBetweenContexts() throws IOException {
+        Path file = Files.createTempFile("shared-source", ".js");
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            Files.write(file, "var answer = 42; answer;".getBytes(StandardCharsets.UTF_8));
+            String load = "load(" + quote(file.toString()) + ")";
+            for (int i = 0; i < 3; i++) {
+                try (Context context = newContext(engine)) {
+                    assertEquals(42, context.eval(JavaScriptLanguage.ID, load).asInt());
+                }
+            }
+            // A modified file must not be served from the cache.
+            Files.write(file, "var answer = 'modified'; answer;".getBytes(StandardCharsets.UTF_8));
+            try (Context context = newContext(engine)) {
+                assertEquals("modified", context.eval(JavaScriptLanguage.ID, load).asString());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testLoadEvictedFromCache() throws IOException {
+        Path first = Files.createTempFile("shared-source", ".js");
+        Path second = Files.createTempFile("shared-source", ".js");
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            Files.write(first, "'gr\u00FC\u00DFe';".getBytes(StandardCharsets.UTF_8));
+            Files.write(second, "'\u20AC';".getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < 4; i++) {
+                Path file = i % 2 == 0 ? first : second;
+                try (Context context = JSTest.newContextBuilder().engine(engine).allowIO(true).//
+                                option(JSContextOptions.SHARED_SOURCE_CACHE_NAME, "true").//
+                                option(JSContextOptions.SHARED_SOURCE_CACHE_SIZE_NAME, "1").build()) {
+                    assertEquals(i % 2 == 0 ? "gr\u00FC\u00DFe" : "\u20AC", context.eval(JavaScriptLanguage.ID, "load(" + quote(file.toString()) + ")").asString());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(first);
+            Files.deleteIfExists(second);
+        }
+    }
+
+    @Test
+    public void testModuleCodeSharedBetweenContexts() throws IOException {
+        Path dir = Files.createTempDirectory("shared-module");
+        Path module = dir.resolve("module.mjs");
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            // Module state must still be per context, even if the module code is shared.
+            Files.write(module, "export const x = 42; globalThis.evaluated = (globalThis.evaluated || 0) + 1;".getBytes(StandardCharsets.UTF_8));
+            Source main = Source.newBuilder(JavaScriptLanguage.ID, "import {x} from " + quote(module.toString()) + "; globalThis.result = x * evaluated;", "main.mjs").build();
+            for (int i = 0; i < 3; i++) {
+                try (Context context = newContext(engine)) {
+                    context.eval(main);
+                    assertEquals(42, context.eval(JavaScriptLanguage.ID, "result").asInt());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(module);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void testModuleCodeEvictedFromCache() throws IOException {
+        Path dir = Files.createTempDirectory("shared-module");
+        Path first = dir.resolve("first.mjs");
+        Path second = dir.resolve("second.mjs");
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            Files.write(first, "export const x = 1;".getBytes(StandardCharsets.UTF_8));
+            Files.write(second, "export const x = 2;".getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < 4; i++) {
+                Path module = i % 2 == 0 ? first : second;
+                Source main = Source.newBuilder(JavaScriptLanguage.ID, "import {x} from " + quote(module.toString()) + "; globalThis.result = x;", "main" + i + ".mjs").build();
+                try (Context context = JSTest.newContextBuilder().engine(engine).allowIO(true).//
+                                option(JSContextOptions.SHARED_SOURCE_CACHE_NAME, "true").//
+                                option(JSContextOptions.SHARED_SOURCE_CACHE_SIZE_NAME, "1").build()) {
+                    context.eval(main);
+                    assertEquals(i % 2 + 1, context.eval(JavaScriptLanguage.ID, "result").asInt());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(first);
+            Files.deleteIfExists(second);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void testCommonJSModuleSharedBetweenContexts() throws IOException {
+        Path dir = Files.createTempDirectory("shared-commonjs");
+        Path module = dir.resolve("counter.js");
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            Files.write(module, "var count = 0; exports.next = function() { return ++count; };".getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < 3; i++) {
+                try (Context context = JSTest.newContextBuilder().engine(engine).allowIO(true).//
+                                option(JSContextOptions.SHARED_SOURCE_CACHE_NAME, "true").//
+                                option(JSContextOptions.COMMONJS_REQUIRE_NAME, "true").//
+                                option(JSContextOptions.COMMONJS_REQUIRE_CWD_NAME, dir.toString()).build()) {
+                    assertEquals(2, context.eval(JavaScriptLanguage.ID, "var c = require('./counter'); c.next(); c.next();").asInt());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(module);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static String quote(String path) {
+        return "'" + path.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}
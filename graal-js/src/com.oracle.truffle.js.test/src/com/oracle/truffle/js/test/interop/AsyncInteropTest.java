@@ -42,11 +42,14 @@ package com.oracle.truffle.js.test.interop;
 
 import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
@@ -62,6 +65,7 @@ import org.graalvm.polyglot.proxy.ProxyExecutable;
 import org.junit.Test;
 
 import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.JSException;
 import com.oracle.truffle.js.test.JSTest;
 
 public class AsyncInteropTest {
@@ -638,6 +642,78 @@ public class AsyncInteropTest {
         });
     }
 
+    /**
+     * With {@link JSContextOptions#INTEROP_FUTURES} enabled, awaiting a Java
+     * {@link CompletionStage} adopts its outcome. The completion may happen on another thread; the
+     * promise is settled the next time the context is entered and processes its pending jobs.
+     */
+    @Test
+    public void testAwaitCompletableFuture() throws Exception {
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.ALL).allowHostClassLookup(s -> true).option(JSContextOptions.INTEROP_FUTURES_NAME, "true").build()) {
+            Value asyncFn = context.eval(ID, "(async function(future) { return (await future) + 1; })");
+            CompletableFuture<Object> input = new CompletableFuture<>();
+            Value toFuture = context.eval(ID, "Java.toCompletableFuture");
+            CompletableFuture<?> result = toFuture.execute(asyncFn.execute(input)).asHostObject();
+            assertFalse(result.isDone());
+
+            Thread completer = new Thread(() -> input.complete(41));
+            completer.start();
+            completer.join();
+            assertFalse(result.isDone());
+
+            context.eval(ID, "undefined");
+            assertEquals(42, ((Number) result.get(0, TimeUnit.SECONDS)).intValue());
+        }
+    }
+
+    /**
+     * Promises passed to {@code Java.toCompletableFuture} complete the returned future, also
+     * exceptionally.
+     */
+    @Test
+    public void testPromiseToCompletableFuture() throws Exception {
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.ALL).allowHostClassLookup(s -> true).build()) {
+            CompletableFuture<?> fulfilled = context.eval(ID, "Java.toCompletableFuture(Promise.resolve('done'))").asHostObject();
+            assertEquals("done", fulfilled.get(0, TimeUnit.SECONDS));
+
+            CompletableFuture<?> plain = context.eval(ID, "Java.toCompletableFuture(undefined)").asHostObject();
+            assertEquals(null, plain.get(0, TimeUnit.SECONDS));
+
+            CompletableFuture<?> rejected = context.eval(ID, "Java.toCompletableFuture(Promise.reject(new Error('failed')))").asHostObject();
+            assertTrue(rejected.isCompletedExceptionally());
+            try {
+                rejected.get(0, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains("failed"));
+                // the JS error is kept as the cause, including its stack
+                Throwable jsError = e.getCause().getCause();
+                assertTrue(String.valueOf(jsError), jsError instanceof JSException);
+                assertEquals("failed", ((JSException) jsError).getRawMessage());
+            }
+
+            // objects are passed to the host like arguments of Java methods
+            CompletableFuture<?> object = context.eval(ID, "Java.toCompletableFuture(Promise.resolve({answer: 42}))").asHostObject();
+            Object result = object.get(0, TimeUnit.SECONDS);
+            assertTrue(String.valueOf(result), result instanceof Map);
+            assertEquals(42, ((Number) ((Map<?, ?>) result).get("answer")).intValue());
+        }
+    }
+
+    /**
+     * A failed Java future rejects the promise awaiting it with the Java exception.
+     */
+    @Test
+    public void testAwaitFailedCompletableFuture() {
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.ALL).option(JSContextOptions.INTEROP_FUTURES_NAME, "true").build()) {
+            Value asyncFn = context.eval(ID, "var caught; (async function(future) { try { await future; } catch (e) { caught = e.getMessage(); } })");
+            CompletableFuture<Object> input = new CompletableFuture<>();
+            input.completeExceptionally(new IllegalStateException("no result"));
+            asyncFn.execute(input);
+            assertEquals("no result", context.eval(ID, "caught").asString());
+        }
+    }
+
     public interface Thenable {
         void then(Value onResolve, Value onReject);
     }
@@ -62,6 +62,7 @@ import org.graalvm.polyglot.proxy.ProxyArray;
 import org.graalvm.polyglot.proxy.ProxyObject;
 import org.junit.Test;
 
+import com.oracle.truffle.js.runtime.JSContextOptions;
 import com.oracle.truffle.js.test.JSTest;
 import com.oracle.truffle.js.test.polyglot.ForeignTestMap;
 
@@ -87,6 +88,39 @@ public class InteropArrayTest {
         }
     }
 
+    /**
+     * Test that reading array elements from Java sees holes filled from the prototype chain as
+     * well as own elements of the various array and typed array storage types.
+     */
+    @Test
+    public void testReadArrayElements() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value array = context.eval(ID, "Array.prototype[1] = 'proto'; [1, , 3.5, 'x']");
+            assertEquals(1, array.getArrayElement(0).asInt());
+            assertEquals("proto", array.getArrayElement(1).asString());
+            assertEquals(3.5, array.getArrayElement(2).asDouble(), 0);
+            assertEquals("x", array.getArrayElement(3).asString());
+            assertEquals(Arrays.asList(1, "proto", 3.5, "x"), array.as(List.class));
+
+            Value typedArray = context.eval(ID, "new Float64Array([0.5, 1.5])");
+            assertEquals(1.5, typedArray.getArrayElement(1).asDouble(), 0);
+            assertArrayEquals(new int[]{7, 8}, context.eval(ID, "new Int32Array([7, 8])").as(int[].class));
+        }
+    }
+
+    /**
+     * Test that reading elements of a typed array with a detached buffer returns undefined.
+     */
+    @Test
+    public void testReadDetachedTypedArrayElements() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.DEBUG_BUILTIN_NAME, "true").build()) {
+            Value typedArray = context.eval(ID, "var ta = new Int32Array([7, 8]); ta");
+            assertEquals(8, typedArray.getArrayElement(1).asInt());
+            context.eval(ID, "Debug.typedArrayDetachBuffer(ta.buffer)");
+            assertTrue(typedArray.getArrayElement(1).isNull());
+        }
+    }
+
     /**
      * Test that slow JS array indices are not in member keys and also overridden index is not in
      * member keys.
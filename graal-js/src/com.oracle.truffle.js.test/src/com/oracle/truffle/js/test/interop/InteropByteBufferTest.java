@@ -127,6 +127,62 @@ public class InteropByteBufferTest {
         }
     }
 
+    @Test
+    public void testSharedMemoryDirect() {
+        testSharedMemory(ByteBuffer.allocateDirect(16));
+    }
+
+    @Test
+    public void testSharedMemoryHeap() {
+        testSharedMemory(ByteBuffer.allocate(16));
+    }
+
+    @Test
+    public void testSharedMemoryLimit() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(32);
+        buffer.limit(16);
+        testSharedMemory(buffer);
+    }
+
+    @Test
+    public void testSharedMemoryReadOnly() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        buffer.put(0, (byte) 42);
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.newBuilder().allowBufferAccess(true).build()).allowHostClassLookup(s -> true).build()) {
+            Value fun = context.eval(ID, "(function(buff) { return new Int8Array(Java.asArrayBuffer(buff))[0] + new Int8Array(new ArrayBuffer(buff))[0]; })");
+            assertEquals(84, fun.execute(buffer.asReadOnlyBuffer()).asInt());
+        }
+    }
+
+    @Test
+    public void testAsArrayBufferWithoutBufferAccess() {
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.newBuilder().allowBufferAccess(false).build()).allowHostClassLookup(s -> true).build()) {
+            Value fun = context.eval(ID, "(function(buff) { try { Java.asArrayBuffer(buff); return 'no error'; } catch (e) { return e.constructor.name; } })");
+            assertEquals("TypeError", fun.execute(ByteBuffer.allocateDirect(16)).asString());
+        }
+    }
+
+    /**
+     * Writes on either side must be visible on the other side without any copying, both for array
+     * buffers accessing the host buffer through interop and for those sharing its memory
+     * directly.
+     */
+    private static void testSharedMemory(ByteBuffer buffer) {
+        testSharedMemory(buffer, "new ArrayBuffer(buff)");
+        testSharedMemory(buffer, "Java.asArrayBuffer(buff)");
+    }
+
+    private static void testSharedMemory(ByteBuffer buffer, String createArrayBuffer) {
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.newBuilder().allowBufferAccess(true).build()).allowHostClassLookup(s -> true).build()) {
+            Value fun = context.eval(ID, "(function(buff) { var ab = " + createArrayBuffer + "; var a = new Int32Array(ab); a[1] = 45; return [ab.byteLength, a]; })");
+            Value result = fun.execute(buffer);
+            assertEquals(16, result.getArrayElement(0).asInt());
+            assertEquals(45, buffer.order(ByteOrder.nativeOrder()).getInt(4));
+            buffer.putInt(8, 46);
+            assertEquals(46, result.getArrayElement(1).getArrayElement(2).asInt());
+        }
+    }
+
     @Test
     public void testJavaInteropDirect() {
         testJavaInteropCommon(true);
@@ -355,4 +411,93 @@ public class InteropByteBufferTest {
         }
     }
 
+    /**
+     * {@code Java.asTypedArray} exposes Java primitive arrays as typed arrays without copying.
+     */
+    @Test
+    public void testPrimitiveArrayAsTypedArray() {
+        byte[] bytes = {1, 2, 3};
+        int[] ints = {1, 2, 3};
+        double[] doubles = {0.5, 1.5};
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.ALL).allowHostClassLookup(s -> true).build()) {
+            Value asTypedArray = context.eval(ID, "(function(a) { var ta = Java.asTypedArray(a); ta[0] = 42; return ta; })");
+            Value byteView = asTypedArray.execute(bytes);
+            assertEquals("Int8Array", byteView.getMetaObject().getMetaSimpleName());
+            assertEquals(42, bytes[0]);
+
+            Value intView = asTypedArray.execute(ints);
+            assertEquals("Int32Array", intView.getMetaObject().getMetaSimpleName());
+            assertEquals(42, ints[0]);
+            ints[2] = -7;
+            assertEquals(-7, intView.getArrayElement(2).asInt());
+
+            Value doubleView = asTypedArray.execute(doubles);
+            assertEquals(2, doubleView.getArraySize());
+            assertEquals(42, doubles[0], 0);
+            assertEquals(1.5, doubleView.getArrayElement(1).asDouble(), 0);
+
+            Value sum = context.eval(ID, "(function(a) { var ta = Java.asTypedArray(a); var s = 0; for (var i = 0; i < ta.length; i++) { s += ta[i]; } return s; })");
+            assertEquals(38, sum.execute(ints).asInt());
+        }
+    }
+
+    /**
+     * Element accesses of {@code Java.asTypedArray} views read and write the Java array, and other
+     * views of the same buffer see the same elements.
+     */
+    @Test
+    public void testPrimitiveArrayElementTypes() {
+        short[] shorts = {1, 2};
+        char[] chars = {1, 2};
+        long[] longs = {1, 2};
+        float[] floats = {1, 2};
+        double[] doubles = {1, 2};
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.ALL).allowHostClassLookup(s -> true).build()) {
+            Value update = context.eval(ID, "(function(a, v) { var ta = Java.asTypedArray(a); ta[1] = v; " +
+                            "var copy = new ta.constructor(ta.buffer, ta.BYTES_PER_ELEMENT); return '' + ta[0] + ',' + ta[1] + ',' + copy[0]; })");
+            assertEquals("1,-3,-3", update.execute(shorts, -3).asString());
+            assertEquals(-3, shorts[1]);
+            assertEquals("1,65533,65533", update.execute(chars, -3).asString());
+            assertEquals(65533, chars[1]);
+            assertEquals("1,-3,-3", update.execute(longs, context.eval(ID, "-3n")).asString());
+            assertEquals(-3, longs[1]);
+            assertEquals("1,0.5,0.5", update.execute(floats, 0.5).asString());
+            assertEquals(0.5f, floats[1], 0);
+            assertEquals("1,0.1,0.1", update.execute(doubles, 0.1).asString());
+            assertEquals(0.1, doubles[1], 0);
+        }
+    }
+
+    /**
+     * Byte-wise views of a typed array over a Java primitive array see the elements in native
+     * byte order.
+     */
+    @Test
+    public void testPrimitiveArrayByteAccess() {
+        int[] ints = {0x01020304, 0};
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.ALL).allowHostClassLookup(s -> true).build()) {
+            Value view = context.eval(ID, "(function(a) { return new DataView(Java.asTypedArray(a).buffer); })").execute(ints);
+            boolean littleEndian = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+            assertEquals(0x01020304, view.invokeMember("getInt32", 0, littleEndian).asInt());
+            assertEquals(littleEndian ? 4 : 1, view.invokeMember("getUint8", 0).asInt());
+            view.invokeMember("setInt32", 2, 0x0a0b0c0d, false);
+            assertEquals(0x0a0b0c0d, view.invokeMember("getInt32", 2, false).asInt());
+            assertEquals(littleEndian ? 0x0b0a0304 : 0x01020a0b, ints[0]);
+            assertEquals(littleEndian ? 0x00000d0c : 0x0c0d0000, ints[1]);
+            assertThrows(() -> context.eval(ID, "Java.asTypedArray(new Object())"), e -> assertTrue(e.getMessage(), e.getMessage().contains("TypeError")));
+        }
+    }
+
+    /**
+     * {@code Java.asTypedArray} respects a host access policy that does not allow array access.
+     */
+    @Test
+    public void testPrimitiveArrayWithoutArrayAccess() {
+        int[] ints = {1, 2, 3};
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.newBuilder().allowArrayAccess(false).build()).allowHostClassLookup(s -> true).build()) {
+            Value asTypedArray = context.eval(ID, "(function(a) { try { Java.asTypedArray(a)[0] = 42; return 'no error'; } catch (e) { return e.constructor.name; } })");
+            assertEquals("TypeError", asTypedArray.execute(ints).asString());
+            assertEquals(1, ints[0]);
+        }
+    }
 }
@@ -47,11 +47,14 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyIterable;
 import org.junit.Test;
 
 import com.oracle.truffle.api.interop.InteropLibrary;
@@ -85,6 +88,34 @@ public class IteratorInteropTest {
         }
     }
 
+    /**
+     * Iterating foreign arrays and iterables with for-of, spread, destructuring, and Array.from
+     * bypasses the iterator result objects, unless the built-in next methods are replaced.
+     */
+    @Test
+    public void testIterateForeignObjects() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value iterate = context.eval(ID, "(function(it) {\n" +
+                            "  var sum = 0;\n" +
+                            "  for (var x of it) { sum += x; }\n" +
+                            "  var [first, ...rest] = it;\n" +
+                            "  return [sum, Math.max(...it), [...it].length, Array.from(it, x => x * 2).join(), first, rest.length].join(';');\n" +
+                            "})");
+            ProxyArray array = ProxyArray.fromArray(1, 2, 3, 4);
+            ProxyIterable iterable = ProxyIterable.from(Arrays.asList(1, 2, 3, 4));
+            for (int i = 0; i < 3; i++) {
+                assertEquals("10;4;4;2,4,6,8;1;3", iterate.execute(array).asString());
+                assertEquals("10;4;4;2,4,6,8;1;3", iterate.execute(iterable).asString());
+            }
+
+            context.eval(ID, "var ArrayIteratorPrototype = Object.getPrototypeOf([][Symbol.iterator]());\n" +
+                            "var originalNext = ArrayIteratorPrototype.next;\n" +
+                            "ArrayIteratorPrototype.next = function() { var r = originalNext.call(this); if (!r.done) { r.value *= 10; } return r; };");
+            assertEquals("100;40;4;20,40,60,80;10;3", iterate.execute(array).asString());
+            assertEquals("10;4;4;2,4,6,8;1;3", iterate.execute(iterable).asString());
+        }
+    }
+
     @Test
     public void testIteratorDelegation() {
         try (Context context = JSTest.newContextBuilder().build()) {
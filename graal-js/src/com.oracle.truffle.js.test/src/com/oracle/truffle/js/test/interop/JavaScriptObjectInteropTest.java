@@ -42,6 +42,7 @@ package com.oracle.truffle.js.test.interop;
 
 import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.HashMap;
@@ -180,4 +181,59 @@ public class JavaScriptObjectInteropTest {
             mapsEqual(JAVA_MAP, (Map<?, ?>) o);
         }
     }
+
+    /**
+     * Test reading and writing more distinct members than are cached per call site, on objects of
+     * different shapes, including accessors, proxies, and array index keys.
+     */
+    @Test
+    public void testManyMembers() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value create = context.eval(ID, "(function(n) { var o = {}; for (var i = 0; i < n; i++) { o['p' + i] = i; } return o; })");
+            int count = 100;
+            for (int round = 0; round < 3; round++) {
+                Value obj = create.execute(count - round);
+                for (int i = 0; i < count - round; i++) {
+                    assertEquals(i, obj.getMember("p" + i).asInt());
+                    obj.putMember("p" + i, i * 2);
+                }
+                for (int i = 0; i < count - round; i++) {
+                    assertEquals(i * 2, obj.getMember("p" + i).asInt());
+                }
+                assertTrue(obj.getMember("p" + count) == null);
+            }
+
+            Value special = context.eval(ID, "var log = []; ({get g() { return 'getter'; }, set s(v) { log.push(v); }, 0: 'zero'})");
+            assertEquals("getter", special.getMember("g").asString());
+            assertEquals("zero", special.getMember("0").asString());
+            special.putMember("s", 42);
+            special.putMember("1", "one");
+            assertEquals("one", special.getMember("1").asString());
+            assertEquals(42, context.eval(ID, "log[0]").asInt());
+
+            Value proxy = context.eval(ID, "new Proxy({}, {get: function(t, k) { return 'proxied ' + k; }})");
+            assertEquals("proxied p0", proxy.getMember("p0").asString());
+        }
+    }
+
+    /**
+     * Test member queries that alternate between own, inherited, and missing members.
+     */
+    @Test
+    public void testHasMember() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value objects = context.eval(ID, "[{a: 1, f() {}}, {a: 2, get g() { return 3; }}, Object.freeze({a: 3})]");
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < objects.getArraySize(); i++) {
+                    Value obj = objects.getArrayElement(i);
+                    assertTrue(obj.hasMember("a"));
+                    assertFalse(obj.hasMember("missing"));
+                    assertTrue(obj.hasMember("toString"));
+                    assertTrue(obj.hasMember("a"));
+                    assertEquals(i == 0, obj.hasMember("f") && obj.getMember("f").canExecute());
+                    assertEquals(i == 1, obj.hasMember("g"));
+                }
+            }
+        }
+    }
 }
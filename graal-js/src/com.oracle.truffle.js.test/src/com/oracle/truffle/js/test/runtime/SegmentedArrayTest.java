@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.SparseArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractSegmentedArray;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.test.JSTest;
+
+public class SegmentedArrayTest {
+
+    @Test
+    public void testLargeArrayWithHoles() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value value = context.eval(ID, "var a = []; a[5000000] = 1; for (var i = 0; i < 100000; i++) { a[i * 50] = i; }" +
+                            "var count = 0; var sum = 0; a.forEach(function(v) { count++; sum += v; });" +
+                            "count + '|' + sum + '|' + (49 in a) + '|' + a[4999950] + '|' + a.length");
+            assertEquals("100001|4999950001|false|99999|5000001", value.asString());
+            assertTrue(getArrayType(context, "a") instanceof AbstractSegmentedArray);
+
+            value = context.eval(ID, "a[10] = 1.5; a[20] = 'x'; a[0] + '|' + a[10] + '|' + a[20] + '|' + a[50] + '|' + a.length");
+            assertEquals("0|1.5|x|1|5000001", value.asString());
+        }
+    }
+
+    @Test
+    public void testLengthAndShift() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value value = context.eval(ID, "var a = []; a[3000000] = 'z'; a[0] = 'a'; a[1] = 'b'; a[2] = 'c';" +
+                            "a.splice(1, 1); a.unshift('first');" +
+                            "Object.keys(a).join() + '|' + a[2] + '|' + a[3000000] + '|' + a.length");
+            assertEquals("0,1,2,3000000|c|z|3000001", value.asString());
+
+            value = context.eval(ID, "a.length = 5; Object.keys(a).join() + '|' + a.length");
+            assertEquals("0,1,2|5", value.asString());
+        }
+    }
+
+    @Test
+    public void testScatteredIndices() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value value = context.eval(ID, "var a = []; a[0] = 0; for (var i = 1; i <= 1000; i++) { a[i * 60000] = i; }" +
+                            "Object.keys(a).length + '|' + a[60000000] + '|' + a[59999999]");
+            assertEquals("1001|1000|undefined", value.asString());
+        }
+    }
+
+    @Test
+    public void testLengthBeyondIntRange() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value value = context.eval(ID, "var a = []; a[100000] = 1; a[0] = 0; a.length");
+            assertEquals(100001, value.asInt());
+            assertTrue(getArrayType(context, "a") instanceof AbstractSegmentedArray);
+
+            value = context.eval(ID, "a.length = 3e9; a[2999999999] = 'last'; Object.keys(a).join() + '|' + a.length");
+            assertEquals("0,100000,2999999999|3000000000", value.asString());
+            assertTrue(getArrayType(context, "a") instanceof SparseArray);
+
+            // a holes array with a large length does not become segmented
+            value = context.eval(ID, "var b = [1, , 3]; b.length = 3e9; b[200000] = 2; Object.keys(b).join() + '|' + b.length");
+            assertEquals("0,2,200000|3000000000", value.asString());
+            assertFalse(getArrayType(context, "b") instanceof AbstractSegmentedArray);
+        }
+    }
+
+    private static ScriptArray getArrayType(Context context, String name) {
+        DynamicObject array = (DynamicObject) JSObject.get(JavaScriptLanguage.getJSRealm(context).getGlobalObject(), name);
+        return JSObject.getArray(array);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.js.test.JSTest;
+
+public class SparseArrayTest {
+
+    @Test
+    public void testOrderedTraversal() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value value = context.eval(ID, "var a = []; a[4000000000] = 'last'; a[7] = 'seven'; a[100000] = 'big'; a[3] = 'three'; delete a[7]; a[7] = 'again';" +
+                            "Object.keys(a).join() + '|' + a.indexOf('big') + '|' + a.lastIndexOf('three')");
+            assertEquals("3,7,100000,4000000000|100000|3", value.asString());
+
+            value = context.eval(ID, "var keys = []; a.forEach((v, i) => keys.push(i)); keys.join()");
+            assertEquals("3,7,100000,4000000000", value.asString());
+
+            value = context.eval(ID, "a.length = 100001; Object.keys(a).join() + '|' + a.length");
+            assertEquals("3,7,100000|100001", value.asString());
+        }
+    }
+
+    @Test
+    public void testShiftElements() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value value = context.eval(ID, "var a = []; a.length = 3000000000; a[1] = 'b'; a[2] = 'c'; a[2000000000] = 'x';" +
+                            "a.splice(1, 1); a.unshift('first');" +
+                            "Object.keys(a).join() + '|' + a[2] + '|' + a[2000000000] + '|' + a.length");
+            assertEquals("0,2,2000000000|c|x|3000000000", value.asString());
+        }
+    }
+
+    @Test
+    public void testManyElements() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value value = context.eval(ID, "var a = []; a[4e9] = 1; for (var i = 0; i < 100000; i++) { a[(i * 7919) % 1000003 * 1000] = i; }" +
+                            "for (var i = 0; i < 100000; i += 2) { delete a[(i * 7919) % 1000003 * 1000]; }" +
+                            "var ok = true; var prev = -1; var count = 0;" +
+                            "for (var k in a) { ok = ok && +k > prev && a[k] % 2 === 1; prev = +k; count++; }" +
+                            "ok && count === 50001");
+            assertTrue(value.asBoolean());
+        }
+    }
+}
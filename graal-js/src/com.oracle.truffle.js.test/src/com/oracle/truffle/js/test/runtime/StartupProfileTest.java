@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+public class StartupProfileTest {
+
+    private static final String CODE = "function used(x) { return x + 1; }\n" +
+                    "function unused(x) { return x - 1; }\n" +
+                    "used(41);";
+
+    @Test
+    public void testRecordAndReplay() throws IOException {
+        Path profile = Files.createTempFile("startup-profile", ".txt");
+        Files.delete(profile);
+        try {
+            Source source = Source.newBuilder(JavaScriptLanguage.ID, CODE, "startup.js").build();
+            try (Context context = JSTest.newContextBuilder().allowIO(true).option(JSContextOptions.STARTUP_PROFILE_RECORD_NAME, profile.toString()).build()) {
+                assertEquals(42, context.eval(source).asInt());
+            }
+            List<String> lines = Files.readAllLines(profile, StandardCharsets.UTF_8);
+            assertTrue(lines.toString(), lines.stream().anyMatch(line -> isFunctionContaining(line, "x + 1")));
+            assertFalse(lines.toString(), lines.stream().anyMatch(line -> isFunctionContaining(line, "x - 1")));
+
+            try (Context context = JSTest.newContextBuilder().allowIO(true).//
+                            option(JSContextOptions.LAZY_TRANSLATION_NAME, "true").//
+                            option(JSContextOptions.STARTUP_PROFILE_REPLAY_NAME, profile.toString()).build()) {
+                assertEquals(42, context.eval(source).asInt());
+                assertEquals(9, context.eval(JavaScriptLanguage.ID, "unused(10)").asInt());
+            }
+        } finally {
+            Files.deleteIfExists(profile);
+        }
+    }
+
+    /**
+     * Checks whether a profile entry ({@code index:length:source}) denotes a function (not the
+     * whole script) whose body contains the given code.
+     */
+    private static boolean isFunctionContaining(String line, String code) {
+        String[] parts = line.split(":", 3);
+        int index = Integer.parseInt(parts[0]);
+        int length = Integer.parseInt(parts[1]);
+        int codeIndex = CODE.indexOf(code);
+        return parts[2].equals("startup.js") && length < CODE.length() && index <= codeIndex && codeIndex < index + length;
+    }
+
+    /**
+     * Recording replaces an existing profile. Functions translated ahead of time from the replayed
+     * profile are recorded again when they are called, other functions drop out.
+     */
+    @Test
+    public void testRecordReplacesProfile() throws IOException {
+        Path profile = Files.createTempFile("startup-profile", ".txt");
+        Files.delete(profile);
+        try {
+            Source source = Source.newBuilder(JavaScriptLanguage.ID, CODE, "startup.js").build();
+            try (Context context = JSTest.newContextBuilder().allowIO(true).option(JSContextOptions.STARTUP_PROFILE_RECORD_NAME, profile.toString()).build()) {
+                assertEquals(42, context.eval(source).asInt());
+            }
+
+            try (Context context = newRecordAndReplayContext(profile)) {
+                assertEquals(42, context.eval(source).asInt());
+            }
+            List<String> rerecorded = Files.readAllLines(profile, StandardCharsets.UTF_8);
+            assertTrue(rerecorded.toString(), rerecorded.stream().anyMatch(line -> isFunctionContaining(line, "x + 1")));
+            assertFalse(rerecorded.toString(), rerecorded.stream().anyMatch(line -> isFunctionContaining(line, "x - 1")));
+
+            Source other = Source.newBuilder(JavaScriptLanguage.ID, "function other() { return 1; }\nother();", "other.js").build();
+            try (Context context = newRecordAndReplayContext(profile)) {
+                assertEquals(1, context.eval(other).asInt());
+            }
+            List<String> replaced = Files.readAllLines(profile, StandardCharsets.UTF_8);
+            assertTrue(replaced.toString(), replaced.stream().anyMatch(line -> line.endsWith(":other.js")));
+            assertFalse(replaced.toString(), replaced.stream().anyMatch(line -> line.endsWith(":startup.js")));
+        } finally {
+            Files.deleteIfExists(profile);
+        }
+    }
+
+    private static Context newRecordAndReplayContext(Path profile) {
+        return JSTest.newContextBuilder().allowIO(true).//
+                        option(JSContextOptions.LAZY_TRANSLATION_NAME, "true").//
+                        option(JSContextOptions.STARTUP_PROFILE_RECORD_NAME, profile.toString()).//
+                        option(JSContextOptions.STARTUP_PROFILE_REPLAY_NAME, profile.toString()).build();
+    }
+
+    @Test
+    public void testReplayMissingProfile() throws IOException {
+        Path profile = Files.createTempFile("startup-profile", ".txt");
+        Files.delete(profile);
+        try (Context context = JSTest.newContextBuilder().allowIO(true).//
+                        option(JSContextOptions.LAZY_TRANSLATION_NAME, "true").//
+                        option(JSContextOptions.STARTUP_PROFILE_REPLAY_NAME, profile.toString()).build()) {
+            assertEquals(42, context.eval(JavaScriptLanguage.ID, CODE).asInt());
+        }
+    }
+}
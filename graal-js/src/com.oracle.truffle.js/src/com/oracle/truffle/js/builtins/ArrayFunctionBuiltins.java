@@ -50,6 +50,7 @@ import com.oracle.truffle.js.builtins.ArrayFunctionBuiltinsFactory.JSArrayFromNo
 import com.oracle.truffle.js.builtins.ArrayFunctionBuiltinsFactory.JSArrayOfNodeGen;
 import com.oracle.truffle.js.builtins.ArrayFunctionBuiltinsFactory.JSIsArrayNodeGen;
 import com.oracle.truffle.js.builtins.ArrayPrototypeBuiltins.JSArrayOperation;
+import com.oracle.truffle.js.nodes.access.ForeignIteratorGetNextValueNode;
 import com.oracle.truffle.js.nodes.access.GetIteratorNode;
 import com.oracle.truffle.js.nodes.access.GetMethodNode;
 import com.oracle.truffle.js.nodes.access.IsArrayNode;
@@ -207,7 +208,9 @@ public final class ArrayFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum<
         @Child private PropertyGetNode getNextMethodNode;
         @Child private JSGetLengthNode getSourceLengthNode;
         @Child private IsArrayNode isFastArrayNode;
+        @Child private ForeignIteratorGetNextValueNode foreignIteratorNextValueNode;
         private final ConditionProfile isIterable = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile isForeignIterator = ConditionProfile.createBinaryProfile();
 
         public JSArrayFromNode(JSContext context, JSBuiltin builtin, boolean isTypedArray) {
             super(context, builtin, isTypedArray);
@@ -256,6 +259,14 @@ public final class ArrayFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum<
             return iteratorStepNode.execute(iteratorRecord);
         }
 
+        private ForeignIteratorGetNextValueNode getForeignIteratorNextValueNode() {
+            if (foreignIteratorNextValueNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                foreignIteratorNextValueNode = insert(ForeignIteratorGetNextValueNode.create(getContext()));
+            }
+            return foreignIteratorNextValueNode;
+        }
+
         protected final Object callMapFn(Object target, DynamicObject function, Object... userArguments) {
             if (callMapFnNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -318,14 +329,24 @@ public final class ArrayFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum<
 
         private DynamicObject arrayFromIteratorRecord(DynamicObject obj, IteratorRecord iteratorRecord, Object mapFn, Object thisArg, boolean mapping) {
             long k = 0;
+            boolean foreign = isForeignIterator.profile(getForeignIteratorNextValueNode().isForeignIterator(iteratorRecord));
             try {
                 while (true) {
-                    Object next = iteratorStep(iteratorRecord);
-                    if (next == Boolean.FALSE) {
-                        setLength(obj, k);
-                        return obj;
+                    Object mapped;
+                    if (foreign) {
+                        mapped = foreignIteratorNextValueNode.execute(iteratorRecord);
+                        if (mapped == null) {
+                            setLength(obj, k);
+                            return obj;
+                        }
+                    } else {
+                        Object next = iteratorStep(iteratorRecord);
+                        if (next == Boolean.FALSE) {
+                            setLength(obj, k);
+                            return obj;
+                        }
+                        mapped = getIteratorValue((DynamicObject) next);
                     }
-                    Object mapped = getIteratorValue((DynamicObject) next);
                     if (mapping) {
                         mapped = callMapFn(thisArg, (DynamicObject) mapFn, mapped, JSRuntime.positiveLongToIntOrDouble(k));
                     }
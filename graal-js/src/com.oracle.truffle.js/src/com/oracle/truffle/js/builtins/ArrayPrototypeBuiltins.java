@@ -125,6 +125,7 @@ import com.oracle.truffle.js.nodes.array.ArrayLengthNode.ArrayLengthWriteNode;
 import com.oracle.truffle.js.nodes.array.JSArrayDeleteRangeNode;
 import com.oracle.truffle.js.nodes.array.JSArrayFirstElementIndexNode;
 import com.oracle.truffle.js.nodes.array.JSArrayLastElementIndexNode;
+import com.oracle.truffle.js.nodes.array.JSArrayMergeSortNode;
 import com.oracle.truffle.js.nodes.array.JSArrayNextElementIndexNode;
 import com.oracle.truffle.js.nodes.array.JSArrayPreviousElementIndexNode;
 import com.oracle.truffle.js.nodes.array.JSArrayToDenseObjectArrayNode;
@@ -155,11 +156,16 @@ import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JavaScriptRootNode;
 import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.array.PrimitiveArraySort;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
 import com.oracle.truffle.js.runtime.array.SparseArray;
 import com.oracle.truffle.js.runtime.array.TypedArray;
+import com.oracle.truffle.js.runtime.array.TypedArray.TypedBigIntArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractObjectArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractWritableArray;
+import com.oracle.truffle.js.runtime.array.dyn.ArrayCopy;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantByteArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantDoubleArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantIntArray;
@@ -375,8 +381,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                     errorBranch.enter();
                     throw Errors.createTypeErrorDetachedBuffer();
                 }
-                TypedArray typedArray = typedArrayTypeProfile.profile(JSArrayBufferView.typedArrayGetArrayType(dynObj));
-                return typedArray.length(dynObj);
+                return getTypedArrayType(dynObj).length(dynObj);
             } else {
                 if (getLengthNode == null) {
                     CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -410,6 +415,20 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             return arraySpeciesCreateNode;
         }
 
+        protected final TypedArray getTypedArrayType(DynamicObject view) {
+            assert isTypedArrayImplementation;
+            return typedArrayTypeProfile.profile(JSArrayBufferView.typedArrayGetArrayType(view));
+        }
+
+        /**
+         * Whether the typed array holds numbers (not BigInts) in a buffer that supports the bulk
+         * operations of {@link TypedArray}.
+         */
+        protected final boolean isNumberTypedArray(DynamicObject view) {
+            TypedArray typedArray = getTypedArrayType(view);
+            return !typedArray.isInterop() && !(typedArray instanceof TypedBigIntArray);
+        }
+
         protected final void checkHasDetachedBuffer(DynamicObject view) {
             if (JSArrayBufferView.hasDetachedBuffer(view, getContext())) {
                 errorBranch.enter();
@@ -633,6 +652,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
         @Child private JSHasPropertyNode hasPropertyNode;
         @Child private JSArrayNextElementIndexNode nextElementIndexNode;
         @Child private JSArrayPreviousElementIndexNode previousElementIndexNode;
+        private final ConditionProfile appendRangeProfile = ConditionProfile.createBinaryProfile();
 
         protected void setLength(Object thisObject, int length) {
             setLengthIntl(thisObject, length);
@@ -739,6 +759,20 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             return previousElementIndexNode.executeLong(target, currentIndex);
         }
 
+        /**
+         * Copies the elements [sourceStart, sourceEnd) of a fast array to index targetStart of a
+         * fast array by copying backing arrays, see {@link ArrayCopy#appendRange}. Returns false
+         * if the elements have to be copied one by one.
+         */
+        protected final boolean appendRange(Object target, long targetStart, Object source, long sourceStart, long sourceEnd) {
+            assert sourceStart < sourceEnd;
+            if (appendRangeProfile.profile(JSArray.isJSFastArray(target) && JSArray.isJSFastArray(source) && sourceEnd <= Integer.MAX_VALUE &&
+                            targetStart + (sourceEnd - sourceStart) <= Integer.MAX_VALUE)) {
+                return ArrayCopy.appendRange((DynamicObject) target, (int) targetStart, (DynamicObject) source, (int) sourceStart, (int) sourceEnd);
+            }
+            return false;
+        }
+
         protected static final void throwLengthError() {
             throw Errors.createTypeError("length too big");
         }
@@ -765,6 +799,9 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
     }
 
     public abstract static class JSArrayPushNode extends JSArrayOperation {
+        private final ValueProfile arrayTypeProfile = ValueProfile.createClassProfile();
+        private final ConditionProfile reserveCapacityProfile = ConditionProfile.createBinaryProfile();
+
         public JSArrayPushNode(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
         }
@@ -811,6 +848,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                 throw JSNodeUtil.slowPathException();
             }
             int ilen = (int) len;
+            reserveCapacity(thisObject, ilen, ilen + args.length - 1);
             for (int i = 0; i < args.length; i++) {
                 write(thisObject, ilen + i, args[i]);
             }
@@ -818,6 +856,19 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             return ilen + args.length;
         }
 
+        /**
+         * Grows contiguous storage once for all pushed values instead of once per value. Only done
+         * if the elements reach up to the length, i.e. the pushed values are appended to the
+         * storage; otherwise, the first write decides whether the array needs to become holey or
+         * sparse.
+         */
+        private void reserveCapacity(DynamicObject thisObject, int length, int lastIndex) {
+            ScriptArray arrayType = arrayTypeProfile.profile(arrayGetArrayType(thisObject));
+            if (reserveCapacityProfile.profile(arrayType instanceof AbstractWritableArray && !arrayType.isHolesType() && arrayType.lastElementIndex(thisObject) + 1 == length)) {
+                ((AbstractWritableArray) arrayType).reserveCapacity(thisObject, lastIndex);
+            }
+        }
+
         @Specialization(guards = {"isJSArray(thisObject)", "args.length >= 2"})
         protected double pushArrayAllLong(DynamicObject thisObject, Object[] args) {
             long len = getLength(thisObject);
@@ -948,6 +999,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
         private final ConditionProfile sizeIsZero = ConditionProfile.createBinaryProfile();
         private final ConditionProfile offsetProfile1 = ConditionProfile.createBinaryProfile();
         private final ConditionProfile offsetProfile2 = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile sameTypeProfile = ConditionProfile.createBinaryProfile();
 
         @Specialization
         protected Object sliceGeneric(Object thisObj, Object begin, Object end,
@@ -966,7 +1018,15 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             long size = startPos <= endPos ? endPos - startPos : 0;
             Object resultArray = getArraySpeciesConstructorNode().createEmptyContainer(thisArrayObj, size);
             if (sizeIsZero.profile(size > 0)) {
-                forEachIndexCall(thisArrayObj, null, startPos, startPos, endPos, resultArray);
+                boolean copied;
+                if (isTypedArrayImplementation) {
+                    copied = sliceTypedArraySameType((DynamicObject) thisArrayObj, (DynamicObject) resultArray, startPos, size);
+                } else {
+                    copied = appendRange(resultArray, 0, thisArrayObj, startPos, endPos);
+                }
+                if (!copied) {
+                    forEachIndexCall(thisArrayObj, null, startPos, startPos, endPos, resultArray);
+                }
             }
             if (!isTypedArrayImplementation) {
                 setLength(resultArray, size);
@@ -974,6 +1034,21 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             return resultArray;
         }
 
+        /**
+         * Copies the elements of a typed array slice as raw bytes if source and result have the
+         * same element type (ES2021, 22.2.3.24 step 14.g).
+         */
+        private boolean sliceTypedArraySameType(DynamicObject thisTypedArray, DynamicObject resultTypedArray, long startPos, long size) {
+            checkHasDetachedBuffer(thisTypedArray);
+            TypedArray sourceType = getTypedArrayType(thisTypedArray);
+            TypedArray resultType = JSArrayBufferView.typedArrayGetArrayType(resultTypedArray);
+            if (sameTypeProfile.profile(sourceType.getFactory() == resultType.getFactory() && !sourceType.isInterop() && !resultType.isInterop())) {
+                sourceType.copyElements(thisTypedArray, (int) startPos, resultType, resultTypedArray, 0, (int) size);
+                return true;
+            }
+            return false;
+        }
+
         @Override
         protected MaybeResultNode makeMaybeResultNode() {
             return new ForEachIndexCallNode.MaybeResultNode() {
@@ -1442,7 +1517,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                 if (hasProperty(elObj, 0)) {
                     writeOwn(retObj, n, read(elObj, 0));
                 }
-            } else {
+            } else if (!appendRange(retObj, n, elObj, 0, len2)) {
                 long k = firstElementIndex((DynamicObject) elObj, len2);
                 long lastI = lastElementIndex((DynamicObject) elObj, len2);
                 for (; k <= lastI; k = nextElementIndex(elObj, k, len2)) {
@@ -1506,6 +1581,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
         @Child private JSToIntegerAsLongNode toIntegerNode;
         private final BranchProfile arrayWithContentBranch = BranchProfile.create();
         private final BranchProfile fromConversionBranch = BranchProfile.create();
+        private final ConditionProfile numberSearchProfile = ConditionProfile.createBinaryProfile();
 
         public JSArrayIndexOfNode(JSContext context, JSBuiltin builtin, boolean isTypedArrayImplementation, boolean isForward) {
             super(context, builtin, isTypedArrayImplementation);
@@ -1527,9 +1603,29 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             if (fromIndexValue < 0) {
                 return -1;
             }
+            if (isTypedArrayImplementation && numberSearchProfile.profile(JSRuntime.isNumber(searchElement) && isNumberTypedArray((DynamicObject) thisJSObject))) {
+                return indexOfNumber((DynamicObject) thisJSObject, JSRuntime.doubleValue((Number) searchElement), fromIndexValue, len);
+            }
             return forEachIndexCall(thisJSObject, Undefined.instance, searchElement, fromIndexValue, len, -1);
         }
 
+        private int indexOfNumber(DynamicObject typedArrayObj, double searchElement, long fromIndex, long len) {
+            if (JSArrayBufferView.hasDetachedBuffer(typedArrayObj, getContext())) {
+                // detached during fromIndex conversion, all elements read as undefined
+                return -1;
+            }
+            TypedArray typedArray = getTypedArrayType(typedArrayObj);
+            int index;
+            if (isForward()) {
+                index = typedArray.indexOfNumber(typedArrayObj, searchElement, (int) fromIndex, (int) len, false);
+                reportLoopCount((index < 0 ? len : index) - fromIndex);
+            } else {
+                index = typedArray.lastIndexOfNumber(typedArrayObj, searchElement, (int) fromIndex);
+                reportLoopCount(fromIndex - index);
+            }
+            return index;
+        }
+
         // for indexOf()
         private long calcFromIndexForward(Object[] args, long len, Object fromIndex) {
             if (args.length <= 1) {
@@ -1606,6 +1702,8 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
         private final ConditionProfile isSparse = ConditionProfile.createBinaryProfile();
         private final BranchProfile growProfile = BranchProfile.create();
         private final BranchProfile stackGrowProfile = BranchProfile.create();
+        private final ConditionProfile isFastArrayJoined = ConditionProfile.createBinaryProfile();
+        private final ValueProfile arrayTypeProfile = ValueProfile.createClassProfile();
         private final StringBuilderProfile stringBuilderProfile;
 
         public JSArrayJoinNode(JSContext context, JSBuiltin builtin, boolean isTypedArrayImplementation) {
@@ -1632,8 +1730,11 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                     return joinOne(thisJSObject);
                 } else {
                     final boolean appendSep = separatorNotEmpty.profile(joinSeparator.length() > 0);
+                    String fastResult;
                     if (isTwo.profile(length == 2)) {
                         return joinTwo(thisJSObject, joinSeparator, appendSep);
+                    } else if (isFastArrayJoined.profile((fastResult = joinFastArray(thisJSObject, length, joinSeparator)) != null)) {
+                        return fastResult;
                     } else if (isSparse.profile(JSArray.isJSArray(thisJSObject) && arrayGetArrayType((DynamicObject) thisJSObject) instanceof SparseArray)) {
                         return joinSparse(thisJSObject, length, joinSeparator, appendSep);
                     } else {
@@ -1697,6 +1798,115 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             return stringBuilderProfile.toString(res);
         }
 
+        /**
+         * Joins fast arrays without holes that hold numbers or primitive values with a cheap and
+         * side-effect free ToString directly into a pre-sized builder, without converting each
+         * element to a string first. Returns null if the generic join has to be used.
+         */
+        private String joinFastArray(Object thisJSObject, long length, String joinSeparator) {
+            if (isTypedArrayImplementation || !JSArray.isJSFastArray(thisJSObject) || length > Integer.MAX_VALUE) {
+                return null;
+            }
+            DynamicObject array = (DynamicObject) thisJSObject;
+            ScriptArray arrayType = arrayTypeProfile.profile(arrayGetArrayType(array));
+            if (!(arrayType instanceof AbstractWritableArray) || arrayType.isHolesType() || arrayType.firstElementIndex(array) != 0 || arrayType.lastElementIndex(array) != length - 1) {
+                return null;
+            }
+            int stringLengthLimit = getContext().getStringLengthLimit();
+            if (arrayType instanceof AbstractIntArray) {
+                return joinInts(array, (AbstractIntArray) arrayType, (int) length, joinSeparator, stringLengthLimit);
+            } else if (arrayType instanceof AbstractDoubleArray) {
+                return joinDoubles(array, (AbstractDoubleArray) arrayType, (int) length, joinSeparator, stringLengthLimit);
+            } else if (arrayType instanceof AbstractObjectArray) {
+                return joinPrimitives(array, (AbstractObjectArray) arrayType, (int) length, joinSeparator, stringLengthLimit);
+            }
+            return null;
+        }
+
+        @TruffleBoundary
+        private static String joinInts(DynamicObject array, AbstractIntArray arrayType, int length, String joinSeparator, int stringLengthLimit) {
+            // first pass: exact result length
+            long resultLength = (long) (length - 1) * joinSeparator.length();
+            for (int i = 0; i < length; i++) {
+                resultLength += intStringLength(arrayType.getInBoundsFastInt(array, i));
+            }
+            if (resultLength > stringLengthLimit) {
+                throw Errors.createRangeErrorInvalidStringLength();
+            }
+            StringBuilder res = new StringBuilder((int) resultLength);
+            for (int i = 0; i < length; i++) {
+                if (i != 0) {
+                    res.append(joinSeparator);
+                }
+                res.append(arrayType.getInBoundsFastInt(array, i));
+            }
+            assert res.length() == resultLength;
+            return res.toString();
+        }
+
+        @TruffleBoundary
+        private static String joinDoubles(DynamicObject array, AbstractDoubleArray arrayType, int length, String joinSeparator, int stringLengthLimit) {
+            // estimate: most doubles in arrays have a short decimal representation
+            long estimatedLength = (long) length * (joinSeparator.length() + 8);
+            StringBuilder res = new StringBuilder((int) Math.min(estimatedLength, stringLengthLimit));
+            for (int i = 0; i < length; i++) {
+                if (i != 0) {
+                    res.append(joinSeparator);
+                }
+                JSRuntime.appendDoubleToString(res, arrayType.getInBoundsFastDouble(array, i));
+                if (res.length() > stringLengthLimit) {
+                    throw Errors.createRangeErrorInvalidStringLength();
+                }
+            }
+            return res.toString();
+        }
+
+        /**
+         * Joins strings, ints, undefined and null; returns null for any other element.
+         */
+        @TruffleBoundary
+        private static String joinPrimitives(DynamicObject array, AbstractObjectArray arrayType, int length, String joinSeparator, int stringLengthLimit) {
+            // first pass: exact result length, and bail out before any string is built
+            long resultLength = (long) (length - 1) * joinSeparator.length();
+            for (int i = 0; i < length; i++) {
+                Object value = arrayType.getInBoundsFastObject(array, i);
+                if (value instanceof String) {
+                    resultLength += ((String) value).length();
+                } else if (value instanceof Integer) {
+                    resultLength += intStringLength((int) value);
+                } else if (isValidEntry(value)) {
+                    return null;
+                }
+            }
+            if (resultLength > stringLengthLimit) {
+                throw Errors.createRangeErrorInvalidStringLength();
+            }
+            StringBuilder res = new StringBuilder((int) resultLength);
+            for (int i = 0; i < length; i++) {
+                if (i != 0) {
+                    res.append(joinSeparator);
+                }
+                Object value = arrayType.getInBoundsFastObject(array, i);
+                if (value instanceof String) {
+                    res.append((String) value);
+                } else if (value instanceof Integer) {
+                    res.append((int) value);
+                }
+            }
+            assert res.length() == resultLength;
+            return res.toString();
+        }
+
+        private static int intStringLength(int value) {
+            long abs = Math.abs((long) value);
+            int digits = 1;
+            while (abs >= 10) {
+                abs /= 10;
+                digits++;
+            }
+            return value < 0 ? digits + 1 : digits;
+        }
+
         private String toStringOrEmpty(Object value) {
             if (isValidEntry(value)) {
                 return elementToStringNode.executeString(value);
@@ -1937,6 +2147,9 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
         }
 
         private void spliceRead(Object thisObj, long actualStart, long actualDeleteCount, DynamicObject aObj, long length) {
+            if (appendRange(aObj, 0, thisObj, actualStart, actualStart + actualDeleteCount)) {
+                return;
+            }
             long kPlusStart = actualStart;
             if (!hasProperty(thisObj, kPlusStart)) {
                 kPlusStart = nextElementIndex(thisObj, kPlusStart, length);
@@ -2594,6 +2807,9 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
         private final BranchProfile hasCompareFnBranch = BranchProfile.create();
         private final BranchProfile noCompareFnBranch = BranchProfile.create();
         private final BranchProfile growProfile = BranchProfile.create();
+        private final ConditionProfile isPrimitiveArray = ConditionProfile.create();
+        private final ConditionProfile isFunctionComparator = ConditionProfile.create();
+        @Child private JSArrayMergeSortNode mergeSortNode;
         @Child private InteropLibrary interopNode;
         @Child private ImportValueNode importValueNode;
 
@@ -2614,9 +2830,16 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             }
 
             ScriptArray scriptArray = arrayGetArrayType(thisObj);
+            if (isPrimitiveArray.profile(scriptArray instanceof AbstractIntArray || scriptArray instanceof AbstractDoubleArray) &&
+                            PrimitiveArraySort.sortFastArray(thisObj, scriptArray, (int) len, PrimitiveArraySort.getSortOrder(compare), getParallelSortThreshold())) {
+                reportLoopCount(len);
+                return thisObj;
+            }
             Object[] array = arrayToObjectArrayNode.executeObjectArray(thisObj, scriptArray, len);
 
-            sortIntl(getComparator(thisObj, compare), array);
+            if (!sortSpecialized(compare, array)) {
+                sortIntl(getComparator(thisObj, compare), array);
+            }
             reportLoopCount(len); // best effort guess, let's not go for n*log(n)
 
             for (int i = 0; i < array.length; i++) {
@@ -2629,6 +2852,19 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             return thisObj;
         }
 
+        /**
+         * Arrays.parallelSort runs on the common fork/join pool, i.e., on threads that are not
+         * created through the embedder, so parallel sorting is only used if creating threads is
+         * allowed.
+         */
+        private int getParallelSortThreshold() {
+            int threshold = getContext().getContextOptions().getParallelSortThreshold();
+            if (threshold > 0 && !getContext().getRealm().getEnv().isCreateThreadAllowed()) {
+                return 0;
+            }
+            return threshold;
+        }
+
         private void delete(Object obj, Object i) {
             if (deletePropertyNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -2658,14 +2894,23 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                 return thisJSObj;
             }
 
+            if (isTypedArrayImplementation && isPrimitiveArray.profile(JSArrayBufferView.isJSArrayBufferView(thisJSObj)) &&
+                            PrimitiveArraySort.sortTypedArray(thisJSObj, JSArrayBufferView.typedArrayGetArrayType(thisJSObj), (int) len, PrimitiveArraySort.getSortOrder(comparefn),
+                                            getParallelSortThreshold())) {
+                reportLoopCount(len);
+                return thisJSObj;
+            }
+
             Object[] array = jsobjectToArray(thisJSObj, len);
 
-            Comparator<Object> comparator = getComparator(thisJSObj, comparefn);
-            if (isTypedArrayImplementation && comparefn == Undefined.instance) {
-                assert comparator == null;
-                prepareForDefaultComparator(array);
+            if (!sortSpecialized(comparefn, array)) {
+                Comparator<Object> comparator = getComparator(thisJSObj, comparefn);
+                if (isTypedArrayImplementation && comparefn == Undefined.instance) {
+                    assert comparator == null;
+                    prepareForDefaultComparator(array);
+                }
+                sortIntl(comparator, array);
             }
-            sortIntl(comparator, array);
             reportLoopCount(len);
 
             for (int i = 0; i < array.length; i++) {
@@ -2694,8 +2939,10 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
 
             Object[] array = foreignArrayToObjectArray(thisObj, (int) len);
 
-            Comparator<Object> comparator = getComparator(thisObj, comparefn);
-            sortIntl(comparator, array);
+            if (!sortSpecialized(comparefn, array)) {
+                Comparator<Object> comparator = getComparator(thisObj, comparefn);
+                sortIntl(comparator, array);
+            }
             reportLoopCount(len);
 
             for (int i = 0; i < array.length; i++) {
@@ -2711,6 +2958,26 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             }
         }
 
+        /**
+         * Sorts with a JS function comparator in compiled code, so that the comparator can be
+         * inlined, or with the default comparator over precomputed string keys. Typed arrays keep
+         * using {@link SortComparator}, which checks for a detached buffer after each comparison.
+         * Returns {@code false} if the comparator is not handled.
+         */
+        private boolean sortSpecialized(Object comparefn, Object[] array) {
+            if (!isTypedArrayImplementation && isFunctionComparator.profile(JSFunction.isJSFunction(comparefn))) {
+                if (mergeSortNode == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    mergeSortNode = insert(JSArrayMergeSortNode.create());
+                }
+                mergeSortNode.execute(array, (DynamicObject) comparefn);
+                return true;
+            } else if (!isTypedArrayImplementation && comparefn == Undefined.instance) {
+                return JSArray.sortDefaultByStringKeys(array);
+            }
+            return false;
+        }
+
         private Comparator<Object> getComparator(Object thisObj, Object compare) {
             if (compare == Undefined.instance) {
                 noCompareFnBranch.enter();
@@ -3005,6 +3272,15 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             }
             long count = Math.min(finalIdx - from, len - to);
             long expectedCount = count;
+            if (isTypedArrayImplementation && count > 0) {
+                DynamicObject typedArrayObj = (DynamicObject) obj;
+                checkHasDetachedBuffer(typedArrayObj);
+                TypedArray typedArray = getTypedArrayType(typedArrayObj);
+                if (!typedArray.isInterop()) {
+                    typedArray.copyElements(typedArrayObj, (int) from, typedArray, typedArrayObj, (int) to, (int) count);
+                    return obj;
+                }
+            }
 
             long direction;
             if (from < to && to < (from + count)) {
@@ -3032,6 +3308,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
     }
 
     public abstract static class JSArrayIncludesNode extends JSArrayOperationWithToInt {
+        private final ConditionProfile numberSearchProfile = ConditionProfile.createBinaryProfile();
 
         public JSArrayIncludesNode(JSContext context, JSBuiltin builtin, boolean isTypedArrayImplementation) {
             super(context, builtin, isTypedArrayImplementation);
@@ -3061,6 +3338,17 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                 return true;
             }
 
+            if (isTypedArrayImplementation && k < len && numberSearchProfile.profile(JSRuntime.isNumber(searchElement) && isNumberTypedArray((DynamicObject) thisObj))) {
+                DynamicObject typedArrayObj = (DynamicObject) thisObj;
+                if (JSArrayBufferView.hasDetachedBuffer(typedArrayObj, getContext())) {
+                    // detached during fromIndex conversion, all elements read as undefined
+                    return false;
+                }
+                int index = getTypedArrayType(typedArrayObj).indexOfNumber(typedArrayObj, JSRuntime.doubleValue((Number) searchElement), (int) k, (int) len, true);
+                reportLoopCount((index < 0 ? len : index) - k);
+                return index >= 0;
+            }
+
             long startIdx = k;
             while (k < len) {
                 Object currentElement = read(thisObj, k);
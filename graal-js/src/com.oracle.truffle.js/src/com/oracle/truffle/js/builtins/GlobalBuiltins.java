@@ -54,9 +54,13 @@ import java.io.Reader;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringTokenizer;
 
 import javax.script.Bindings;
@@ -90,6 +94,7 @@ import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalDecodeURINod
 import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalEncodeURINodeGen;
 import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalExitNodeGen;
 import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalImportScriptEngineGlobalBindingsNodeGen;
+import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalResetScriptEngineGlobalNodeGen;
 import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalIndirectEvalNodeGen;
 import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalIsFiniteNodeGen;
 import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalIsNaNNodeGen;
@@ -98,6 +103,7 @@ import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalLoadWithNewG
 import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalParseFloatNodeGen;
 import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalParseIntNodeGen;
 import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalPrintNodeGen;
+import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalMapBufferNodeGen;
 import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalReadBufferNodeGen;
 import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalReadFullyNodeGen;
 import com.oracle.truffle.js.builtins.GlobalBuiltinsFactory.JSGlobalReadLineNodeGen;
@@ -140,6 +146,7 @@ import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSURLDecoder;
 import com.oracle.truffle.js.runtime.builtins.JSURLEncoder;
 import com.oracle.truffle.js.runtime.interop.JSInteropUtil;
+import com.oracle.truffle.js.runtime.interop.ReadOnlyInteropBuffer;
 import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
@@ -154,6 +161,7 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
     public static final JSBuiltinsContainer GLOBAL_FUNCTIONS = new GlobalBuiltins();
     public static final JSBuiltinsContainer GLOBAL_SHELL = new GlobalShellBuiltins();
     public static final JSBuiltinsContainer GLOBAL_NASHORN_EXTENSIONS = new GlobalNashornScriptingBuiltins();
+    public static final JSBuiltinsContainer GLOBAL_MAP_BUFFER = new GlobalMapBufferBuiltins();
     public static final JSBuiltinsContainer GLOBAL_PRINT = new GlobalPrintBuiltins();
     public static final JSBuiltinsContainer GLOBAL_LOAD = new GlobalLoadBuiltins();
     public static final JSBuiltinsContainer GLOBAL_COMMONJS_REQUIRE_EXTENSIONS = new GlobalCommonJSRequireBuiltins();
@@ -265,6 +273,39 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
         }
     }
 
+    /**
+     * Built-ins for memory-mapped array buffers.
+     */
+    public static final class GlobalMapBufferBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalMapBufferBuiltins.GlobalMapBuffer> {
+        protected GlobalMapBufferBuiltins() {
+            super(GlobalMapBuffer.class);
+        }
+
+        public enum GlobalMapBuffer implements BuiltinEnum<GlobalMapBuffer> {
+            mapbuffer(2);
+
+            private final int length;
+
+            GlobalMapBuffer(int length) {
+                this.length = length;
+            }
+
+            @Override
+            public int getLength() {
+                return length;
+            }
+        }
+
+        @Override
+        protected Object createNode(JSContext context, JSBuiltin builtin, boolean construct, boolean newTarget, GlobalMapBuffer builtinEnum) {
+            switch (builtinEnum) {
+                case mapbuffer:
+                    return JSGlobalMapBufferNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
+            }
+            return null;
+        }
+    }
+
     /**
      * Built-ins for print.
      */
@@ -354,7 +395,8 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
             readFully(1),
             exec(1), // $EXEC
             parseToJSON(3),
-            importScriptEngineGlobalBindings(1);
+            importScriptEngineGlobalBindings(1),
+            resetScriptEngineGlobal(0);
 
             private final int length;
 
@@ -384,6 +426,8 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
                     return GlobalScriptingEXECNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
                 case importScriptEngineGlobalBindings:
                     return JSGlobalImportScriptEngineGlobalBindingsNodeGen.create(context, builtin, args().fixedArgs(1).varArgs().createArgumentNodes(context));
+                case resetScriptEngineGlobal:
+                    return JSGlobalResetScriptEngineGlobalNodeGen.create(context, builtin, args().createArgumentNodes(context));
             }
             return null;
         }
@@ -540,7 +584,7 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
         @TruffleBoundary
         protected final Source sourceFromTruffleFile(TruffleFile file) {
             try {
-                return Source.newBuilder(JavaScriptLanguage.ID, file).build();
+                return getContext().getFileSource(file, null);
             } catch (IOException | SecurityException e) {
                 throw JSException.create(JSErrorType.EvalError, e.getMessage(), e, this);
             }
@@ -638,7 +682,7 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
         @TruffleBoundary
         protected final Source sourceFromFileName(String fileName, JSRealm realm) {
             try {
-                return Source.newBuilder(JavaScriptLanguage.ID, realm.getEnv().getPublicTruffleFile(fileName)).name(fileName).build();
+                return getContext().getFileSource(realm.getEnv().getPublicTruffleFile(fileName), fileName);
             } catch (IOException | SecurityException e) {
                 throw JSException.create(JSErrorType.EvalError, e.getMessage(), e, this);
             }
@@ -1644,6 +1688,64 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
         }
     }
 
+    /**
+     * Non-standard mapbuffer(file, mode) that creates an ArrayBuffer backed by a memory-mapped
+     * file. Mode {@code "r"} (default) maps the file read-only, writes through typed arrays or
+     * data views throw a TypeError. Mode {@code "c"} maps a private copy-on-write view of the
+     * file: writes are visible to the script only and never reach the file.
+     */
+    public abstract static class JSGlobalMapBufferNode extends JSBuiltinNode {
+
+        public JSGlobalMapBufferNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        protected final DynamicObject mapbuffer(Object fileParam, Object modeParam) {
+            TruffleFile file = getFileFromArgument(fileParam, getContext().getRealm().getEnv());
+            String mode = modeParam == Undefined.instance ? "r" : JSRuntime.toString(modeParam);
+            boolean copyOnWrite;
+            if (mode.equals("r")) {
+                copyOnWrite = false;
+            } else if (mode.equals("c")) {
+                copyOnWrite = true;
+            } else {
+                throw Errors.createTypeErrorFormat("Unsupported mapping mode: %s", mode);
+            }
+
+            Set<StandardOpenOption> openOptions = copyOnWrite ? EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE) : EnumSet.of(StandardOpenOption.READ);
+            try (SeekableByteChannel channel = file.newByteChannel(openOptions)) {
+                long size = channel.size();
+                if (size > getContext().getContextOptions().getMaxTypedArrayLength()) {
+                    throw Errors.createRangeError("Array buffer allocation failed");
+                }
+                ByteBuffer buffer;
+                if (channel instanceof FileChannel) {
+                    buffer = ((FileChannel) channel).map(copyOnWrite ? FileChannel.MapMode.PRIVATE : FileChannel.MapMode.READ_ONLY, 0, size);
+                } else {
+                    // file system without memory mapping support: read the file instead
+                    buffer = ByteBuffer.allocateDirect((int) size);
+                    while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                        // read until the buffer is full
+                    }
+                    asBaseBuffer(buffer).rewind();
+                }
+                if (!copyOnWrite) {
+                    // read-only direct buffer; typed arrays over it read it directly, but reject writes
+                    return JSArrayBuffer.createInteropArrayBuffer(getContext(), new ReadOnlyInteropBuffer(buffer.isReadOnly() ? buffer : buffer.asReadOnlyBuffer()));
+                }
+                DynamicObject arrayBuffer = JSArrayBuffer.createFromHostByteBuffer(getContext(), buffer);
+                if (arrayBuffer == null) {
+                    throw Errors.createError("Cannot map file: " + file.getPath());
+                }
+                return arrayBuffer;
+            } catch (IOException | UnsupportedOperationException | SecurityException ex) {
+                throw Errors.createErrorFromException(ex);
+            }
+        }
+    }
+
     /**
      * Non-standard import helper function for support of global scope bindings in
      * GraalJSScriptEngine.
@@ -1671,34 +1773,63 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
                 }
             }
         }
+    }
 
-        private static class ScriptEngineGlobalScopeBindingsPropertyProxy implements PropertyProxy {
+    /**
+     * Global property that reads a binding of the GLOBAL_SCOPE bindings of a ScriptEngine.
+     */
+    public static final class ScriptEngineGlobalScopeBindingsPropertyProxy implements PropertyProxy {
 
-            private final JSContext context;
-            private final Bindings globalContextBindings;
-            private final String key;
+        private final JSContext context;
+        private final Bindings globalContextBindings;
+        private final String key;
 
-            ScriptEngineGlobalScopeBindingsPropertyProxy(JSContext context, Bindings globalContextBindings, String key) {
-                this.context = context;
-                this.globalContextBindings = globalContextBindings;
-                this.key = key;
-            }
+        ScriptEngineGlobalScopeBindingsPropertyProxy(JSContext context, Bindings globalContextBindings, String key) {
+            this.context = context;
+            this.globalContextBindings = globalContextBindings;
+            this.key = key;
+        }
 
-            @Override
-            @TruffleBoundary
-            public Object get(DynamicObject store) {
-                Object value = globalContextBindings.get(key);
-                if (value == null) {
-                    return Undefined.instance;
-                }
-                return JSRuntime.importValue(context.getRealm().getEnv().asGuestValue(value));
+        @Override
+        @TruffleBoundary
+        public Object get(DynamicObject store) {
+            Object value = globalContextBindings.get(key);
+            if (value == null) {
+                return Undefined.instance;
             }
+            return JSRuntime.importValue(context.getRealm().getEnv().asGuestValue(value));
+        }
 
-            @Override
-            public boolean set(DynamicObject store, Object value) {
-                JSObjectUtil.defineDataProperty(store, key, value, JSAttributes.getDefault());
-                return true;
-            }
+        /**
+         * Returns whether the GLOBAL_SCOPE bindings still contain the key of this property.
+         */
+        @TruffleBoundary
+        public boolean isBound() {
+            return globalContextBindings.containsKey(key);
+        }
+
+        @Override
+        public boolean set(DynamicObject store, Object value) {
+            JSObjectUtil.defineDataProperty(store, key, value, JSAttributes.getDefault());
+            return true;
+        }
+    }
+
+    /**
+     * Non-standard helper function that resets the global environment of a pooled
+     * GraalJSScriptEngine context before it is reused. Returns false if built-in objects have been
+     * modified, in which case the context must not be reused. Only reachable from the host
+     * through the polyglot bindings, which remove it once the context has been created.
+     */
+    abstract static class JSGlobalResetScriptEngineGlobalNode extends JSBuiltinNode {
+
+        JSGlobalResetScriptEngineGlobalNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        final boolean resetGlobal() {
+            return getContext().getRealm().resetScriptEngineGlobal();
         }
     }
 }
@@ -87,6 +87,7 @@ import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSObjectFactory;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
 import com.oracle.truffle.js.runtime.interop.JSInteropUtil;
+import com.oracle.truffle.js.runtime.interop.ReadOnlyInteropBuffer;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Undefined;
@@ -230,7 +231,12 @@ public abstract class JSConstructTypedArrayNode extends JSBuiltinNode {
         rangeCheck(byteOffset + byteLength <= bufferByteLength, "length exceeds buffer bounds");
 
         assert byteOffset <= Integer.MAX_VALUE && length <= Integer.MAX_VALUE;
-        TypedArray typedArray = factory.createArrayType(direct, byteOffset != 0, isInteropBuffer);
+        TypedArray typedArray;
+        if (isInteropBuffer && JSArrayBuffer.getInteropBuffer(arrayBuffer) instanceof ReadOnlyInteropBuffer) {
+            typedArray = factory.createReadOnlyArrayType(byteOffset != 0);
+        } else {
+            typedArray = factory.createArrayType(direct, byteOffset != 0, isInteropBuffer);
+        }
         return createTypedArray(arrayBuffer, typedArray, (int) byteOffset, (int) length, newTarget);
     }
 
@@ -40,7 +40,11 @@
  */
 package com.oracle.truffle.js.builtins;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives;
@@ -54,6 +58,7 @@ import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.ArityException;
+import com.oracle.truffle.api.interop.InteropException;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
@@ -61,8 +66,11 @@ import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.HiddenKey;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.js.builtins.JavaBuiltinsFactory.JavaAddToClasspathNodeGen;
+import com.oracle.truffle.js.builtins.JavaBuiltinsFactory.JavaAsArrayBufferNodeGen;
+import com.oracle.truffle.js.builtins.JavaBuiltinsFactory.JavaAsTypedArrayNodeGen;
 import com.oracle.truffle.js.builtins.JavaBuiltinsFactory.JavaExtendNodeGen;
 import com.oracle.truffle.js.builtins.JavaBuiltinsFactory.JavaFromNodeGen;
 import com.oracle.truffle.js.builtins.JavaBuiltinsFactory.JavaIsJavaFunctionNodeGen;
@@ -73,17 +81,23 @@ import com.oracle.truffle.js.builtins.JavaBuiltinsFactory.JavaIsScriptObjectNode
 import com.oracle.truffle.js.builtins.JavaBuiltinsFactory.JavaIsTypeNodeGen;
 import com.oracle.truffle.js.builtins.JavaBuiltinsFactory.JavaSuperNodeGen;
 import com.oracle.truffle.js.builtins.JavaBuiltinsFactory.JavaSynchronizedNodeGen;
+import com.oracle.truffle.js.builtins.JavaBuiltinsFactory.JavaToCompletableFutureNodeGen;
 import com.oracle.truffle.js.builtins.JavaBuiltinsFactory.JavaToNodeGen;
 import com.oracle.truffle.js.builtins.JavaBuiltinsFactory.JavaTypeNameNodeGen;
 import com.oracle.truffle.js.builtins.JavaBuiltinsFactory.JavaTypeNodeGen;
+import com.oracle.truffle.js.nodes.JavaScriptNode;
+import com.oracle.truffle.js.nodes.access.PropertyGetNode;
+import com.oracle.truffle.js.nodes.access.PropertySetNode;
 import com.oracle.truffle.js.nodes.access.RealmNode;
-import com.oracle.truffle.js.nodes.access.WriteElementNode;
+import com.oracle.truffle.js.nodes.arguments.AccessIndexedArgumentNode;
 import com.oracle.truffle.js.nodes.cast.JSToObjectArrayNode;
 import com.oracle.truffle.js.nodes.cast.JSToStringNode;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.nodes.interop.ExportValueNode;
 import com.oracle.truffle.js.nodes.interop.ImportValueNode;
+import com.oracle.truffle.js.nodes.promise.PerformPromiseThenNode;
+import com.oracle.truffle.js.nodes.promise.PromiseResolveNode;
 import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSArguments;
@@ -93,12 +107,19 @@ import com.oracle.truffle.js.runtime.JSFrameUtil;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JavaScriptRootNode;
+import com.oracle.truffle.js.runtime.array.TypedArray;
+import com.oracle.truffle.js.runtime.array.TypedArrayFactory;
+import com.oracle.truffle.js.runtime.array.dyn.ArrayCopy;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
+import com.oracle.truffle.js.runtime.interop.HostPrimitiveArrayBuffer;
 import com.oracle.truffle.js.runtime.java.JavaAccess;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
 public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuiltins.Java> {
@@ -118,6 +139,9 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
         isType(1),
         typeName(1),
         addToClasspath(1),
+        toCompletableFuture(1),
+        asTypedArray(1),
+        asArrayBuffer(1),
 
         extend(1) {
             @Override
@@ -161,6 +185,12 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
                 return JavaIsJavaObjectNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
             case addToClasspath:
                 return JavaAddToClasspathNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
+            case toCompletableFuture:
+                return JavaToCompletableFutureNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
+            case asTypedArray:
+                return JavaAsTypedArrayNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
+            case asArrayBuffer:
+                return JavaAsArrayBufferNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
 
             case extend:
                 if (!JSConfig.SubstrateVM) {
@@ -384,10 +414,10 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
 
     abstract static class JavaFromNode extends JSBuiltinNode {
 
+        private final BranchProfile primitiveArrayBranch = BranchProfile.create();
         private final BranchProfile objectListBranch = BranchProfile.create();
         private final BranchProfile needErrorBranches = BranchProfile.create();
 
-        @Child private WriteElementNode writeNode;
         @Child private ImportValueNode foreignConvertNode;
         @Child private InteropLibrary interop;
 
@@ -396,14 +426,6 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
             this.interop = InteropLibrary.getFactory().createDispatched(JSConfig.InteropLibraryLimit);
         }
 
-        private void write(Object target, int index, Object value) {
-            if (writeNode == null) {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                writeNode = insert(WriteElementNode.create(null, null, null, getContext(), false));
-            }
-            writeNode.executeWithTargetAndIndexAndValue(target, index, value);
-        }
-
         private Object foreignConvert(Object value) {
             if (foreignConvertNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -416,37 +438,111 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
         protected DynamicObject from(Object javaArray) {
             TruffleLanguage.Env env = getContext().getRealm().getEnv();
             if (env.isHostObject(javaArray)) {
+                Object hostObject = env.asHostObject(javaArray);
+                // the host access policy may deny array access
+                if (isPrimitiveArray(hostObject) && interop.hasArrayElements(javaArray)) {
+                    primitiveArrayBranch.enter();
+                    return fromPrimitiveArray(getContext(), hostObject);
+                } else if (hostObject instanceof List<?>) {
+                    return fromList((List<?>) hostObject);
+                }
                 try {
                     long size = interop.getArraySize(javaArray);
                     if (size < 0 || size >= Integer.MAX_VALUE) {
                         throw Errors.createRangeErrorInvalidArrayLength();
                     }
-                    DynamicObject jsArray = JSArray.createEmptyChecked(getContext(), size);
+                    Object[] elements = new Object[(int) size];
                     for (int i = 0; i < size; i++) {
-                        Object element = foreignConvert(interop.readArrayElement(javaArray, i));
-                        write(jsArray, i, element);
+                        elements[i] = foreignConvert(interop.readArrayElement(javaArray, i));
                     }
-                    return jsArray;
+                    return createArray(getContext(), elements);
                 } catch (UnsupportedMessageException | InvalidArrayIndexException e) {
                     // fall through
                 }
-                Object hostObject = env.asHostObject(javaArray);
-                if (hostObject instanceof List<?>) {
-                    List<?> javaList = (List<?>) hostObject;
-                    int len = Boundaries.listSize(javaList);
-                    DynamicObject jsArrayObj = JSArray.createEmptyChecked(getContext(), len);
-                    fromList(javaList, len, jsArrayObj);
-                    return jsArrayObj;
-                }
             }
             needErrorBranches.enter();
             throw Errors.createTypeError("Cannot convert to JavaScript array.");
         }
 
-        private void fromList(List<?> javaList, int len, DynamicObject jsArrayObj) {
+        private DynamicObject fromList(List<?> javaList) {
             objectListBranch.enter();
-            for (int i = 0; i < len; i++) {
-                write(jsArrayObj, i, foreignConvert(Boundaries.listGet(javaList, i)));
+            Object[] elements = Boundaries.listToArray(javaList);
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = foreignConvert(elements[i]);
+            }
+            return createArray(getContext(), elements);
+        }
+
+        private static boolean isPrimitiveArray(Object hostObject) {
+            return hostObject instanceof int[] || hostObject instanceof double[] || hostObject instanceof long[] || hostObject instanceof byte[];
+        }
+
+        /**
+         * Copies a primitive host array into an array of the matching storage strategy in one go,
+         * instead of reading and writing it element by element via interop.
+         */
+        @TruffleBoundary
+        private static DynamicObject fromPrimitiveArray(JSContext context, Object hostArray) {
+            if (hostArray instanceof int[]) {
+                int[] array = (int[]) hostArray;
+                return JSArray.createZeroBasedIntArray(context, Arrays.copyOf(array, array.length));
+            } else if (hostArray instanceof double[]) {
+                double[] array = (double[]) hostArray;
+                return JSArray.createZeroBasedDoubleArray(context, Arrays.copyOf(array, array.length));
+            } else if (hostArray instanceof byte[]) {
+                byte[] array = (byte[]) hostArray;
+                int[] intArray = new int[array.length];
+                for (int i = 0; i < array.length; i++) {
+                    intArray[i] = array[i];
+                }
+                return JSArray.createZeroBasedIntArray(context, intArray);
+            } else {
+                long[] array = (long[]) hostArray;
+                int[] intArray = new int[array.length];
+                for (int i = 0; i < array.length; i++) {
+                    if (!JSRuntime.longIsRepresentableAsInt(array[i])) {
+                        // same as importing the elements one by one
+                        Object[] objectArray = new Object[array.length];
+                        for (int j = 0; j < array.length; j++) {
+                            long value = array[j];
+                            objectArray[j] = JSRuntime.longIsRepresentableAsInt(value) ? (Object) (int) value : (Object) value;
+                        }
+                        return JSArray.createZeroBasedObjectArray(context, objectArray);
+                    }
+                    intArray[i] = (int) array[i];
+                }
+                return JSArray.createZeroBasedIntArray(context, intArray);
+            }
+        }
+
+        /**
+         * Creates an array with the most specific storage strategy that can hold all the (already
+         * imported) elements.
+         */
+        @TruffleBoundary
+        private static DynamicObject createArray(JSContext context, Object[] elements) {
+            boolean allInt = true;
+            for (Object element : elements) {
+                if (element instanceof Integer) {
+                    continue;
+                } else if (element instanceof Double) {
+                    allInt = false;
+                } else {
+                    return JSArray.createZeroBasedObjectArray(context, elements);
+                }
+            }
+            if (allInt) {
+                int[] intArray = new int[elements.length];
+                for (int i = 0; i < elements.length; i++) {
+                    intArray[i] = (int) elements[i];
+                }
+                return JSArray.createZeroBasedIntArray(context, intArray);
+            } else {
+                double[] doubleArray = new double[elements.length];
+                for (int i = 0; i < elements.length; i++) {
+                    doubleArray[i] = ((Number) elements[i]).doubleValue();
+                }
+                return JSArray.createZeroBasedDoubleArray(context, doubleArray);
             }
         }
     }
@@ -519,7 +615,26 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
         private Object toArray(Object jsObj, Object arrayType, TruffleLanguage.Env env) {
             assert isJavaArrayClass(arrayType, env);
 
+            Class<?> componentType = ((Class<?>) env.asHostObject(arrayType)).getComponentType();
+            if (JSArray.isJSFastArray(jsObj) && componentType.isPrimitive()) {
+                // copy int and double elements straight from the backing array
+                Object copiedArray = ArrayCopy.toPrimitiveArray((DynamicObject) jsObj, componentType);
+                if (copiedArray != null) {
+                    Object result = env.asGuestValue(copiedArray);
+                    if (arrayElements.hasArrayElements(result)) {
+                        return result;
+                    }
+                }
+            }
             Object[] arr = toObjectArrayNode.executeObjectArray(jsObj);
+            Object primitiveArray = toPrimitiveArray(arr, componentType);
+            if (primitiveArray != null) {
+                // the host access policy may deny array access, then the writes below fail
+                Object result = env.asGuestValue(primitiveArray);
+                if (arrayElements.hasArrayElements(result)) {
+                    return result;
+                }
+            }
             try {
                 Object result = newArray.instantiate(arrayType, arr.length);
                 for (int i = 0; i < arr.length; i++) {
@@ -530,6 +645,59 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
                 throw Errors.createTypeError(Boundaries.javaToString(e));
             }
         }
+
+        /**
+         * Fills a primitive array of the requested component type in one go if every element
+         * converts without loss. Returns {@code null} otherwise, so that the elements are converted
+         * one by one via interop (and any conversion error is reported from there).
+         */
+        @TruffleBoundary
+        private static Object toPrimitiveArray(Object[] elements, Class<?> componentType) {
+            if (componentType == int.class) {
+                int[] result = new int[elements.length];
+                for (int i = 0; i < elements.length; i++) {
+                    if (!(elements[i] instanceof Integer)) {
+                        return null;
+                    }
+                    result[i] = (int) elements[i];
+                }
+                return result;
+            } else if (componentType == double.class) {
+                double[] result = new double[elements.length];
+                for (int i = 0; i < elements.length; i++) {
+                    if (elements[i] instanceof Double) {
+                        result[i] = (double) elements[i];
+                    } else if (elements[i] instanceof Integer) {
+                        result[i] = (int) elements[i];
+                    } else {
+                        return null;
+                    }
+                }
+                return result;
+            } else if (componentType == long.class) {
+                long[] result = new long[elements.length];
+                for (int i = 0; i < elements.length; i++) {
+                    if (elements[i] instanceof Integer) {
+                        result[i] = (int) elements[i];
+                    } else if (elements[i] instanceof Long) {
+                        result[i] = (long) elements[i];
+                    } else {
+                        return null;
+                    }
+                }
+                return result;
+            } else if (componentType == byte.class) {
+                byte[] result = new byte[elements.length];
+                for (int i = 0; i < elements.length; i++) {
+                    if (!(elements[i] instanceof Integer) || (byte) (int) elements[i] != (int) elements[i]) {
+                        return null;
+                    }
+                    result[i] = (byte) (int) elements[i];
+                }
+                return result;
+            }
+            return null;
+        }
     }
 
     abstract static class JavaSuperNode extends JSBuiltinNode {
@@ -702,4 +870,190 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
             return doString(toStringNode.executeString(fileName));
         }
     }
+
+    /**
+     * Returns a Java {@link CompletableFuture} that is completed when the promise (or thenable)
+     * passed in settles. The future is completed from the promise job queue, i.e. on the thread
+     * that runs this context, without blocking.
+     *
+     * Strings, numbers, booleans, and Java objects are passed to the future as Java values,
+     * {@code null} and {@code undefined} as {@code null}. Other JavaScript values are passed as
+     * guest objects. Rejections complete the future exceptionally, either with the Java exception
+     * that was thrown or with a {@link CompletionException} describing the rejection reason.
+     */
+    abstract static class JavaToCompletableFutureNode extends JSBuiltinNode {
+        static final HiddenKey FUTURE_KEY = new HiddenKey("Future");
+
+        @Child private PromiseResolveNode promiseResolveNode;
+        @Child private PerformPromiseThenNode performPromiseThenNode;
+        @Child private PropertySetNode setFutureNode;
+
+        JavaToCompletableFutureNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+            this.promiseResolveNode = PromiseResolveNode.create(context);
+            this.performPromiseThenNode = PerformPromiseThenNode.create(context);
+            this.setFutureNode = PropertySetNode.createSetHidden(FUTURE_KEY, context);
+        }
+
+        @Specialization
+        protected Object toCompletableFuture(Object value) {
+            JSContext context = getContext();
+            JSRealm realm = context.getRealm();
+            DynamicObject promise = promiseResolveNode.execute(realm.getPromiseConstructor(), value);
+            CompletableFuture<Object> future = newFuture();
+            DynamicObject onFulfilled = createHandler(realm, future, JSContext.BuiltinFunctionKey.JavaFutureFulfilled);
+            DynamicObject onRejected = createHandler(realm, future, JSContext.BuiltinFunctionKey.JavaFutureRejected);
+            performPromiseThenNode.execute(promise, onFulfilled, onRejected, null);
+            return toGuestFuture(realm, future);
+        }
+
+        private DynamicObject createHandler(JSRealm realm, CompletableFuture<Object> future, JSContext.BuiltinFunctionKey key) {
+            boolean rejected = key == JSContext.BuiltinFunctionKey.JavaFutureRejected;
+            JSFunctionData functionData = getContext().getOrCreateBuiltinFunctionData(key, (c) -> createHandlerImpl(c, rejected));
+            DynamicObject function = JSFunction.create(realm, functionData);
+            setFutureNode.setValue(function, future);
+            return function;
+        }
+
+        @TruffleBoundary
+        private static CompletableFuture<Object> newFuture() {
+            return new CompletableFuture<>();
+        }
+
+        @TruffleBoundary
+        private static Object toGuestFuture(JSRealm realm, CompletableFuture<Object> future) {
+            return realm.getEnv().asGuestValue(future);
+        }
+
+        private static JSFunctionData createHandlerImpl(JSContext context, boolean rejected) {
+            class CompleteFutureRootNode extends JavaScriptRootNode {
+                @Child private JavaScriptNode valueNode = AccessIndexedArgumentNode.create(0);
+                @Child private PropertyGetNode getFutureNode = PropertyGetNode.createGetHidden(FUTURE_KEY, context);
+
+                @SuppressWarnings("unchecked")
+                @Override
+                public Object execute(VirtualFrame frame) {
+                    DynamicObject functionObject = JSFrameUtil.getFunctionObject(frame);
+                    CompletableFuture<Object> future = (CompletableFuture<Object>) getFutureNode.getValue(functionObject);
+                    Object value = valueNode.execute(frame);
+                    if (rejected) {
+                        completeExceptionally(future, value, context.getRealm().getEnv());
+                    } else {
+                        complete(future, value, context.getRealm().getEnv());
+                    }
+                    return Undefined.instance;
+                }
+            }
+            CallTarget callTarget = Truffle.getRuntime().createCallTarget(new CompleteFutureRootNode());
+            return JSFunctionData.createCallOnly(context, callTarget, 1, "");
+        }
+
+        /**
+         * Completes the future with a string, number, boolean or host value directly. Other values
+         * (e.g. JS objects) are passed to {@link CompletableFuture#complete} via interop, so that
+         * the host receives them converted like any other argument of a Java method (e.g. as a
+         * {@code Map}). If the host access policy does not allow this, the future is completed
+         * exceptionally.
+         */
+        @TruffleBoundary
+        static void complete(CompletableFuture<Object> future, Object value, TruffleLanguage.Env env) {
+            if (value == Undefined.instance || value == Null.instance) {
+                future.complete(null);
+            } else if (env.isHostObject(value)) {
+                future.complete(env.asHostObject(value));
+            } else if (JSRuntime.isString(value) || JSRuntime.isNumber(value) || value instanceof Boolean) {
+                future.complete(JSRuntime.exportValue(value));
+            } else {
+                try {
+                    InteropLibrary.getUncached().invokeMember(env.asGuestValue(future), "complete", value);
+                } catch (InteropException e) {
+                    future.completeExceptionally(Errors.createTypeErrorInteropException(env.asGuestValue(future), e, "complete", null));
+                }
+            }
+        }
+
+        /**
+         * Completes the future exceptionally with a Java exception, or with the JS exception that
+         * carries the rejection reason (e.g. an error object with its stack).
+         */
+        @TruffleBoundary
+        static void completeExceptionally(CompletableFuture<Object> future, Object reason, TruffleLanguage.Env env) {
+            Throwable exception;
+            if (env.isHostObject(reason) && env.asHostObject(reason) instanceof Throwable) {
+                exception = (Throwable) env.asHostObject(reason);
+            } else {
+                exception = new CompletionException(JSRuntime.safeToString(reason), JSRuntime.getException(reason));
+            }
+            future.completeExceptionally(exception);
+        }
+    }
+
+    /**
+     * Returns a typed array that shares the memory of a Java primitive array: {@code byte[]} as
+     * {@code Int8Array}, {@code short[]} as {@code Int16Array}, {@code char[]} as
+     * {@code Uint16Array}, {@code int[]} as {@code Int32Array}, {@code long[]} as
+     * {@code BigInt64Array}, {@code float[]} as {@code Float32Array}, and {@code double[]} as
+     * {@code Float64Array}. The array is not copied; writes on either side are visible to the
+     * other. Requires array access to be allowed by the host access policy.
+     */
+    abstract static class JavaAsTypedArrayNode extends JSBuiltinNode {
+
+        JavaAsTypedArrayNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization(limit = "InteropLibraryLimit")
+        protected DynamicObject asTypedArray(Object value,
+                        @CachedLibrary("value") InteropLibrary interop) {
+            JSContext context = getContext();
+            TruffleLanguage.Env env = context.getRealm().getEnv();
+            // host arrays only have array elements if the host access policy allows array access
+            Object array = env.isHostObject(value) && interop.hasArrayElements(value) ? env.asHostObject(value) : null;
+            if (array instanceof byte[]) {
+                byte[] bytes = (byte[]) array;
+                DynamicObject arrayBuffer = JSArrayBuffer.createArrayBuffer(context, bytes);
+                TypedArray arrayType = TypedArrayFactory.Int8Array.createArrayType(false, false);
+                return JSArrayBufferView.createArrayBufferView(context, arrayBuffer, arrayType, 0, bytes.length);
+            }
+            HostPrimitiveArrayBuffer buffer = HostPrimitiveArrayBuffer.create(array);
+            if (buffer == null) {
+                throw Errors.createTypeError("Java primitive array expected");
+            }
+            DynamicObject arrayBuffer = JSArrayBuffer.createInteropArrayBuffer(context, buffer);
+            TypedArray arrayType = buffer.getTypedArrayFactory().getHostArrayType();
+            return JSArrayBufferView.createArrayBufferView(context, arrayBuffer, arrayType, 0, buffer.getLength());
+        }
+    }
+
+    /**
+     * Returns an {@code ArrayBuffer} that shares the memory of a Java {@link ByteBuffer}. Unlike
+     * {@code new ArrayBuffer(buffer)}, which accesses the buffer through interop, a writable direct
+     * buffer becomes the backing store of a direct array buffer and a heap buffer without an array
+     * offset is used by its backing array, so typed arrays over it access the memory directly.
+     * Elements are accessed in platform byte order, independent of the order of the buffer, and
+     * the array buffer is not converted back to the same Java object when passed to Java. Other
+     * buffers are wrapped like by the {@code ArrayBuffer} constructor.
+     */
+    abstract static class JavaAsArrayBufferNode extends JSBuiltinNode {
+
+        JavaAsArrayBufferNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization(limit = "InteropLibraryLimit")
+        protected DynamicObject asArrayBuffer(Object value,
+                        @CachedLibrary("value") InteropLibrary interop) {
+            JSContext context = getContext();
+            TruffleLanguage.Env env = context.getRealm().getEnv();
+            if (!env.isHostObject(value) || !(env.asHostObject(value) instanceof ByteBuffer) || !interop.hasBufferElements(value)) {
+                // also if the host access policy does not allow buffer access
+                throw Errors.createTypeError("Java ByteBuffer expected");
+            }
+            DynamicObject arrayBuffer = JSArrayBuffer.createFromHostByteBuffer(context, (ByteBuffer) env.asHostObject(value));
+            if (arrayBuffer == null) {
+                arrayBuffer = JSArrayBuffer.createInteropArrayBuffer(context, value);
+            }
+            return arrayBuffer;
+        }
+    }
 }
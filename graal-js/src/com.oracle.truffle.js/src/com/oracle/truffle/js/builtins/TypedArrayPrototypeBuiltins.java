@@ -334,6 +334,8 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
         private final ConditionProfile isDirectProf = ConditionProfile.createBinaryProfile();
         private final BranchProfile intToIntBranch = BranchProfile.create();
         private final BranchProfile floatToFloatBranch = BranchProfile.create();
+        private final BranchProfile intToFloatBranch = BranchProfile.create();
+        private final BranchProfile floatToIntBranch = BranchProfile.create();
         private final BranchProfile bigIntToBigIntBranch = BranchProfile.create();
         private final BranchProfile objectToObjectBranch = BranchProfile.create();
 
@@ -492,6 +494,21 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
                 }
             } else if ((sourceType instanceof TypedArray.TypedBigIntArray) != (targetType instanceof TypedArray.TypedBigIntArray)) {
                 throw Errors.createTypeErrorCannotMixBigIntWithOtherTypes(this);
+            } else if (sourceType instanceof TypedArray.TypedIntArray && targetType instanceof TypedArray.TypedFloatArray) {
+                intToFloatBranch.enter();
+                boolean unsigned = sourceType instanceof TypedArray.AbstractUint32Array;
+                for (int i = 0; i < sourceLength; i++) {
+                    int value = ((TypedArray.TypedIntArray) sourceType).getIntImpl(sourceBuffer, sourceByteIndex, i, interop);
+                    double doubleValue = unsigned ? (value & 0xFFFF_FFFFL) : value;
+                    ((TypedArray.TypedFloatArray) targetType).setDoubleImpl(targetBuffer, targetByteOffset, i + targetOffset, doubleValue, interop);
+                }
+            } else if (sourceType instanceof TypedArray.TypedFloatArray && targetType instanceof TypedArray.TypedIntArray && !(targetType instanceof TypedArray.AbstractUint8ClampedArray)) {
+                // ToInt8 etc. keep the low bits of ToInt32, which is what setIntImpl stores
+                floatToIntBranch.enter();
+                for (int i = 0; i < sourceLength; i++) {
+                    double value = ((TypedArray.TypedFloatArray) sourceType).getDoubleImpl(sourceBuffer, sourceByteIndex, i, interop);
+                    ((TypedArray.TypedIntArray) targetType).setIntImpl(targetBuffer, targetByteOffset, i + targetOffset, JSRuntime.toInt32(value), interop);
+                }
             } else {
                 objectToObjectBranch.enter();
                 boolean littleEndian = ByteOrder.LITTLE_ENDIAN == ByteOrder.nativeOrder();
@@ -614,6 +631,11 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
                         @Cached("create(THROW_ERROR, getContext())") DeletePropertyNode deletePropertyNode) {
             checkHasDetachedBuffer(thisObj);
             long len = getLength(thisObj);
+            TypedArray typedArray = getTypedArrayType(thisObj);
+            if (!typedArray.isInterop()) {
+                typedArray.reverseElements(thisObj);
+                return thisObj;
+            }
             long middle = len / 2L;
             long lower = 0;
 
@@ -678,6 +700,13 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
             long lStart = JSRuntime.getOffset(toIntegerAsLong(start), len, offsetProfile1);
             long lEnd = end == Undefined.instance ? len : JSRuntime.getOffset(toIntegerAsLong(end), len, offsetProfile2);
             checkHasDetachedBuffer(thisJSObj);
+            TypedArray typedArray = getTypedArrayType(thisJSObj);
+            if (lStart < lEnd && !typedArray.isInterop()) {
+                // convert and store the value once, then replicate its bytes
+                write(thisJSObj, lStart, convValue);
+                typedArray.fillWithFirstElement(thisJSObj, (int) lStart, (int) lEnd);
+                return thisJSObj;
+            }
             for (long idx = lStart; idx < lEnd; idx++) {
                 write(thisJSObj, idx, convValue);
             }
@@ -219,8 +219,7 @@ public abstract class CommonJSRequireBuiltin extends GlobalBuiltins.JSFileLoadin
         DynamicObject env = JSOrdinary.create(getContext());
         JSObject.set(env, ENV_PROPERTY_NAME, JSOrdinary.create(getContext()));
         // Parse the module
-        CharSequence characters = MODULE_PREAMBLE + source.getCharacters() + MODULE_END;
-        Source moduleSources = Source.newBuilder(JavaScriptLanguage.ID, characters, filenameBuiltin).mimeType(JavaScriptLanguage.TEXT_MIME_TYPE).build();
+        Source moduleSources = getContext().getCommonJSWrapperSource(source, (moduleSource) -> createModuleFunctionSource(moduleSource, filenameBuiltin));
         CallTarget moduleCallTarget = realm.getEnv().parsePublic(moduleSources);
         Object moduleExecutableFunction = moduleCallTarget.call();
         // Execute the module.
@@ -244,6 +243,11 @@ public abstract class CommonJSRequireBuiltin extends GlobalBuiltins.JSFileLoadin
         return null;
     }
 
+    private static Source createModuleFunctionSource(Source source, String filename) {
+        CharSequence characters = MODULE_PREAMBLE + source.getCharacters() + MODULE_END;
+        return Source.newBuilder(JavaScriptLanguage.ID, characters, filename).mimeType(JavaScriptLanguage.TEXT_MIME_TYPE).build();
+    }
+
     private DynamicObject evalJsonFile(TruffleFile jsonFile) {
         try {
             if (fileExists(jsonFile)) {
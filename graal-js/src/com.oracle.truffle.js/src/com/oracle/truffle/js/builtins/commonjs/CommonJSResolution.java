@@ -56,7 +56,6 @@ import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.js.builtins.GlobalBuiltins;
-import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSArguments;
 import com.oracle.truffle.js.runtime.JSContext;
@@ -65,6 +64,7 @@ import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.util.ModuleResolutionCache;
 
 final class CommonJSResolution {
 
@@ -148,6 +148,27 @@ final class CommonJSResolution {
             return null;
         }
         TruffleLanguage.Env env = context.getRealm().getEnv();
+        ModuleResolutionCache cache = context.getCommonJSResolutionCache();
+        if (cache == null) {
+            return resolveUncached(context, env, moduleIdentifier, entryPath);
+        }
+        String parentPath = entryPath.getAbsoluteFile().normalize().getPath();
+        Object cached = cache.getResolution(moduleIdentifier, parentPath);
+        if (cached == ModuleResolutionCache.NOT_FOUND) {
+            return null;
+        } else if (cached != null) {
+            // check the cached module through the file system of this context
+            TruffleFile module = env.getPublicTruffleFile((String) cached);
+            if (fileExists(module)) {
+                return module;
+            }
+        }
+        TruffleFile module = resolveUncached(context, env, moduleIdentifier, entryPath);
+        cache.putResolution(moduleIdentifier, parentPath, module == null ? null : module.getPath());
+        return module;
+    }
+
+    private static TruffleFile resolveUncached(JSContext context, TruffleLanguage.Env env, String moduleIdentifier, TruffleFile entryPath) {
         // 2. If X begins with '/'
         TruffleFile currentWorkingPath = entryPath;
         if (moduleIdentifier.charAt(0) == '/') {
@@ -186,7 +207,7 @@ final class CommonJSResolution {
         return null;
     }
 
-    public static TruffleFile loadIndex(TruffleLanguage.Env env, TruffleFile modulePath) {
+    public static TruffleFile loadIndex(JSContext cx, TruffleLanguage.Env env, TruffleFile modulePath) {
         /* @formatter:off
          *
          * LOAD_INDEX(X)
@@ -197,20 +218,20 @@ final class CommonJSResolution {
          * @formatter:on
          */
         TruffleFile indexJs = joinPaths(env, modulePath, INDEX_JS);
-        if (fileExists(indexJs)) {
+        if (fileExists(cx, indexJs)) {
             return indexJs;
         }
         TruffleFile indexJson = joinPaths(env, modulePath, INDEX_JSON);
-        if (fileExists(indexJson)) {
+        if (fileExists(cx, indexJson)) {
             return indexJson;
-        } else if (fileExists(joinPaths(env, modulePath, INDEX_NODE))) {
+        } else if (fileExists(cx, joinPaths(env, modulePath, INDEX_NODE))) {
             // Ignore .node files.
             return null;
         }
         return null;
     }
 
-    static TruffleFile loadAsFile(TruffleLanguage.Env env, TruffleFile modulePath) {
+    static TruffleFile loadAsFile(JSContext cx, TruffleLanguage.Env env, TruffleFile modulePath) {
         /* @formatter:off
          *
          * LOAD_AS_FILE(X)
@@ -221,18 +242,18 @@ final class CommonJSResolution {
          *
          * @formatter:on
          */
-        if (fileExists(modulePath)) {
+        if (fileExists(cx, modulePath)) {
             return modulePath;
         }
         TruffleFile moduleJs = env.getPublicTruffleFile(modulePath.toString() + JS_EXT);
-        if (fileExists(moduleJs)) {
+        if (fileExists(cx, moduleJs)) {
             return moduleJs;
         }
         TruffleFile moduleJson = env.getPublicTruffleFile(modulePath.toString() + JSON_EXT);
-        if (fileExists(moduleJson)) {
+        if (fileExists(cx, moduleJson)) {
             return moduleJson;
         }
-        if (fileExists(env.getPublicTruffleFile(modulePath.toString() + NODE_EXT))) {
+        if (fileExists(cx, env.getPublicTruffleFile(modulePath.toString() + NODE_EXT))) {
             // .node files not supported.
             return null;
         }
@@ -254,7 +275,7 @@ final class CommonJSResolution {
     }
 
     private static TruffleFile loadAsFileOrDirectory(JSContext cx, TruffleLanguage.Env env, TruffleFile modulePath) {
-        TruffleFile maybeFile = loadAsFile(env, modulePath);
+        TruffleFile maybeFile = loadAsFile(cx, env, modulePath);
         if (maybeFile == null) {
             return loadAsDirectory(cx, env, modulePath);
         } else {
@@ -274,27 +295,55 @@ final class CommonJSResolution {
 
     private static TruffleFile loadAsDirectory(JSContext cx, TruffleLanguage.Env env, TruffleFile modulePath) {
         TruffleFile packageJson = joinPaths(env, modulePath, PACKAGE_JSON);
-        if (fileExists(packageJson)) {
-            DynamicObject jsonObj = loadJsonObject(packageJson, cx);
-            if (JSDynamicObject.isJSDynamicObject(jsonObj)) {
-                Object main = JSObject.get(jsonObj, PACKAGE_JSON_MAIN_PROPERTY_NAME);
-                if (!JSRuntime.isString(main)) {
-                    return loadIndex(env, modulePath);
+        if (fileExists(cx, packageJson)) {
+            Object main = getPackageMain(cx, packageJson);
+            if (main != ModuleResolutionCache.INVALID_PACKAGE) {
+                if (main == ModuleResolutionCache.NO_MAIN) {
+                    return loadIndex(cx, env, modulePath);
                 }
-                TruffleFile module = joinPaths(env, modulePath, JSRuntime.safeToString(main));
-                TruffleFile asFile = loadAsFile(env, module);
+                TruffleFile module = joinPaths(env, modulePath, (String) main);
+                TruffleFile asFile = loadAsFile(cx, env, module);
                 if (asFile != null) {
                     return asFile;
                 } else {
-                    return loadIndex(env, module);
+                    return loadIndex(cx, env, module);
                 }
             }
         } else {
-            return loadIndex(env, modulePath);
+            return loadIndex(cx, env, modulePath);
         }
         return null;
     }
 
+    /**
+     * Returns the {@code main} entry of a {@code package.json} file as a string,
+     * {@link ModuleResolutionCache#NO_MAIN} if there is none, or
+     * {@link ModuleResolutionCache#INVALID_PACKAGE} if the file does not contain a JSON object.
+     */
+    private static Object getPackageMain(JSContext cx, TruffleFile packageJson) {
+        ModuleResolutionCache cache = cx.getCommonJSResolutionCache();
+        String path = null;
+        if (cache != null) {
+            path = packageJson.getAbsoluteFile().getPath();
+            Object cached = cache.getPackageMain(path);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Object main;
+        DynamicObject jsonObj = loadJsonObject(packageJson, cx);
+        if (JSDynamicObject.isJSDynamicObject(jsonObj)) {
+            Object mainValue = JSObject.get(jsonObj, PACKAGE_JSON_MAIN_PROPERTY_NAME);
+            main = JSRuntime.isString(mainValue) ? JSRuntime.safeToString(mainValue) : ModuleResolutionCache.NO_MAIN;
+        } else {
+            main = ModuleResolutionCache.INVALID_PACKAGE;
+        }
+        if (cache != null) {
+            cache.putPackageMain(path, main);
+        }
+        return main;
+    }
+
     public static DynamicObject loadJsonObject(TruffleFile jsonFile, JSContext context) {
         try {
             if (fileExists(jsonFile)) {
@@ -302,7 +351,7 @@ final class CommonJSResolution {
                 JSRealm realm = context.getRealm();
                 TruffleFile file = GlobalBuiltins.resolveRelativeFilePath(jsonFile.toString(), realm.getEnv());
                 if (file.isRegularFile()) {
-                    source = sourceFromTruffleFile(file);
+                    source = sourceFromTruffleFile(file, context);
                 }
                 if (source == null) {
                     return null;
@@ -320,9 +369,9 @@ final class CommonJSResolution {
         }
     }
 
-    private static Source sourceFromTruffleFile(TruffleFile file) {
+    private static Source sourceFromTruffleFile(TruffleFile file, JSContext context) {
         try {
-            return Source.newBuilder(JavaScriptLanguage.ID, file).build();
+            return context.getFileSource(file, null);
         } catch (IOException | SecurityException | IllegalArgumentException | UnsupportedOperationException e) {
             return null;
         }
@@ -332,6 +381,21 @@ final class CommonJSResolution {
         return modulePath.exists() && modulePath.isRegularFile();
     }
 
+    private static boolean fileExists(JSContext cx, TruffleFile modulePath) {
+        ModuleResolutionCache cache = cx.getCommonJSResolutionCache();
+        if (cache == null) {
+            return fileExists(modulePath);
+        }
+        String path = modulePath.getAbsoluteFile().getPath();
+        Boolean cached = cache.getRegularFile(path);
+        if (cached == null) {
+            boolean exists = fileExists(modulePath);
+            cache.putRegularFile(path, exists);
+            return exists;
+        }
+        return cached;
+    }
+
     private static boolean isPathFileName(String moduleIdentifier) {
         return moduleIdentifier.startsWith("/") || moduleIdentifier.startsWith("./") || moduleIdentifier.startsWith("../");
     }
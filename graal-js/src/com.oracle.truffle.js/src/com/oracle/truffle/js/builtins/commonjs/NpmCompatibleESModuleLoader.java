@@ -139,7 +139,7 @@ public final class NpmCompatibleESModuleLoader extends DefaultESModuleLoader {
                     String cwdOption = realm.getContext().getContextOptions().getRequireCwd();
                     TruffleFile cwd = cwdOption == null ? realm.getEnv().getCurrentWorkingDirectory() : realm.getEnv().getPublicTruffleFile(cwdOption);
                     TruffleFile modulePath = joinPaths(realm.getEnv(), cwd, moduleReplacementName);
-                    src = Source.newBuilder(ID, modulePath).build();
+                    src = realm.getContext().getFileSource(modulePath, null);
                 } catch (IOException | SecurityException e) {
                     throw fail("Failed to load built-in ES module: " + specifier + ". " + e.getMessage());
                 }
@@ -272,14 +272,14 @@ public final class NpmCompatibleESModuleLoader extends DefaultESModuleLoader {
                         throw failMessage("do not use import() to load non-ES modules.");
                     }
                     if (!JSRuntime.isString(main)) {
-                        return loadIndex(env, moduleFolder);
+                        return loadIndex(realm.getContext(), env, moduleFolder);
                     }
                     TruffleFile mainPackageFile = joinPaths(env, moduleFolder, JSRuntime.safeToString(main));
-                    TruffleFile asFile = loadAsFile(env, mainPackageFile);
+                    TruffleFile asFile = loadAsFile(realm.getContext(), env, mainPackageFile);
                     if (asFile != null) {
                         return asFile;
                     } else {
-                        return loadIndex(env, mainPackageFile);
+                        return loadIndex(realm.getContext(), env, mainPackageFile);
                     }
                 }
             }
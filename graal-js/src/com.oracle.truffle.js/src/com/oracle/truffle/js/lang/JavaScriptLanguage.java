@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.js.lang;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -111,6 +112,7 @@ import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.interop.JavaScriptLanguageView;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.StartupProfile;
 
 @ProvidedTags({
                 StandardTags.StatementTag.class,
@@ -334,6 +336,7 @@ public final class JavaScriptLanguage extends AbstractJavaScriptLanguage {
 
     @Override
     protected void initializeContext(JSRealm realm) {
+        realm.getContext().initializeStartupProfile(realm.getEnv());
         realm.initialize();
     }
 
@@ -408,6 +411,17 @@ public final class JavaScriptLanguage extends AbstractJavaScriptLanguage {
         if (options.isProfileTime() && options.isProfileTimePrintCumulative()) {
             context.getTimeProfiler().printCumulative();
         }
+        StartupProfile startupProfile = context.getStartupProfile();
+        if (startupProfile != null) {
+            startupProfile.disposeContext(realm.getEnv());
+        }
+        if (startupProfile != null && startupProfile.isRecording()) {
+            try {
+                startupProfile.write(realm.getEnv());
+            } catch (IOException | SecurityException e) {
+                realm.getErrorWriter().println("Could not write startup profile: " + e.getMessage());
+            }
+        }
         realm.dispose();
     }
 
@@ -44,8 +44,10 @@ import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
+import com.oracle.truffle.api.profiles.ValueProfile;
 import com.oracle.truffle.js.builtins.ArrayPrototypeBuiltins.BasicArrayOperation;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.nodes.array.JSArrayFirstElementIndexNode;
@@ -58,6 +60,10 @@ import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractConstantArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractWritableArray;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.interop.JSInteropUtil;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
@@ -217,6 +223,9 @@ public abstract class ForEachIndexCallNode extends JavaScriptBaseNode {
 
     protected static final class ForwardForEachIndexCallNode extends ForEachIndexCallNode {
         private final ConditionProfile fromIndexZero = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile isDenseArray = ConditionProfile.createBinaryProfile();
+        private final BranchProfile denseArrayChangedBranch = BranchProfile.create();
+        private final ValueProfile arrayTypeProfile = ValueProfile.createClassProfile();
 
         @Child private JSArrayNextElementIndexNode nextElementIndexNode;
 
@@ -226,6 +235,55 @@ public abstract class ForEachIndexCallNode extends JavaScriptBaseNode {
 
         @Override
         protected Object executeForEachIndexFast(DynamicObject target, Object callback, Object callbackThisArg, long fromIndex, long length, Object initialResult) {
+            if (isDenseArray.profile(JSArray.isJSArray(target) && length <= Integer.MAX_VALUE && isDenseElement(target, arrayTypeProfile.profile(JSObject.getArray(target)), fromIndex))) {
+                return executeForEachIndexDense(target, callback, callbackThisArg, fromIndex, length, initialResult);
+            }
+            return executeForEachElementIndex(target, callback, callbackThisArg, fromIndex, length, initialResult);
+        }
+
+        /**
+         * Iterates over an array without holes, reading elements directly from the profiled array
+         * strategy instead of looking up the next element index for every step. The array type is
+         * re-checked before each read since the callback may modify the array; if the current
+         * index is no longer covered by a hole-free strategy, iteration continues with the generic
+         * loop.
+         */
+        private Object executeForEachIndexDense(DynamicObject target, Object callback, Object callbackThisArg, long fromIndex, long length, Object initialResult) {
+            Object currentResult = initialResult;
+            long count = 0;
+            for (int index = (int) fromIndex; loopCond.profile(index < length); index++) {
+                ScriptArray arrayType = arrayTypeProfile.profile(JSObject.getArray(target));
+                if (!isDenseElement(target, arrayType, index)) {
+                    denseArrayChangedBranch.enter();
+                    BasicArrayOperation.reportLoopCount(this, count);
+                    return executeForEachElementIndex(target, callback, callbackThisArg, index, length, currentResult);
+                }
+                Object value = readDenseElement(target, arrayType, index);
+                Object callbackResult = callback(index, value, target, callback, callbackThisArg, currentResult);
+                MaybeResult<Object> maybeResult = maybeResultNode.apply(index, value, callbackResult, currentResult);
+                currentResult = maybeResult.get();
+                if (maybeResult.isPresent()) {
+                    break;
+                }
+                count++;
+            }
+            BasicArrayOperation.reportLoopCount(this, count);
+            return currentResult;
+        }
+
+        private static boolean isDenseElement(DynamicObject target, ScriptArray arrayType, long index) {
+            return (arrayType instanceof AbstractWritableArray || arrayType instanceof AbstractConstantArray) && !arrayType.isHolesType() && arrayType.isInBoundsFast(target, index);
+        }
+
+        private static Object readDenseElement(DynamicObject target, ScriptArray arrayType, int index) {
+            if (arrayType instanceof AbstractWritableArray) {
+                return ((AbstractWritableArray) arrayType).getInBoundsFast(target, index);
+            } else {
+                return ((AbstractConstantArray) arrayType).getElementInBounds(target, index);
+            }
+        }
+
+        private Object executeForEachElementIndex(DynamicObject target, Object callback, Object callbackThisArg, long fromIndex, long length, Object initialResult) {
             long index = fromIndexZero.profile(fromIndex == 0) ? firstElementIndex(target, length) : nextElementIndex(target, fromIndex - 1, length);
             Object currentResult = initialResult;
             long count = 0;
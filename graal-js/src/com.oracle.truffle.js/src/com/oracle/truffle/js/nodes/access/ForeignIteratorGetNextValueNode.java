@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.nodes.access;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.StopIterationException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.js.builtins.ArrayIteratorPrototypeBuiltins;
+import com.oracle.truffle.js.builtins.EnumerateIteratorPrototypeBuiltins;
+import com.oracle.truffle.js.nodes.JSGuards;
+import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
+import com.oracle.truffle.js.nodes.interop.ImportValueNode;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
+import com.oracle.truffle.js.runtime.interop.JSInteropUtil;
+import com.oracle.truffle.js.runtime.objects.IteratorRecord;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * IteratorStep and IteratorValue for the built-in iterators over foreign objects, i.e., array
+ * iterators over foreign arrays and the iterator wrappers of foreign iterables.
+ *
+ * If the next method of the iterator record is the unmodified built-in one, the iterator result
+ * object it would create is not observable. Therefore, the next element is read directly via
+ * interop and returned without allocating an iterator result object.
+ */
+public final class ForeignIteratorGetNextValueNode extends JavaScriptBaseNode {
+
+    private final JSFunctionData arrayIteratorNextData;
+    private final JSFunctionData enumerateIteratorNextData;
+
+    @Child private HasHiddenKeyCacheNode isArrayIteratorNode;
+    @Child private PropertyGetNode getIteratedObjectNode;
+    @Child private PropertyGetNode getNextIndexNode;
+    @Child private PropertyGetNode getIterationKindNode;
+    @Child private PropertySetNode setNextIndexNode;
+    @Child private PropertySetNode setIteratedObjectNode;
+    @Child private PropertyGetNode getEnumerateIteratorNode;
+    @Child private InteropLibrary interop;
+    @Child private ImportValueNode importValueNode;
+    private final BranchProfile errorBranch = BranchProfile.create();
+
+    private ForeignIteratorGetNextValueNode(JSContext context) {
+        this.arrayIteratorNextData = ArrayIteratorPrototypeBuiltins.BUILTINS.lookupFunctionByName("next").createFunctionData(context);
+        this.enumerateIteratorNextData = EnumerateIteratorPrototypeBuiltins.BUILTINS.lookupFunctionByName("next").createFunctionData(context);
+        this.isArrayIteratorNode = HasHiddenKeyCacheNode.create(JSArray.ARRAY_ITERATION_KIND_ID);
+        this.getIteratedObjectNode = PropertyGetNode.createGetHidden(JSRuntime.ITERATED_OBJECT_ID, context);
+        this.getNextIndexNode = PropertyGetNode.createGetHidden(JSRuntime.ITERATOR_NEXT_INDEX, context);
+        this.getIterationKindNode = PropertyGetNode.createGetHidden(JSArray.ARRAY_ITERATION_KIND_ID, context);
+        this.setNextIndexNode = PropertySetNode.createSetHidden(JSRuntime.ITERATOR_NEXT_INDEX, context);
+        this.setIteratedObjectNode = PropertySetNode.createSetHidden(JSRuntime.ITERATED_OBJECT_ID, context);
+        this.getEnumerateIteratorNode = PropertyGetNode.createGetHidden(JSRuntime.ENUMERATE_ITERATOR_ID, context);
+    }
+
+    public static ForeignIteratorGetNextValueNode create(JSContext context) {
+        return new ForeignIteratorGetNextValueNode(context);
+    }
+
+    /**
+     * Returns {@code true} if the iterator record can be stepped by {@link #execute}, i.e., if it
+     * is an unmodified built-in iterator over a foreign object.
+     */
+    public boolean isForeignIterator(IteratorRecord iteratorRecord) {
+        Object next = iteratorRecord.getNextMethod();
+        if (!JSFunction.isJSFunction(next)) {
+            return false;
+        }
+        JSFunctionData functionData = JSFunction.getFunctionData((DynamicObject) next);
+        if (functionData == enumerateIteratorNextData) {
+            return true;
+        } else if (functionData == arrayIteratorNextData) {
+            DynamicObject iterator = iteratorRecord.getIterator();
+            if (!isArrayIteratorNode.executeHasHiddenKey(iterator)) {
+                return false;
+            }
+            Object array = getIteratedObjectNode.getValue(iterator);
+            return JSGuards.isForeignObject(array) && getIterationKind(iterator) == JSRuntime.ITERATION_KIND_VALUE && interop().hasArrayElements(array);
+        }
+        return false;
+    }
+
+    /**
+     * Steps the iterator and returns the next value, or {@code null} if the iterator is done.
+     */
+    public Object execute(IteratorRecord iteratorRecord) {
+        assert isForeignIterator(iteratorRecord);
+        DynamicObject iterator = iteratorRecord.getIterator();
+        if (JSFunction.getFunctionData((DynamicObject) iteratorRecord.getNextMethod()) == enumerateIteratorNextData) {
+            return enumerateIteratorNext(iterator);
+        } else {
+            return arrayIteratorNext(iterator);
+        }
+    }
+
+    private Object enumerateIteratorNext(DynamicObject iterator) {
+        Object foreignIterator = getEnumerateIteratorNode.getValue(iterator);
+        if (foreignIterator == Undefined.instance) {
+            errorBranch.enter();
+            throw Errors.createTypeError("Enumerate iterator required");
+        }
+        InteropLibrary iteratorInterop = interop();
+        try {
+            if (iteratorInterop.hasIteratorNextElement(foreignIterator)) {
+                try {
+                    return importValueNode.executeWithTarget(iteratorInterop.getIteratorNextElement(foreignIterator));
+                } catch (StopIterationException e) {
+                    // fall through
+                }
+            }
+            return null;
+        } catch (UnsupportedMessageException e) {
+            errorBranch.enter();
+            throw Errors.createTypeErrorInteropException(foreignIterator, e, "next", this);
+        }
+    }
+
+    private Object arrayIteratorNext(DynamicObject iterator) {
+        Object array = getIteratedObjectNode.getValue(iterator);
+        if (array == Undefined.instance) {
+            return null;
+        }
+        long index = getNextIndex(iterator);
+        InteropLibrary arrayInterop = interop();
+        long length = JSInteropUtil.getArraySize(array, arrayInterop, this);
+        if (index >= length) {
+            setIteratedObjectNode.setValue(iterator, Undefined.instance);
+            return null;
+        }
+        setNextIndexNode.setValue(iterator, index + 1);
+        try {
+            return importValueNode.executeWithTarget(arrayInterop.readArrayElement(array, index));
+        } catch (InvalidArrayIndexException | UnsupportedMessageException e) {
+            return Undefined.instance;
+        }
+    }
+
+    private long getNextIndex(DynamicObject iterator) {
+        try {
+            return getNextIndexNode.getValueLong(iterator);
+        } catch (UnexpectedResultException e) {
+            throw Errors.shouldNotReachHere();
+        }
+    }
+
+    private int getIterationKind(DynamicObject iterator) {
+        try {
+            return getIterationKindNode.getValueInt(iterator);
+        } catch (UnexpectedResultException e) {
+            throw Errors.shouldNotReachHere();
+        }
+    }
+
+    private InteropLibrary interop() {
+        if (interop == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            interop = insert(InteropLibrary.getFactory().createDispatched(JSConfig.InteropLibraryLimit));
+            importValueNode = insert(ImportValueNode.create());
+        }
+        return interop;
+    }
+}
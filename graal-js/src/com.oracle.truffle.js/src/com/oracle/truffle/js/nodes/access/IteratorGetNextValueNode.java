@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.js.nodes.access;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Executed;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
@@ -87,6 +88,7 @@ public abstract class IteratorGetNextValueNode extends JavaScriptNode {
     @Child private JavaScriptNode doneResultNode;
     @Child private JSToBooleanNode toBooleanNode;
     private final boolean setDone;
+    protected final JSContext context;
 
     protected IteratorGetNextValueNode(JSContext context, JavaScriptNode iteratorNode, JavaScriptNode doneNode, boolean setDone) {
         this.iteratorNode = iteratorNode;
@@ -97,6 +99,7 @@ public abstract class IteratorGetNextValueNode extends JavaScriptNode {
         this.toBooleanNode = JSToBooleanNode.create();
         this.doneResultNode = doneNode;
         this.setDone = setDone;
+        this.context = context;
     }
 
     public static IteratorGetNextValueNode create(JSContext context, JavaScriptNode iterator, JavaScriptNode doneNode, boolean setDone) {
@@ -113,6 +116,27 @@ public abstract class IteratorGetNextValueNode extends JavaScriptNode {
         return result;
     }
 
+    @Specialization(guards = "foreignNextValueNode.isForeignIterator(iteratorRecord)")
+    protected Object foreignIteratorStepAndGetValue(VirtualFrame frame, IteratorRecord iteratorRecord,
+                    @Cached("create(context)") ForeignIteratorGetNextValueNode foreignNextValueNode) {
+        try {
+            Object value = foreignNextValueNode.execute(iteratorRecord);
+            if (value != null) {
+                return value;
+            } else {
+                if (setDone) {
+                    iteratorRecord.setDone(true);
+                }
+                return doneResultNode.execute(frame);
+            }
+        } catch (Exception ex) {
+            if (setDone) {
+                iteratorRecord.setDone(true);
+            }
+            throw ex;
+        }
+    }
+
     @Specialization
     protected Object iteratorStepAndGetValue(VirtualFrame frame, IteratorRecord iteratorRecord) {
         try {
@@ -138,6 +162,6 @@ public abstract class IteratorGetNextValueNode extends JavaScriptNode {
 
     @Override
     protected JavaScriptNode copyUninitialized(Set<Class<? extends Tag>> materializedTags) {
-        return create(getValueNode.getContext(), cloneUninitialized(iteratorNode, materializedTags), cloneUninitialized(doneResultNode, materializedTags), setDone);
+        return create(context, cloneUninitialized(iteratorNode, materializedTags), cloneUninitialized(doneResultNode, materializedTags), setDone);
     }
 }
@@ -90,6 +90,7 @@ import com.oracle.truffle.js.runtime.array.ArrayAllocationSite;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractConstantArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractSegmentedArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractWritableArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantEmptyArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantObjectArray;
@@ -863,6 +864,8 @@ public class ReadElementNode extends JSTargetableNode implements ReadNode {
             return new HolesObjectArrayReadElementCacheNode(array, next);
         } else if (array instanceof AbstractWritableArray) {
             return new WritableArrayReadElementCacheNode(array, next);
+        } else if (array instanceof AbstractSegmentedArray) {
+            return new SegmentedArrayReadElementCacheNode(array, next);
         } else if (array instanceof TypedArray) {
             if (array instanceof TypedArray.AbstractUint32Array) {
                 return new Uint32ArrayReadElementCacheNode((TypedArray) array, next);
@@ -1202,6 +1205,22 @@ public class ReadElementNode extends JSTargetableNode implements ReadNode {
         }
     }
 
+    private static class SegmentedArrayReadElementCacheNode extends ArrayClassGuardCachedArrayReadElementCacheNode {
+
+        SegmentedArrayReadElementCacheNode(ScriptArray arrayType, ArrayReadElementCacheNode next) {
+            super(arrayType, next);
+        }
+
+        @Override
+        protected Object executeArrayGet(DynamicObject target, ScriptArray array, long index, Object receiver, Object defaultValue, JSContext context) {
+            AbstractSegmentedArray segmentedArray = (AbstractSegmentedArray) cast(array);
+            if (inBounds.profile(segmentedArray.hasElement(target, index))) {
+                return segmentedArray.getElementInBounds(target, index);
+            }
+            return readOutOfBounds(target, index, receiver, defaultValue, context);
+        }
+    }
+
     private abstract static class AbstractTypedArrayReadElementCacheNode extends ArrayClassGuardCachedArrayReadElementCacheNode {
         @Child protected InteropLibrary interop;
 
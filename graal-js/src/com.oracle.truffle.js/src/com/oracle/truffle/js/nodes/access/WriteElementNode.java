@@ -105,6 +105,7 @@ import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractJSObjectArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractObjectArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractSegmentedArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractWritableArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantEmptyArray;
 import com.oracle.truffle.js.runtime.array.dyn.ContiguousIntArray;
@@ -773,6 +774,8 @@ public class WriteElementNode extends JSTargetableNode {
             return new JSObjectArrayWriteElementCacheNode(array, next);
         } else if (array instanceof AbstractWritableArray) {
             return new WritableArrayWriteElementCacheNode(array, next);
+        } else if (array instanceof AbstractSegmentedArray) {
+            return new SegmentedArrayWriteElementCacheNode(array, next);
         } else if (array instanceof TypedArray) {
             if (array instanceof TypedArray.AbstractUint32Array) {
                 return new Uint32ArrayWriteElementCacheNode((TypedArray) array, next);
@@ -850,7 +853,7 @@ public class WriteElementNode extends JSTargetableNode {
             return false;
         }
 
-        protected final boolean holesArrayNeedsSlowSet(DynamicObject target, AbstractWritableArray arrayType, long index, WriteElementNode root) {
+        protected final boolean holesArrayNeedsSlowSet(DynamicObject target, ScriptArray arrayType, long index, WriteElementNode root) {
             assert arrayType.isHolesType();
             if ((!root.context.getArrayPrototypeNoElementsAssumption().isValid() && !root.writeOwn) ||
                             (!root.context.getFastArrayAssumption().isValid() && JSSlowArray.isJSSlowArray(target)) ||
@@ -1490,6 +1493,29 @@ public class WriteElementNode extends JSTargetableNode {
         }
     }
 
+    private static class SegmentedArrayWriteElementCacheNode extends RecursiveCachedArrayWriteElementCacheNode {
+        private final ConditionProfile inBoundsCondition = ConditionProfile.createBinaryProfile();
+
+        SegmentedArrayWriteElementCacheNode(ScriptArray arrayType, ArrayWriteElementCacheNode arrayCacheNext) {
+            super(arrayType, arrayCacheNext);
+        }
+
+        @Override
+        protected boolean executeSetArray(DynamicObject target, ScriptArray array, long index, Object value, WriteElementNode root) {
+            AbstractSegmentedArray segmentedArray = (AbstractSegmentedArray) cast(array);
+            if (holesArrayNeedsSlowSet(target, segmentedArray, index, root)) {
+                return false;
+            }
+            if (inBoundsCondition.profile(segmentedArray.isInAllocatedSegment(target, index) && segmentedArray.canStore(value))) {
+                segmentedArray.setInAllocatedSegment(target, index, value);
+                return true;
+            } else {
+                arraySetArrayType(target, segmentedArray.setElement(target, index, value, root.isStrict));
+                return true;
+            }
+        }
+    }
+
     private abstract static class AbstractTypedArrayWriteElementCacheNode extends ArrayClassGuardCachedArrayWriteElementCacheNode {
         @Child protected InteropLibrary interop;
 
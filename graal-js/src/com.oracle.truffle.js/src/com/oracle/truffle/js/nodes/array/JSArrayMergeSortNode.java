@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.nodes.array;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
+import com.oracle.truffle.js.nodes.cast.JSToDoubleNode;
+import com.oracle.truffle.js.nodes.function.JSFunctionCallNode;
+import com.oracle.truffle.js.runtime.JSArguments;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Stable sort of an Object[] with a user-provided comparison function. Unlike sorting with
+ * {@link java.util.Arrays#sort(Object[], java.util.Comparator)}, the sort loop is partially
+ * evaluated and the comparison function is called through a {@link JSFunctionCallNode}, so that
+ * the compiler can inline a monomorphic comparison function into the loop. Undefined elements are
+ * moved to the end without calling the comparison function (see SortCompare).
+ *
+ * Bottom-up merge sort over runs presorted by insertion sort; merges of runs that are already in
+ * order are skipped. Used by {@code Array.prototype.sort}.
+ */
+public final class JSArrayMergeSortNode extends JavaScriptBaseNode {
+
+    private static final int RUN_LENGTH = 8;
+
+    @Child private JSFunctionCallNode callNode;
+    @Child private JSToDoubleNode toDoubleNode;
+    private final ConditionProfile intResultProfile = ConditionProfile.createBinaryProfile();
+    private final ConditionProfile hasUndefinedProfile = ConditionProfile.createBinaryProfile();
+
+    private JSArrayMergeSortNode() {
+        this.callNode = JSFunctionCallNode.createCall();
+    }
+
+    public static JSArrayMergeSortNode create() {
+        return new JSArrayMergeSortNode();
+    }
+
+    public void execute(Object[] array, DynamicObject comparefn) {
+        int length = moveUndefinedToEnd(array);
+        if (length < 2) {
+            return;
+        }
+        for (int start = 0; start < length; start += RUN_LENGTH) {
+            insertionSort(array, start, Math.min(start + RUN_LENGTH, length), comparefn);
+        }
+        if (length <= RUN_LENGTH) {
+            return;
+        }
+        Object[] src = array;
+        Object[] dst = new Object[length];
+        for (long width = RUN_LENGTH; width < length; width *= 2) {
+            for (long lo = 0; lo < length; lo += 2 * width) {
+                int mid = (int) Math.min(lo + width, length);
+                int hi = (int) Math.min(lo + 2 * width, length);
+                merge(src, dst, (int) lo, mid, hi, comparefn);
+            }
+            Object[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        if (src != array) {
+            System.arraycopy(src, 0, array, 0, length);
+        }
+    }
+
+    /**
+     * Moves all undefined elements to the end, keeping the order of the other elements. Returns
+     * the number of elements that are not undefined.
+     */
+    private int moveUndefinedToEnd(Object[] array) {
+        int count = 0;
+        for (int i = 0; i < array.length; i++) {
+            Object element = array[i];
+            if (element != Undefined.instance) {
+                array[count++] = element;
+            }
+        }
+        if (hasUndefinedProfile.profile(count < array.length)) {
+            for (int i = count; i < array.length; i++) {
+                array[i] = Undefined.instance;
+            }
+        }
+        return count;
+    }
+
+    private void insertionSort(Object[] array, int start, int end, DynamicObject comparefn) {
+        for (int i = start + 1; i < end; i++) {
+            Object element = array[i];
+            int j = i - 1;
+            while (j >= start && compare(comparefn, array[j], element) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = element;
+        }
+    }
+
+    private void merge(Object[] src, Object[] dst, int lo, int mid, int hi, DynamicObject comparefn) {
+        if (mid >= hi || compare(comparefn, src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, lo, dst, lo, hi - lo);
+            return;
+        }
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        while (i < mid && j < hi) {
+            if (compare(comparefn, src[j], src[i]) < 0) {
+                dst[k++] = src[j++];
+            } else {
+                dst[k++] = src[i++];
+            }
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    private int compare(DynamicObject comparefn, Object a, Object b) {
+        Object result = callNode.executeCall(JSArguments.create(Undefined.instance, comparefn, a, b));
+        if (intResultProfile.profile(result instanceof Integer)) {
+            return (int) result;
+        }
+        double d = toDouble(result);
+        if (d < 0) {
+            return -1;
+        } else if (d > 0) {
+            return 1;
+        } else {
+            // +/-0 or NaN
+            return 0;
+        }
+    }
+
+    private double toDouble(Object value) {
+        if (toDoubleNode == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            toDoubleNode = insert(JSToDoubleNode.create());
+        }
+        return toDoubleNode.executeDouble(value);
+    }
+}
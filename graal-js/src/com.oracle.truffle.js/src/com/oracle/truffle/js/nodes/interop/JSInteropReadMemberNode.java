@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.nodes.interop;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.ReportPolymorphism;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
+import com.oracle.truffle.js.nodes.access.PropertyGetNode;
+import com.oracle.truffle.js.nodes.access.ReadElementNode;
+import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRuntime;
+
+/**
+ * Reads a member of a JS object for the interop {@code readMember} message.
+ *
+ * Host code usually reads many different members from a single call site, e.g. when mapping JS
+ * objects to Java objects. Therefore, this node keeps a (shape-keyed) {@link PropertyGetNode} for
+ * each member name seen, up to {@link JSConfig#InteropMemberCacheLimit} names.
+ *
+ * There is no batch variant for reading several members at once: {@code InteropLibrary} has no
+ * such message, and the host (e.g. {@code Value.as(Map.class)} or proxies of JS objects) issues
+ * one {@code readMember} per member, which ends up here.
+ */
+@ImportStatic({JSConfig.class, JSRuntime.class})
+public abstract class JSInteropReadMemberNode extends JavaScriptBaseNode {
+
+    protected final JSContext context;
+
+    JSInteropReadMemberNode(JSContext context) {
+        this.context = context;
+    }
+
+    public static JSInteropReadMemberNode create(JSContext context) {
+        return JSInteropReadMemberNodeGen.create(context);
+    }
+
+    public abstract Object execute(DynamicObject target, String key, Object defaultValue);
+
+    @Specialization(guards = {"!isArrayIndex(cachedKey)", "cachedKey.equals(key)"}, limit = "InteropMemberCacheLimit")
+    Object doCachedKey(DynamicObject target, @SuppressWarnings("unused") String key, Object defaultValue,
+                    @Cached("key") @SuppressWarnings("unused") String cachedKey,
+                    @Cached("create(cachedKey, context)") PropertyGetNode getNode) {
+        return getNode.getValueOrDefault(target, defaultValue);
+    }
+
+    @ReportPolymorphism.Megamorphic
+    @Specialization(replaces = "doCachedKey")
+    Object doGeneric(DynamicObject target, String key, Object defaultValue,
+                    @Cached("create(context)") ReadElementNode readNode) {
+        return readNode.executeWithTargetAndIndexOrDefault(target, key, defaultValue);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.nodes.interop;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.ReportPolymorphism;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
+import com.oracle.truffle.js.nodes.access.PropertySetNode;
+import com.oracle.truffle.js.nodes.access.WriteElementNode;
+import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRuntime;
+
+/**
+ * Writes a member of a JS object for the interop {@code writeMember} message, keeping a
+ * {@link PropertySetNode} for each member name seen.
+ *
+ * @see JSInteropReadMemberNode
+ */
+@ImportStatic({JSConfig.class, JSRuntime.class})
+public abstract class JSInteropWriteMemberNode extends JavaScriptBaseNode {
+
+    protected final JSContext context;
+
+    JSInteropWriteMemberNode(JSContext context) {
+        this.context = context;
+    }
+
+    public static JSInteropWriteMemberNode create(JSContext context) {
+        return JSInteropWriteMemberNodeGen.create(context);
+    }
+
+    public abstract void execute(DynamicObject target, String key, Object value);
+
+    @Specialization(guards = {"!isArrayIndex(cachedKey)", "cachedKey.equals(key)"}, limit = "InteropMemberCacheLimit")
+    void doCachedKey(DynamicObject target, @SuppressWarnings("unused") String key, Object value,
+                    @Cached("key") @SuppressWarnings("unused") String cachedKey,
+                    @Cached("create(cachedKey, false, context, true)") PropertySetNode setNode) {
+        setNode.setValue(target, value);
+    }
+
+    @ReportPolymorphism.Megamorphic
+    @Specialization(replaces = "doCachedKey")
+    void doGeneric(DynamicObject target, String key, Object value,
+                    @Cached("create(context, true)") WriteElementNode writeNode) {
+        writeNode.executeWithTargetAndIndexAndValue(target, key, value);
+    }
+}
@@ -130,7 +130,12 @@ public abstract class KeyInfoNode extends JavaScriptBaseNode {
         }
     }
 
-    @Specialization(replaces = "cachedOwnProperty")
+    /**
+     * Missing, inherited, and proxy members. Does not replace {@link #cachedOwnProperty}, so that
+     * own members queried from the same call site stay on the cached path, e.g. when the host
+     * checks for members that an object does not have.
+     */
+    @Specialization
     static boolean member(DynamicObject target, String key, int query,
                     @Cached GetPrototypeNode getPrototype,
                     @Cached IsCallableNode isCallable,
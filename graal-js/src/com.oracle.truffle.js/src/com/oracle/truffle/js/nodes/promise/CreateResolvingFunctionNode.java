@@ -66,6 +66,8 @@ import com.oracle.truffle.js.runtime.PromiseHook;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSPromise;
+import com.oracle.truffle.js.runtime.interop.FutureSettlement;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.Pair;
@@ -123,6 +125,7 @@ public class CreateResolvingFunctionNode extends JavaScriptBaseNode {
             @Child private TryCatchNode.GetErrorObjectNode getErrorObjectNode;
             private final ConditionProfile alreadyResolvedProfile = ConditionProfile.createBinaryProfile();
             @Child private InteropLibrary exceptions;
+            @Child private CreateResolvingFunctionNode createResolvingFunctionNode;
 
             // PromiseResolveThenableJob
             @Child private PropertySetNode setPromiseNode;
@@ -161,6 +164,9 @@ public class CreateResolvingFunctionNode extends JavaScriptBaseNode {
                     }
                 }
                 if (!isCallableNode.executeBoolean(then)) {
+                    if (context.getContextOptions().interopFutures() && !JSDynamicObject.isJSDynamicObject(resolution) && FutureSettlement.isCompletionStage(context.getRealm(), resolution)) {
+                        return resolveWithFuture(promise, resolution);
+                    }
                     return fulfillPromise(promise, resolution);
                 }
                 DynamicObject job = promiseResolveThenableJob(promise, resolution, then);
@@ -176,6 +182,16 @@ public class CreateResolvingFunctionNode extends JavaScriptBaseNode {
                 return fulfillPromiseNode.execute(promise, resolution);
             }
 
+            private Object resolveWithFuture(DynamicObject promise, Object future) {
+                if (createResolvingFunctionNode == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    createResolvingFunctionNode = insert(CreateResolvingFunctionNode.create(context));
+                }
+                Pair<DynamicObject, DynamicObject> resolvingFunctions = createResolvingFunctionNode.execute(promise);
+                FutureSettlement.subscribe(context.getRealm(), future, resolvingFunctions.getFirst(), resolvingFunctions.getSecond());
+                return Undefined.instance;
+            }
+
             private Object getThen(Object resolution) {
                 if (getThenNode == null) {
                     CompilerDirectives.transferToInterpreterAndInvalidate();
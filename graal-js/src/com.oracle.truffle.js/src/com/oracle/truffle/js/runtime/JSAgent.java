@@ -60,6 +60,7 @@ import com.oracle.truffle.js.runtime.builtins.JSFinalizationRegistry;
 import com.oracle.truffle.js.runtime.builtins.JSFinalizationRegistryObject;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
+import com.oracle.truffle.js.runtime.interop.FutureSettlement;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
 /**
@@ -100,6 +101,17 @@ public abstract class JSAgent implements EcmaAgent {
 
     private final Deque<WaiterRecord> waitAsyncJobsQueue;
 
+    /**
+     * Java futures that completed (possibly on another thread) and whose promises are waiting to be
+     * settled by this agent.
+     */
+    private final Deque<FutureSettlement> futureSettlementQueue;
+    /**
+     * Incremented whenever the pending jobs are discarded, so that Java futures subscribed to
+     * before do not settle their promises afterwards.
+     */
+    private int jobGeneration;
+
     private final PromiseRejectionTracker promiseRejectionTracker;
 
     public JSAgent(boolean canBlock) {
@@ -112,6 +124,7 @@ public abstract class JSAgent implements EcmaAgent {
         this.canBlock = canBlock;
         this.promiseJobsQueue = new ArrayDeque<>();
         this.waitAsyncJobsQueue = new ConcurrentLinkedDeque<>();
+        this.futureSettlementQueue = new ConcurrentLinkedDeque<>();
         this.finalizationRegistryQueue = new ArrayDeque<>(4);
     }
 
@@ -169,13 +182,46 @@ public abstract class JSAgent implements EcmaAgent {
         waitAsyncJobsQueue.push(waiter);
     }
 
+    /**
+     * Enqueues the settlement of a promise by a completed Java future. May be called from any
+     * thread; the promise is settled the next time the agent processes its pending jobs.
+     */
+    @TruffleBoundary
+    public void enqueueFutureSettlement(FutureSettlement settlement) {
+        futureSettlementQueue.push(settlement);
+    }
+
+    public int getJobGeneration() {
+        return jobGeneration;
+    }
+
+    /**
+     * Drops all pending promise jobs, {@code Atomics.waitAsync} jobs, settlements of Java futures
+     * (including those of futures that complete later) and finalization registry cleanups, e.g.
+     * before a context is reused by another user.
+     */
+    @TruffleBoundary
+    public void discardPendingJobs() {
+        jobGeneration++;
+        promiseJobsQueue.clear();
+        waitAsyncJobsQueue.clear();
+        futureSettlementQueue.clear();
+        finalizationRegistryQueue.clear();
+    }
+
     @TruffleBoundary
     public final void processAllPromises(boolean processWeakRefs) {
         try {
             boolean checkWaiterRecords = !waitAsyncJobsQueue.isEmpty();
             interopBoundaryEnter();
-            while (!promiseJobsQueue.isEmpty() || checkWaiterRecords) {
+            while (!promiseJobsQueue.isEmpty() || checkWaiterRecords || !futureSettlementQueue.isEmpty()) {
                 checkWaiterRecords = false;
+                FutureSettlement settlement;
+                while ((settlement = futureSettlementQueue.pollLast()) != null) {
+                    if (settlement.getJobGeneration() == jobGeneration) {
+                        settlement.settle();
+                    }
+                }
                 Iterator<WaiterRecord> iter = waitAsyncJobsQueue.descendingIterator();
                 while (iter.hasNext()) {
                     WaiterRecord wr = iter.next();
@@ -220,6 +266,7 @@ public abstract class JSAgent implements EcmaAgent {
             // is terminated by an exception (like ExitException).
             promiseJobsQueue.clear();
             waitAsyncJobsQueue.clear();
+            futureSettlementQueue.clear();
             throw t;
         } finally {
             interopBoundaryExit();
@@ -83,6 +83,8 @@ public final class JSConfig {
     /** Default cache limit for dispatched InteropLibrary. */
     public static final int InteropLibraryLimit = 5;
     public static final int PropertyCacheLimit = 5;
+    /** Number of member names cached per interop readMember/writeMember call site. */
+    public static final int InteropMemberCacheLimit = 32;
     public static final int FunctionCacheLimit = 4;
     public static final boolean AssertFinalPropertySpecialization = false;
     /** Try to cache by function object instead of call target. */
@@ -40,7 +40,10 @@
  */
 package com.oracle.truffle.js.runtime;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.WeakHashMap;
@@ -56,6 +59,7 @@ import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.TruffleLanguage.ContextReference;
 import com.oracle.truffle.api.frame.VirtualFrame;
@@ -64,6 +68,7 @@ import com.oracle.truffle.api.nodes.InvalidAssumptionException;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.access.GetPrototypeNode;
 import com.oracle.truffle.js.nodes.cast.JSToObjectNode;
@@ -123,6 +128,7 @@ import com.oracle.truffle.js.runtime.builtins.wasm.JSWebAssemblyTable;
 import com.oracle.truffle.js.runtime.java.JavaImporter;
 import com.oracle.truffle.js.runtime.java.JavaPackage;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSModuleData;
 import com.oracle.truffle.js.runtime.objects.JSModuleRecord;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSPrototypeData;
@@ -134,7 +140,10 @@ import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.CompilableBiFunction;
 import com.oracle.truffle.js.runtime.util.DebugJSAgent;
+import com.oracle.truffle.js.runtime.util.FileSourceCache;
+import com.oracle.truffle.js.runtime.util.ModuleResolutionCache;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
+import com.oracle.truffle.js.runtime.util.StartupProfile;
 import com.oracle.truffle.js.runtime.util.TimeProfiler;
 
 public class JSContext {
@@ -197,6 +206,21 @@ public class JSContext {
     private final Object nodeFactory;
 
     private final TimeProfiler timeProfiler;
+    private volatile StartupProfile startupProfile;
+
+    /**
+     * Contents of files loaded as sources, shared by all contexts of the engine; {@code null} if
+     * disabled.
+     */
+    private final FileSourceCache fileSourceCache;
+    /**
+     * Module code translated once for all realms; only used with the shared source cache. Bounded
+     * by {@link JSContextOptions#SHARED_SOURCE_CACHE_SIZE}, evicting least recently used modules.
+     */
+    private final Map<Source, JSModuleData> moduleDataCache;
+    /** CommonJS module function sources, keyed by the source of the module file; bounded, too. */
+    private final Map<Source, Source> commonJSWrapperSources;
+    private final ModuleResolutionCache commonJSResolutionCache;
 
     private final JSObjectFactory.BoundProto moduleNamespaceFactory;
 
@@ -255,6 +279,8 @@ public class JSContext {
         PromiseThrower,
         ImportModuleDynamically,
         JavaPackageToPrimitive,
+        JavaFutureFulfilled,
+        JavaFutureRejected,
         RegExpMultiLine,
         RegExpLastMatch,
         RegExpLastParen,
@@ -476,6 +502,10 @@ public class JSContext {
         this.builtinFunctionData = new JSFunctionData[BuiltinFunctionKey.values().length];
 
         this.timeProfiler = contextOptions.isProfileTime() ? new TimeProfiler() : null;
+        this.fileSourceCache = contextOptions.isSharedSourceCache() ? new FileSourceCache(contextOptions.getSharedSourceCacheSize()) : null;
+        this.moduleDataCache = contextOptions.isSharedSourceCache() ? createLRUCache(contextOptions.getSharedSourceCacheSize()) : null;
+        this.commonJSWrapperSources = contextOptions.isSharedSourceCache() ? createLRUCache(contextOptions.getSharedSourceCacheSize()) : null;
+        this.commonJSResolutionCache = contextOptions.isCommonJSResolutionCache() ? new ModuleResolutionCache(contextOptions.getCommonJSResolutionCacheTTL(), contextOptions.getCommonJSResolutionCacheSize()) : null;
 
         this.singleRealmAssumption = Truffle.getRuntime().createAssumption("single realm");
         this.noChildRealmsAssumption = Truffle.getRuntime().createAssumption("no child realms");
@@ -746,6 +776,10 @@ public class JSContext {
         invalidatePromiseQueueNotUsedAssumption();
     }
 
+    public final void signalFutureSettlementUsage() {
+        invalidatePromiseQueueNotUsedAssumption();
+    }
+
     private void invalidatePromiseQueueNotUsedAssumption() {
         Assumption promiseJobsQueueEmptyAssumption = language.getPromiseJobsQueueEmptyAssumption();
         if (promiseJobsQueueEmptyAssumption.isValid()) {
@@ -770,10 +804,101 @@ public class JSContext {
         getJSAgent().registerFinalizationRegistry(finalizationRegistry);
     }
 
+    /**
+     * Sets up startup profile recording or replay when the first context is initialized.
+     */
+    @TruffleBoundary
+    public void initializeStartupProfile(TruffleLanguage.Env env) {
+        if (startupProfile == null) {
+            synchronized (this) {
+                if (startupProfile == null) {
+                    startupProfile = StartupProfile.create(env, contextOptions.getStartupProfileRecord(), contextOptions.getStartupProfileDuration(), contextOptions.getStartupProfileReplay());
+                }
+            }
+        }
+    }
+
+    public StartupProfile getStartupProfile() {
+        return startupProfile;
+    }
+
     public TimeProfiler getTimeProfiler() {
         return timeProfiler;
     }
 
+    /**
+     * Creates a source for a file loaded by {@code load}, {@code require} or a module import,
+     * reusing the engine-wide shared source if enabled.
+     *
+     * @param name source name, or {@code null} to use the file name
+     */
+    @TruffleBoundary
+    public Source getFileSource(TruffleFile file, String name) throws IOException {
+        if (fileSourceCache != null) {
+            return fileSourceCache.getSource(file, name);
+        }
+        Source.SourceBuilder builder = Source.newBuilder(JavaScriptLanguage.ID, file);
+        if (name != null) {
+            builder.name(name);
+        }
+        return builder.build();
+    }
+
+    private static <K, V> Map<K, V> createLRUCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Returns the module code previously translated for this source, or {@code null} if not
+     * available. Module code does not depend on the realm, so all module records created for the
+     * same source can share it.
+     */
+    @TruffleBoundary
+    public JSModuleData getCachedModuleData(Source source) {
+        return moduleDataCache == null ? null : moduleDataCache.get(source);
+    }
+
+    /**
+     * Remembers the translated module code for this source, if the shared source cache is enabled.
+     *
+     * @return the module data to use, which may have been put by another thread in the meantime
+     */
+    @TruffleBoundary
+    public JSModuleData putCachedModuleData(Source source, JSModuleData moduleData) {
+        if (moduleDataCache == null) {
+            return moduleData;
+        }
+        JSModuleData existing = moduleDataCache.putIfAbsent(source, moduleData);
+        return existing == null ? moduleData : existing;
+    }
+
+    /**
+     * Returns the source of the function wrapping a CommonJS module, creating it only once per
+     * module source if the shared source cache is enabled. A stable source lets the parsed module
+     * function be shared between all contexts of the engine.
+     */
+    @TruffleBoundary
+    public Source getCommonJSWrapperSource(Source moduleSource, Function<Source, Source> createWrapperSource) {
+        if (commonJSWrapperSources == null) {
+            return createWrapperSource.apply(moduleSource);
+        }
+        return commonJSWrapperSources.computeIfAbsent(moduleSource, createWrapperSource);
+    }
+
+    /**
+     * Returns the engine-wide CommonJS module resolution cache, or {@code null} if disabled.
+     */
+    public ModuleResolutionCache getCommonJSResolutionCache() {
+        return commonJSResolutionCache;
+    }
+
     /**
      * Get the current Realm using {@link ContextReference}.
      */
@@ -257,6 +257,10 @@ public final class JSContextOptions {
     @Option(name = LOAD_FROM_URL_NAME, category = OptionCategory.USER, help = "Allow 'load' to access URLs. Do not use with untrusted code.") //
     public static final OptionKey<Boolean> LOAD_FROM_URL = new OptionKey<>(false);
 
+    public static final String MAP_BUFFER_NAME = JS_OPTION_PREFIX + "mapbuffer";
+    @Option(name = MAP_BUFFER_NAME, category = OptionCategory.EXPERT, help = "Provide 'mapbuffer' to create ArrayBuffers backed by memory-mapped files.") //
+    public static final OptionKey<Boolean> MAP_BUFFER = new OptionKey<>(false);
+
     public static final String LOAD_FROM_CLASSPATH_NAME = JS_OPTION_PREFIX + "load-from-classpath";
     @Option(name = LOAD_FROM_CLASSPATH_NAME, category = OptionCategory.USER, help = "Allow 'load' to access 'classpath:' URLs. Do not use with untrusted code.") //
     public static final OptionKey<Boolean> LOAD_FROM_CLASSPATH = new OptionKey<>(false);
@@ -357,6 +361,14 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT = new OptionKey<>(false);
     @CompilationFinal private boolean scriptEngineGlobalScopeImport;
 
+    public static final String SCRIPT_ENGINE_CONTEXT_RESET_NAME = JS_OPTION_PREFIX + "script-engine-context-reset";
+    /*
+     * The option needs to be stable it is used in our GraalJSScriptEngine implementation.
+     */
+    @Option(name = SCRIPT_ENGINE_CONTEXT_RESET_NAME, stability = OptionStability.STABLE, category = OptionCategory.INTERNAL, help = "Enable ScriptEngine-specific reset of the global environment for context pooling.") //
+    public static final OptionKey<Boolean> SCRIPT_ENGINE_CONTEXT_RESET = new OptionKey<>(false);
+    @CompilationFinal private boolean scriptEngineContextReset;
+
     public static final String FOREIGN_OBJECT_PROTOTYPE_NAME = JS_OPTION_PREFIX + "foreign-object-prototype";
     @Option(name = FOREIGN_OBJECT_PROTOTYPE_NAME, category = OptionCategory.EXPERT, stability = OptionStability.STABLE, help = "Non-JS objects have prototype (Object/Function/Array.prototype) set.") //
     public static final OptionKey<Boolean> FOREIGN_OBJECT_PROTOTYPE = new OptionKey<>(false);
@@ -406,6 +418,11 @@ public final class JSContextOptions {
     public static final OptionKey<Integer> STRING_LENGTH_LIMIT = new OptionKey<>(JSConfig.StringLengthLimit);
     @CompilationFinal private int stringLengthLimit;
 
+    public static final String PARALLEL_SORT_THRESHOLD_NAME = JS_OPTION_PREFIX + "parallel-sort-threshold";
+    @Option(name = PARALLEL_SORT_THRESHOLD_NAME, category = OptionCategory.EXPERT, help = "Minimum length of primitive arrays and typed arrays that are sorted in parallel, if sorting needs no calls of a comparator (0 disables parallel sorting). Only used if creating threads is allowed.") //
+    public static final OptionKey<Integer> PARALLEL_SORT_THRESHOLD = new OptionKey<>(0);
+    @CompilationFinal private int parallelSortThreshold;
+
     public static final String BIND_MEMBER_FUNCTIONS_NAME = JS_OPTION_PREFIX + "bind-member-functions";
     @Option(name = BIND_MEMBER_FUNCTIONS_NAME, category = OptionCategory.EXPERT, help = "Bind functions returned by Value.getMember to the receiver object.") //
     public static final OptionKey<Boolean> BIND_MEMBER_FUNCTIONS = new OptionKey<>(true);
@@ -433,6 +450,18 @@ public final class JSContextOptions {
     @Option(name = PROFILE_TIME_PRINT_CUMULATIVE_NAME, category = OptionCategory.INTERNAL, help = "Print cumulative time when time profiling is enabled.") //
     public static final OptionKey<Boolean> PROFILE_TIME_PRINT_CUMULATIVE = new OptionKey<>(false);
 
+    public static final String STARTUP_PROFILE_RECORD_NAME = JS_OPTION_PREFIX + "startup-profile-record";
+    @Option(name = STARTUP_PROFILE_RECORD_NAME, category = OptionCategory.EXPERT, help = "Record the functions executed during startup to the given file.") //
+    public static final OptionKey<String> STARTUP_PROFILE_RECORD = new OptionKey<>("");
+
+    public static final String STARTUP_PROFILE_DURATION_NAME = JS_OPTION_PREFIX + "startup-profile-duration";
+    @Option(name = STARTUP_PROFILE_DURATION_NAME, category = OptionCategory.EXPERT, help = "Duration of the startup phase recorded by startup-profile-record, in milliseconds.") //
+    public static final OptionKey<Integer> STARTUP_PROFILE_DURATION = new OptionKey<>(5000);
+
+    public static final String STARTUP_PROFILE_REPLAY_NAME = JS_OPTION_PREFIX + "startup-profile-replay";
+    @Option(name = STARTUP_PROFILE_REPLAY_NAME, category = OptionCategory.EXPERT, help = "Translate the functions listed in the given startup profile ahead of time on a background thread (requires lazy-translation).") //
+    public static final OptionKey<String> STARTUP_PROFILE_REPLAY = new OptionKey<>("");
+
     public static final String TEST_CLONE_UNINITIALIZED_NAME = JS_OPTION_PREFIX + "test-clone-uninitialized";
     @Option(name = TEST_CLONE_UNINITIALIZED_NAME, category = OptionCategory.INTERNAL, help = "Test uninitialized cloning.") //
     public static final OptionKey<Boolean> TEST_CLONE_UNINITIALIZED = new OptionKey<>(false);
@@ -519,6 +548,36 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> OPERATOR_OVERLOADING = new OptionKey<>(false);
     @CompilationFinal private boolean operatorOverloading;
 
+    public static final String SHARED_SOURCE_CACHE_NAME = JS_OPTION_PREFIX + "shared-source-cache";
+    @Option(name = SHARED_SOURCE_CACHE_NAME, category = OptionCategory.EXPERT, help = "Share sources loaded from files by load, require and module imports between all contexts of an engine.") //
+    public static final OptionKey<Boolean> SHARED_SOURCE_CACHE = new OptionKey<>(false);
+    @CompilationFinal private boolean sharedSourceCache;
+
+    public static final String SHARED_SOURCE_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "shared-source-cache-size";
+    @Option(name = SHARED_SOURCE_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, help = "Maximum number of files and of translated modules kept by the shared source cache; least recently used entries are evicted first.") //
+    public static final OptionKey<Integer> SHARED_SOURCE_CACHE_SIZE = new OptionKey<>(1000);
+    @CompilationFinal private int sharedSourceCacheSize;
+
+    public static final String COMMONJS_RESOLUTION_CACHE_NAME = JS_OPTION_PREFIX + "commonjs-resolution-cache";
+    @Option(name = COMMONJS_RESOLUTION_CACHE_NAME, category = OptionCategory.EXPERT, help = "Share CommonJS module resolution results and file system probes between all contexts of an engine.") //
+    public static final OptionKey<Boolean> COMMONJS_RESOLUTION_CACHE = new OptionKey<>(false);
+    @CompilationFinal private boolean commonJSResolutionCache;
+
+    public static final String COMMONJS_RESOLUTION_CACHE_TTL_NAME = JS_OPTION_PREFIX + "commonjs-resolution-cache-ttl";
+    @Option(name = COMMONJS_RESOLUTION_CACHE_TTL_NAME, category = OptionCategory.EXPERT, help = "Time in milliseconds after which cached CommonJS resolution results are revalidated (0: never, only resolved modules are cached and checked to exist before use).") //
+    public static final OptionKey<Integer> COMMONJS_RESOLUTION_CACHE_TTL = new OptionKey<>(0);
+    @CompilationFinal private int commonJSResolutionCacheTTL;
+
+    public static final String COMMONJS_RESOLUTION_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "commonjs-resolution-cache-size";
+    @Option(name = COMMONJS_RESOLUTION_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, help = "Maximum number of entries of each CommonJS resolution cache; least recently used entries are evicted first.") //
+    public static final OptionKey<Integer> COMMONJS_RESOLUTION_CACHE_SIZE = new OptionKey<>(10000);
+    @CompilationFinal private int commonJSResolutionCacheSize;
+
+    public static final String INTEROP_FUTURES_NAME = JS_OPTION_PREFIX + "interop-futures";
+    @Option(name = INTEROP_FUTURES_NAME, category = OptionCategory.EXPERT, help = "Promises resolved with a Java CompletionStage adopt its outcome. The promise is settled when the context processes pending jobs after the stage completed, i.e., not before the context is entered again.") //
+    public static final OptionKey<Boolean> INTEROP_FUTURES = new OptionKey<>(false);
+    @CompilationFinal private boolean interopFutures;
+
     JSContextOptions(JSParserOptions parserOptions, OptionValues optionValues) {
         this.parserOptions = parserOptions;
         this.optionValues = optionValues;
@@ -580,6 +639,7 @@ public final class JSContextOptions {
         this.regexStepExecution = readBooleanOption(REGEX_STEP_EXECUTION);
         this.regexAlwaysEager = readBooleanOption(REGEX_ALWAYS_EAGER);
         this.scriptEngineGlobalScopeImport = readBooleanOption(SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT);
+        this.scriptEngineContextReset = readBooleanOption(SCRIPT_ENGINE_CONTEXT_RESET);
         this.hasForeignObjectPrototype = readBooleanOption(FOREIGN_OBJECT_PROTOTYPE) || readBooleanOption(EXPERIMENTAL_FOREIGN_OBJECT_PROTOTYPE);
         this.hasForeignHashProperties = readBooleanOption(FOREIGN_HASH_PROPERTIES);
         this.functionArgumentsLimit = readLongOption(FUNCTION_ARGUMENTS_LIMIT);
@@ -588,6 +648,7 @@ public final class JSContextOptions {
         this.validateRegExpLiterals = readBooleanOption(VALIDATE_REGEXP_LITERALS);
         this.functionConstructorCacheSize = readIntegerOption(FUNCTION_CONSTRUCTOR_CACHE_SIZE);
         this.stringLengthLimit = readIntegerOption(STRING_LENGTH_LIMIT);
+        this.parallelSortThreshold = readIntegerOption(PARALLEL_SORT_THRESHOLD);
         this.bindMemberFunctions = readBooleanOption(BIND_MEMBER_FUNCTIONS);
         this.commonJSRequire = readBooleanOption(COMMONJS_REQUIRE);
         this.regexRegressionTestMode = readBooleanOption(REGEX_REGRESSION_TEST_MODE);
@@ -605,6 +666,12 @@ public final class JSContextOptions {
         this.unhandledRejectionsMode = readUnhandledRejectionsMode();
         this.newSetMethods = readBooleanOption(NEW_SET_METHODS);
         this.operatorOverloading = readBooleanOption(OPERATOR_OVERLOADING);
+        this.sharedSourceCache = readBooleanOption(SHARED_SOURCE_CACHE);
+        this.sharedSourceCacheSize = readIntegerOption(SHARED_SOURCE_CACHE_SIZE);
+        this.commonJSResolutionCache = readBooleanOption(COMMONJS_RESOLUTION_CACHE);
+        this.commonJSResolutionCacheTTL = readIntegerOption(COMMONJS_RESOLUTION_CACHE_TTL);
+        this.commonJSResolutionCacheSize = readIntegerOption(COMMONJS_RESOLUTION_CACHE_SIZE);
+        this.interopFutures = readBooleanOption(INTEROP_FUTURES);
 
         this.propertyCacheLimit = readIntegerOption(PROPERTY_CACHE_LIMIT);
         this.functionCacheLimit = readIntegerOption(FUNCTION_CACHE_LIMIT);
@@ -779,6 +846,10 @@ public final class JSContextOptions {
         return scriptEngineGlobalScopeImport;
     }
 
+    public boolean isScriptEngineContextReset() {
+        return scriptEngineContextReset;
+    }
+
     public boolean hasForeignObjectPrototype() {
         return hasForeignObjectPrototype;
     }
@@ -857,6 +928,10 @@ public final class JSContextOptions {
         return LOAD_FROM_URL.getValue(optionValues);
     }
 
+    public boolean isMapBuffer() {
+        return MAP_BUFFER.getValue(optionValues);
+    }
+
     public boolean isLoadFromClasspath() {
         return LOAD_FROM_CLASSPATH.getValue(optionValues);
     }
@@ -896,6 +971,10 @@ public final class JSContextOptions {
         return stringLengthLimit;
     }
 
+    public int getParallelSortThreshold() {
+        return parallelSortThreshold;
+    }
+
     public boolean bindMemberFunctions() {
         return bindMemberFunctions;
     }
@@ -931,6 +1010,21 @@ public final class JSContextOptions {
         return PROFILE_TIME_PRINT_CUMULATIVE.getValue(optionValues);
     }
 
+    public String getStartupProfileRecord() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option startup-profile-record was assumed not to be accessed in compiled code.");
+        return STARTUP_PROFILE_RECORD.getValue(optionValues);
+    }
+
+    public int getStartupProfileDuration() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option startup-profile-duration was assumed not to be accessed in compiled code.");
+        return STARTUP_PROFILE_DURATION.getValue(optionValues);
+    }
+
+    public String getStartupProfileReplay() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option startup-profile-replay was assumed not to be accessed in compiled code.");
+        return STARTUP_PROFILE_REPLAY.getValue(optionValues);
+    }
+
     public int getStackTraceLimit() {
         return stackTraceLimit;
     }
@@ -979,6 +1073,30 @@ public final class JSContextOptions {
         return operatorOverloading;
     }
 
+    public boolean isSharedSourceCache() {
+        return sharedSourceCache;
+    }
+
+    public int getSharedSourceCacheSize() {
+        return sharedSourceCacheSize;
+    }
+
+    public boolean isCommonJSResolutionCache() {
+        return commonJSResolutionCache;
+    }
+
+    public int getCommonJSResolutionCacheTTL() {
+        return commonJSResolutionCacheTTL;
+    }
+
+    public int getCommonJSResolutionCacheSize() {
+        return commonJSResolutionCacheSize;
+    }
+
+    public boolean interopFutures() {
+        return interopFutures;
+    }
+
     @Override
     public int hashCode() {
         int hash = 5;
@@ -1005,6 +1123,7 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.regexStepExecution ? 1 : 0);
         hash = 53 * hash + (this.regexAlwaysEager ? 1 : 0);
         hash = 53 * hash + (this.scriptEngineGlobalScopeImport ? 1 : 0);
+        hash = 53 * hash + (this.scriptEngineContextReset ? 1 : 0);
         hash = 53 * hash + (this.hasForeignObjectPrototype ? 1 : 0);
         hash = 53 * hash + (this.hasForeignHashProperties ? 1 : 0);
         hash = 53 * hash + (int) this.functionArgumentsLimit;
@@ -1013,6 +1132,7 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.validateRegExpLiterals ? 1 : 0);
         hash = 53 * hash + this.functionConstructorCacheSize;
         hash = 53 * hash + this.stringLengthLimit;
+        hash = 53 * hash + this.parallelSortThreshold;
         hash = 53 * hash + (this.bindMemberFunctions ? 1 : 0);
         hash = 53 * hash + (this.commonJSRequire ? 1 : 0);
         hash = 53 * hash + (this.regexRegressionTestMode ? 1 : 0);
@@ -1032,6 +1152,12 @@ public final class JSContextOptions {
         hash = 53 * hash + this.unhandledRejectionsMode.ordinal();
         hash = 53 * hash + (this.newSetMethods ? 1 : 0);
         hash = 53 * hash + (this.operatorOverloading ? 1 : 0);
+        hash = 53 * hash + (this.sharedSourceCache ? 1 : 0);
+        hash = 53 * hash + this.sharedSourceCacheSize;
+        hash = 53 * hash + (this.commonJSResolutionCache ? 1 : 0);
+        hash = 53 * hash + this.commonJSResolutionCacheTTL;
+        hash = 53 * hash + this.commonJSResolutionCacheSize;
+        hash = 53 * hash + (this.interopFutures ? 1 : 0);
         return hash;
     }
 
@@ -1113,6 +1239,9 @@ public final class JSContextOptions {
         if (this.scriptEngineGlobalScopeImport != other.scriptEngineGlobalScopeImport) {
             return false;
         }
+        if (this.scriptEngineContextReset != other.scriptEngineContextReset) {
+            return false;
+        }
         if (this.hasForeignObjectPrototype != other.hasForeignObjectPrototype) {
             return false;
         }
@@ -1137,6 +1266,9 @@ public final class JSContextOptions {
         if (this.stringLengthLimit != other.stringLengthLimit) {
             return false;
         }
+        if (this.parallelSortThreshold != other.parallelSortThreshold) {
+            return false;
+        }
         if (this.bindMemberFunctions != other.bindMemberFunctions) {
             return false;
         }
@@ -1194,6 +1326,24 @@ public final class JSContextOptions {
         if (this.operatorOverloading != other.operatorOverloading) {
             return false;
         }
+        if (this.sharedSourceCache != other.sharedSourceCache) {
+            return false;
+        }
+        if (this.sharedSourceCacheSize != other.sharedSourceCacheSize) {
+            return false;
+        }
+        if (this.commonJSResolutionCache != other.commonJSResolutionCache) {
+            return false;
+        }
+        if (this.commonJSResolutionCacheTTL != other.commonJSResolutionCacheTTL) {
+            return false;
+        }
+        if (this.commonJSResolutionCacheSize != other.commonJSResolutionCacheSize) {
+            return false;
+        }
+        if (this.interopFutures != other.interopFutures) {
+            return false;
+        }
         return Objects.equals(this.parserOptions, other.parserOptions);
     }
 }
@@ -49,6 +49,7 @@ import java.time.DateTimeException;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -73,6 +74,7 @@ import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.nodes.LanguageInfo;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.js.builtins.ArrayIteratorPrototypeBuiltins;
@@ -102,6 +104,7 @@ import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.runtime.JSContext.BuiltinFunctionKey;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.array.TypedArrayFactory;
 import com.oracle.truffle.js.runtime.builtins.Builtin;
@@ -119,6 +122,7 @@ import com.oracle.truffle.js.runtime.builtins.JSFinalizationRegistry;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSGlobal;
+import com.oracle.truffle.js.runtime.builtins.JSGlobalObject;
 import com.oracle.truffle.js.runtime.builtins.JSMap;
 import com.oracle.truffle.js.runtime.builtins.JSMath;
 import com.oracle.truffle.js.runtime.builtins.JSNumber;
@@ -213,24 +217,24 @@ public class JSRealm {
     private final DynamicObject stringPrototype;
     private final DynamicObject regExpConstructor;
     private final DynamicObject regExpPrototype;
-    private final DynamicObject collatorConstructor;
-    private final DynamicObject collatorPrototype;
-    private final DynamicObject numberFormatConstructor;
-    private final DynamicObject numberFormatPrototype;
-    private final DynamicObject pluralRulesConstructor;
-    private final DynamicObject pluralRulesPrototype;
-    private final DynamicObject listFormatConstructor;
-    private final DynamicObject listFormatPrototype;
-    private final DynamicObject dateTimeFormatConstructor;
-    private final DynamicObject dateTimeFormatPrototype;
-    private final DynamicObject relativeTimeFormatConstructor;
-    private final DynamicObject relativeTimeFormatPrototype;
-    private final DynamicObject segmenterConstructor;
-    private final DynamicObject segmenterPrototype;
-    private final DynamicObject displayNamesConstructor;
-    private final DynamicObject displayNamesPrototype;
-    private final DynamicObject localeConstructor;
-    private final DynamicObject localePrototype;
+    private DynamicObject collatorConstructor;
+    private DynamicObject collatorPrototype;
+    private DynamicObject numberFormatConstructor;
+    private DynamicObject numberFormatPrototype;
+    private DynamicObject pluralRulesConstructor;
+    private DynamicObject pluralRulesPrototype;
+    private DynamicObject listFormatConstructor;
+    private DynamicObject listFormatPrototype;
+    private DynamicObject dateTimeFormatConstructor;
+    private DynamicObject dateTimeFormatPrototype;
+    private DynamicObject relativeTimeFormatConstructor;
+    private DynamicObject relativeTimeFormatPrototype;
+    private DynamicObject segmenterConstructor;
+    private DynamicObject segmenterPrototype;
+    private DynamicObject displayNamesConstructor;
+    private DynamicObject displayNamesPrototype;
+    private DynamicObject localeConstructor;
+    private DynamicObject localePrototype;
     private final DynamicObject dateConstructor;
     private final DynamicObject datePrototype;
     @CompilationFinal(dimensions = 1) private final DynamicObject[] errorConstructors;
@@ -288,7 +292,9 @@ public class JSRealm {
     private final DynamicObject arrayIteratorPrototype;
     private final DynamicObject setIteratorPrototype;
     private final DynamicObject mapIteratorPrototype;
-    private final DynamicObject segmentIteratorPrototype;
+    private DynamicObject segmentIteratorPrototype;
+    /** Intl constructors and prototypes are created lazily, on first use. */
+    private boolean intlConstructorsInitialized;
     private final DynamicObject stringIteratorPrototype;
     private final DynamicObject regExpStringIteratorPrototype;
     private final DynamicObject enumerateIteratorPrototype;
@@ -330,6 +336,31 @@ public class JSRealm {
 
     private final DynamicObject scriptEngineImportScope;
 
+    /**
+     * Depth of the built-in object graph, starting from the global object, covered by the
+     * intrinsics snapshot: constructors and namespaces, their prototypes, and prototype methods.
+     */
+    private static final int INTRINSICS_SNAPSHOT_DEPTH = 3;
+
+    /**
+     * Initial state of the global object and the global scope, recorded after initialization so
+     * that the global environment of a ScriptEngine context can be reset before reuse.
+     */
+    private ObjectSnapshot scriptEngineGlobalSnapshot;
+    private ObjectSnapshot scriptEngineGlobalScopeSnapshot;
+    /**
+     * Initial state of the built-in objects reachable from the global object, used to detect
+     * changes that a reset of the global environment cannot undo.
+     */
+    private Map<DynamicObject, ObjectSnapshot> scriptEngineIntrinsicsSnapshot;
+    /**
+     * Lazily created globals (e.g. {@code Intl}) recorded in the intrinsics snapshot, reused when
+     * the global is accessed again after a reset.
+     */
+    private Map<Object, Object> scriptEngineLazyGlobals;
+    /** Size of the (engine-wide) {@code Symbol.for} registry when the snapshot was taken. */
+    private int scriptEngineSymbolRegistrySize;
+
     @CompilationFinal private TopScopeObject topScope;
 
     private TruffleLanguage.Env truffleLanguageEnv;
@@ -352,28 +383,29 @@ public class JSRealm {
     private long staticRegexResultFromIndex;
     private String staticRegexResultOriginalInputString;
 
-    /** WebAssembly support. */
-    private final Object wasmCompileFunction;
-    private final Object wasmInstantiateFunction;
-    private final Object wasmValidateFunction;
-    private final Object wasmModuleExportsFunction;
-    private final Object wasmModuleImportsFunction;
-    private final Object wasmModuleCustomSectionsFunction;
-    private final Object wasmGlobalConstructor;
-    private final Object wasmMemoryConstructor;
-    private final Object wasmTableConstructor;
-
-    private final DynamicObject webAssemblyObject;
-    private final DynamicObject webAssemblyGlobalConstructor;
-    private final DynamicObject webAssemblyGlobalPrototype;
-    private final DynamicObject webAssemblyInstanceConstructor;
-    private final DynamicObject webAssemblyInstancePrototype;
-    private final DynamicObject webAssemblyMemoryConstructor;
-    private final DynamicObject webAssemblyMemoryPrototype;
-    private final DynamicObject webAssemblyModuleConstructor;
-    private final DynamicObject webAssemblyModulePrototype;
-    private final DynamicObject webAssemblyTableConstructor;
-    private final DynamicObject webAssemblyTablePrototype;
+    /** WebAssembly support. Initialized lazily, on first use. */
+    private boolean webAssemblyInitialized;
+    private Object wasmCompileFunction;
+    private Object wasmInstantiateFunction;
+    private Object wasmValidateFunction;
+    private Object wasmModuleExportsFunction;
+    private Object wasmModuleImportsFunction;
+    private Object wasmModuleCustomSectionsFunction;
+    private Object wasmGlobalConstructor;
+    private Object wasmMemoryConstructor;
+    private Object wasmTableConstructor;
+
+    private DynamicObject webAssemblyObject;
+    private DynamicObject webAssemblyGlobalConstructor;
+    private DynamicObject webAssemblyGlobalPrototype;
+    private DynamicObject webAssemblyInstanceConstructor;
+    private DynamicObject webAssemblyInstancePrototype;
+    private DynamicObject webAssemblyMemoryConstructor;
+    private DynamicObject webAssemblyMemoryPrototype;
+    private DynamicObject webAssemblyModuleConstructor;
+    private DynamicObject webAssemblyModulePrototype;
+    private DynamicObject webAssemblyTableConstructor;
+    private DynamicObject webAssemblyTablePrototype;
 
     /** Foreign object prototypes. */
     private final DynamicObject foreignIterablePrototype;
@@ -566,35 +598,6 @@ public class JSRealm {
         this.stringIteratorPrototype = es6 ? createStringIteratorPrototype() : null;
         this.regExpStringIteratorPrototype = context.getContextOptions().getEcmaScriptVersion() >= JSConfig.ECMAScript2019 ? createRegExpStringIteratorPrototype() : null;
 
-        ctor = JSCollator.createConstructor(this);
-        this.collatorConstructor = ctor.getFunctionObject();
-        this.collatorPrototype = ctor.getPrototype();
-        ctor = JSNumberFormat.createConstructor(this);
-        this.numberFormatConstructor = ctor.getFunctionObject();
-        this.numberFormatPrototype = ctor.getPrototype();
-        ctor = JSDateTimeFormat.createConstructor(this);
-        this.dateTimeFormatConstructor = ctor.getFunctionObject();
-        this.dateTimeFormatPrototype = ctor.getPrototype();
-        ctor = JSPluralRules.createConstructor(this);
-        this.pluralRulesConstructor = ctor.getFunctionObject();
-        this.pluralRulesPrototype = ctor.getPrototype();
-        ctor = JSListFormat.createConstructor(this);
-        this.listFormatConstructor = ctor.getFunctionObject();
-        this.listFormatPrototype = ctor.getPrototype();
-        ctor = JSRelativeTimeFormat.createConstructor(this);
-        this.relativeTimeFormatConstructor = ctor.getFunctionObject();
-        this.relativeTimeFormatPrototype = ctor.getPrototype();
-        ctor = JSSegmenter.createConstructor(this);
-        this.segmenterConstructor = ctor.getFunctionObject();
-        this.segmenterPrototype = ctor.getPrototype();
-        this.segmentIteratorPrototype = JSSegmenter.createSegmentIteratorPrototype(context, this);
-        ctor = JSDisplayNames.createConstructor(this);
-        this.displayNamesConstructor = ctor.getFunctionObject();
-        this.displayNamesPrototype = ctor.getPrototype();
-        ctor = JSLocale.createConstructor(this);
-        this.localeConstructor = ctor.getFunctionObject();
-        this.localePrototype = ctor.getPrototype();
-
         if (es6) {
             ctor = JSFunction.createGeneratorFunctionConstructor(this);
             this.generatorFunctionConstructor = ctor.getFunctionObject();
@@ -693,68 +696,111 @@ public class JSRealm {
             if (!isWasmAvailable()) {
                 throw new IllegalStateException("WebAssembly API enabled but wasm language cannot be accessed!");
             }
-            LanguageInfo wasmLanguageInfo = truffleLanguageEnv.getInternalLanguages().get("wasm");
-            truffleLanguageEnv.initializeLanguage(wasmLanguageInfo);
-            Object wasmObject = truffleLanguageEnv.importSymbol("WebAssembly");
+        }
 
-            try {
-                InteropLibrary wasmInterop = InteropLibrary.getUncached(wasmObject);
-                wasmCompileFunction = wasmInterop.readMember(wasmObject, "compile");
-                wasmInstantiateFunction = wasmInterop.readMember(wasmObject, "instantiate");
-                wasmValidateFunction = wasmInterop.readMember(wasmObject, "validate");
-                wasmGlobalConstructor = wasmInterop.readMember(wasmObject, "Global");
-                wasmMemoryConstructor = wasmInterop.readMember(wasmObject, "Memory");
-                wasmTableConstructor = wasmInterop.readMember(wasmObject, "Table");
-                Object wasmModuleConstructor = wasmInterop.readMember(wasmObject, "Module");
-                InteropLibrary moduleInterop = InteropLibrary.getUncached(wasmModuleConstructor);
-                wasmModuleExportsFunction = moduleInterop.readMember(wasmModuleConstructor, "exports");
-                wasmModuleImportsFunction = moduleInterop.readMember(wasmModuleConstructor, "imports");
-                wasmModuleCustomSectionsFunction = moduleInterop.readMember(wasmModuleConstructor, "customSections");
-            } catch (InteropException ex) {
-                throw Errors.shouldNotReachHere(ex);
-            }
+        this.foreignIterablePrototype = createForeignIterablePrototype();
+    }
 
-            this.webAssemblyObject = JSWebAssembly.create(this);
-            ctor = JSWebAssemblyModule.createConstructor(this);
-            this.webAssemblyModuleConstructor = ctor.getFunctionObject();
-            this.webAssemblyModulePrototype = ctor.getPrototype();
-            ctor = JSWebAssemblyInstance.createConstructor(this);
-            this.webAssemblyInstanceConstructor = ctor.getFunctionObject();
-            this.webAssemblyInstancePrototype = ctor.getPrototype();
-            ctor = JSWebAssemblyMemory.createConstructor(this);
-            this.webAssemblyMemoryConstructor = ctor.getFunctionObject();
-            this.webAssemblyMemoryPrototype = ctor.getPrototype();
-            ctor = JSWebAssemblyTable.createConstructor(this);
-            this.webAssemblyTableConstructor = ctor.getFunctionObject();
-            this.webAssemblyTablePrototype = ctor.getPrototype();
-            ctor = JSWebAssemblyGlobal.createConstructor(this);
-            this.webAssemblyGlobalConstructor = ctor.getFunctionObject();
-            this.webAssemblyGlobalPrototype = ctor.getPrototype();
-        } else {
-            this.wasmCompileFunction = null;
-            this.wasmInstantiateFunction = null;
-            this.wasmValidateFunction = null;
-            this.wasmModuleExportsFunction = null;
-            this.wasmModuleImportsFunction = null;
-            this.wasmModuleCustomSectionsFunction = null;
-            this.wasmGlobalConstructor = null;
-            this.wasmMemoryConstructor = null;
-            this.wasmTableConstructor = null;
-
-            this.webAssemblyObject = null;
-            this.webAssemblyGlobalConstructor = null;
-            this.webAssemblyGlobalPrototype = null;
-            this.webAssemblyInstanceConstructor = null;
-            this.webAssemblyInstancePrototype = null;
-            this.webAssemblyMemoryConstructor = null;
-            this.webAssemblyMemoryPrototype = null;
-            this.webAssemblyModuleConstructor = null;
-            this.webAssemblyModulePrototype = null;
-            this.webAssemblyTableConstructor = null;
-            this.webAssemblyTablePrototype = null;
+    private void ensureWebAssemblyInitialized() {
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, !webAssemblyInitialized)) {
+            initializeWebAssembly();
         }
+    }
 
-        this.foreignIterablePrototype = createForeignIterablePrototype();
+    @TruffleBoundary
+    private void initializeWebAssembly() {
+        if (webAssemblyInitialized) {
+            return;
+        }
+        assert context.getContextOptions().isWebAssembly();
+        LanguageInfo wasmLanguageInfo = truffleLanguageEnv.getInternalLanguages().get("wasm");
+        truffleLanguageEnv.initializeLanguage(wasmLanguageInfo);
+        Object wasmObject = truffleLanguageEnv.importSymbol("WebAssembly");
+
+        try {
+            InteropLibrary wasmInterop = InteropLibrary.getUncached(wasmObject);
+            wasmCompileFunction = wasmInterop.readMember(wasmObject, "compile");
+            wasmInstantiateFunction = wasmInterop.readMember(wasmObject, "instantiate");
+            wasmValidateFunction = wasmInterop.readMember(wasmObject, "validate");
+            wasmGlobalConstructor = wasmInterop.readMember(wasmObject, "Global");
+            wasmMemoryConstructor = wasmInterop.readMember(wasmObject, "Memory");
+            wasmTableConstructor = wasmInterop.readMember(wasmObject, "Table");
+            Object wasmModuleConstructor = wasmInterop.readMember(wasmObject, "Module");
+            InteropLibrary moduleInterop = InteropLibrary.getUncached(wasmModuleConstructor);
+            wasmModuleExportsFunction = moduleInterop.readMember(wasmModuleConstructor, "exports");
+            wasmModuleImportsFunction = moduleInterop.readMember(wasmModuleConstructor, "imports");
+            wasmModuleCustomSectionsFunction = moduleInterop.readMember(wasmModuleConstructor, "customSections");
+        } catch (InteropException ex) {
+            throw Errors.shouldNotReachHere(ex);
+        }
+
+        this.webAssemblyObject = JSWebAssembly.create(this);
+        JSConstructor ctor = JSWebAssemblyModule.createConstructor(this);
+        this.webAssemblyModuleConstructor = ctor.getFunctionObject();
+        this.webAssemblyModulePrototype = ctor.getPrototype();
+        ctor = JSWebAssemblyInstance.createConstructor(this);
+        this.webAssemblyInstanceConstructor = ctor.getFunctionObject();
+        this.webAssemblyInstancePrototype = ctor.getPrototype();
+        ctor = JSWebAssemblyMemory.createConstructor(this);
+        this.webAssemblyMemoryConstructor = ctor.getFunctionObject();
+        this.webAssemblyMemoryPrototype = ctor.getPrototype();
+        ctor = JSWebAssemblyTable.createConstructor(this);
+        this.webAssemblyTableConstructor = ctor.getFunctionObject();
+        this.webAssemblyTablePrototype = ctor.getPrototype();
+        ctor = JSWebAssemblyGlobal.createConstructor(this);
+        this.webAssemblyGlobalConstructor = ctor.getFunctionObject();
+        this.webAssemblyGlobalPrototype = ctor.getPrototype();
+        for (JSErrorType type : new JSErrorType[]{JSErrorType.CompileError, JSErrorType.LinkError, JSErrorType.RuntimeError}) {
+            JSObjectUtil.putDataProperty(context, webAssemblyObject, type.name(), getErrorConstructor(type), JSAttributes.getDefaultNotEnumerable());
+        }
+        JSObjectUtil.putDataProperty(context, webAssemblyObject, JSFunction.getName(webAssemblyGlobalConstructor), webAssemblyGlobalConstructor, JSAttributes.getDefaultNotEnumerable());
+        JSObjectUtil.putDataProperty(context, webAssemblyObject, JSFunction.getName(webAssemblyInstanceConstructor), webAssemblyInstanceConstructor, JSAttributes.getDefaultNotEnumerable());
+        JSObjectUtil.putDataProperty(context, webAssemblyObject, JSFunction.getName(webAssemblyMemoryConstructor), webAssemblyMemoryConstructor, JSAttributes.getDefaultNotEnumerable());
+        JSObjectUtil.putDataProperty(context, webAssemblyObject, JSFunction.getName(webAssemblyModuleConstructor), webAssemblyModuleConstructor, JSAttributes.getDefaultNotEnumerable());
+        JSObjectUtil.putDataProperty(context, webAssemblyObject, JSFunction.getName(webAssemblyTableConstructor), webAssemblyTableConstructor, JSAttributes.getDefaultNotEnumerable());
+        webAssemblyInitialized = true;
+    }
+
+    private void ensureIntlConstructorsInitialized() {
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, !intlConstructorsInitialized)) {
+            initializeIntlConstructors();
+        }
+    }
+
+    @TruffleBoundary
+    private void initializeIntlConstructors() {
+        if (intlConstructorsInitialized) {
+            return;
+        }
+        JSConstructor ctor = JSCollator.createConstructor(this);
+        this.collatorConstructor = ctor.getFunctionObject();
+        this.collatorPrototype = ctor.getPrototype();
+        ctor = JSNumberFormat.createConstructor(this);
+        this.numberFormatConstructor = ctor.getFunctionObject();
+        this.numberFormatPrototype = ctor.getPrototype();
+        ctor = JSDateTimeFormat.createConstructor(this);
+        this.dateTimeFormatConstructor = ctor.getFunctionObject();
+        this.dateTimeFormatPrototype = ctor.getPrototype();
+        ctor = JSPluralRules.createConstructor(this);
+        this.pluralRulesConstructor = ctor.getFunctionObject();
+        this.pluralRulesPrototype = ctor.getPrototype();
+        ctor = JSListFormat.createConstructor(this);
+        this.listFormatConstructor = ctor.getFunctionObject();
+        this.listFormatPrototype = ctor.getPrototype();
+        ctor = JSRelativeTimeFormat.createConstructor(this);
+        this.relativeTimeFormatConstructor = ctor.getFunctionObject();
+        this.relativeTimeFormatPrototype = ctor.getPrototype();
+        ctor = JSSegmenter.createConstructor(this);
+        this.segmenterConstructor = ctor.getFunctionObject();
+        this.segmenterPrototype = ctor.getPrototype();
+        this.segmentIteratorPrototype = JSSegmenter.createSegmentIteratorPrototype(context, this);
+        ctor = JSDisplayNames.createConstructor(this);
+        this.displayNamesConstructor = ctor.getFunctionObject();
+        this.displayNamesPrototype = ctor.getPrototype();
+        ctor = JSLocale.createConstructor(this);
+        this.localeConstructor = ctor.getFunctionObject();
+        this.localePrototype = ctor.getPrototype();
+        intlConstructorsInitialized = true;
     }
 
     private void initializeTypedArrayConstructors() {
@@ -907,50 +953,62 @@ public class JSRealm {
     }
 
     public final DynamicObject getCollatorConstructor() {
+        ensureIntlConstructorsInitialized();
         return collatorConstructor;
     }
 
     public final DynamicObject getCollatorPrototype() {
+        ensureIntlConstructorsInitialized();
         return collatorPrototype;
     }
 
     public final DynamicObject getNumberFormatConstructor() {
+        ensureIntlConstructorsInitialized();
         return numberFormatConstructor;
     }
 
     public final DynamicObject getNumberFormatPrototype() {
+        ensureIntlConstructorsInitialized();
         return numberFormatPrototype;
     }
 
     public final DynamicObject getPluralRulesConstructor() {
+        ensureIntlConstructorsInitialized();
         return pluralRulesConstructor;
     }
 
     public final DynamicObject getPluralRulesPrototype() {
+        ensureIntlConstructorsInitialized();
         return pluralRulesPrototype;
     }
 
     public final DynamicObject getListFormatConstructor() {
+        ensureIntlConstructorsInitialized();
         return listFormatConstructor;
     }
 
     public final DynamicObject getListFormatPrototype() {
+        ensureIntlConstructorsInitialized();
         return listFormatPrototype;
     }
 
     public final DynamicObject getRelativeTimeFormatConstructor() {
+        ensureIntlConstructorsInitialized();
         return relativeTimeFormatConstructor;
     }
 
     public final DynamicObject getRelativeTimeFormatPrototype() {
+        ensureIntlConstructorsInitialized();
         return relativeTimeFormatPrototype;
     }
 
     public final DynamicObject getDateTimeFormatConstructor() {
+        ensureIntlConstructorsInitialized();
         return dateTimeFormatConstructor;
     }
 
     public final DynamicObject getDateTimeFormatPrototype() {
+        ensureIntlConstructorsInitialized();
         return dateTimeFormatPrototype;
     }
 
@@ -963,26 +1021,32 @@ public class JSRealm {
     }
 
     public final DynamicObject getSegmenterConstructor() {
+        ensureIntlConstructorsInitialized();
         return segmenterConstructor;
     }
 
     public final DynamicObject getSegmenterPrototype() {
+        ensureIntlConstructorsInitialized();
         return segmenterPrototype;
     }
 
     public final DynamicObject getDisplayNamesConstructor() {
+        ensureIntlConstructorsInitialized();
         return displayNamesConstructor;
     }
 
     public final DynamicObject getDisplayNamesPrototype() {
+        ensureIntlConstructorsInitialized();
         return displayNamesPrototype;
     }
 
     public final DynamicObject getLocaleConstructor() {
+        ensureIntlConstructorsInitialized();
         return localeConstructor;
     }
 
     public final DynamicObject getLocalePrototype() {
+        ensureIntlConstructorsInitialized();
         return localePrototype;
     }
 
@@ -1251,6 +1315,7 @@ public class JSRealm {
     }
 
     public DynamicObject getSegmentIteratorPrototype() {
+        ensureIntlConstructorsInitialized();
         return segmentIteratorPrototype;
     }
 
@@ -1307,15 +1372,12 @@ public class JSRealm {
         DynamicObject jsonBuiltin = (DynamicObject) JSObject.get(global, "JSON");
         this.jsonParseFunctionObject = JSObject.get(jsonBuiltin, "parse");
 
-        boolean webassembly = context.getContextOptions().isWebAssembly();
         for (JSErrorType type : JSErrorType.errorTypes()) {
             switch (type) {
                 case CompileError:
                 case LinkError:
                 case RuntimeError:
-                    if (webassembly) {
-                        JSObjectUtil.putDataProperty(context, webAssemblyObject, type.name(), getErrorConstructor(type), JSAttributes.getDefaultNotEnumerable());
-                    }
+                    // installed on the WebAssembly object, see initializeWebAssembly()
                     break;
                 case AggregateError:
                     if (context.getEcmaScriptVersion() >= JSConfig.ECMAScript2021) {
@@ -1346,6 +1408,13 @@ public class JSRealm {
             String builtin = "importScriptEngineGlobalBindings";
             JSObjectUtil.putDataProperty(context, getScriptEngineImportScope(), builtin,
                             lookupFunction(GlobalBuiltins.GLOBAL_NASHORN_EXTENSIONS, builtin), JSAttributes.notConfigurableNotEnumerableNotWritable());
+            if (context.getContextOptions().isScriptEngineContextReset()) {
+                // configurable: the ScriptEngine takes the reset function and removes it from the
+                // scope
+                String resetBuiltin = "resetScriptEngineGlobal";
+                JSObjectUtil.putDataProperty(context, getScriptEngineImportScope(), resetBuiltin,
+                                lookupFunction(GlobalBuiltins.GLOBAL_NASHORN_EXTENSIONS, resetBuiltin), JSAttributes.configurableNotEnumerableNotWritable());
+            }
         }
         if (context.getContextOptions().isPolyglotBuiltin() && (getEnv().isPolyglotEvalAllowed() || getEnv().isPolyglotBindingsAccessAllowed())) {
             setupPolyglot();
@@ -1375,10 +1444,7 @@ public class JSRealm {
             putGlobalProperty(JSSymbol.CLASS_NAME, getSymbolConstructor());
             setupPredefinedSymbols(getSymbolConstructor());
 
-            DynamicObject reflectObject = createReflect();
-            putGlobalProperty(REFLECT_CLASS_NAME, reflectObject);
-            this.reflectApplyFunctionObject = JSObject.get(reflectObject, "apply");
-            this.reflectConstructFunctionObject = JSObject.get(reflectObject, "construct");
+            putLazyGlobalProperty(REFLECT_CLASS_NAME, LAZY_REFLECT_PROXY);
 
             putGlobalProperty(JSProxy.CLASS_NAME, getProxyConstructor());
             putGlobalProperty(JSPromise.CLASS_NAME, getPromiseConstructor());
@@ -1389,7 +1455,7 @@ public class JSRealm {
             putGlobalProperty(SHARED_ARRAY_BUFFER_CLASS_NAME, getSharedArrayBufferConstructor());
         }
         if (context.isOptionAtomics()) {
-            putGlobalProperty(ATOMICS_CLASS_NAME, createAtomics());
+            putLazyGlobalProperty(ATOMICS_CLASS_NAME, LAZY_ATOMICS_PROXY);
         }
         if (context.getEcmaScriptVersion() >= JSConfig.ECMAScript2019) {
             putGlobalProperty("globalThis", global);
@@ -1401,13 +1467,8 @@ public class JSRealm {
         if (context.getContextOptions().isGraalBuiltin()) {
             putGraalObject();
         }
-        if (webassembly) {
-            putGlobalProperty(JSWebAssembly.CLASS_NAME, webAssemblyObject);
-            JSObjectUtil.putDataProperty(context, webAssemblyObject, JSFunction.getName(webAssemblyGlobalConstructor), webAssemblyGlobalConstructor, JSAttributes.getDefaultNotEnumerable());
-            JSObjectUtil.putDataProperty(context, webAssemblyObject, JSFunction.getName(webAssemblyInstanceConstructor), webAssemblyInstanceConstructor, JSAttributes.getDefaultNotEnumerable());
-            JSObjectUtil.putDataProperty(context, webAssemblyObject, JSFunction.getName(webAssemblyMemoryConstructor), webAssemblyMemoryConstructor, JSAttributes.getDefaultNotEnumerable());
-            JSObjectUtil.putDataProperty(context, webAssemblyObject, JSFunction.getName(webAssemblyModuleConstructor), webAssemblyModuleConstructor, JSAttributes.getDefaultNotEnumerable());
-            JSObjectUtil.putDataProperty(context, webAssemblyObject, JSFunction.getName(webAssemblyTableConstructor), webAssemblyTableConstructor, JSAttributes.getDefaultNotEnumerable());
+        if (context.getContextOptions().isWebAssembly()) {
+            putLazyGlobalProperty(JSWebAssembly.CLASS_NAME, LAZY_WEB_ASSEMBLY_PROXY);
         }
         if (context.getContextOptions().isOperatorOverloading()) {
             JSObjectUtil.putFunctionsFromContainer(this, global, OperatorsBuiltins.BUILTINS);
@@ -1512,6 +1573,7 @@ public class JSRealm {
 
         addGlobalGlobal();
         addShellGlobals();
+        addMapBufferGlobals();
         addScriptingGlobals();
         addIntlGlobal();
         addLoadGlobals();
@@ -1540,9 +1602,22 @@ public class JSRealm {
         }
     }
 
+    private void addMapBufferGlobals() {
+        if (getContext().getContextOptions().isMapBuffer()) {
+            GlobalBuiltins.GLOBAL_MAP_BUFFER.forEachBuiltin((Builtin builtin) -> {
+                JSFunctionData functionData = builtin.createFunctionData(getContext());
+                putGlobalProperty(builtin.getKey(), JSFunction.create(JSRealm.this, functionData), builtin.getAttributeFlags());
+            });
+        }
+    }
+
     private void addIntlGlobal() {
         if (context.isOptionIntl402()) {
-            putGlobalProperty(JSIntl.CLASS_NAME, preinitIntlObject != null ? preinitIntlObject : createIntlObject());
+            if (preinitIntlObject != null) {
+                putGlobalProperty(JSIntl.CLASS_NAME, preinitIntlObject);
+            } else {
+                putLazyGlobalProperty(JSIntl.CLASS_NAME, LAZY_INTL_PROXY);
+            }
         }
     }
 
@@ -1609,6 +1684,13 @@ public class JSRealm {
         JSObjectUtil.putDataProperty(getContext(), getGlobalObject(), key, value, attributes);
     }
 
+    /**
+     * Defines a global property whose value is only created on first access.
+     */
+    private void putLazyGlobalProperty(Object key, LazyGlobalPropertyProxy proxy) {
+        JSObjectUtil.putProxyProperty(getGlobalObject(), key, proxy, JSAttributes.getDefaultNotEnumerable());
+    }
+
     private void putProperty(DynamicObject receiver, Object key, Object value) {
         JSObjectUtil.putDataProperty(getContext(), receiver, key, value, JSAttributes.getDefaultNotEnumerable());
     }
@@ -1780,6 +1862,8 @@ public class JSRealm {
         DynamicObject obj = JSObjectUtil.createOrdinaryPrototypeObject(this, this.getObjectPrototype());
         JSObjectUtil.putToStringTag(obj, REFLECT_CLASS_NAME);
         JSObjectUtil.putFunctionsFromContainer(this, obj, ReflectBuiltins.BUILTINS);
+        this.reflectApplyFunctionObject = JSObject.get(obj, "apply");
+        this.reflectConstructFunctionObject = JSObject.get(obj, "construct");
         return obj;
     }
 
@@ -1809,6 +1893,183 @@ public class JSRealm {
         return scriptEngineImportScope;
     }
 
+    /**
+     * Records the initial global environment, only if the ScriptEngine pools its contexts (see
+     * {@link JSContextOptions#SCRIPT_ENGINE_CONTEXT_RESET}), since walking the built-ins adds to
+     * the startup time.
+     */
+    private void recordScriptEngineGlobalSnapshot() {
+        if (scriptEngineImportScope != null && context.getContextOptions().isScriptEngineContextReset()) {
+            scriptEngineGlobalSnapshot = new ObjectSnapshot(globalObject);
+            scriptEngineGlobalScopeSnapshot = new ObjectSnapshot(globalScope);
+            scriptEngineIntrinsicsSnapshot = new IdentityHashMap<>();
+            scriptEngineLazyGlobals = new HashMap<>();
+            scriptEngineSymbolRegistrySize = getSymbolRegistrySize();
+            for (Object value : scriptEngineGlobalSnapshot.values) {
+                recordScriptEngineIntrinsics(value, INTRINSICS_SNAPSHOT_DEPTH);
+            }
+        }
+    }
+
+    /**
+     * Returns the value of a lazily created global that has been recorded in the intrinsics
+     * snapshot before, or {@code null}. A reset restores the lazy global property, so the value is
+     * created only once and the snapshot does not grow with every reuse of the context.
+     */
+    @TruffleBoundary
+    Object getScriptEngineLazyGlobal(Object key) {
+        return scriptEngineLazyGlobals == null ? null : scriptEngineLazyGlobals.get(key);
+    }
+
+    /**
+     * Records a lazily created global (e.g. {@code Intl}) in the intrinsics snapshot when it is
+     * first accessed.
+     */
+    @TruffleBoundary
+    void recordScriptEngineLazyGlobal(Object key, Object value) {
+        if (scriptEngineLazyGlobals != null) {
+            scriptEngineLazyGlobals.put(key, value);
+            recordScriptEngineIntrinsics(value, INTRINSICS_SNAPSHOT_DEPTH - 1);
+        }
+    }
+
+    /**
+     * Records the state of a built-in object and of the objects reachable from its properties
+     * and prototype, up to the given depth.
+     */
+    private void recordScriptEngineIntrinsics(Object value, int depth) {
+        if (depth == 0 || !JSDynamicObject.isJSDynamicObject(value) || value == globalObject) {
+            return;
+        }
+        DynamicObject object = (DynamicObject) value;
+        if (scriptEngineIntrinsicsSnapshot.containsKey(object)) {
+            return;
+        }
+        ObjectSnapshot snapshot = new ObjectSnapshot(object);
+        scriptEngineIntrinsicsSnapshot.put(object, snapshot);
+        recordScriptEngineIntrinsics(JSObject.getPrototype(object), depth - 1);
+        for (Object propertyValue : snapshot.values) {
+            recordScriptEngineIntrinsics(propertyValue, depth - 1);
+        }
+    }
+
+    /**
+     * Restores the global object and the global scope to their state right after initialization,
+     * removing all global variables and lexical declarations created since. The cost depends only
+     * on the number of initial global and built-in properties, not on the number of user-defined
+     * globals. Other state of the realm that scripts can observe is discarded as well: pending
+     * jobs, the static RegExp result, and loaded CommonJS and ES modules.
+     *
+     * Changes to built-in objects other than the global object itself (e.g. a method added to
+     * {@code Array.prototype}) cannot be undone, and neither can symbols added to the
+     * {@code Symbol.for} registry, which is shared by all realms of the engine. In that case,
+     * nothing is restored and {@code false} is returned, so that the context is not reused.
+     */
+    @TruffleBoundary
+    public boolean resetScriptEngineGlobal() {
+        if (scriptEngineGlobalSnapshot == null) {
+            throw Errors.createTypeError("global object reset is not supported in this context");
+        }
+        if (getSymbolRegistrySize() != scriptEngineSymbolRegistrySize) {
+            return false;
+        }
+        for (Map.Entry<DynamicObject, ObjectSnapshot> entry : scriptEngineIntrinsicsSnapshot.entrySet()) {
+            if (!entry.getValue().matches(entry.getKey())) {
+                return false;
+            }
+        }
+        scriptEngineGlobalSnapshot.restore(globalObject);
+        scriptEngineGlobalScopeSnapshot.restore(globalScope);
+        getAgent().discardPendingJobs();
+        resetStaticRegexResult();
+        if (commonJSRequireCache != null) {
+            commonJSRequireCache.clear();
+        }
+        moduleLoader = null;
+        return true;
+    }
+
+    private int getSymbolRegistrySize() {
+        return context.getSymbolRegistry().size();
+    }
+
+    private void resetStaticRegexResult() {
+        staticRegexResult = null;
+        staticRegexResultInputString = "";
+        staticRegexResultCompiledRegex = null;
+        staticRegexResultInvalidated = false;
+        staticRegexResultFromIndex = 0;
+        staticRegexResultOriginalInputString = null;
+    }
+
+    /**
+     * Properties and values of an object, restored by resetting the object to its root shape and
+     * re-adding the properties in their original order, which leads back to the original shape.
+     */
+    private static final class ObjectSnapshot {
+        private final Shape shape;
+        private final List<Property> properties;
+        private final Object[] values;
+        private final ScriptArray arrayType;
+
+        ObjectSnapshot(DynamicObject object) {
+            DynamicObjectLibrary lib = DynamicObjectLibrary.getUncached();
+            this.shape = object.getShape();
+            this.properties = shape.getPropertyListInternal(true);
+            this.values = new Object[properties.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = lib.getOrDefault(object, properties.get(i).getKey(), null);
+            }
+            this.arrayType = JSObject.hasArray(object) ? JSObject.getArray(object) : null;
+        }
+
+        /**
+         * Returns true if the object has the same properties, values, prototype and elements as
+         * when the snapshot was taken.
+         */
+        boolean matches(DynamicObject object) {
+            if (object.getShape() != shape || (arrayType != null && JSObject.getArray(object) != arrayType)) {
+                return false;
+            }
+            DynamicObjectLibrary lib = DynamicObjectLibrary.getUncached();
+            for (int i = 0; i < values.length; i++) {
+                Object value = lib.getOrDefault(object, properties.get(i).getKey(), null);
+                if (value != values[i] && !JSRuntime.isSameValue(value, values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void restore(DynamicObject object) {
+            if (object.getShape() == shape) {
+                // No property has been added, removed or reconfigured, only values may differ.
+                restoreValues(object);
+                return;
+            }
+            DynamicObjectLibrary lib = DynamicObjectLibrary.getUncached();
+            lib.resetShape(object, shape.getRoot());
+            for (int i = 0; i < values.length; i++) {
+                Property property = properties.get(i);
+                if (property.getLocation().isConstant()) {
+                    lib.putConstant(object, property.getKey(), values[i], property.getFlags());
+                } else {
+                    lib.putWithFlags(object, property.getKey(), values[i], property.getFlags());
+                }
+            }
+        }
+
+        private void restoreValues(DynamicObject object) {
+            DynamicObjectLibrary lib = DynamicObjectLibrary.getUncached();
+            for (int i = 0; i < values.length; i++) {
+                Property property = properties.get(i);
+                if (!property.getLocation().isConstant()) {
+                    lib.putWithFlags(object, property.getKey(), values[i], property.getFlags());
+                }
+            }
+        }
+    }
+
     public Object getTopScopeObject() {
         return topScope;
     }
@@ -1998,6 +2259,8 @@ public class JSRealm {
         // Patch the RegExp constructor's static result properties
         addStaticRegexResultProperties();
 
+        recordScriptEngineGlobalSnapshot();
+
         return true;
     }
 
@@ -2015,6 +2278,8 @@ public class JSRealm {
         initTimeOffsetAndRandom();
 
         addStaticRegexResultProperties();
+
+        recordScriptEngineGlobalSnapshot();
     }
 
     private void preinitializeObjects() {
@@ -2368,6 +2633,73 @@ public class JSRealm {
         }
     }
 
+    private static final LazyGlobalPropertyProxy LAZY_INTL_PROXY = new LazyGlobalPropertyProxy(JSIntl.CLASS_NAME) {
+        @Override
+        protected Object createValue(JSRealm realm) {
+            return realm.createIntlObject();
+        }
+    };
+    private static final LazyGlobalPropertyProxy LAZY_REFLECT_PROXY = new LazyGlobalPropertyProxy(REFLECT_CLASS_NAME) {
+        @Override
+        protected Object createValue(JSRealm realm) {
+            return realm.createReflect();
+        }
+    };
+    private static final LazyGlobalPropertyProxy LAZY_ATOMICS_PROXY = new LazyGlobalPropertyProxy(ATOMICS_CLASS_NAME) {
+        @Override
+        protected Object createValue(JSRealm realm) {
+            return realm.createAtomics();
+        }
+    };
+    private static final LazyGlobalPropertyProxy LAZY_WEB_ASSEMBLY_PROXY = new LazyGlobalPropertyProxy(JSWebAssembly.CLASS_NAME) {
+        @Override
+        protected Object createValue(JSRealm realm) {
+            realm.ensureWebAssemblyInitialized();
+            return realm.webAssemblyObject;
+        }
+    };
+
+    /**
+     * Global property of a rarely used builtin (e.g. {@code Intl}). The value is created on first
+     * access and the property is then replaced by an ordinary data property with the same
+     * attributes. The proxy instances are realm-independent in order to keep the global object
+     * shape shareable between contexts.
+     */
+    private abstract static class LazyGlobalPropertyProxy implements PropertyProxy {
+        private final Object key;
+
+        LazyGlobalPropertyProxy(Object key) {
+            this.key = key;
+        }
+
+        protected abstract Object createValue(JSRealm realm);
+
+        @TruffleBoundary
+        @Override
+        public Object get(DynamicObject store) {
+            JSRealm realm = ((JSGlobalObject) store).getRealm();
+            Object value = realm.getScriptEngineLazyGlobal(key);
+            if (value == null) {
+                value = createValue(realm);
+                realm.recordScriptEngineLazyGlobal(key, value);
+            }
+            replaceWithDataProperty(store, value);
+            return value;
+        }
+
+        @TruffleBoundary
+        @Override
+        public boolean set(DynamicObject store, Object value) {
+            replaceWithDataProperty(store, value);
+            return true;
+        }
+
+        private void replaceWithDataProperty(DynamicObject store, Object value) {
+            int attributes = store.getShape().getProperty(key).getFlags() & JSAttributes.ATTRIBUTES_MASK;
+            JSObjectUtil.defineDataProperty(store, key, value, attributes);
+        }
+    }
+
     public boolean joinStackPush(Object o, BranchProfile growProfile) {
         InteropLibrary interop = (o instanceof JSObject) ? null : InteropLibrary.getFactory().getUncached(o);
         for (int i = 0; i < joinStack.size(); i++) {
@@ -2394,58 +2726,72 @@ public class JSRealm {
     }
 
     public Object getWASMCompileFunction() {
+        ensureWebAssemblyInitialized();
         return wasmCompileFunction;
     }
 
     public Object getWASMInstantiateFunction() {
+        ensureWebAssemblyInitialized();
         return wasmInstantiateFunction;
     }
 
     public Object getWASMValidateFunction() {
+        ensureWebAssemblyInitialized();
         return wasmValidateFunction;
     }
 
     public Object getWASMModuleExportsFunction() {
+        ensureWebAssemblyInitialized();
         return wasmModuleExportsFunction;
     }
 
     public Object getWASMModuleImportsFunction() {
+        ensureWebAssemblyInitialized();
         return wasmModuleImportsFunction;
     }
 
     public Object getWASMModuleCustomSectionsFunction() {
+        ensureWebAssemblyInitialized();
         return wasmModuleCustomSectionsFunction;
     }
 
     public Object getWASMGlobalConstructor() {
+        ensureWebAssemblyInitialized();
         return wasmGlobalConstructor;
     }
 
     public Object getWASMMemoryConstructor() {
+        ensureWebAssemblyInitialized();
         return wasmMemoryConstructor;
     }
 
     public Object getWASMTableConstructor() {
+        ensureWebAssemblyInitialized();
         return wasmTableConstructor;
     }
 
     public DynamicObject getWebAssemblyModulePrototype() {
+        ensureWebAssemblyInitialized();
         return webAssemblyModulePrototype;
     }
 
     public DynamicObject getWebAssemblyInstancePrototype() {
+        ensureWebAssemblyInitialized();
         return webAssemblyInstancePrototype;
     }
 
     public DynamicObject getWebAssemblyMemoryPrototype() {
+        ensureWebAssemblyInitialized();
         return webAssemblyMemoryPrototype;
     }
 
     public DynamicObject getWebAssemblyTablePrototype() {
+        ensureWebAssemblyInitialized();
         return webAssemblyTablePrototype;
     }
 
     public DynamicObject getWebAssemblyGlobalPrototype() {
+        ensureWebAssemblyInitialized();
         return webAssemblyGlobalPrototype;
     }
 
@@ -1444,6 +1444,27 @@ public final class JSRuntime {
         return formatDtoA(d);
     }
 
+    /**
+     * Appends the result of {@link #doubleToString(double)} to the builder, without creating an
+     * intermediate string.
+     */
+    @TruffleBoundary
+    public static void appendDoubleToString(StringBuilder builder, double d) {
+        if (Double.isNaN(d)) {
+            builder.append(NAN_STRING);
+        } else if (d == Double.POSITIVE_INFINITY) {
+            builder.append(INFINITY_STRING);
+        } else if (d == Double.NEGATIVE_INFINITY) {
+            builder.append(NEGATIVE_INFINITY_STRING);
+        } else if (d == 0) {
+            builder.append('0');
+        } else if (doubleIsRepresentableAsInt(d)) {
+            builder.append((int) d);
+        } else {
+            DoubleConversion.appendShortest(d, builder);
+        }
+    }
+
     @TruffleBoundary
     public static String formatDtoA(double value) {
         return DoubleConversion.toShortest(value);
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.array;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.array.TypedArray.AbstractUint32Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.TypedBigIntArray;
+import com.oracle.truffle.js.runtime.array.TypedArray.TypedFloatArray;
+import com.oracle.truffle.js.runtime.array.TypedArray.TypedIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
+import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Sorting of arrays with primitive elements (dense int and double arrays, typed arrays) without
+ * boxing the elements. Applies when no comparator is given, or when the comparator is recognized
+ * as a plain numeric comparison ({@code (a, b) => a - b} or {@code (a, b) => b - a}), which cannot
+ * have side effects on number arguments and therefore does not need to be called.
+ * <p>
+ * Since no JavaScript code runs during such a sort, arrays of at least
+ * {@code parallelSortThreshold} elements may be sorted in parallel (see
+ * {@link com.oracle.truffle.js.runtime.JSContextOptions#PARALLEL_SORT_THRESHOLD}).
+ */
+public final class PrimitiveArraySort {
+
+    /** No comparator: default sort order of the array type. */
+    public static final int DEFAULT_ORDER = 0;
+    public static final int ASCENDING = 1;
+    public static final int DESCENDING = -1;
+    /** A comparator that has to be called. */
+    public static final int UNKNOWN_ORDER = 2;
+
+    private static final int MAX_COMPARATOR_SOURCE_LENGTH = 200;
+    private static final Pattern COMMENT = Pattern.compile("/\\*(?:[^*]|\\*(?!/))*\\*/|//[^\\n\\r]*");
+    private static final String IDENTIFIER = "([\\w$]+)";
+    private static final String PARAMETERS = "\\(\\s*" + IDENTIFIER + "\\s*,\\s*" + IDENTIFIER + "\\s*\\)";
+    // the source is valid JavaScript, so optional parentheses are always balanced
+    private static final String DIFFERENCE = "\\(?\\s*" + IDENTIFIER + "\\s*-\\s*" + IDENTIFIER + "\\s*\\)?";
+    private static final String RETURN_DIFFERENCE = "\\{\\s*return\\b\\s*" + DIFFERENCE + "\\s*;?\\s*\\}";
+    private static final Pattern FUNCTION_COMPARATOR = Pattern.compile("function\\s*(?:[\\w$]+\\s*)?" + PARAMETERS + "\\s*" + RETURN_DIFFERENCE);
+    private static final Pattern ARROW_COMPARATOR = Pattern.compile(PARAMETERS + "\\s*=>\\s*(?:" + RETURN_DIFFERENCE + "|" + DIFFERENCE + ")");
+
+    private static final int MAX_DECIMAL_DIGITS = 10;
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L, 10000000000L};
+    private static final long STRING_KEY_RADIX = MAX_DECIMAL_DIGITS + 1;
+    private static final long NON_NEGATIVE_STRING_KEY_BASE = POWERS_OF_TEN[MAX_DECIMAL_DIGITS] * STRING_KEY_RADIX;
+
+    private PrimitiveArraySort() {
+    }
+
+    /**
+     * Classifies a comparator argument of {@code sort}: {@link #DEFAULT_ORDER} for
+     * {@code undefined}, {@link #ASCENDING} or {@link #DESCENDING} for a recognized numeric
+     * comparator, and {@link #UNKNOWN_ORDER} otherwise. The classification of a function is cached
+     * in its {@link JSFunctionData}, so the source of a function is examined only once.
+     */
+    @TruffleBoundary
+    public static int getSortOrder(Object comparefn) {
+        if (comparefn == Undefined.instance) {
+            return DEFAULT_ORDER;
+        }
+        if (!JSFunction.isJSFunction(comparefn) || JSFunction.isBoundFunction((DynamicObject) comparefn)) {
+            return UNKNOWN_ORDER;
+        }
+        JSFunctionData functionData = JSFunction.getFunctionData((DynamicObject) comparefn);
+        int order = functionData.getComparatorSortOrder();
+        if (order == JSFunctionData.UNCLASSIFIED_COMPARATOR) {
+            order = classifyComparator(functionData);
+            functionData.setComparatorSortOrder(order);
+        }
+        return order;
+    }
+
+    private static int classifyComparator(JSFunctionData functionData) {
+        if (functionData.isBuiltin() || !(functionData.getCallTarget() instanceof RootCallTarget)) {
+            return UNKNOWN_ORDER;
+        }
+        SourceSection sourceSection = ((RootCallTarget) functionData.getCallTarget()).getRootNode().getSourceSection();
+        if (sourceSection == null || !sourceSection.isAvailable() || sourceSection.getSource().isInternal() || sourceSection.getCharLength() > MAX_COMPARATOR_SOURCE_LENGTH) {
+            return UNKNOWN_ORDER;
+        }
+        String source = COMMENT.matcher(sourceSection.getCharacters()).replaceAll(" ");
+        Matcher matcher = FUNCTION_COMPARATOR.matcher(source);
+        if (matcher.matches()) {
+            return getDifferenceOrder(matcher.group(1), matcher.group(2), matcher.group(3), matcher.group(4));
+        }
+        matcher = ARROW_COMPARATOR.matcher(source);
+        if (matcher.matches()) {
+            if (matcher.group(3) != null) {
+                return getDifferenceOrder(matcher.group(1), matcher.group(2), matcher.group(3), matcher.group(4));
+            } else {
+                return getDifferenceOrder(matcher.group(1), matcher.group(2), matcher.group(5), matcher.group(6));
+            }
+        }
+        return UNKNOWN_ORDER;
+    }
+
+    private static int getDifferenceOrder(String param1, String param2, String minuend, String subtrahend) {
+        if (param1.equals(param2)) {
+            return UNKNOWN_ORDER;
+        } else if (minuend.equals(param1) && subtrahend.equals(param2)) {
+            return ASCENDING;
+        } else if (minuend.equals(param2) && subtrahend.equals(param1)) {
+            return DESCENDING;
+        }
+        return UNKNOWN_ORDER;
+    }
+
+    /**
+     * Sorts a dense int or double array with all elements in [0, length) present, in place.
+     * Returns {@code false} (without modifying the array) if the array cannot be sorted this way.
+     */
+    @TruffleBoundary
+    public static boolean sortFastArray(DynamicObject array, ScriptArray scriptArray, int length, int order, int parallelSortThreshold) {
+        boolean parallel = isParallel(length, parallelSortThreshold);
+        if (order == UNKNOWN_ORDER || scriptArray.isFrozen() || scriptArray.hasHoles(array) ||
+                        scriptArray.firstElementIndex(array) != 0 || scriptArray.lastElementIndex(array) != length - 1) {
+            return false;
+        }
+        if (scriptArray instanceof AbstractIntArray) {
+            AbstractIntArray intArray = (AbstractIntArray) scriptArray;
+            if (order == DEFAULT_ORDER) {
+                sortIntsByString(array, intArray, length, parallel);
+            } else {
+                intArray.sortInBounds(array, length, parallel);
+                if (order == DESCENDING) {
+                    for (int i = 0, j = length - 1; i < j; i++, j--) {
+                        int tmp = intArray.getInBoundsFastInt(array, i);
+                        intArray.setInBoundsFast(array, i, intArray.getInBoundsFastInt(array, j));
+                        intArray.setInBoundsFast(array, j, tmp);
+                    }
+                }
+            }
+            return true;
+        } else if (scriptArray instanceof AbstractDoubleArray && order != DEFAULT_ORDER) {
+            AbstractDoubleArray doubleArray = (AbstractDoubleArray) scriptArray;
+            for (int i = 0; i < length; i++) {
+                if (!isTotallyOrdered(doubleArray.getInBoundsFastDouble(array, i))) {
+                    return false;
+                }
+            }
+            doubleArray.sortInBounds(array, length, parallel);
+            if (order == DESCENDING) {
+                for (int i = 0, j = length - 1; i < j; i++, j--) {
+                    double tmp = doubleArray.getInBoundsFastDouble(array, i);
+                    doubleArray.setInBoundsFast(array, i, doubleArray.getInBoundsFastDouble(array, j));
+                    doubleArray.setInBoundsFast(array, j, tmp);
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Sorts the elements of a typed array, which must not be detached. Returns {@code false}
+     * (without modifying the array) if the array cannot be sorted this way.
+     */
+    @TruffleBoundary
+    public static boolean sortTypedArray(DynamicObject typedArray, TypedArray arrayType, int length, int order, int parallelSortThreshold) {
+        if (order == UNKNOWN_ORDER) {
+            return false;
+        }
+        boolean parallel = isParallel(length, parallelSortThreshold);
+        InteropLibrary interop = InteropLibrary.getUncached();
+        if (arrayType instanceof TypedIntArray) {
+            TypedIntArray intArrayType = (TypedIntArray) arrayType;
+            // Uint32 elements are read as signed ints; flipping the sign bit preserves the order.
+            int flip = arrayType instanceof AbstractUint32Array ? Integer.MIN_VALUE : 0;
+            int[] values = new int[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = intArrayType.getInt(typedArray, i, interop) ^ flip;
+            }
+            sort(values, parallel);
+            for (int i = 0; i < length; i++) {
+                intArrayType.setInt(typedArray, order == DESCENDING ? length - 1 - i : i, values[i] ^ flip, interop);
+            }
+            return true;
+        } else if (arrayType instanceof TypedFloatArray) {
+            TypedFloatArray floatArrayType = (TypedFloatArray) arrayType;
+            double[] values = new double[length];
+            for (int i = 0; i < length; i++) {
+                double value = floatArrayType.getDouble(typedArray, i, interop);
+                if (order != DEFAULT_ORDER && !isTotallyOrdered(value)) {
+                    // -0 and NaN compare equal to other values with a - b; keep the stable order
+                    return false;
+                }
+                values[i] = value;
+            }
+            // same order as required for the default comparator: -0 before +0, NaN last
+            sort(values, parallel);
+            for (int i = 0; i < length; i++) {
+                floatArrayType.setDouble(typedArray, order == DESCENDING ? length - 1 - i : i, values[i], interop);
+            }
+            return true;
+        } else if (arrayType instanceof TypedBigIntArray) {
+            if (order != DEFAULT_ORDER) {
+                // a - b on BigInts is not a valid comparator result
+                return false;
+            }
+            TypedBigIntArray bigIntArrayType = (TypedBigIntArray) arrayType;
+            long flip = arrayType.getFactory() == TypedArrayFactory.BigUint64Array ? Long.MIN_VALUE : 0;
+            long[] values = new long[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = bigIntArrayType.getLong(typedArray, i, interop) ^ flip;
+            }
+            sort(values, parallel);
+            for (int i = 0; i < length; i++) {
+                bigIntArrayType.setLong(typedArray, i, values[i] ^ flip, interop);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isParallel(int length, int parallelSortThreshold) {
+        return parallelSortThreshold > 0 && length >= parallelSortThreshold;
+    }
+
+    private static void sort(int[] values, boolean parallel) {
+        if (parallel) {
+            Arrays.parallelSort(values);
+        } else {
+            Arrays.sort(values);
+        }
+    }
+
+    private static void sort(long[] values, boolean parallel) {
+        if (parallel) {
+            Arrays.parallelSort(values);
+        } else {
+            Arrays.sort(values);
+        }
+    }
+
+    private static void sort(double[] values, boolean parallel) {
+        if (parallel) {
+            Arrays.parallelSort(values);
+        } else {
+            Arrays.sort(values);
+        }
+    }
+
+    private static boolean isTotallyOrdered(double value) {
+        return !Double.isNaN(value) && !JSRuntime.isNegativeZero(value);
+    }
+
+    /**
+     * Default sort order of an int array: by the string representation of the elements. Each
+     * element is mapped to a long key with the same order, so a primitive sort can be used.
+     */
+    private static void sortIntsByString(DynamicObject array, AbstractIntArray intArray, int length, boolean parallel) {
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = toStringOrderKey(intArray.getInBoundsFastInt(array, i));
+        }
+        sort(keys, parallel);
+        for (int i = 0; i < length; i++) {
+            intArray.setInBoundsFast(array, i, fromStringOrderKey(keys[i]));
+        }
+    }
+
+    /**
+     * Maps an int to a key that orders like the string representation of the int. The digits of
+     * the absolute value are left-aligned to ten digits and the digit count breaks ties (a prefix
+     * sorts first). Negative values ('-' sorts before all digits) come before non-negative ones.
+     */
+    static long toStringOrderKey(int value) {
+        long abs = Math.abs((long) value);
+        int digits = decimalDigits(abs);
+        long key = abs * POWERS_OF_TEN[MAX_DECIMAL_DIGITS - digits] * STRING_KEY_RADIX + digits;
+        return value < 0 ? key : NON_NEGATIVE_STRING_KEY_BASE + key;
+    }
+
+    static int fromStringOrderKey(long key) {
+        boolean negative = key < NON_NEGATIVE_STRING_KEY_BASE;
+        long k = negative ? key : key - NON_NEGATIVE_STRING_KEY_BASE;
+        int digits = (int) (k % STRING_KEY_RADIX);
+        long abs = k / STRING_KEY_RADIX / POWERS_OF_TEN[MAX_DECIMAL_DIGITS - digits];
+        return (int) (negative ? -abs : abs);
+    }
+
+    private static int decimalDigits(long abs) {
+        int digits = 1;
+        while (digits < MAX_DECIMAL_DIGITS && abs >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -48,10 +48,6 @@ import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetLen
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.NoSuchElementException;
-import java.util.Set;
-import java.util.TreeMap;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
@@ -61,7 +57,7 @@ import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
 /**
- * Array that stores its elements in a HashMap-like structure, e.g. in a TreeMap.
+ * Array that stores its elements in a hash table keyed by index, see {@link SparseArrayMap}.
  */
 public final class SparseArray extends DynamicArray {
 
@@ -77,7 +73,7 @@ public final class SparseArray extends DynamicArray {
 
     public static SparseArray makeSparseArray(DynamicObject object, ScriptArray fromArray) {
         assert !(fromArray instanceof SparseArray);
-        TreeMap<Long, Object> arrayMap = createArrayMap();
+        SparseArrayMap arrayMap = createArrayMap();
         copyArrayToMap(object, fromArray, arrayMap);
         arraySetLength(object, fromArray.length(object));
         arraySetArray(object, arrayMap);
@@ -85,20 +81,20 @@ public final class SparseArray extends DynamicArray {
     }
 
     @TruffleBoundary
-    public static TreeMap<Long, Object> createArrayMap() {
-        return new TreeMap<>();
+    public static SparseArrayMap createArrayMap() {
+        return new SparseArrayMap();
     }
 
-    protected static void copyArrayToMap(DynamicObject object, ScriptArray fromArray, Map<Long, Object> toMap) {
+    @TruffleBoundary
+    protected static void copyArrayToMap(DynamicObject object, ScriptArray fromArray, SparseArrayMap toMap) {
         for (long index = fromArray.firstElementIndex(object); index <= fromArray.lastElementIndex(object); index = fromArray.nextElementIndex(object, index)) {
             assert fromArray.hasElement(object, index);
-            Boundaries.mapPut(toMap, index, fromArray.getElement(object, index));
+            toMap.put(index, fromArray.getElement(object, index));
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static TreeMap<Long, Object> arrayMap(DynamicObject object) {
-        return (TreeMap<Long, Object>) arrayGetArray(object);
+    private static SparseArrayMap arrayMap(DynamicObject object) {
+        return (SparseArrayMap) arrayGetArray(object);
     }
 
     @TruffleBoundary
@@ -144,42 +140,34 @@ public final class SparseArray extends DynamicArray {
     @Override
     public SparseArray setLengthImpl(DynamicObject object, long len, ProfileHolder profile) {
         arraySetLength(object, len);
-        arrayMap(object).tailMap(len).clear();
+        arrayMap(object).removeFrom(len);
         return this;
     }
 
     @TruffleBoundary
     @Override
     public long firstElementIndex(DynamicObject object) {
-        try {
-            return arrayMap(object).firstKey();
-        } catch (NoSuchElementException ex) {
-            return 0;
-        }
+        long firstKey = arrayMap(object).firstKey();
+        return firstKey >= 0 ? firstKey : 0;
     }
 
     @TruffleBoundary
     @Override
     public long lastElementIndex(DynamicObject object) {
-        try {
-            return arrayMap(object).lastKey();
-        } catch (NoSuchElementException ex) {
-            return -1;
-        }
+        return arrayMap(object).lastKey();
     }
 
     @TruffleBoundary
     @Override
     public long nextElementIndex(DynamicObject object, long index) {
-        Long nextIndex = arrayMap(object).higherKey(index);
-        return nextIndex != null ? nextIndex.longValue() : JSRuntime.MAX_SAFE_INTEGER_LONG;
+        long nextIndex = arrayMap(object).higherKey(index);
+        return nextIndex >= 0 ? nextIndex : JSRuntime.MAX_SAFE_INTEGER_LONG;
     }
 
     @TruffleBoundary
     @Override
     public long previousElementIndex(DynamicObject object, long index) {
-        Long nextIndex = arrayMap(object).lowerKey(index);
-        return nextIndex != null ? nextIndex.longValue() : -1;
+        return arrayMap(object).lowerKey(index);
     }
 
     @Override
@@ -195,9 +183,10 @@ public final class SparseArray extends DynamicArray {
         return newArray;
     }
 
+    @TruffleBoundary
     @Override
     public Object cloneArray(DynamicObject object) {
-        return arrayMap(object).clone();
+        return arrayMap(object).copy();
     }
 
     @TruffleBoundary
@@ -223,54 +212,34 @@ public final class SparseArray extends DynamicArray {
         return true;
     }
 
+    @TruffleBoundary
     @Override
     public ScriptArray removeRangeImpl(DynamicObject object, long start, long end) {
         assert start <= end;
         assert start >= 0;
         assert end < length(object);
 
-        long delta = end - start + 1;
-        long pos = start;
-        if (!hasElement(object, pos)) {
-            pos = nextElementIndex(object, pos);
-        }
-        // delete the elements in the removed range
-        while (pos <= end) {
-            deleteElementImpl(object, pos, false);
-            pos = nextElementIndex(object, pos);
-        }
-        // move all element higher downwards
-        while (pos < length(object)) {
-            setElement(object, pos - delta, getElement(object, pos), false);
-            deleteElementImpl(object, pos, false);
-            pos = nextElementIndex(object, pos);
-        }
+        // delete the elements in the removed range and move all higher elements downwards
+        arrayMap(object).shiftKeys(end + 1, -(end - start + 1));
         return this;
     }
 
+    @TruffleBoundary
     @Override
     public ScriptArray addRangeImpl(DynamicObject object, long offset, int size) {
         assert offset < length(object);
 
-        long pos = length(object);
-        if (!hasElement(object, pos)) {
-            pos = previousElementIndex(object, pos);
-        }
-        // move all element higher upwards
-        while (pos >= offset) {
-            setElement(object, pos + size, getElement(object, pos), false);
-            deleteElementImpl(object, pos, false);
-            pos = previousElementIndex(object, pos);
-        }
+        // move all elements from offset upwards
+        arrayMap(object).shiftKeys(offset, size);
         return this;
     }
 
     @TruffleBoundary
     @Override
     public List<Object> ownPropertyKeys(DynamicObject object) {
-        Set<Long> keySet = arrayMap(object).keySet();
-        List<Object> list = new ArrayList<>(keySet.size());
-        for (long index : keySet) {
+        long[] keys = arrayMap(object).keysInOrder();
+        List<Object> list = new ArrayList<>(keys.length);
+        for (long index : keys) {
             list.add(Boundaries.stringValueOf(index));
         }
         return list;
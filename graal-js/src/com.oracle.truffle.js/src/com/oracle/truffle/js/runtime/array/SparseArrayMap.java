@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.array;
+
+import java.util.Arrays;
+
+/**
+ * Element storage of {@link SparseArray}: an open-addressing hash table with primitive long keys
+ * (array indices), plus a lazily built ascending key index for ordered traversal.
+ *
+ * The key index consists of a main sorted key array and a small sorted array of pending keys.
+ * Keys appended in ascending order, the common case when filling a lookup table, go to the end of
+ * the main array; other new keys are inserted into the pending array, which is merged into the
+ * main array when it gets full. Removed keys stay in the index as stale entries that are skipped
+ * during traversal; removing more keys than remain drops the index, and it is rebuilt on the next
+ * ordered access.
+ */
+public final class SparseArrayMap {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_PENDING_CAPACITY = 64;
+    /** Array indices are never negative. */
+    private static final long EMPTY = -1;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    /** Ascending keys, possibly including removed (stale) keys; {@code null} if not built. */
+    private long[] sortedKeys;
+    private int sortedCount;
+    /** Ascending keys not yet merged into {@link #sortedKeys}, possibly including stale keys. */
+    private long[] pendingKeys;
+    private int pendingCount;
+    /** Number of stale keys in the index. */
+    private int staleCount;
+
+    public SparseArrayMap() {
+        init(INITIAL_CAPACITY);
+    }
+
+    private SparseArrayMap(SparseArrayMap other) {
+        this.keys = other.keys.clone();
+        this.values = other.values.clone();
+        this.size = other.size;
+        if (other.sortedKeys != null) {
+            this.sortedKeys = Arrays.copyOf(other.sortedKeys, other.sortedCount);
+            this.sortedCount = other.sortedCount;
+            this.pendingKeys = other.pendingKeys.clone();
+            this.pendingCount = other.pendingCount;
+            this.staleCount = other.staleCount;
+        }
+    }
+
+    private void init(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new Object[capacity];
+        size = 0;
+        resetIndex(new long[0], 0);
+    }
+
+    private void resetIndex(long[] sorted, int count) {
+        sortedKeys = sorted;
+        sortedCount = count;
+        pendingKeys = new long[MIN_PENDING_CAPACITY];
+        pendingCount = 0;
+        staleCount = 0;
+    }
+
+    private void dropIndex() {
+        sortedKeys = null;
+        pendingKeys = null;
+    }
+
+    public SparseArrayMap copy() {
+        return new SparseArrayMap(this);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) {
+                return i;
+            } else if (k == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Returns the value for the key, or {@code null} if there is none.
+     */
+    public Object get(long key) {
+        int slot = findSlot(key);
+        return slot >= 0 ? values[slot] : null;
+    }
+
+    public boolean containsKey(long key) {
+        return findSlot(key) >= 0;
+    }
+
+    public void put(long key, Object value) {
+        assert key >= 0 && value != null;
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        for (;; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) {
+                values[i] = value;
+                return;
+            } else if (k == EMPTY) {
+                break;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        if (sortedKeys != null) {
+            addToIndex(key);
+        }
+        if (size > keys.length - (keys.length >> 2)) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    public void remove(long key) {
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            removeSlot(slot);
+            if (sortedKeys != null && ++staleCount > size) {
+                dropIndex();
+            }
+        }
+    }
+
+    /**
+     * Backward-shift deletion: moves following entries of the probe sequence into the freed slot
+     * unless they are already between their home slot and the gap.
+     */
+    private void removeSlot(int slot) {
+        int mask = keys.length - 1;
+        int gap = slot;
+        int j = slot;
+        for (;;) {
+            j = (j + 1) & mask;
+            long k = keys[j];
+            if (k == EMPTY) {
+                break;
+            }
+            int home = hash(k) & mask;
+            boolean stays = gap <= j ? (gap < home && home <= j) : (gap < home || home <= j);
+            if (!stays) {
+                keys[gap] = k;
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+        size--;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[newCapacity];
+        Arrays.fill(keys, EMPTY);
+        values = new Object[newCapacity];
+        int mask = newCapacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            long k = oldKeys[j];
+            if (k != EMPTY) {
+                int i = hash(k) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void addToIndex(long key) {
+        if (sortedCount == 0 || key > sortedKeys[sortedCount - 1]) {
+            if (sortedCount == sortedKeys.length) {
+                sortedKeys = Arrays.copyOf(sortedKeys, Math.max(INITIAL_CAPACITY, sortedCount << 1));
+            }
+            sortedKeys[sortedCount++] = key;
+            return;
+        }
+        int i = Arrays.binarySearch(pendingKeys, 0, pendingCount, key);
+        if (staleCount > 0 && (i >= 0 || Arrays.binarySearch(sortedKeys, 0, sortedCount, key) >= 0)) {
+            // a removed key was added again
+            staleCount--;
+            return;
+        }
+        int insertionPoint = -i - 1;
+        System.arraycopy(pendingKeys, insertionPoint, pendingKeys, insertionPoint + 1, pendingCount - insertionPoint);
+        pendingKeys[insertionPoint] = key;
+        pendingCount++;
+        if (pendingCount == pendingKeys.length) {
+            mergePending();
+        }
+    }
+
+    /**
+     * Merges the pending keys into the main key array, dropping stale keys. The pending capacity
+     * grows with the square root of the number of keys to amortize the merges.
+     */
+    private void mergePending() {
+        long[] merged = new long[size];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < sortedCount || j < pendingCount) {
+            long key;
+            if (j == pendingCount || (i < sortedCount && sortedKeys[i] < pendingKeys[j])) {
+                key = sortedKeys[i++];
+            } else {
+                key = pendingKeys[j++];
+            }
+            if (isLive(key)) {
+                merged[n++] = key;
+            }
+        }
+        assert n == size;
+        resetIndex(merged, n);
+        pendingKeys = new long[Math.max(MIN_PENDING_CAPACITY, (int) Math.sqrt(n))];
+    }
+
+    private void ensureIndex() {
+        if (sortedKeys == null) {
+            long[] sorted = new long[size];
+            int n = 0;
+            for (long k : keys) {
+                if (k != EMPTY) {
+                    sorted[n++] = k;
+                }
+            }
+            Arrays.sort(sorted);
+            resetIndex(sorted, n);
+        }
+    }
+
+    private boolean isLive(long key) {
+        return staleCount == 0 || containsKey(key);
+    }
+
+    /**
+     * Returns the smallest key, or -1 if the map is empty.
+     */
+    public long firstKey() {
+        return higherKey(-1);
+    }
+
+    /**
+     * Returns the largest key, or -1 if the map is empty.
+     */
+    public long lastKey() {
+        return lowerKey(Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns the smallest key greater than the given key, or -1 if there is none.
+     */
+    public long higherKey(long key) {
+        ensureIndex();
+        long higher = higherKey(sortedKeys, sortedCount, key);
+        long higherPending = higherKey(pendingKeys, pendingCount, key);
+        if (higher < 0 || (higherPending >= 0 && higherPending < higher)) {
+            return higherPending;
+        }
+        return higher;
+    }
+
+    private long higherKey(long[] index, int count, long key) {
+        int i = Arrays.binarySearch(index, 0, count, key);
+        for (i = i >= 0 ? i + 1 : -i - 1; i < count; i++) {
+            if (isLive(index[i])) {
+                return index[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the largest key less than the given key, or -1 if there is none.
+     */
+    public long lowerKey(long key) {
+        ensureIndex();
+        return Math.max(lowerKey(sortedKeys, sortedCount, key), lowerKey(pendingKeys, pendingCount, key));
+    }
+
+    private long lowerKey(long[] index, int count, long key) {
+        int i = Arrays.binarySearch(index, 0, count, key);
+        for (i = i >= 0 ? i - 1 : -i - 2; i >= 0; i--) {
+            if (isLive(index[i])) {
+                return index[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns all keys in ascending order.
+     */
+    public long[] keysInOrder() {
+        ensureIndex();
+        if (pendingCount > 0 || staleCount > 0) {
+            mergePending();
+        }
+        return Arrays.copyOf(sortedKeys, sortedCount);
+    }
+
+    /**
+     * Removes all keys greater than or equal to the given key.
+     */
+    public void removeFrom(long fromKey) {
+        if (size == 0 || lastKey() < fromKey) {
+            return;
+        }
+        long[] ordered = keysInOrder();
+        int start = Arrays.binarySearch(ordered, fromKey);
+        start = start >= 0 ? start : -start - 1;
+        for (int i = start; i < ordered.length; i++) {
+            removeSlot(findSlot(ordered[i]));
+        }
+        // the removed keys formed the tail of the index
+        resetIndex(ordered, start);
+    }
+
+    /**
+     * Adds {@code delta} to all keys greater than or equal to {@code fromKey}, and removes keys in
+     * [{@code fromKey + delta}, {@code fromKey}) when {@code delta} is negative.
+     */
+    public void shiftKeys(long fromKey, long delta) {
+        long[] ordered = keysInOrder();
+        Object[] orderedValues = new Object[ordered.length];
+        for (int i = 0; i < ordered.length; i++) {
+            orderedValues[i] = get(ordered[i]);
+        }
+        init(keys.length);
+        // keys are added in ascending order, so the index stays valid
+        for (int i = 0; i < ordered.length; i++) {
+            long key = ordered[i];
+            if (key >= fromKey) {
+                put(key + delta, orderedValues[i]);
+            } else if (delta >= 0 || key < fromKey + delta) {
+                put(key, orderedValues[i]);
+            }
+        }
+    }
+}
@@ -58,6 +58,8 @@ import com.oracle.truffle.js.runtime.JSException;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.interop.HostPrimitiveArrayBuffer;
+import com.oracle.truffle.js.runtime.interop.ReadOnlyInteropBuffer;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
 public abstract class TypedArray extends ScriptArray {
@@ -158,6 +160,13 @@ public abstract class TypedArray extends ScriptArray {
         return JSArrayBufferView.getArrayBuffer(typedArray);
     }
 
+    /**
+     * Get the read-only ByteBuffer of an interop ArrayBuffer over a {@link ReadOnlyInteropBuffer}.
+     */
+    protected static ByteBuffer getReadOnlyByteBuffer(Object buffer) {
+        return ((ReadOnlyInteropBuffer) JSArrayBuffer.getInteropBuffer(buffer)).getByteBuffer();
+    }
+
     protected final int getOffset(DynamicObject object) {
         if (offset) {
             return typedArrayGetOffset(object);
@@ -249,6 +258,142 @@ public abstract class TypedArray extends ScriptArray {
 
     public abstract void setBufferElement(Object buffer, int index, boolean littleEndian, Object value, InteropLibrary interop);
 
+    /**
+     * Copies {@code count} elements to another (or the same) typed array with the same element
+     * size, as raw bytes. Overlapping ranges are handled like in {@link System#arraycopy}. Not
+     * supported for interop buffers.
+     */
+    public final void copyElements(DynamicObject source, int sourceIndex, TypedArray targetType, DynamicObject target, int targetIndex, int count) {
+        assert !isInterop() && !targetType.isInterop() && bytesPerElement == targetType.bytesPerElement;
+        Object sourceBuffer = getBufferFromTypedArray(source);
+        Object targetBuffer = getBufferFromTypedArray(target);
+        int sourceByteIndex = getOffset(source) + sourceIndex * bytesPerElement;
+        int targetByteIndex = targetType.getOffset(target) + targetIndex * bytesPerElement;
+        int byteLength = count * bytesPerElement;
+        if (isDirect() || targetType.isDirect()) {
+            copyBytesDirect(sourceBuffer, isDirect(), sourceByteIndex, targetBuffer, targetType.isDirect(), targetByteIndex, byteLength);
+        } else {
+            System.arraycopy(getByteArray(sourceBuffer), sourceByteIndex, getByteArray(targetBuffer), targetByteIndex, byteLength);
+        }
+    }
+
+    @TruffleBoundary
+    private static void copyBytesDirect(Object sourceBuffer, boolean sourceDirect, int sourceByteIndex, Object targetBuffer, boolean targetDirect, int targetByteIndex, int byteLength) {
+        ByteBuffer source;
+        if (sourceDirect) {
+            source = getDirectByteBuffer(sourceBuffer).duplicate();
+            source.limit(sourceByteIndex + byteLength);
+            source.position(sourceByteIndex);
+        } else {
+            source = ByteBuffer.wrap(getByteArray(sourceBuffer), sourceByteIndex, byteLength);
+        }
+        if (sourceBuffer == targetBuffer && Math.abs(sourceByteIndex - targetByteIndex) < byteLength) {
+            // overlapping ranges: copy the source first
+            ByteBuffer copy = ByteBuffer.allocate(byteLength);
+            copy.put(source);
+            copy.flip();
+            source = copy;
+        }
+        ByteBuffer target = targetDirect ? getDirectByteBuffer(targetBuffer).duplicate() : ByteBuffer.wrap(getByteArray(targetBuffer));
+        target.position(targetByteIndex);
+        target.put(source);
+    }
+
+    /**
+     * Sets elements [{@code start}, {@code end}[ to the value of the element at {@code start},
+     * doubling the filled range with each bulk copy. Not supported for interop buffers.
+     */
+    public final void fillWithFirstElement(DynamicObject object, int start, int end) {
+        int count = end - start;
+        for (int filled = 1; filled < count;) {
+            int chunk = Math.min(filled, count - filled);
+            copyElements(object, start, this, object, start + filled, chunk);
+            filled += chunk;
+        }
+    }
+
+    /**
+     * Reverses the order of the elements in place. Not supported for interop buffers.
+     */
+    public final void reverseElements(DynamicObject object) {
+        assert !isInterop();
+        Object buffer = getBufferFromTypedArray(object);
+        int byteLength = lengthInt(object) * bytesPerElement;
+        if (isDirect()) {
+            reverseElementsDirect(getDirectByteBuffer(buffer), getOffset(object), byteLength, bytesPerElement);
+        } else {
+            reverseElements(getByteArray(buffer), getOffset(object), byteLength, bytesPerElement);
+        }
+    }
+
+    @TruffleBoundary
+    private static void reverseElementsDirect(ByteBuffer buffer, int byteOffset, int byteLength, int bytesPerElement) {
+        byte[] bytes = new byte[byteLength];
+        ByteBuffer source = buffer.duplicate();
+        source.position(byteOffset);
+        source.get(bytes);
+        reverseElements(bytes, 0, byteLength, bytesPerElement);
+        ByteBuffer target = buffer.duplicate();
+        target.position(byteOffset);
+        target.put(bytes);
+    }
+
+    private static void reverseElements(byte[] bytes, int byteOffset, int byteLength, int bytesPerElement) {
+        for (int lower = byteOffset, upper = byteOffset + byteLength - bytesPerElement; lower < upper; lower += bytesPerElement, upper -= bytesPerElement) {
+            for (int i = 0; i < bytesPerElement; i++) {
+                byte tmp = bytes[lower + i];
+                bytes[lower + i] = bytes[upper + i];
+                bytes[upper + i] = tmp;
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the first element in [{@code fromIndex}, {@code toIndex}[ that equals
+     * the number, or -1. NaN matches NaN only with {@code sameValueZero}. Only for int and float
+     * element types, not supported for interop buffers.
+     */
+    public final int indexOfNumber(DynamicObject object, double value, int fromIndex, int toIndex, boolean sameValueZero) {
+        if (sameValueZero && Double.isNaN(value)) {
+            for (int i = fromIndex; i < toIndex; i++) {
+                if (Double.isNaN(getNumber(object, i))) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = fromIndex; i < toIndex; i++) {
+                if (getNumber(object, i) == value) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last element in [0, {@code fromIndex}] that strictly equals the
+     * number, or -1. Only for int and float element types, not supported for interop buffers.
+     */
+    public final int lastIndexOfNumber(DynamicObject object, double value, int fromIndex) {
+        for (int i = fromIndex; i >= 0; i--) {
+            if (getNumber(object, i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private double getNumber(DynamicObject object, int index) {
+        assert !isInterop();
+        if (this instanceof AbstractUint32Array) {
+            return ((TypedIntArray) this).getInt(object, index, null) & 0xFFFFFFFFL;
+        } else if (this instanceof TypedIntArray) {
+            return ((TypedIntArray) this).getInt(object, index, null);
+        } else {
+            return ((TypedFloatArray) this).getDouble(object, index, null);
+        }
+    }
+
     public static TypedArrayFactory[] factories() {
         return TypedArrayFactory.FACTORIES;
     }
@@ -381,6 +526,26 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
+    /**
+     * Int8Array over a {@link ReadOnlyInteropBuffer}, e.g. a read-only memory-mapped file.
+     * Elements are read directly from the byte buffer; writes throw a TypeError.
+     */
+    public static final class ReadOnlyInt8Array extends InteropInt8Array {
+        ReadOnlyInt8Array(TypedArrayFactory factory, boolean offset) {
+            super(factory, offset);
+        }
+
+        @Override
+        public int getIntImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            return ByteBufferAccess.nativeOrder().getInt8(getReadOnlyByteBuffer(buffer), offset + index * INT8_BYTES_PER_ELEMENT);
+        }
+
+        @Override
+        public void setIntImpl(Object buffer, int offset, int index, int value, InteropLibrary interop) {
+            throw Errors.createTypeErrorReadOnlyBuffer();
+        }
+    }
+
     public static class InteropOneByteIntArray extends TypedIntArray {
         InteropOneByteIntArray(TypedArrayFactory factory, boolean offset) {
             super(factory, offset, BUFFER_TYPE_INTEROP);
@@ -481,7 +646,7 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
-    public static final class InteropUint8Array extends InteropOneByteIntArray {
+    public static class InteropUint8Array extends InteropOneByteIntArray {
         InteropUint8Array(TypedArrayFactory factory, boolean offset) {
             super(factory, offset);
         }
@@ -497,6 +662,26 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
+    /**
+     * Uint8Array over a {@link ReadOnlyInteropBuffer}, e.g. a read-only memory-mapped file.
+     * Elements are read directly from the byte buffer; writes throw a TypeError.
+     */
+    public static final class ReadOnlyUint8Array extends InteropUint8Array {
+        ReadOnlyUint8Array(TypedArrayFactory factory, boolean offset) {
+            super(factory, offset);
+        }
+
+        @Override
+        public int getIntImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            return ByteBufferAccess.nativeOrder().getUint8(getReadOnlyByteBuffer(buffer), offset + index * UINT8_BYTES_PER_ELEMENT);
+        }
+
+        @Override
+        public void setIntImpl(Object buffer, int offset, int index, int value, InteropLibrary interop) {
+            throw Errors.createTypeErrorReadOnlyBuffer();
+        }
+    }
+
     public abstract static class AbstractUint8ClampedArray extends TypedIntArray {
         private AbstractUint8ClampedArray(TypedArrayFactory factory, boolean offset, byte bufferType) {
             super(factory, offset, bufferType);
@@ -576,7 +761,7 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
-    public static final class InteropUint8ClampedArray extends AbstractUint8ClampedArray {
+    public static class InteropUint8ClampedArray extends AbstractUint8ClampedArray {
         InteropUint8ClampedArray(TypedArrayFactory factory, boolean offset) {
             super(factory, offset, BUFFER_TYPE_INTEROP);
         }
@@ -602,6 +787,26 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
+    /**
+     * Uint8ClampedArray over a {@link ReadOnlyInteropBuffer}, e.g. a read-only memory-mapped file.
+     * Elements are read directly from the byte buffer; writes throw a TypeError.
+     */
+    public static final class ReadOnlyUint8ClampedArray extends InteropUint8ClampedArray {
+        ReadOnlyUint8ClampedArray(TypedArrayFactory factory, boolean offset) {
+            super(factory, offset);
+        }
+
+        @Override
+        public int getIntImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            return ByteBufferAccess.nativeOrder().getUint8(getReadOnlyByteBuffer(buffer), offset + index * UINT8_BYTES_PER_ELEMENT);
+        }
+
+        @Override
+        public void setIntImpl(Object buffer, int offset, int index, int value, InteropLibrary interop) {
+            throw Errors.createTypeErrorReadOnlyBuffer();
+        }
+    }
+
     static final int INT16_BYTES_PER_ELEMENT = 2;
 
     public static final class Int16Array extends TypedIntArray {
@@ -662,6 +867,52 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
+    /**
+     * Int16Array over a Java {@code short[]} (see {@code Java.asTypedArray}). Element accesses read
+     * and write the host array directly; all other operations use the interop buffer.
+     */
+    public static final class HostInt16Array extends InteropInt16Array {
+        HostInt16Array(TypedArrayFactory factory) {
+            super(factory, false);
+        }
+
+        @Override
+        public int getIntImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            assert offset == 0;
+            return getHostArray(buffer)[index];
+        }
+
+        @Override
+        public void setIntImpl(Object buffer, int offset, int index, int value, InteropLibrary interop) {
+            assert offset == 0;
+            getHostArray(buffer)[index] = (short) value;
+        }
+
+        private static short[] getHostArray(Object buffer) {
+            return ((HostPrimitiveArrayBuffer.ShortArrayBuffer) JSArrayBuffer.getInteropBuffer(buffer)).getArray();
+        }
+    }
+
+    /**
+     * Int16Array over a {@link ReadOnlyInteropBuffer}, e.g. a read-only memory-mapped file.
+     * Elements are read directly from the byte buffer; writes throw a TypeError.
+     */
+    public static final class ReadOnlyInt16Array extends InteropInt16Array {
+        ReadOnlyInt16Array(TypedArrayFactory factory, boolean offset) {
+            super(factory, offset);
+        }
+
+        @Override
+        public int getIntImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            return ByteBufferAccess.nativeOrder().getInt16(getReadOnlyByteBuffer(buffer), offset + index * INT16_BYTES_PER_ELEMENT);
+        }
+
+        @Override
+        public void setIntImpl(Object buffer, int offset, int index, int value, InteropLibrary interop) {
+            throw Errors.createTypeErrorReadOnlyBuffer();
+        }
+    }
+
     public static class InteropTwoByteIntArray extends TypedIntArray {
         InteropTwoByteIntArray(TypedArrayFactory factory, boolean offset) {
             super(factory, offset, BUFFER_TYPE_INTEROP);
@@ -762,7 +1013,7 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
-    public static final class InteropUint16Array extends InteropTwoByteIntArray {
+    public static class InteropUint16Array extends InteropTwoByteIntArray {
         InteropUint16Array(TypedArrayFactory factory, boolean offset) {
             super(factory, offset);
         }
@@ -778,6 +1029,52 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
+    /**
+     * Uint16Array over a Java {@code char[]} (see {@code Java.asTypedArray}). Element accesses read
+     * and write the host array directly; all other operations use the interop buffer.
+     */
+    public static final class HostUint16Array extends InteropUint16Array {
+        HostUint16Array(TypedArrayFactory factory) {
+            super(factory, false);
+        }
+
+        @Override
+        public int getIntImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            assert offset == 0;
+            return getHostArray(buffer)[index];
+        }
+
+        @Override
+        public void setIntImpl(Object buffer, int offset, int index, int value, InteropLibrary interop) {
+            assert offset == 0;
+            getHostArray(buffer)[index] = (char) value;
+        }
+
+        private static char[] getHostArray(Object buffer) {
+            return ((HostPrimitiveArrayBuffer.CharArrayBuffer) JSArrayBuffer.getInteropBuffer(buffer)).getArray();
+        }
+    }
+
+    /**
+     * Uint16Array over a {@link ReadOnlyInteropBuffer}, e.g. a read-only memory-mapped file.
+     * Elements are read directly from the byte buffer; writes throw a TypeError.
+     */
+    public static final class ReadOnlyUint16Array extends InteropUint16Array {
+        ReadOnlyUint16Array(TypedArrayFactory factory, boolean offset) {
+            super(factory, offset);
+        }
+
+        @Override
+        public int getIntImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            return ByteBufferAccess.nativeOrder().getUint16(getReadOnlyByteBuffer(buffer), offset + index * UINT16_BYTES_PER_ELEMENT);
+        }
+
+        @Override
+        public void setIntImpl(Object buffer, int offset, int index, int value, InteropLibrary interop) {
+            throw Errors.createTypeErrorReadOnlyBuffer();
+        }
+    }
+
     static final int INT32_BYTES_PER_ELEMENT = 4;
 
     public static final class Int32Array extends TypedIntArray {
@@ -832,7 +1129,7 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
-    public static final class InteropInt32Array extends TypedIntArray {
+    public static class InteropInt32Array extends TypedIntArray {
         InteropInt32Array(TypedArrayFactory factory, boolean offset) {
             super(factory, offset, BUFFER_TYPE_INTEROP);
         }
@@ -878,6 +1175,52 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
+    /**
+     * Int32Array over a Java {@code int[]} (see {@code Java.asTypedArray}). Element accesses read
+     * and write the host array directly; all other operations use the interop buffer.
+     */
+    public static final class HostInt32Array extends InteropInt32Array {
+        HostInt32Array(TypedArrayFactory factory) {
+            super(factory, false);
+        }
+
+        @Override
+        public int getIntImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            assert offset == 0;
+            return getHostArray(buffer)[index];
+        }
+
+        @Override
+        public void setIntImpl(Object buffer, int offset, int index, int value, InteropLibrary interop) {
+            assert offset == 0;
+            getHostArray(buffer)[index] = value;
+        }
+
+        private static int[] getHostArray(Object buffer) {
+            return ((HostPrimitiveArrayBuffer.IntArrayBuffer) JSArrayBuffer.getInteropBuffer(buffer)).getArray();
+        }
+    }
+
+    /**
+     * Int32Array over a {@link ReadOnlyInteropBuffer}, e.g. a read-only memory-mapped file.
+     * Elements are read directly from the byte buffer; writes throw a TypeError.
+     */
+    public static final class ReadOnlyInt32Array extends InteropInt32Array {
+        ReadOnlyInt32Array(TypedArrayFactory factory, boolean offset) {
+            super(factory, offset);
+        }
+
+        @Override
+        public int getIntImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            return ByteBufferAccess.nativeOrder().getInt32(getReadOnlyByteBuffer(buffer), offset + index * INT32_BYTES_PER_ELEMENT);
+        }
+
+        @Override
+        public void setIntImpl(Object buffer, int offset, int index, int value, InteropLibrary interop) {
+            throw Errors.createTypeErrorReadOnlyBuffer();
+        }
+    }
+
     static final int UINT32_BYTES_PER_ELEMENT = 4;
 
     public abstract static class AbstractUint32Array extends TypedIntArray {
@@ -967,7 +1310,7 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
-    public static final class InteropUint32Array extends AbstractUint32Array {
+    public static class InteropUint32Array extends AbstractUint32Array {
         InteropUint32Array(TypedArrayFactory factory, boolean offset) {
             super(factory, offset, BUFFER_TYPE_INTEROP);
         }
@@ -993,6 +1336,26 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
+    /**
+     * Uint32Array over a {@link ReadOnlyInteropBuffer}, e.g. a read-only memory-mapped file.
+     * Elements are read directly from the byte buffer; writes throw a TypeError.
+     */
+    public static final class ReadOnlyUint32Array extends InteropUint32Array {
+        ReadOnlyUint32Array(TypedArrayFactory factory, boolean offset) {
+            super(factory, offset);
+        }
+
+        @Override
+        public int getIntImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            return ByteBufferAccess.nativeOrder().getInt32(getReadOnlyByteBuffer(buffer), offset + index * UINT32_BYTES_PER_ELEMENT);
+        }
+
+        @Override
+        public void setIntImpl(Object buffer, int offset, int index, int value, InteropLibrary interop) {
+            throw Errors.createTypeErrorReadOnlyBuffer();
+        }
+    }
+
     public abstract static class TypedBigIntArray extends TypedArray {
         protected TypedBigIntArray(TypedArrayFactory factory, boolean offset, byte bufferType) {
             super(factory, offset, bufferType);
@@ -1029,6 +1392,18 @@ public abstract class TypedArray extends ScriptArray {
             setLongImpl(getBufferFromTypedArray(object), getOffset(object), index, value.longValue(), interop);
         }
 
+        /**
+         * Returns the raw 64 bits of the element, i.e. for {@code BigUint64Array} the unsigned value
+         * reinterpreted as signed.
+         */
+        public final long getLong(DynamicObject object, int index, InteropLibrary interop) {
+            return getLongImpl(getBufferFromTypedArray(object), getOffset(object), index, interop);
+        }
+
+        public final void setLong(DynamicObject object, int index, long value, InteropLibrary interop) {
+            setLongImpl(getBufferFromTypedArray(object), getOffset(object), index, value, interop);
+        }
+
         public BigInt getBigIntImpl(Object buffer, int offset, int index, InteropLibrary interop) {
             return BigInt.valueOf(getLongImpl(buffer, offset, index, interop));
         }
@@ -1112,6 +1487,52 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
+    /**
+     * BigInt64Array over a Java {@code long[]} (see {@code Java.asTypedArray}). Element accesses
+     * read and write the host array directly; all other operations use the interop buffer.
+     */
+    public static final class HostBigInt64Array extends InteropBigInt64Array {
+        HostBigInt64Array(TypedArrayFactory factory) {
+            super(factory, false);
+        }
+
+        @Override
+        public long getLongImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            assert offset == 0;
+            return getHostArray(buffer)[index];
+        }
+
+        @Override
+        public void setLongImpl(Object buffer, int offset, int index, long value, InteropLibrary interop) {
+            assert offset == 0;
+            getHostArray(buffer)[index] = value;
+        }
+
+        private static long[] getHostArray(Object buffer) {
+            return ((HostPrimitiveArrayBuffer.LongArrayBuffer) JSArrayBuffer.getInteropBuffer(buffer)).getArray();
+        }
+    }
+
+    /**
+     * BigInt64Array over a {@link ReadOnlyInteropBuffer}, e.g. a read-only memory-mapped file.
+     * Elements are read directly from the byte buffer; writes throw a TypeError.
+     */
+    public static final class ReadOnlyBigInt64Array extends InteropBigInt64Array {
+        ReadOnlyBigInt64Array(TypedArrayFactory factory, boolean offset) {
+            super(factory, offset);
+        }
+
+        @Override
+        public long getLongImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            return ByteBufferAccess.nativeOrder().getInt64(getReadOnlyByteBuffer(buffer), offset + index * BIGINT64_BYTES_PER_ELEMENT);
+        }
+
+        @Override
+        public void setLongImpl(Object buffer, int offset, int index, long value, InteropLibrary interop) {
+            throw Errors.createTypeErrorReadOnlyBuffer();
+        }
+    }
+
     public static class InteropBigIntArray extends TypedBigIntArray {
         InteropBigIntArray(TypedArrayFactory factory, boolean offset) {
             super(factory, offset, BUFFER_TYPE_INTEROP);
@@ -1232,7 +1653,7 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
-    public static final class InteropBigUint64Array extends InteropBigIntArray {
+    public static class InteropBigUint64Array extends InteropBigIntArray {
         InteropBigUint64Array(TypedArrayFactory factory, boolean offset) {
             super(factory, offset);
         }
@@ -1248,6 +1669,26 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
+    /**
+     * BigUint64Array over a {@link ReadOnlyInteropBuffer}, e.g. a read-only memory-mapped file.
+     * Elements are read directly from the byte buffer; writes throw a TypeError.
+     */
+    public static final class ReadOnlyBigUint64Array extends InteropBigUint64Array {
+        ReadOnlyBigUint64Array(TypedArrayFactory factory, boolean offset) {
+            super(factory, offset);
+        }
+
+        @Override
+        public long getLongImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            return ByteBufferAccess.nativeOrder().getInt64(getReadOnlyByteBuffer(buffer), offset + index * BIGUINT64_BYTES_PER_ELEMENT);
+        }
+
+        @Override
+        public void setLongImpl(Object buffer, int offset, int index, long value, InteropLibrary interop) {
+            throw Errors.createTypeErrorReadOnlyBuffer();
+        }
+    }
+
     public abstract static class TypedFloatArray extends TypedArray {
         protected TypedFloatArray(TypedArrayFactory factory, boolean offset, byte bufferType) {
             super(factory, offset, bufferType);
@@ -1343,7 +1784,7 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
-    public static final class InteropFloat32Array extends TypedFloatArray {
+    public static class InteropFloat32Array extends TypedFloatArray {
         InteropFloat32Array(TypedArrayFactory factory, boolean offset) {
             super(factory, offset, BUFFER_TYPE_INTEROP);
         }
@@ -1389,6 +1830,52 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
+    /**
+     * Float32Array over a Java {@code float[]} (see {@code Java.asTypedArray}). Element accesses
+     * read and write the host array directly; all other operations use the interop buffer.
+     */
+    public static final class HostFloat32Array extends InteropFloat32Array {
+        HostFloat32Array(TypedArrayFactory factory) {
+            super(factory, false);
+        }
+
+        @Override
+        public double getDoubleImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            assert offset == 0;
+            return getHostArray(buffer)[index];
+        }
+
+        @Override
+        public void setDoubleImpl(Object buffer, int offset, int index, double value, InteropLibrary interop) {
+            assert offset == 0;
+            getHostArray(buffer)[index] = (float) value;
+        }
+
+        private static float[] getHostArray(Object buffer) {
+            return ((HostPrimitiveArrayBuffer.FloatArrayBuffer) JSArrayBuffer.getInteropBuffer(buffer)).getArray();
+        }
+    }
+
+    /**
+     * Float32Array over a {@link ReadOnlyInteropBuffer}, e.g. a read-only memory-mapped file.
+     * Elements are read directly from the byte buffer; writes throw a TypeError.
+     */
+    public static final class ReadOnlyFloat32Array extends InteropFloat32Array {
+        ReadOnlyFloat32Array(TypedArrayFactory factory, boolean offset) {
+            super(factory, offset);
+        }
+
+        @Override
+        public double getDoubleImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            return ByteBufferAccess.nativeOrder().getFloat(getReadOnlyByteBuffer(buffer), offset + index * FLOAT32_BYTES_PER_ELEMENT);
+        }
+
+        @Override
+        public void setDoubleImpl(Object buffer, int offset, int index, double value, InteropLibrary interop) {
+            throw Errors.createTypeErrorReadOnlyBuffer();
+        }
+    }
+
     static final int FLOAT64_BYTES_PER_ELEMENT = 8;
 
     public static final class Float64Array extends TypedFloatArray {
@@ -1443,7 +1930,7 @@ public abstract class TypedArray extends ScriptArray {
         }
     }
 
-    public static final class InteropFloat64Array extends TypedFloatArray {
+    public static class InteropFloat64Array extends TypedFloatArray {
         InteropFloat64Array(TypedArrayFactory factory, boolean offset) {
             super(factory, offset, BUFFER_TYPE_INTEROP);
         }
@@ -1488,4 +1975,50 @@ public abstract class TypedArray extends ScriptArray {
             }
         }
     }
+
+    /**
+     * Float64Array over a Java {@code double[]} (see {@code Java.asTypedArray}). Element accesses
+     * read and write the host array directly; all other operations use the interop buffer.
+     */
+    public static final class HostFloat64Array extends InteropFloat64Array {
+        HostFloat64Array(TypedArrayFactory factory) {
+            super(factory, false);
+        }
+
+        @Override
+        public double getDoubleImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            assert offset == 0;
+            return getHostArray(buffer)[index];
+        }
+
+        @Override
+        public void setDoubleImpl(Object buffer, int offset, int index, double value, InteropLibrary interop) {
+            assert offset == 0;
+            getHostArray(buffer)[index] = value;
+        }
+
+        private static double[] getHostArray(Object buffer) {
+            return ((HostPrimitiveArrayBuffer.DoubleArrayBuffer) JSArrayBuffer.getInteropBuffer(buffer)).getArray();
+        }
+    }
+
+    /**
+     * Float64Array over a {@link ReadOnlyInteropBuffer}, e.g. a read-only memory-mapped file.
+     * Elements are read directly from the byte buffer; writes throw a TypeError.
+     */
+    public static final class ReadOnlyFloat64Array extends InteropFloat64Array {
+        ReadOnlyFloat64Array(TypedArrayFactory factory, boolean offset) {
+            super(factory, offset);
+        }
+
+        @Override
+        public double getDoubleImpl(Object buffer, int offset, int index, InteropLibrary interop) {
+            return ByteBufferAccess.nativeOrder().getDouble(getReadOnlyByteBuffer(buffer), offset + index * FLOAT64_BYTES_PER_ELEMENT);
+        }
+
+        @Override
+        public void setDoubleImpl(Object buffer, int offset, int index, double value, InteropLibrary interop) {
+            throw Errors.createTypeErrorReadOnlyBuffer();
+        }
+    }
 }
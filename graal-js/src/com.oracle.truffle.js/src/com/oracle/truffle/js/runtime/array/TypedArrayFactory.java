@@ -61,6 +61,12 @@ import com.oracle.truffle.js.runtime.array.TypedArray.DirectUint8Array;
 import com.oracle.truffle.js.runtime.array.TypedArray.DirectUint8ClampedArray;
 import com.oracle.truffle.js.runtime.array.TypedArray.Float32Array;
 import com.oracle.truffle.js.runtime.array.TypedArray.Float64Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.HostBigInt64Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.HostFloat32Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.HostFloat64Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.HostInt16Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.HostInt32Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.HostUint16Array;
 import com.oracle.truffle.js.runtime.array.TypedArray.Int16Array;
 import com.oracle.truffle.js.runtime.array.TypedArray.Int32Array;
 import com.oracle.truffle.js.runtime.array.TypedArray.Int8Array;
@@ -75,6 +81,17 @@ import com.oracle.truffle.js.runtime.array.TypedArray.InteropUint16Array;
 import com.oracle.truffle.js.runtime.array.TypedArray.InteropUint32Array;
 import com.oracle.truffle.js.runtime.array.TypedArray.InteropUint8Array;
 import com.oracle.truffle.js.runtime.array.TypedArray.InteropUint8ClampedArray;
+import com.oracle.truffle.js.runtime.array.TypedArray.ReadOnlyBigInt64Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.ReadOnlyBigUint64Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.ReadOnlyFloat32Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.ReadOnlyFloat64Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.ReadOnlyInt16Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.ReadOnlyInt32Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.ReadOnlyInt8Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.ReadOnlyUint16Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.ReadOnlyUint32Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.ReadOnlyUint8Array;
+import com.oracle.truffle.js.runtime.array.TypedArray.ReadOnlyUint8ClampedArray;
 import com.oracle.truffle.js.runtime.array.TypedArray.Uint16Array;
 import com.oracle.truffle.js.runtime.array.TypedArray.Uint32Array;
 import com.oracle.truffle.js.runtime.array.TypedArray.Uint8Array;
@@ -93,6 +110,11 @@ public enum TypedArrayFactory implements PrototypeSupplier {
                 return new Int8Array(this, offset);
             }
         }
+
+        @Override
+        TypedArray instantiateReadOnlyArrayType(boolean offset) {
+            return new ReadOnlyInt8Array(this, offset);
+        }
     },
     Uint8Array(TypedArray.UINT8_BYTES_PER_ELEMENT) {
         @Override
@@ -105,6 +127,11 @@ public enum TypedArrayFactory implements PrototypeSupplier {
                 return new Uint8Array(this, offset);
             }
         }
+
+        @Override
+        TypedArray instantiateReadOnlyArrayType(boolean offset) {
+            return new ReadOnlyUint8Array(this, offset);
+        }
     },
     Uint8ClampedArray(TypedArray.UINT8_BYTES_PER_ELEMENT) {
         @Override
@@ -117,6 +144,11 @@ public enum TypedArrayFactory implements PrototypeSupplier {
                 return new Uint8ClampedArray(this, offset);
             }
         }
+
+        @Override
+        TypedArray instantiateReadOnlyArrayType(boolean offset) {
+            return new ReadOnlyUint8ClampedArray(this, offset);
+        }
     },
     Int16Array(TypedArray.INT16_BYTES_PER_ELEMENT) {
         @Override
@@ -129,6 +161,18 @@ public enum TypedArrayFactory implements PrototypeSupplier {
                 return new Int16Array(this, offset);
             }
         }
+
+        @Override
+        TypedArray instantiateReadOnlyArrayType(boolean offset) {
+            return new ReadOnlyInt16Array(this, offset);
+        }
+
+        @Override
+        abstract TypedArray instantiateReadOnlyArrayType(boolean offset);
+
+    TypedArray instantiateHostArrayType() {
+            return new HostInt16Array(this);
+        }
     },
     Uint16Array(TypedArray.UINT16_BYTES_PER_ELEMENT) {
         @Override
@@ -141,6 +185,18 @@ public enum TypedArrayFactory implements PrototypeSupplier {
                 return new Uint16Array(this, offset);
             }
         }
+
+        @Override
+        TypedArray instantiateReadOnlyArrayType(boolean offset) {
+            return new ReadOnlyUint16Array(this, offset);
+        }
+
+        @Override
+        abstract TypedArray instantiateReadOnlyArrayType(boolean offset);
+
+    TypedArray instantiateHostArrayType() {
+            return new HostUint16Array(this);
+        }
     },
     Int32Array(TypedArray.INT32_BYTES_PER_ELEMENT) {
         @Override
@@ -153,6 +209,18 @@ public enum TypedArrayFactory implements PrototypeSupplier {
                 return new Int32Array(this, offset);
             }
         }
+
+        @Override
+        TypedArray instantiateReadOnlyArrayType(boolean offset) {
+            return new ReadOnlyInt32Array(this, offset);
+        }
+
+        @Override
+        abstract TypedArray instantiateReadOnlyArrayType(boolean offset);
+
+    TypedArray instantiateHostArrayType() {
+            return new HostInt32Array(this);
+        }
     },
     Uint32Array(TypedArray.UINT32_BYTES_PER_ELEMENT) {
         @Override
@@ -165,6 +233,11 @@ public enum TypedArrayFactory implements PrototypeSupplier {
                 return new Uint32Array(this, offset);
             }
         }
+
+        @Override
+        TypedArray instantiateReadOnlyArrayType(boolean offset) {
+            return new ReadOnlyUint32Array(this, offset);
+        }
     },
     Float32Array(TypedArray.FLOAT32_BYTES_PER_ELEMENT) {
         @Override
@@ -177,6 +250,18 @@ public enum TypedArrayFactory implements PrototypeSupplier {
                 return new Float32Array(this, offset);
             }
         }
+
+        @Override
+        TypedArray instantiateReadOnlyArrayType(boolean offset) {
+            return new ReadOnlyFloat32Array(this, offset);
+        }
+
+        @Override
+        abstract TypedArray instantiateReadOnlyArrayType(boolean offset);
+
+    TypedArray instantiateHostArrayType() {
+            return new HostFloat32Array(this);
+        }
     },
     Float64Array(TypedArray.FLOAT64_BYTES_PER_ELEMENT) {
         @Override
@@ -189,6 +274,18 @@ public enum TypedArrayFactory implements PrototypeSupplier {
                 return new Float64Array(this, offset);
             }
         }
+
+        @Override
+        TypedArray instantiateReadOnlyArrayType(boolean offset) {
+            return new ReadOnlyFloat64Array(this, offset);
+        }
+
+        @Override
+        abstract TypedArray instantiateReadOnlyArrayType(boolean offset);
+
+    TypedArray instantiateHostArrayType() {
+            return new HostFloat64Array(this);
+        }
     },
     BigInt64Array(TypedArray.BIGINT64_BYTES_PER_ELEMENT) {
         @Override
@@ -201,6 +298,18 @@ public enum TypedArrayFactory implements PrototypeSupplier {
                 return new BigInt64Array(this, offset);
             }
         }
+
+        @Override
+        TypedArray instantiateReadOnlyArrayType(boolean offset) {
+            return new ReadOnlyBigInt64Array(this, offset);
+        }
+
+        @Override
+        abstract TypedArray instantiateReadOnlyArrayType(boolean offset);
+
+    TypedArray instantiateHostArrayType() {
+            return new HostBigInt64Array(this);
+        }
     },
     BigUint64Array(TypedArray.BIGUINT64_BYTES_PER_ELEMENT) {
         @Override
@@ -213,6 +322,11 @@ public enum TypedArrayFactory implements PrototypeSupplier {
                 return new BigUint64Array(this, offset);
             }
         }
+
+        @Override
+        TypedArray instantiateReadOnlyArrayType(boolean offset) {
+            return new ReadOnlyBigUint64Array(this, offset);
+        }
     };
 
     private final int bytesPerElement;
@@ -222,6 +336,9 @@ public enum TypedArrayFactory implements PrototypeSupplier {
     private final TypedArray directArrayTypeWithOffset;
     private final TypedArray interopArrayType;
     private final TypedArray interopArrayTypeWithOffset;
+    private final TypedArray hostArrayType;
+    private final TypedArray readOnlyArrayType;
+    private final TypedArray readOnlyArrayTypeWithOffset;
 
     TypedArrayFactory(int bytesPerElement) {
         this.bytesPerElement = bytesPerElement;
@@ -231,6 +348,9 @@ public enum TypedArrayFactory implements PrototypeSupplier {
         this.directArrayTypeWithOffset = instantiateArrayType(TypedArray.BUFFER_TYPE_DIRECT, true);
         this.interopArrayType = instantiateArrayType(TypedArray.BUFFER_TYPE_INTEROP, false);
         this.interopArrayTypeWithOffset = instantiateArrayType(TypedArray.BUFFER_TYPE_INTEROP, true);
+        this.hostArrayType = instantiateHostArrayType();
+        this.readOnlyArrayType = instantiateReadOnlyArrayType(false);
+        this.readOnlyArrayTypeWithOffset = instantiateReadOnlyArrayType(true);
 
         assert !arrayType.hasOffset() && arrayTypeWithOffset.hasOffset() && !arrayType.isDirect() && !arrayTypeWithOffset.isDirect() &&
                         !directArrayType.hasOffset() && directArrayTypeWithOffset.hasOffset() && directArrayType.isDirect() && directArrayTypeWithOffset.isDirect() &&
@@ -263,6 +383,29 @@ public enum TypedArrayFactory implements PrototypeSupplier {
         }
     }
 
+    /**
+     * Returns the array type of typed arrays over a Java primitive array (see
+     * {@code Java.asTypedArray}), or {@code null} if there is no Java array type for this element
+     * type. The array buffer must be an interop buffer wrapping a
+     * {@link com.oracle.truffle.js.runtime.interop.HostPrimitiveArrayBuffer} and there is no offset.
+     */
+    public final TypedArray getHostArrayType() {
+        return hostArrayType;
+    }
+
+    /**
+     * Returns the array type of typed arrays over an interop buffer that wraps a read-only
+     * {@link java.nio.ByteBuffer} (see
+     * {@link com.oracle.truffle.js.runtime.interop.ReadOnlyInteropBuffer}).
+     */
+    public final TypedArray createReadOnlyArrayType(boolean offset) {
+        if (offset) {
+            return readOnlyArrayTypeWithOffset;
+        } else {
+            return readOnlyArrayType;
+        }
+    }
+
     public final int getBytesPerElement() {
         return bytesPerElement;
     }
@@ -277,6 +420,12 @@ public enum TypedArrayFactory implements PrototypeSupplier {
 
     abstract TypedArray instantiateArrayType(byte bufferType, boolean offset);
 
+    abstract TypedArray instantiateReadOnlyArrayType(boolean offset);
+
+    TypedArray instantiateHostArrayType() {
+        return null;
+    }
+
     @Override
     public final DynamicObject getIntrinsicDefaultProto(JSRealm realm) {
         return realm.getArrayBufferViewPrototype(this);
@@ -45,7 +45,10 @@ import static com.oracle.truffle.api.CompilerDirectives.injectBranchProbability;
 import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetArray;
 import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetArray;
 
+import java.util.Arrays;
+
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSRuntime;
@@ -104,6 +107,21 @@ public abstract class AbstractDoubleArray extends AbstractWritableArray {
         return ((double[]) array).length;
     }
 
+    /**
+     * Sorts the elements in the index range [0, length) in ascending numeric order, in place in the
+     * backing array. All elements in the range must be present.
+     */
+    @TruffleBoundary
+    public final void sortInBounds(DynamicObject object, int length, boolean parallel) {
+        assert !hasHoles(object) && firstElementIndex(object) == 0 && lastElementIndex(object) >= length - 1;
+        int start = prepareInBoundsFast(object, 0);
+        if (parallel) {
+            Arrays.parallelSort(getArray(object), start, start + length);
+        } else {
+            Arrays.sort(getArray(object), start, start + length);
+        }
+    }
+
     protected static double[] getArray(DynamicObject object) {
         Object array = arrayGetArray(object);
         if (array.getClass() == double[].class) {
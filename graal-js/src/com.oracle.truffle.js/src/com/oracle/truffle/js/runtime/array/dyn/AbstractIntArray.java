@@ -47,7 +47,10 @@ import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetArr
 import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetArrayOffset;
 import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetArray;
 
+import java.util.Arrays;
+
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
@@ -104,6 +107,21 @@ public abstract class AbstractIntArray extends AbstractWritableArray {
         return ((int[]) array).length;
     }
 
+    /**
+     * Sorts the elements in the index range [0, length) in ascending numeric order, in place in the
+     * backing array. All elements in the range must be present.
+     */
+    @TruffleBoundary
+    public final void sortInBounds(DynamicObject object, int length, boolean parallel) {
+        assert !hasHoles(object) && firstElementIndex(object) == 0 && lastElementIndex(object) >= length - 1;
+        int start = prepareInBoundsFast(object, 0);
+        if (parallel) {
+            Arrays.parallelSort(getArray(object), start, start + length);
+        } else {
+            Arrays.sort(getArray(object), start, start + length);
+        }
+    }
+
     protected static int[] getArray(DynamicObject object) {
         Object array = arrayGetArray(object);
         if (array.getClass() == int[].class) {
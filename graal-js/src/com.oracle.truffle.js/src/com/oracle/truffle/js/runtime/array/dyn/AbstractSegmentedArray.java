@@ -0,0 +1,536 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.array.dyn;
+
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetArray;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetHoleCount;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetLength;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetUsedLength;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetArray;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetArrayOffset;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetHoleCount;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetIndexOffset;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetLength;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetUsedLength;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.runtime.Boundaries;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.array.DynamicArray;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.SparseArray;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Array that stores its elements in fixed-size segments that are allocated on demand. Used for
+ * large arrays with holes that are too far apart for the contiguous holes arrays, but too densely
+ * populated for {@link SparseArray}. No single allocation exceeds the segment size, so even very
+ * large arrays avoid humongous allocations, and element access stays O(1).
+ *
+ * The array object holds the segment directory ({@code Object[]}, unallocated segments are
+ * {@code null}); the used length is the number of elements, and the hole count is the number of
+ * holes in allocated segments. Once most of the allocated space would be holes, the array
+ * transitions to {@link SparseArray}.
+ */
+public abstract class AbstractSegmentedArray extends DynamicArray {
+
+    static final int SEGMENT_BITS = 12;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /** Segments that can always be allocated, as long as the directory stays small. */
+    private static final int MIN_SEGMENT_COUNT = 16;
+    /** Directory length that is always acceptable (covers indices up to 2^26). */
+    private static final int MIN_DIRECTORY_LENGTH = 1 << 14;
+    /** Maximum directory length per allocated segment. */
+    private static final int MAX_DIRECTORY_LENGTH_PER_SEGMENT = 64;
+    /** Maximum number of holes per element in allocated segments. */
+    private static final int MAX_HOLES_PER_ELEMENT = 4;
+
+    protected AbstractSegmentedArray(int integrityLevel, DynamicArrayCache cache) {
+        super(integrityLevel, cache);
+    }
+
+    /**
+     * Returns true if an array whose highest index is {@code maxIndex} should use segmented
+     * storage rather than {@link SparseArray}. Lengths beyond the int range always need a
+     * {@link SparseArray}.
+     */
+    public static boolean isSupported(long maxIndex, long length) {
+        return maxIndex >= 0 && (maxIndex >>> SEGMENT_BITS) < MIN_DIRECTORY_LENGTH && length <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Copies the elements of the given array into a new segmented array of a matching element
+     * type.
+     */
+    @TruffleBoundary
+    public static AbstractSegmentedArray makeSegmentedArray(DynamicObject object, ScriptArray fromArray) {
+        AbstractSegmentedArray arrayType;
+        if (fromArray instanceof AbstractIntArray) {
+            arrayType = SegmentedIntArray.createSegmentedIntArray();
+        } else if (fromArray instanceof AbstractDoubleArray) {
+            arrayType = SegmentedDoubleArray.createSegmentedDoubleArray();
+        } else {
+            arrayType = SegmentedObjectArray.createSegmentedObjectArray();
+        }
+        long lastIndex = fromArray.lastElementIndex(object);
+        assert isSupported(lastIndex, fromArray.length(object));
+        Object[] segments = new Object[Math.max(1, segmentIndex(lastIndex) + 1)];
+        int elementCount = 0;
+        int segmentCount = 0;
+        for (long index = fromArray.firstElementIndex(object); index <= lastIndex; index = fromArray.nextElementIndex(object, index)) {
+            assert fromArray.hasElement(object, index);
+            int segmentIndex = segmentIndex(index);
+            if (segments[segmentIndex] == null) {
+                segments[segmentIndex] = arrayType.allocateSegment();
+                segmentCount++;
+            }
+            arrayType.setValue(segments[segmentIndex], segmentOffset(index), fromArray.getElement(object, index));
+            elementCount++;
+        }
+        long length = fromArray.length(object);
+        arraySetArray(object, segments);
+        arraySetLength(object, length);
+        arraySetUsedLength(object, elementCount);
+        arraySetHoleCount(object, segmentCount * SEGMENT_SIZE - elementCount);
+        arraySetIndexOffset(object, 0);
+        arraySetArrayOffset(object, 0);
+        return arrayType;
+    }
+
+    static int segmentIndex(long index) {
+        return (int) (index >>> SEGMENT_BITS);
+    }
+
+    static int segmentOffset(long index) {
+        return (int) index & SEGMENT_MASK;
+    }
+
+    protected static Object[] getSegments(DynamicObject object) {
+        return (Object[]) arrayGetArray(object);
+    }
+
+    /**
+     * Returns the segment containing the index, or {@code null} if it has not been allocated.
+     */
+    protected static Object getSegment(DynamicObject object, long index) {
+        Object[] segments = getSegments(object);
+        if (index >= 0 && index < ((long) segments.length << SEGMENT_BITS)) {
+            return segments[segmentIndex(index)];
+        }
+        return null;
+    }
+
+    /**
+     * Allocates a segment filled with holes.
+     */
+    protected abstract Object allocateSegment();
+
+    protected abstract Object copySegment(Object segment);
+
+    protected abstract boolean isHole(Object segment, int offset);
+
+    protected abstract Object getValue(Object segment, int offset);
+
+    protected abstract void setValue(Object segment, int offset, Object value);
+
+    protected abstract void setHole(Object segment, int offset);
+
+    /**
+     * Returns true if the value can be stored without changing the element type.
+     */
+    public abstract boolean canStore(Object value);
+
+    /**
+     * Returns an array type that can store the given value and all current elements.
+     */
+    protected abstract AbstractSegmentedArray generalize(DynamicObject object, Object value);
+
+    /**
+     * Converts all segments to the element type of the target array type.
+     */
+    @TruffleBoundary
+    protected final AbstractSegmentedArray convertSegments(DynamicObject object, AbstractSegmentedArray targetType, Object value) {
+        Object[] segments = getSegments(object);
+        for (int i = 0; i < segments.length; i++) {
+            Object segment = segments[i];
+            if (segment != null) {
+                Object newSegment = targetType.allocateSegment();
+                for (int offset = 0; offset < SEGMENT_SIZE; offset++) {
+                    if (!isHole(segment, offset)) {
+                        targetType.setValue(newSegment, offset, getValue(segment, offset));
+                    }
+                }
+                segments[i] = newSegment;
+            }
+        }
+        AbstractSegmentedArray newArray = targetType.setIntegrityLevel(integrityLevel);
+        if (JSConfig.TraceArrayTransitions) {
+            traceArrayTransition(this, newArray, 0, value);
+        }
+        return newArray;
+    }
+
+    /**
+     * Returns true if the index is below the length and its segment is allocated, i.e., a value
+     * that {@link #canStore can be stored} can be written without any housekeeping beyond the
+     * element count.
+     */
+    public final boolean isInAllocatedSegment(DynamicObject object, long index) {
+        return index < arrayGetLength(object) && getSegment(object, index) != null;
+    }
+
+    public final void setInAllocatedSegment(DynamicObject object, long index, Object value) {
+        assert isInAllocatedSegment(object, index) && canStore(value);
+        Object segment = getSegment(object, index);
+        int offset = segmentOffset(index);
+        if (isHole(segment, offset)) {
+            incrementElementCount(object, 1);
+        }
+        setValue(segment, offset, value);
+    }
+
+    private static void incrementElementCount(DynamicObject object, int delta) {
+        arraySetUsedLength(object, arrayGetUsedLength(object) + delta);
+        arraySetHoleCount(object, arrayGetHoleCount(object) - delta);
+    }
+
+    @Override
+    public final Object getElement(DynamicObject object, long index) {
+        Object segment = getSegment(object, index);
+        if (segment != null && !isHole(segment, segmentOffset(index))) {
+            return getValue(segment, segmentOffset(index));
+        }
+        return Undefined.instance;
+    }
+
+    @Override
+    public final Object getElementInBounds(DynamicObject object, long index) {
+        assert hasElement(object, index);
+        return getValue(getSegment(object, index), segmentOffset(index));
+    }
+
+    @Override
+    public final boolean hasElement(DynamicObject object, long index) {
+        Object segment = getSegment(object, index);
+        return segment != null && !isHole(segment, segmentOffset(index));
+    }
+
+    @Override
+    public final ScriptArray setElementImpl(DynamicObject object, long index, Object value, boolean strict) {
+        assert index >= 0;
+        if (!canStore(value)) {
+            return generalize(object, value).setElementImpl(object, index, value, strict);
+        }
+        Object segment = getSegment(object, index);
+        if (segment == null) {
+            if (index >= Integer.MAX_VALUE || !canAllocateSegment(object, segmentIndex(index))) {
+                return toSparse(object, index, value).setElementImpl(object, index, value, strict);
+            }
+            segment = addSegment(object, segmentIndex(index));
+        }
+        int offset = segmentOffset(index);
+        if (isHole(segment, offset)) {
+            incrementElementCount(object, 1);
+        }
+        setValue(segment, offset, value);
+        if (index >= arrayGetLength(object)) {
+            arraySetLength(object, index + 1);
+        }
+        return this;
+    }
+
+    /**
+     * Decides whether allocating another segment keeps the array dense enough, see
+     * {@link SparseArray} for the alternative.
+     */
+    private static boolean canAllocateSegment(DynamicObject object, int segmentIndex) {
+        long elementCount = arrayGetUsedLength(object);
+        long holeCount = arrayGetHoleCount(object);
+        long segmentCount = (elementCount + holeCount) >>> SEGMENT_BITS;
+        if (segmentIndex < MIN_DIRECTORY_LENGTH && segmentCount < MIN_SEGMENT_COUNT) {
+            return true;
+        }
+        return segmentIndex < Math.max(MIN_DIRECTORY_LENGTH, segmentCount * MAX_DIRECTORY_LENGTH_PER_SEGMENT) &&
+                        holeCount + SEGMENT_SIZE <= (elementCount + 1) * MAX_HOLES_PER_ELEMENT;
+    }
+
+    @TruffleBoundary
+    private Object addSegment(DynamicObject object, int segmentIndex) {
+        Object[] segments = getSegments(object);
+        if (segmentIndex >= segments.length) {
+            int maxSegmentCount = segmentIndex(Integer.MAX_VALUE - 1) + 1;
+            segments = Arrays.copyOf(segments, Math.min(maxSegmentCount, Math.max(segmentIndex + 1, segments.length * 2)));
+            arraySetArray(object, segments);
+        }
+        Object segment = allocateSegment();
+        segments[segmentIndex] = segment;
+        arraySetHoleCount(object, arrayGetHoleCount(object) + SEGMENT_SIZE);
+        return segment;
+    }
+
+    @TruffleBoundary
+    private SparseArray toSparse(DynamicObject object, long index, Object value) {
+        SparseArray newArray = SparseArray.makeSparseArray(object, this);
+        if (JSConfig.TraceArrayTransitions) {
+            traceArrayTransition(this, newArray, index, value);
+        }
+        return newArray;
+    }
+
+    @Override
+    public final ScriptArray deleteElementImpl(DynamicObject object, long index, boolean strict) {
+        Object segment = getSegment(object, index);
+        if (segment != null && !isHole(segment, segmentOffset(index))) {
+            setHole(segment, segmentOffset(index));
+            incrementElementCount(object, -1);
+        }
+        return this;
+    }
+
+    @Override
+    public final long length(DynamicObject object) {
+        return arrayGetLength(object);
+    }
+
+    @Override
+    public final int lengthInt(DynamicObject object) {
+        long len = arrayGetLength(object);
+        if (len > Integer.MAX_VALUE) {
+            throw Errors.unsupported("array length too large");
+        }
+        return (int) len;
+    }
+
+    @TruffleBoundary
+    @Override
+    public final ScriptArray setLengthImpl(DynamicObject object, long len, ProfileHolder profile) {
+        if (len > Integer.MAX_VALUE) {
+            return toSparse(object, len - 1, Undefined.instance).setLengthImpl(object, len, profile);
+        }
+        Object[] segments = getSegments(object);
+        int firstRemoved = segmentIndex(len + SEGMENT_MASK);
+        if (len < arrayGetLength(object)) {
+            int partialIndex = segmentIndex(len);
+            if (partialIndex < firstRemoved && partialIndex < segments.length && segments[partialIndex] != null) {
+                Object segment = segments[partialIndex];
+                for (int offset = segmentOffset(len); offset < SEGMENT_SIZE; offset++) {
+                    if (!isHole(segment, offset)) {
+                        setHole(segment, offset);
+                        incrementElementCount(object, -1);
+                    }
+                }
+            }
+            for (int i = firstRemoved; i < segments.length; i++) {
+                if (segments[i] != null) {
+                    int holes = countHoles(segments[i]);
+                    arraySetUsedLength(object, arrayGetUsedLength(object) - (SEGMENT_SIZE - holes));
+                    arraySetHoleCount(object, arrayGetHoleCount(object) - holes);
+                    segments[i] = null;
+                }
+            }
+        }
+        arraySetLength(object, len);
+        return this;
+    }
+
+    private int countHoles(Object segment) {
+        int holes = 0;
+        for (int offset = 0; offset < SEGMENT_SIZE; offset++) {
+            if (isHole(segment, offset)) {
+                holes++;
+            }
+        }
+        return holes;
+    }
+
+    @Override
+    public final long firstElementIndex(DynamicObject object) {
+        long firstIndex = nextElementIndex(object, -1);
+        return firstIndex != JSRuntime.MAX_SAFE_INTEGER_LONG ? firstIndex : 0;
+    }
+
+    @Override
+    public final long lastElementIndex(DynamicObject object) {
+        return previousElementIndex(object, arrayGetLength(object));
+    }
+
+    @Override
+    public final long nextElementIndex(DynamicObject object, long index) {
+        Object[] segments = getSegments(object);
+        long length = arrayGetLength(object);
+        for (long i = index + 1; i < length;) {
+            int segmentIndex = segmentIndex(i);
+            if (segmentIndex >= segments.length) {
+                break;
+            }
+            Object segment = segments[segmentIndex];
+            if (segment != null) {
+                for (int offset = segmentOffset(i); offset < SEGMENT_SIZE; offset++) {
+                    if (!isHole(segment, offset)) {
+                        return ((long) segmentIndex << SEGMENT_BITS) + offset;
+                    }
+                }
+            }
+            i = (long) (segmentIndex + 1) << SEGMENT_BITS;
+        }
+        return JSRuntime.MAX_SAFE_INTEGER_LONG;
+    }
+
+    @Override
+    public final long previousElementIndex(DynamicObject object, long index) {
+        Object[] segments = getSegments(object);
+        long from = Math.min(index - 1, Math.min(arrayGetLength(object), (long) segments.length << SEGMENT_BITS) - 1);
+        for (long i = from; i >= 0;) {
+            int segmentIndex = segmentIndex(i);
+            Object segment = segments[segmentIndex];
+            if (segment != null) {
+                for (int offset = segmentOffset(i); offset >= 0; offset--) {
+                    if (!isHole(segment, offset)) {
+                        return ((long) segmentIndex << SEGMENT_BITS) + offset;
+                    }
+                }
+            }
+            i = ((long) segmentIndex << SEGMENT_BITS) - 1;
+        }
+        return -1;
+    }
+
+    @Override
+    public final Object[] toArray(DynamicObject object) {
+        Object[] newArray = new Object[lengthInt(object)];
+        Arrays.fill(newArray, Undefined.instance);
+        for (long i = nextElementIndex(object, -1); i < newArray.length; i = nextElementIndex(object, i)) {
+            newArray[(int) i] = getElementInBounds(object, i);
+        }
+        return newArray;
+    }
+
+    @TruffleBoundary
+    @Override
+    public final Object cloneArray(DynamicObject object) {
+        Object[] segments = getSegments(object).clone();
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i] != null) {
+                segments[i] = copySegment(segments[i]);
+            }
+        }
+        return segments;
+    }
+
+    @Override
+    public final boolean isHolesType() {
+        return true;
+    }
+
+    @Override
+    public final boolean hasHoles(DynamicObject object) {
+        return true;
+    }
+
+    /**
+     * Removes the elements in [start, end[ and moves all higher elements downwards.
+     */
+    @TruffleBoundary
+    @Override
+    public final ScriptArray removeRangeImpl(DynamicObject object, long start, long end) {
+        assert start >= 0 && start <= end;
+        long delta = end - start;
+        for (long i = nextElementIndex(object, start - 1); i < end; i = nextElementIndex(object, i)) {
+            deleteElementImpl(object, i, false);
+        }
+        // elements are moved in ascending order, so each target is free
+        for (long i = nextElementIndex(object, end - 1); i != JSRuntime.MAX_SAFE_INTEGER_LONG; i = nextElementIndex(object, i)) {
+            moveElement(object, i, i - delta);
+        }
+        return this;
+    }
+
+    /**
+     * Moves all elements from offset upwards by the given size.
+     */
+    @TruffleBoundary
+    @Override
+    public final ScriptArray addRangeImpl(DynamicObject object, long offset, int size) {
+        if (!isSupportedIndex(lastElementIndex(object) + size)) {
+            return toSparse(object, offset, null).addRangeImpl(object, offset, size);
+        }
+        // elements are moved in descending order, so each target is free
+        for (long i = lastElementIndex(object); i >= offset; i = previousElementIndex(object, i)) {
+            moveElement(object, i, i + size);
+        }
+        return this;
+    }
+
+    private void moveElement(DynamicObject object, long fromIndex, long toIndex) {
+        Object value = getElementInBounds(object, fromIndex);
+        deleteElementImpl(object, fromIndex, false);
+        int segmentIndex = segmentIndex(toIndex);
+        Object segment = getSegment(object, toIndex);
+        if (segment == null) {
+            segment = addSegment(object, segmentIndex);
+        }
+        assert isHole(segment, segmentOffset(toIndex));
+        setValue(segment, segmentOffset(toIndex), value);
+        incrementElementCount(object, 1);
+        if (toIndex >= arrayGetLength(object)) {
+            arraySetLength(object, toIndex + 1);
+        }
+    }
+
+    @TruffleBoundary
+    @Override
+    public final List<Object> ownPropertyKeys(DynamicObject object) {
+        List<Object> list = new ArrayList<>(arrayGetUsedLength(object));
+        for (long i = nextElementIndex(object, -1); i != JSRuntime.MAX_SAFE_INTEGER_LONG; i = nextElementIndex(object, i)) {
+            list.add(Boundaries.stringValueOf(i));
+        }
+        return list;
+    }
+}
@@ -267,6 +267,19 @@ public abstract class AbstractWritableArray extends DynamicArray {
         }
     }
 
+    /**
+     * Grows the backing array in a single step so that it can hold the element at {@code index},
+     * e.g. before appending several elements. Only grows to the right, using the same geometric
+     * policy as single element writes; does not change length or used length.
+     */
+    public final void reserveCapacity(DynamicObject object, long index) {
+        assert !isHolesType() && index < Integer.MAX_VALUE;
+        int internalIndex = prepareInBoundsFast(object, index);
+        if (internalIndex >= getArrayCapacity(object)) {
+            ensureCapacity(object, internalIndex, 0, ProfileHolder.empty());
+        }
+    }
+
     private int ensureCapacityContiguous(DynamicObject object, int internalIndex, ProfileHolder profile) {
         int offset = ensureCapacity(object, internalIndex, getIndexOffset(object), profile);
         if (offset != 0) {
@@ -365,8 +378,17 @@ public abstract class AbstractWritableArray extends DynamicArray {
         return this;
     }
 
-    public final SparseArray toSparse(DynamicObject object, long index, Object value) {
-        SparseArray newArray = SparseArray.makeSparseArray(object, this);
+    /**
+     * Transition for writes too far outside the backing array: arrays with indices below 2^26 and
+     * a length in the int range continue with segmented storage, others use a {@link SparseArray}.
+     */
+    public final DynamicArray toSparse(DynamicObject object, long index, Object value) {
+        DynamicArray newArray;
+        if (AbstractSegmentedArray.isSupported(Math.max(index, lastElementIndex(object)), length(object))) {
+            newArray = AbstractSegmentedArray.makeSegmentedArray(object, this);
+        } else {
+            newArray = SparseArray.makeSparseArray(object, this);
+        }
         if (JSConfig.TraceArrayTransitions) {
             traceArrayTransition(this, newArray, index, value);
         }
@@ -40,16 +40,285 @@
  */
 package com.oracle.truffle.js.runtime.array.dyn;
 
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetArray;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetArrayType;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetUsedLength;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetArray;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetArrayType;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetLength;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetUsedLength;
+
 import java.util.Arrays;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.util.SimpleArrayList;
+
+public final class ArrayCopy {
 
-final class ArrayCopy {
+    private static final int KIND_NONE = -1;
+    private static final int KIND_EMPTY = 0;
+    private static final int KIND_INT = 1;
+    private static final int KIND_DOUBLE = 2;
+    private static final int KIND_OBJECT = 3;
 
     private ArrayCopy() {
         // private constructor
     }
 
+    /**
+     * Appends the elements [{@code sourceStart}, {@code sourceEnd}[ of a fast array to the fast
+     * array {@code target} at index {@code targetStart}, copying backing arrays instead of single
+     * elements. The target has to be an empty array or a zero-based array with exactly the
+     * elements [0, {@code targetStart}[; the result is a zero-based int, double or object array,
+     * whichever holds both element kinds. The backing array of a non-empty target grows
+     * geometrically, so that repeated appends (e.g. in concat) copy each element a constant number
+     * of times on average.
+     *
+     * Defines the elements like CreateDataPropertyOrThrow would and does not change the target
+     * length if it is already larger. Returns {@code false} without any side effects if the source
+     * range might contain holes or either array has an unsupported storage strategy.
+     */
+    @TruffleBoundary
+    public static boolean appendRange(DynamicObject target, int targetStart, DynamicObject source, int sourceStart, int sourceEnd) {
+        assert JSArray.isJSFastArray(target) && JSArray.isJSFastArray(source) && sourceStart < sourceEnd;
+        ScriptArray targetType = arrayGetArrayType(target);
+        ScriptArray sourceType = arrayGetArrayType(source);
+        int targetKind = targetElementKind(target, targetType, targetStart);
+        int sourceKind = sourceElementKind(source, sourceType, sourceStart, sourceEnd);
+        long newUsedLength = (long) targetStart + (sourceEnd - sourceStart);
+        long targetLength = targetType.length(target);
+        if (targetKind == KIND_NONE || sourceKind == KIND_NONE || newUsedLength > SimpleArrayList.MAX_ARRAY_SIZE || targetLength > Integer.MAX_VALUE) {
+            return false;
+        }
+        int usedLength = (int) newUsedLength;
+        int kind = Math.max(targetKind, sourceKind);
+        Object array = arrayGetArray(target);
+        ScriptArray newType;
+        if (kind == KIND_INT) {
+            int[] ints;
+            if (targetKind == KIND_INT && ((int[]) array).length >= usedLength) {
+                ints = (int[]) array;
+            } else {
+                ints = new int[appendCapacity(target, targetType, targetStart, usedLength)];
+                copyToInt(target, targetType, 0, targetStart, ints, 0);
+            }
+            copyToInt(source, sourceType, sourceStart, sourceEnd, ints, targetStart);
+            array = ints;
+            newType = ZeroBasedIntArray.createZeroBasedIntArray();
+        } else if (kind == KIND_DOUBLE) {
+            double[] doubles;
+            if (targetKind == KIND_DOUBLE && ((double[]) array).length >= usedLength) {
+                doubles = (double[]) array;
+            } else {
+                doubles = new double[appendCapacity(target, targetType, targetStart, usedLength)];
+                copyToDouble(target, targetType, 0, targetStart, doubles, 0);
+            }
+            copyToDouble(source, sourceType, sourceStart, sourceEnd, doubles, targetStart);
+            array = doubles;
+            newType = ZeroBasedDoubleArray.createZeroBasedDoubleArray();
+        } else {
+            assert kind == KIND_OBJECT;
+            Object[] objects;
+            if (targetKind == KIND_OBJECT && ((Object[]) array).length >= usedLength) {
+                objects = (Object[]) array;
+            } else {
+                objects = new Object[appendCapacity(target, targetType, targetStart, usedLength)];
+                copyToObject(target, targetType, 0, targetStart, objects, 0);
+            }
+            copyToObject(source, sourceType, sourceStart, sourceEnd, objects, targetStart);
+            array = objects;
+            newType = ZeroBasedObjectArray.createZeroBasedObjectArray();
+        }
+        arraySetArray(target, array);
+        arraySetUsedLength(target, usedLength);
+        arraySetLength(target, (int) Math.max(targetLength, usedLength));
+        arraySetArrayType(target, newType);
+        return true;
+    }
+
+    /**
+     * Copies all elements of a fast array into a new Java {@code int[]}, {@code long[]} or
+     * {@code double[]} (given by {@code componentType}), directly from the backing array and
+     * without boxing. Only int elements are copied into {@code int[]} and {@code long[]}, and int
+     * or double elements into {@code double[]}, so no conversion can lose information. Returns
+     * {@code null} if the array might contain holes or the elements do not fit the component type.
+     */
+    @TruffleBoundary
+    public static Object toPrimitiveArray(DynamicObject source, Class<?> componentType) {
+        assert JSArray.isJSFastArray(source);
+        ScriptArray sourceType = arrayGetArrayType(source);
+        long length = sourceType.length(source);
+        if (length == 0 || length > Integer.MAX_VALUE) {
+            return null;
+        }
+        int len = (int) length;
+        int kind = sourceElementKind(source, sourceType, 0, len);
+        if (componentType == int.class && kind == KIND_INT) {
+            int[] result = new int[len];
+            copyToInt(source, sourceType, 0, len, result, 0);
+            return result;
+        } else if (componentType == long.class && kind == KIND_INT) {
+            long[] result = new long[len];
+            copyToLong(source, sourceType, 0, len, result);
+            return result;
+        } else if (componentType == double.class && (kind == KIND_INT || kind == KIND_DOUBLE)) {
+            double[] result = new double[len];
+            copyToDouble(source, sourceType, 0, len, result, 0);
+            return result;
+        }
+        return null;
+    }
+
+    /**
+     * The first append allocates exactly the needed capacity (e.g. for slice); further appends
+     * double the capacity, like {@link AbstractWritableArray} does for single element writes.
+     */
+    private static int appendCapacity(DynamicObject target, ScriptArray targetType, int targetStart, int usedLength) {
+        if (targetStart == 0) {
+            return usedLength;
+        }
+        long doubled = (long) ((AbstractWritableArray) targetType).getArrayCapacity(target) << 1;
+        return (int) Math.max(usedLength, Math.min(doubled, SimpleArrayList.MAX_ARRAY_SIZE));
+    }
+
+    private static int targetElementKind(DynamicObject target, ScriptArray targetType, int targetStart) {
+        if (!targetType.isExtensible() || targetType.isLengthNotWritable()) {
+            return KIND_NONE;
+        } else if (targetType instanceof ConstantEmptyArray) {
+            // not ConstantEmptyPrototypeArray, which has to invalidate an assumption on writes
+            return targetStart == 0 ? KIND_EMPTY : KIND_NONE;
+        } else if (arrayGetUsedLength(target) != targetStart) {
+            return KIND_NONE;
+        } else if (targetType instanceof ZeroBasedIntArray) {
+            return KIND_INT;
+        } else if (targetType instanceof ZeroBasedDoubleArray) {
+            return KIND_DOUBLE;
+        } else if (targetType instanceof ZeroBasedObjectArray) {
+            return KIND_OBJECT;
+        } else {
+            return KIND_NONE;
+        }
+    }
+
+    private static int sourceElementKind(DynamicObject source, ScriptArray sourceType, int start, int end) {
+        if (sourceType instanceof AbstractWritableArray) {
+            AbstractWritableArray writable = (AbstractWritableArray) sourceType;
+            if (writable.isHolesType() || start < writable.firstElementIndex(source) || end - 1 > writable.lastElementIndex(source)) {
+                return KIND_NONE;
+            } else if (writable instanceof AbstractIntArray) {
+                return KIND_INT;
+            } else if (writable instanceof AbstractDoubleArray) {
+                return KIND_DOUBLE;
+            } else if (writable instanceof AbstractObjectArray || writable instanceof AbstractJSObjectArray) {
+                return KIND_OBJECT;
+            }
+        } else if (sourceType instanceof AbstractConstantArray && !sourceType.hasHoles(source) && end <= sourceType.lengthInt(source)) {
+            if (sourceType instanceof ConstantByteArray || sourceType instanceof ConstantIntArray) {
+                return KIND_INT;
+            } else if (sourceType instanceof ConstantDoubleArray) {
+                return KIND_DOUBLE;
+            } else if (sourceType instanceof ConstantObjectArray) {
+                return KIND_OBJECT;
+            }
+        }
+        return KIND_NONE;
+    }
+
+    private static int internalIndex(DynamicObject object, ScriptArray arrayType, int index) {
+        if (arrayType instanceof AbstractWritableArray) {
+            return ((AbstractWritableArray) arrayType).prepareInBoundsFast(object, index);
+        } else {
+            return index;
+        }
+    }
+
+    private static void copyToInt(DynamicObject source, ScriptArray sourceType, int start, int end, int[] dst, int dstPos) {
+        if (start == end) {
+            return;
+        }
+        Object array = arrayGetArray(source);
+        int from = internalIndex(source, sourceType, start);
+        int count = end - start;
+        if (array instanceof int[]) {
+            System.arraycopy((int[]) array, from, dst, dstPos, count);
+        } else {
+            byte[] bytes = (byte[]) array;
+            for (int i = 0; i < count; i++) {
+                dst[dstPos + i] = bytes[from + i];
+            }
+        }
+    }
+
+    private static void copyToLong(DynamicObject source, ScriptArray sourceType, int start, int end, long[] dst) {
+        Object array = arrayGetArray(source);
+        int from = internalIndex(source, sourceType, start);
+        int count = end - start;
+        if (array instanceof int[]) {
+            int[] ints = (int[]) array;
+            for (int i = 0; i < count; i++) {
+                dst[i] = ints[from + i];
+            }
+        } else {
+            byte[] bytes = (byte[]) array;
+            for (int i = 0; i < count; i++) {
+                dst[i] = bytes[from + i];
+            }
+        }
+    }
+
+    private static void copyToDouble(DynamicObject source, ScriptArray sourceType, int start, int end, double[] dst, int dstPos) {
+        if (start == end) {
+            return;
+        }
+        Object array = arrayGetArray(source);
+        int from = internalIndex(source, sourceType, start);
+        int count = end - start;
+        if (array instanceof double[]) {
+            System.arraycopy((double[]) array, from, dst, dstPos, count);
+        } else if (array instanceof int[]) {
+            int[] ints = (int[]) array;
+            for (int i = 0; i < count; i++) {
+                dst[dstPos + i] = ints[from + i];
+            }
+        } else {
+            byte[] bytes = (byte[]) array;
+            for (int i = 0; i < count; i++) {
+                dst[dstPos + i] = bytes[from + i];
+            }
+        }
+    }
+
+    private static void copyToObject(DynamicObject source, ScriptArray sourceType, int start, int end, Object[] dst, int dstPos) {
+        if (start == end) {
+            return;
+        }
+        Object array = arrayGetArray(source);
+        int from = internalIndex(source, sourceType, start);
+        int count = end - start;
+        if (array instanceof Object[]) {
+            System.arraycopy((Object[]) array, from, dst, dstPos, count);
+        } else if (array instanceof double[]) {
+            double[] doubles = (double[]) array;
+            for (int i = 0; i < count; i++) {
+                dst[dstPos + i] = doubles[from + i];
+            }
+        } else if (array instanceof int[]) {
+            int[] ints = (int[]) array;
+            for (int i = 0; i < count; i++) {
+                dst[dstPos + i] = ints[from + i];
+            }
+        } else {
+            byte[] bytes = (byte[]) array;
+            for (int i = 0; i < count; i++) {
+                dst[dstPos + i] = (int) bytes[from + i];
+            }
+        }
+    }
+
     static byte[] byteToByte(byte[] array) {
         return Arrays.copyOf(array, array.length);
     }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.array.dyn;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.object.DynamicObject;
+
+public final class SegmentedDoubleArray extends AbstractSegmentedArray {
+
+    private static final SegmentedDoubleArray SEGMENTED_DOUBLE_ARRAY = new SegmentedDoubleArray(INTEGRITY_LEVEL_NONE, createCache());
+
+    private SegmentedDoubleArray(int integrityLevel, DynamicArrayCache cache) {
+        super(integrityLevel, cache);
+    }
+
+    static SegmentedDoubleArray createSegmentedDoubleArray() {
+        return SEGMENTED_DOUBLE_ARRAY;
+    }
+
+    @Override
+    protected Object allocateSegment() {
+        double[] segment = new double[SEGMENT_SIZE];
+        Arrays.fill(segment, HolesDoubleArray.HOLE_VALUE_DOUBLE);
+        return segment;
+    }
+
+    @Override
+    protected Object copySegment(Object segment) {
+        return ((double[]) segment).clone();
+    }
+
+    @Override
+    protected boolean isHole(Object segment, int offset) {
+        return HolesDoubleArray.isHoleValue(((double[]) segment)[offset]);
+    }
+
+    @Override
+    protected Object getValue(Object segment, int offset) {
+        return ((double[]) segment)[offset];
+    }
+
+    @Override
+    protected void setValue(Object segment, int offset, Object value) {
+        ((double[]) segment)[offset] = value instanceof Integer ? (int) value : (double) value;
+    }
+
+    @Override
+    protected void setHole(Object segment, int offset) {
+        ((double[]) segment)[offset] = HolesDoubleArray.HOLE_VALUE_DOUBLE;
+    }
+
+    @Override
+    public boolean canStore(Object value) {
+        return value instanceof Integer || (value instanceof Double && !HolesDoubleArray.isHoleValue((double) value));
+    }
+
+    @Override
+    protected AbstractSegmentedArray generalize(DynamicObject object, Object value) {
+        return convertSegments(object, SegmentedObjectArray.createSegmentedObjectArray(), value);
+    }
+
+    @Override
+    protected SegmentedDoubleArray withIntegrityLevel(int newIntegrityLevel) {
+        return new SegmentedDoubleArray(newIntegrityLevel, cache);
+    }
+}
@@ -41,10 +41,10 @@
 package com.oracle.truffle.js.runtime.builtins;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.TreeMap;
 
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -61,6 +61,7 @@ import com.oracle.truffle.js.runtime.Symbol;
 import com.oracle.truffle.js.runtime.array.ArrayAllocationSite;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
 import com.oracle.truffle.js.runtime.array.SparseArray;
+import com.oracle.truffle.js.runtime.array.SparseArrayMap;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantEmptyPrototypeArray;
 import com.oracle.truffle.js.runtime.array.dyn.LazyRegexResultArray;
 import com.oracle.truffle.js.runtime.objects.JSAttributes;
@@ -144,7 +145,7 @@ public abstract class JSAbstractArray extends JSNonProxy {
 
     public static void arraySetArray(DynamicObject thisObj, Object array) {
         assert JSObject.hasArray(thisObj);
-        assert array != null && (array.getClass().isArray() || array instanceof TreeMap<?, ?>);
+        assert array != null && (array.getClass().isArray() || array instanceof SparseArrayMap);
         arrayAccess().setArray(thisObj, array);
     }
 
@@ -237,6 +238,55 @@ public abstract class JSAbstractArray extends JSNonProxy {
         }
     }
 
+    /**
+     * Sorts an array of primitive values (and undefined) in the default sort order, i.e. by their
+     * string values with undefined last. Unlike sorting with {@link #DEFAULT_JSARRAY_COMPARATOR},
+     * each element is converted to a string only once instead of in every comparison. Returns
+     * {@code false} (without modifying the array) if an element is an object, since its
+     * {@code toString} might have side effects, or a symbol, since converting it throws although
+     * the comparison might never be done (e.g. for a single element).
+     */
+    @TruffleBoundary
+    public static boolean sortDefaultByStringKeys(Object[] array) {
+        int count = 0;
+        for (Object element : array) {
+            if (!JSRuntime.isJSPrimitive(element) || element instanceof Symbol) {
+                return false;
+            } else if (element != Undefined.instance) {
+                count++;
+            }
+        }
+        StringSortKey[] keys = new StringSortKey[count];
+        int k = 0;
+        for (Object element : array) {
+            if (element != Undefined.instance) {
+                keys[k++] = new StringSortKey(JSRuntime.toString(element), element);
+            }
+        }
+        // stable; String.compareTo compares UTF-16 code units (Latin-1 strings byte-wise)
+        Arrays.sort(keys);
+        for (int i = 0; i < count; i++) {
+            array[i] = keys[i].value;
+        }
+        Arrays.fill(array, count, array.length, Undefined.instance);
+        return true;
+    }
+
+    private static final class StringSortKey implements Comparable<StringSortKey> {
+        final String key;
+        final Object value;
+
+        StringSortKey(String key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(StringSortKey other) {
+            return key.compareTo(other.key);
+        }
+    }
+
     protected JSAbstractArray() {
     }
 
@@ -115,6 +115,32 @@ public final class JSArrayBuffer extends JSAbstractBuffer implements JSConstruct
         return context.trackAllocation(obj);
     }
 
+    /**
+     * Creates an array buffer that shares the memory of a writable host {@link ByteBuffer}. Direct
+     * buffers (including memory-mapped file regions) are used as the backing store of a direct
+     * array buffer, heap buffers by their backing array. The contents are never copied. The array
+     * buffer covers the bytes from index 0 up to the limit of the buffer, like the interop view of
+     * the buffer. Returns {@code null} if the buffer cannot be shared this way.
+     */
+    @TruffleBoundary
+    public static DynamicObject createFromHostByteBuffer(JSContext context, ByteBuffer hostBuffer) {
+        if (hostBuffer.isReadOnly()) {
+            return null;
+        }
+        if (DirectByteBufferHelper.isDirectByteBuffer(hostBuffer)) {
+            ByteBuffer buffer = hostBuffer;
+            if (hostBuffer.limit() != hostBuffer.capacity()) {
+                buffer = hostBuffer.duplicate();
+                buffer.position(0);
+                buffer = buffer.slice();
+            }
+            return createDirectArrayBuffer(context, buffer);
+        } else if (hostBuffer.hasArray() && hostBuffer.arrayOffset() == 0 && hostBuffer.limit() == hostBuffer.array().length) {
+            return createArrayBuffer(context, hostBuffer.array());
+        }
+        return null;
+    }
+
     public static Object getInteropBuffer(Object thisObj) {
         assert isJSInteropArrayBuffer(thisObj);
         return JSArrayBufferObject.getInteropBuffer(thisObj);
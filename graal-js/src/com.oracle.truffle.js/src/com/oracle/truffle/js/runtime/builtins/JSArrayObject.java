@@ -54,6 +54,7 @@ import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.profiles.ValueProfile;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.JSGuards;
 import com.oracle.truffle.js.nodes.access.ReadElementNode;
@@ -133,12 +134,16 @@ public final class JSArrayObject extends JSArrayBase implements JSCopyableObject
                     @CachedLanguage @SuppressWarnings("unused") LanguageReference<JavaScriptLanguage> languageRef,
                     @Cached(value = "create(languageRef.get().getJSContext())", uncached = "getUncachedRead()") ReadElementNode readNode,
                     @Cached ExportValueNode exportNode,
-                    @CachedLibrary("this") InteropLibrary thisLibrary) throws InvalidArrayIndexException, UnsupportedMessageException {
-        if (index < 0 || index >= thisLibrary.getArraySize(this)) {
+                    @Cached("createClassProfile()") ValueProfile arrayTypeProfile) throws InvalidArrayIndexException {
+        if (index < 0 || index >= getArraySize()) {
             throw InvalidArrayIndexException.create(index);
         }
         Object result;
-        if (readNode == null) {
+        ScriptArray arrayType = arrayTypeProfile.profile(getArrayType());
+        if (JSArray.isJSFastArray(this) && arrayType.hasElement(this, index)) {
+            // Own element of a fast array: read it directly from the array storage.
+            result = arrayType.getElement(this, index);
+        } else if (readNode == null) {
             result = JSObject.getOrDefault(this, index, this, Undefined.instance);
         } else {
             result = readNode.executeWithTargetAndIndexOrDefault(this, index, Undefined.instance);
@@ -53,6 +53,7 @@ import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.util.StartupProfile;
 
 public final class JSFunctionData {
 
@@ -96,6 +97,15 @@ public final class JSFunctionData {
     private volatile CallTarget rootTarget;
     /** Lazy initialization function. */
     private volatile Initializer lazyInit;
+    /**
+     * Classification of this function as a comparator of {@code sort}, computed on first use.
+     *
+     * @see com.oracle.truffle.js.runtime.array.PrimitiveArraySort#getSortOrder(Object)
+     */
+    private volatile int comparatorSortOrder = UNCLASSIFIED_COMPARATOR;
+
+    /** Value of {@link #getComparatorSortOrder()} before the comparator has been classified. */
+    public static final int UNCLASSIFIED_COMPARATOR = Integer.MIN_VALUE;
 
     private static final AtomicReferenceFieldUpdater<JSFunctionData, CallTarget> UPDATER_CALL_TARGET = //
                     AtomicReferenceFieldUpdater.newUpdater(JSFunctionData.class, CallTarget.class, "callTarget");
@@ -260,6 +270,14 @@ public final class JSFunctionData {
         return flags;
     }
 
+    public int getComparatorSortOrder() {
+        return comparatorSortOrder;
+    }
+
+    public void setComparatorSortOrder(int comparatorSortOrder) {
+        this.comparatorSortOrder = comparatorSortOrder;
+    }
+
     public CallTarget getCallTarget(BranchProfile initBranch) {
         CallTarget result = callTarget;
         if (CompilerDirectives.injectBranchProbability(CompilerDirectives.FASTPATH_PROBABILITY, result != null)) {
@@ -382,6 +400,11 @@ public final class JSFunctionData {
         } else {
             callTargetInit = (CallTargetInitializer) ((RootCallTarget) rootCallTarget).getRootNode();
         }
+        // record the first call, not the translation, which may have been done ahead of time
+        StartupProfile startupProfile = context.getStartupProfile();
+        if (startupProfile != null) {
+            startupProfile.recordFunction(rootCallTarget);
+        }
         callTargetInit.initializeCallTarget(this, target, rootCallTarget);
         result = updater.get(this);
         assert result != null;
@@ -43,12 +43,16 @@ package com.oracle.truffle.js.runtime.builtins;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.builtins.GlobalBuiltins.ScriptEngineGlobalScopeBindingsPropertyProxy;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 
 public final class JSGlobal extends JSNonProxy {
@@ -65,7 +69,7 @@ public final class JSGlobal extends JSNonProxy {
         CompilerAsserts.neverPartOfCompilation();
         JSContext context = realm.getContext();
         JSObjectFactory factory = context.getGlobalObjectFactory();
-        DynamicObject global = new JSGlobalObject(factory.getShape(realm));
+        DynamicObject global = new JSGlobalObject(factory.getShape(realm), realm);
         factory.initProto(global, objectPrototype);
 
         JSObjectUtil.putToStringTag(global, CLASS_NAME);
@@ -85,7 +89,7 @@ public final class JSGlobal extends JSNonProxy {
 
     public static DynamicObject createGlobalScope(JSContext context) {
         CompilerAsserts.neverPartOfCompilation();
-        return new JSGlobalObject(context.getGlobalScopeShape());
+        return new JSGlobalObject(context.getGlobalScopeShape(), null);
     }
 
     public static boolean isJSGlobalObject(Object obj) {
@@ -110,4 +114,21 @@ public final class JSGlobal extends JSNonProxy {
         JSObject.getJSContext(thisObj).getGlobalObjectPristineAssumption().invalidate();
         return super.setPrototypeOf(thisObj, newPrototype);
     }
+
+    /**
+     * Globals imported from the GLOBAL_SCOPE bindings of a ScriptEngine are only shadowed by global
+     * properties, so deleting an imported global makes the binding visible again. This way, the
+     * ScriptEngine does not have to check for deleted globals before each evaluation.
+     */
+    @TruffleBoundary
+    @Override
+    public boolean delete(DynamicObject thisObj, Object key, boolean isStrict) {
+        Property property = thisObj.getShape().getProperty(key);
+        Object proxy = property != null && JSProperty.isProxy(property) ? JSDynamicObject.getOrNull(thisObj, key) : null;
+        boolean deleted = super.delete(thisObj, key, isStrict);
+        if (deleted && proxy instanceof ScriptEngineGlobalScopeBindingsPropertyProxy && ((ScriptEngineGlobalScopeBindingsPropertyProxy) proxy).isBound()) {
+            JSObjectUtil.defineProxyProperty(thisObj, key, (ScriptEngineGlobalScopeBindingsPropertyProxy) proxy, JSAttributes.getDefault());
+        }
+        return deleted;
+    }
 }
@@ -51,6 +51,7 @@ import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.profiles.ValueProfile;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.access.ReadElementNode;
 import com.oracle.truffle.js.nodes.access.WriteElementNode;
@@ -115,16 +116,20 @@ public final class JSTypedArrayObject extends JSArrayBufferViewBase {
 
     @ExportMessage
     public Object readArrayElement(long index,
-                    @CachedLanguage @SuppressWarnings("unused") LanguageReference<JavaScriptLanguage> languageRef,
+                    @CachedLanguage LanguageReference<JavaScriptLanguage> languageRef,
                     @Cached(value = "create(languageRef.get().getJSContext())", uncached = "getUncachedRead()") ReadElementNode readNode,
                     @Cached ExportValueNode exportNode,
-                    @CachedLibrary("this") InteropLibrary thisLibrary) throws InvalidArrayIndexException, UnsupportedMessageException {
+                    @Cached("createClassProfile()") ValueProfile arrayTypeProfile) throws InvalidArrayIndexException {
         DynamicObject target = this;
-        if (index < 0 || index >= thisLibrary.getArraySize(this)) {
+        if (index < 0 || index >= getArraySize()) {
             throw InvalidArrayIndexException.create(index);
         }
         Object result;
-        if (readNode == null) {
+        TypedArray arrayType = arrayTypeProfile.profile(JSArrayBufferView.typedArrayGetArrayType(this));
+        if (!arrayType.isInterop() && !JSArrayBufferView.hasDetachedBuffer(target, languageRef.get().getJSContext()) && arrayType.hasElement(target, index)) {
+            // Heap or direct buffer: read the element directly.
+            result = arrayType.getElement(target, index);
+        } else if (readNode == null) {
             result = JSObject.getOrDefault(target, index, target, Undefined.instance);
         } else {
             result = readNode.executeWithTargetAndIndexOrDefault(target, index, Undefined.instance);
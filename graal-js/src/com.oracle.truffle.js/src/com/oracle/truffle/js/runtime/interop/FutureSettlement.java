@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.interop;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Settles a promise with the outcome of a Java {@link CompletionStage}.
+ *
+ * The stage may complete on any thread. Its outcome is handed over to the agent of the subscribing
+ * realm, which settles the promise the next time it processes its pending jobs. No thread is
+ * blocked waiting for the future.
+ *
+ * Completion does not wake up the context: promise jobs can only run on a thread that the
+ * embedder has entered into the context, so if the context is idle, the promise is settled when
+ * the embedder next enters it (e.g. by evaluating code or calling a function).
+ */
+public final class FutureSettlement implements BiConsumer<Object, Throwable> {
+
+    private final JSRealm realm;
+    private final Object resolve;
+    private final Object reject;
+    private final int jobGeneration;
+    private Object result;
+    private Throwable failure;
+
+    private FutureSettlement(JSRealm realm, Object resolve, Object reject) {
+        this.realm = realm;
+        this.resolve = resolve;
+        this.reject = reject;
+        this.jobGeneration = realm.getAgent().getJobGeneration();
+    }
+
+    @TruffleBoundary
+    public static boolean isCompletionStage(JSRealm realm, Object value) {
+        TruffleLanguage.Env env = realm.getEnv();
+        return env.isHostObject(value) && env.asHostObject(value) instanceof CompletionStage<?>;
+    }
+
+    /**
+     * Calls {@code resolve} or {@code reject} once the given host {@link CompletionStage}
+     * completes.
+     */
+    @TruffleBoundary
+    public static void subscribe(JSRealm realm, Object stage, Object resolve, Object reject) {
+        assert isCompletionStage(realm, stage);
+        realm.getContext().signalFutureSettlementUsage();
+        CompletionStage<?> completionStage = (CompletionStage<?>) realm.getEnv().asHostObject(stage);
+        completionStage.whenComplete(new FutureSettlement(realm, resolve, reject));
+    }
+
+    @Override
+    public void accept(Object value, Throwable exception) {
+        // published to the agent's thread by the concurrent queue
+        this.result = value;
+        this.failure = exception;
+        realm.getAgent().enqueueFutureSettlement(this);
+    }
+
+    /**
+     * Returns the job generation of the agent at the time of subscription; the promise is not
+     * settled if the agent has discarded its pending jobs since.
+     */
+    public int getJobGeneration() {
+        return jobGeneration;
+    }
+
+    @TruffleBoundary
+    public void settle() {
+        if (failure == null) {
+            JSRuntime.call(resolve, Undefined.instance, new Object[]{toGuestValue(result)});
+        } else {
+            Throwable cause = failure;
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            JSRuntime.call(reject, Undefined.instance, new Object[]{toGuestValue(cause)});
+        }
+    }
+
+    private Object toGuestValue(Object value) {
+        if (value == null || value instanceof String || JSRuntime.isJavaPrimitive(value)) {
+            return JSRuntime.importValue(value);
+        }
+        return realm.getEnv().asGuestValue(value);
+    }
+}
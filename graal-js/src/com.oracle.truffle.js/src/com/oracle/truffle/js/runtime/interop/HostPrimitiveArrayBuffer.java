@@ -0,0 +1,464 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.interop;
+
+import java.nio.ByteOrder;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.js.runtime.array.TypedArrayFactory;
+
+/**
+ * Writable interop buffer over a Java primitive array, used as the backing store of an interop
+ * array buffer so that a typed array can share the memory of the host array (see
+ * {@code Java.asTypedArray}). Reads and writes of the element type at aligned offsets in native
+ * byte order, i.e. all typed array element accesses, map directly to array elements; other
+ * accesses are composed from the bytes of the affected elements. Typed arrays created by
+ * {@code Java.asTypedArray} bypass interop for element accesses and use {@code getArray()}
+ * directly (see {@link TypedArrayFactory#getHostArrayType()}).
+ */
+@ExportLibrary(InteropLibrary.class)
+public abstract class HostPrimitiveArrayBuffer implements TruffleObject {
+
+    private static final boolean NATIVE_LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+    HostPrimitiveArrayBuffer() {
+    }
+
+    /**
+     * Wraps a Java primitive array, or returns {@code null} if the array type is not supported.
+     */
+    @TruffleBoundary
+    public static HostPrimitiveArrayBuffer create(Object array) {
+        if (array instanceof int[]) {
+            return new IntArrayBuffer((int[]) array);
+        } else if (array instanceof double[]) {
+            return new DoubleArrayBuffer((double[]) array);
+        } else if (array instanceof float[]) {
+            return new FloatArrayBuffer((float[]) array);
+        } else if (array instanceof long[]) {
+            return new LongArrayBuffer((long[]) array);
+        } else if (array instanceof short[]) {
+            return new ShortArrayBuffer((short[]) array);
+        } else if (array instanceof char[]) {
+            return new CharArrayBuffer((char[]) array);
+        }
+        return null;
+    }
+
+    /**
+     * The typed array type whose elements correspond to the elements of the wrapped array.
+     */
+    public abstract TypedArrayFactory getTypedArrayFactory();
+
+    public abstract int getLength();
+
+    abstract int getElementSize();
+
+    /**
+     * Returns the raw bits of the element at the given index, zero-extended to 64 bits.
+     */
+    abstract long getElementBits(int index);
+
+    abstract void setElementBits(int index, long bits);
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    final boolean hasBufferElements() {
+        return true;
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    final boolean isBufferWritable() {
+        return true;
+    }
+
+    @ExportMessage
+    final long getBufferSize() {
+        return (long) getLength() * getElementSize();
+    }
+
+    @ExportMessage
+    final byte readBufferByte(long byteOffset) throws InvalidBufferOffsetException {
+        checkOffset(byteOffset, Byte.BYTES);
+        return getByte((int) byteOffset);
+    }
+
+    @ExportMessage
+    final void writeBufferByte(long byteOffset, byte value) throws InvalidBufferOffsetException {
+        checkOffset(byteOffset, Byte.BYTES);
+        setByte((int) byteOffset, value);
+    }
+
+    @ExportMessage
+    final short readBufferShort(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return (short) readBits(order, byteOffset, Short.BYTES);
+    }
+
+    @ExportMessage
+    final void writeBufferShort(ByteOrder order, long byteOffset, short value) throws InvalidBufferOffsetException {
+        writeBits(order, byteOffset, Short.BYTES, value);
+    }
+
+    @ExportMessage
+    final int readBufferInt(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return (int) readBits(order, byteOffset, Integer.BYTES);
+    }
+
+    @ExportMessage
+    final void writeBufferInt(ByteOrder order, long byteOffset, int value) throws InvalidBufferOffsetException {
+        writeBits(order, byteOffset, Integer.BYTES, value);
+    }
+
+    @ExportMessage
+    final long readBufferLong(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return readBits(order, byteOffset, Long.BYTES);
+    }
+
+    @ExportMessage
+    final void writeBufferLong(ByteOrder order, long byteOffset, long value) throws InvalidBufferOffsetException {
+        writeBits(order, byteOffset, Long.BYTES, value);
+    }
+
+    @ExportMessage
+    final float readBufferFloat(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return Float.intBitsToFloat((int) readBits(order, byteOffset, Float.BYTES));
+    }
+
+    @ExportMessage
+    final void writeBufferFloat(ByteOrder order, long byteOffset, float value) throws InvalidBufferOffsetException {
+        writeBits(order, byteOffset, Float.BYTES, Float.floatToRawIntBits(value));
+    }
+
+    @ExportMessage
+    final double readBufferDouble(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return Double.longBitsToDouble(readBits(order, byteOffset, Double.BYTES));
+    }
+
+    @ExportMessage
+    final void writeBufferDouble(ByteOrder order, long byteOffset, double value) throws InvalidBufferOffsetException {
+        writeBits(order, byteOffset, Double.BYTES, Double.doubleToRawLongBits(value));
+    }
+
+    private void checkOffset(long byteOffset, int size) throws InvalidBufferOffsetException {
+        if (byteOffset < 0 || byteOffset > getBufferSize() - size) {
+            throw InvalidBufferOffsetException.create(byteOffset, size);
+        }
+    }
+
+    private boolean isElementAccess(ByteOrder order, int byteOffset, int size) {
+        int elementSize = getElementSize();
+        return size == elementSize && order == ByteOrder.nativeOrder() && (byteOffset & (elementSize - 1)) == 0;
+    }
+
+    private long readBits(ByteOrder order, long byteOffset, int size) throws InvalidBufferOffsetException {
+        checkOffset(byteOffset, size);
+        int offset = (int) byteOffset;
+        if (isElementAccess(order, offset, size)) {
+            return getElementBits(offset / size);
+        }
+        boolean littleEndian = order == ByteOrder.LITTLE_ENDIAN;
+        long bits = 0;
+        for (int i = 0; i < size; i++) {
+            int shift = (littleEndian ? i : size - 1 - i) * Byte.SIZE;
+            bits |= (getByte(offset + i) & 0xffL) << shift;
+        }
+        return bits;
+    }
+
+    private void writeBits(ByteOrder order, long byteOffset, int size, long bits) throws InvalidBufferOffsetException {
+        checkOffset(byteOffset, size);
+        int offset = (int) byteOffset;
+        if (isElementAccess(order, offset, size)) {
+            setElementBits(offset / size, bits);
+            return;
+        }
+        boolean littleEndian = order == ByteOrder.LITTLE_ENDIAN;
+        for (int i = 0; i < size; i++) {
+            int shift = (littleEndian ? i : size - 1 - i) * Byte.SIZE;
+            setByte(offset + i, (byte) (bits >>> shift));
+        }
+    }
+
+    private int byteShift(int byteOffset) {
+        int elementSize = getElementSize();
+        int byteInElement = byteOffset & (elementSize - 1);
+        return (NATIVE_LITTLE_ENDIAN ? byteInElement : elementSize - 1 - byteInElement) * Byte.SIZE;
+    }
+
+    private byte getByte(int byteOffset) {
+        return (byte) (getElementBits(byteOffset / getElementSize()) >>> byteShift(byteOffset));
+    }
+
+    private void setByte(int byteOffset, byte value) {
+        int index = byteOffset / getElementSize();
+        int shift = byteShift(byteOffset);
+        long bits = getElementBits(index) & ~(0xffL << shift);
+        setElementBits(index, bits | ((value & 0xffL) << shift));
+    }
+
+    public static final class IntArrayBuffer extends HostPrimitiveArrayBuffer {
+        private final int[] array;
+
+        IntArrayBuffer(int[] array) {
+            this.array = array;
+        }
+
+        public int[] getArray() {
+            return array;
+        }
+
+        @Override
+        public TypedArrayFactory getTypedArrayFactory() {
+            return TypedArrayFactory.Int32Array;
+        }
+
+        @Override
+        public int getLength() {
+            return array.length;
+        }
+
+        @Override
+        int getElementSize() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        long getElementBits(int index) {
+            return array[index] & 0xffff_ffffL;
+        }
+
+        @Override
+        void setElementBits(int index, long bits) {
+            array[index] = (int) bits;
+        }
+    }
+
+    public static final class DoubleArrayBuffer extends HostPrimitiveArrayBuffer {
+        private final double[] array;
+
+        DoubleArrayBuffer(double[] array) {
+            this.array = array;
+        }
+
+        public double[] getArray() {
+            return array;
+        }
+
+        @Override
+        public TypedArrayFactory getTypedArrayFactory() {
+            return TypedArrayFactory.Float64Array;
+        }
+
+        @Override
+        public int getLength() {
+            return array.length;
+        }
+
+        @Override
+        int getElementSize() {
+            return Double.BYTES;
+        }
+
+        @Override
+        long getElementBits(int index) {
+            return Double.doubleToRawLongBits(array[index]);
+        }
+
+        @Override
+        void setElementBits(int index, long bits) {
+            array[index] = Double.longBitsToDouble(bits);
+        }
+    }
+
+    public static final class FloatArrayBuffer extends HostPrimitiveArrayBuffer {
+        private final float[] array;
+
+        FloatArrayBuffer(float[] array) {
+            this.array = array;
+        }
+
+        public float[] getArray() {
+            return array;
+        }
+
+        @Override
+        public TypedArrayFactory getTypedArrayFactory() {
+            return TypedArrayFactory.Float32Array;
+        }
+
+        @Override
+        public int getLength() {
+            return array.length;
+        }
+
+        @Override
+        int getElementSize() {
+            return Float.BYTES;
+        }
+
+        @Override
+        long getElementBits(int index) {
+            return Float.floatToRawIntBits(array[index]) & 0xffff_ffffL;
+        }
+
+        @Override
+        void setElementBits(int index, long bits) {
+            array[index] = Float.intBitsToFloat((int) bits);
+        }
+    }
+
+    public static final class LongArrayBuffer extends HostPrimitiveArrayBuffer {
+        private final long[] array;
+
+        LongArrayBuffer(long[] array) {
+            this.array = array;
+        }
+
+        public long[] getArray() {
+            return array;
+        }
+
+        @Override
+        public TypedArrayFactory getTypedArrayFactory() {
+            return TypedArrayFactory.BigInt64Array;
+        }
+
+        @Override
+        public int getLength() {
+            return array.length;
+        }
+
+        @Override
+        int getElementSize() {
+            return Long.BYTES;
+        }
+
+        @Override
+        long getElementBits(int index) {
+            return array[index];
+        }
+
+        @Override
+        void setElementBits(int index, long bits) {
+            array[index] = bits;
+        }
+    }
+
+    public static final class ShortArrayBuffer extends HostPrimitiveArrayBuffer {
+        private final short[] array;
+
+        ShortArrayBuffer(short[] array) {
+            this.array = array;
+        }
+
+        public short[] getArray() {
+            return array;
+        }
+
+        @Override
+        public TypedArrayFactory getTypedArrayFactory() {
+            return TypedArrayFactory.Int16Array;
+        }
+
+        @Override
+        public int getLength() {
+            return array.length;
+        }
+
+        @Override
+        int getElementSize() {
+            return Short.BYTES;
+        }
+
+        @Override
+        long getElementBits(int index) {
+            return array[index] & 0xffffL;
+        }
+
+        @Override
+        void setElementBits(int index, long bits) {
+            array[index] = (short) bits;
+        }
+    }
+
+    public static final class CharArrayBuffer extends HostPrimitiveArrayBuffer {
+        private final char[] array;
+
+        CharArrayBuffer(char[] array) {
+            this.array = array;
+        }
+
+        public char[] getArray() {
+            return array;
+        }
+
+        @Override
+        public TypedArrayFactory getTypedArrayFactory() {
+            return TypedArrayFactory.Uint16Array;
+        }
+
+        @Override
+        public int getLength() {
+            return array.length;
+        }
+
+        @Override
+        int getElementSize() {
+            return Character.BYTES;
+        }
+
+        @Override
+        long getElementBits(int index) {
+            return array[index];
+        }
+
+        @Override
+        void setElementBits(int index, long bits) {
+            array[index] = (char) bits;
+        }
+    }
+}
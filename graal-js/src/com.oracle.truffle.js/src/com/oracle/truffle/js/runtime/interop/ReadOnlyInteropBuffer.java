@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.interop;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.js.runtime.array.ByteBufferAccess;
+import com.oracle.truffle.js.runtime.array.TypedArrayFactory;
+
+/**
+ * Read-only interop buffer over a {@link ByteBuffer}, e.g. a read-only memory-mapped file region.
+ * Used as the backing store of an interop array buffer, so that writes through typed arrays and
+ * data views are rejected. Typed arrays over such a buffer read their elements directly from the
+ * byte buffer (see {@link TypedArrayFactory#createReadOnlyArrayType}).
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class ReadOnlyInteropBuffer implements TruffleObject {
+    final ByteBuffer byteBuffer;
+
+    public ReadOnlyInteropBuffer(ByteBuffer byteBuffer) {
+        this.byteBuffer = byteBuffer;
+    }
+
+    public ByteBuffer getByteBuffer() {
+        return byteBuffer;
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    boolean hasBufferElements() {
+        return true;
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    boolean isBufferWritable() {
+        return false;
+    }
+
+    @ExportMessage
+    long getBufferSize() {
+        return byteBuffer.limit();
+    }
+
+    @ExportMessage
+    byte readBufferByte(long byteOffset) throws InvalidBufferOffsetException {
+        try {
+            return byteBuffer.get(Math.toIntExact(byteOffset));
+        } catch (IndexOutOfBoundsException | ArithmeticException e) {
+            throw InvalidBufferOffsetException.create(byteOffset, Byte.BYTES);
+        }
+    }
+
+    @ExportMessage
+    short readBufferShort(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        try {
+            return (short) ByteBufferAccess.forOrder(order == ByteOrder.LITTLE_ENDIAN).getInt16(byteBuffer, Math.toIntExact(byteOffset));
+        } catch (IndexOutOfBoundsException | ArithmeticException e) {
+            throw InvalidBufferOffsetException.create(byteOffset, Short.BYTES);
+        }
+    }
+
+    @ExportMessage
+    int readBufferInt(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        try {
+            return ByteBufferAccess.forOrder(order == ByteOrder.LITTLE_ENDIAN).getInt32(byteBuffer, Math.toIntExact(byteOffset));
+        } catch (IndexOutOfBoundsException | ArithmeticException e) {
+            throw InvalidBufferOffsetException.create(byteOffset, Integer.BYTES);
+        }
+    }
+
+    @ExportMessage
+    long readBufferLong(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        try {
+            return ByteBufferAccess.forOrder(order == ByteOrder.LITTLE_ENDIAN).getInt64(byteBuffer, Math.toIntExact(byteOffset));
+        } catch (IndexOutOfBoundsException | ArithmeticException e) {
+            throw InvalidBufferOffsetException.create(byteOffset, Long.BYTES);
+        }
+    }
+
+    @ExportMessage
+    float readBufferFloat(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        try {
+            return ByteBufferAccess.forOrder(order == ByteOrder.LITTLE_ENDIAN).getFloat(byteBuffer, Math.toIntExact(byteOffset));
+        } catch (IndexOutOfBoundsException | ArithmeticException e) {
+            throw InvalidBufferOffsetException.create(byteOffset, Float.BYTES);
+        }
+    }
+
+    @ExportMessage
+    double readBufferDouble(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        try {
+            return ByteBufferAccess.forOrder(order == ByteOrder.LITTLE_ENDIAN).getDouble(byteBuffer, Math.toIntExact(byteOffset));
+        } catch (IndexOutOfBoundsException | ArithmeticException e) {
+            throw InvalidBufferOffsetException.create(byteOffset, Double.BYTES);
+        }
+    }
+}
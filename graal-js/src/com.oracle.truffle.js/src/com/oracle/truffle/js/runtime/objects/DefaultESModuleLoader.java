@@ -42,7 +42,6 @@ package com.oracle.truffle.js.runtime.objects;
 
 import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.source.Source;
-import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.UserScriptException;
@@ -129,7 +128,7 @@ public class DefaultESModuleLoader implements JSModuleLoader {
         if (existingModule != null) {
             return existingModule;
         }
-        Source source = Source.newBuilder(JavaScriptLanguage.ID, moduleFile).name(specifier).build();
+        Source source = realm.getContext().getFileSource(moduleFile, specifier);
         JSModuleRecord newModule = realm.getContext().getEvaluator().parseModule(realm.getContext(), source, this);
         moduleMap.put(canonicalPath, newModule);
         return newModule;
@@ -113,6 +113,15 @@ public final class JSModuleRecord extends ScriptOrModule {
         setUninstantiated();
     }
 
+    public JSModuleRecord(JSModuleData parsedModule, JSContext context, JSModuleLoader moduleLoader) {
+        this(parsedModule.getModule(), context, moduleLoader, parsedModule.getSource());
+        this.functionData = parsedModule.getFunctionData();
+        this.frameDescriptor = parsedModule.getFrameDescriptor();
+        if (parsedModule.isTopLevelAsync()) {
+            setTopLevelAsync();
+        }
+    }
+
     public Object getModule() {
         return module;
     }
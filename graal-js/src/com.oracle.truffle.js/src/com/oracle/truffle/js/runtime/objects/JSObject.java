@@ -71,6 +71,8 @@ import com.oracle.truffle.js.nodes.interop.ExportValueNode;
 import com.oracle.truffle.js.nodes.interop.ImportValueNode;
 import com.oracle.truffle.js.nodes.interop.JSInteropGetIteratorNode;
 import com.oracle.truffle.js.nodes.interop.JSInteropInvokeNode;
+import com.oracle.truffle.js.nodes.interop.JSInteropReadMemberNode;
+import com.oracle.truffle.js.nodes.interop.JSInteropWriteMemberNode;
 import com.oracle.truffle.js.nodes.interop.KeyInfoNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSConfig;
@@ -160,7 +162,7 @@ public abstract class JSObject extends JSDynamicObject {
     @ExportMessage
     public final Object readMember(String key,
                     @CachedLanguage @SuppressWarnings("unused") LanguageReference<JavaScriptLanguage> languageRef,
-                    @Cached(value = "create(languageRef.get().getJSContext())", uncached = "getUncachedRead()") ReadElementNode readNode,
+                    @Cached(value = "create(languageRef.get().getJSContext())", uncached = "getUncachedMemberRead()") JSInteropReadMemberNode readNode,
                     @Cached(value = "languageRef.get().bindMemberFunctions()", allowUncached = true) boolean bindMemberFunctions,
                     @Cached @Exclusive ExportValueNode exportNode) throws UnknownIdentifierException {
         DynamicObject target = this;
@@ -168,7 +170,7 @@ public abstract class JSObject extends JSDynamicObject {
         if (readNode == null) {
             result = JSObject.getOrDefault(target, key, target, null);
         } else {
-            result = readNode.executeWithTargetAndIndexOrDefault(target, key, null);
+            result = readNode.execute(target, key, null);
         }
         if (result == null) {
             throw UnknownIdentifierException.create(key);
@@ -187,7 +189,7 @@ public abstract class JSObject extends JSDynamicObject {
                     @Shared("keyInfo") @Cached KeyInfoNode keyInfo,
                     @Cached ImportValueNode castValueNode,
                     @CachedLanguage @SuppressWarnings("unused") LanguageReference<JavaScriptLanguage> languageRef,
-                    @Cached(value = "createCachedInterop(languageRef)", uncached = "getUncachedWrite()") WriteElementNode writeNode)
+                    @Cached(value = "create(languageRef.get().getJSContext())", uncached = "getUncachedMemberWrite()") JSInteropWriteMemberNode writeNode)
                     throws UnknownIdentifierException, UnsupportedMessageException {
         DynamicObject target = this;
         if (testIntegrityLevel(true)) {
@@ -200,7 +202,7 @@ public abstract class JSObject extends JSDynamicObject {
         if (writeNode == null) {
             JSObject.set(target, key, importedValue, true, null);
         } else {
-            writeNode.executeWithTargetAndIndexAndValue(target, key, importedValue);
+            writeNode.execute(target, key, importedValue);
         }
     }
 
@@ -308,6 +310,14 @@ public abstract class JSObject extends JSDynamicObject {
         return null;
     }
 
+    public static JSInteropReadMemberNode getUncachedMemberRead() {
+        return null;
+    }
+
+    public static JSInteropWriteMemberNode getUncachedMemberWrite() {
+        return null;
+    }
+
     public static JSClass getJSClass(DynamicObject obj) {
         return JSShape.getJSClass(obj.getShape());
     }
@@ -61,6 +61,15 @@ public final class DirectByteBufferHelper {
         return cast(allocateDirectImpl(length));
     }
 
+    /**
+     * Returns true if the buffer is a writable direct buffer of the exact class assumed by
+     * {@link #cast(ByteBuffer)}, e.g. a buffer allocated with {@link ByteBuffer#allocateDirect} or
+     * a writable memory-mapped file region.
+     */
+    public static boolean isDirectByteBuffer(ByteBuffer buffer) {
+        return buffer.getClass() == DIRECT_BYTE_BUFFER_CLASS;
+    }
+
     public static ByteBuffer cast(ByteBuffer buffer) {
         return CompilerDirectives.castExact(buffer, DIRECT_BYTE_BUFFER_CLASS);
     }
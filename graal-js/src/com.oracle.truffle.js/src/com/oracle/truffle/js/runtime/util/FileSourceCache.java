@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.io.IOException;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+
+/**
+ * Engine-wide store of the contents of files loaded by {@code load}, {@code require} and module
+ * imports. Each file is read and decoded by Truffle only once, and the decoded characters are
+ * shared by all contexts of the engine. Sources built from the same characters are equal, so that
+ * Truffle can also share the parsed call targets.
+ *
+ * Entries are keyed by canonical path and validated against the last modified time and size of
+ * the file on every lookup (hashing the content would require reading the file again). Lookups
+ * always go through the {@link TruffleFile} of the requesting context, and every returned
+ * {@link Source} is built from that file, so file system access checks are still performed per
+ * context and no source refers to the file of another context. Since contexts sharing an engine
+ * may use different file systems, the cache is only enabled by the {@code js.shared-source-cache}
+ * option. At most {@code js.shared-source-cache-size} files are kept, least recently used files
+ * are evicted first.
+ */
+public final class FileSourceCache {
+
+    private final Map<String, FileContent> contents;
+
+    public FileSourceCache(int maxSize) {
+        this.contents = Collections.synchronizedMap(new LinkedHashMap<String, FileContent>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FileContent> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Returns a source for the given file, reusing the previously loaded content if the file has
+     * not been changed in the meantime.
+     *
+     * @param name source name, or {@code null} to use the file name
+     */
+    @TruffleBoundary
+    public Source getSource(TruffleFile file, String name) throws IOException {
+        TruffleFile canonicalFile = file.getCanonicalFile();
+        FileTime lastModifiedTime = canonicalFile.getLastModifiedTime();
+        long size = canonicalFile.size();
+        String canonicalPath = canonicalFile.getPath();
+        FileContent content = contents.get(canonicalPath);
+        if (content != null && content.isUpToDate(lastModifiedTime, size)) {
+            return newSourceBuilder(file, name).content(content.characters).build();
+        }
+        // let Truffle read the file, so that it is decoded like any other source file
+        Source source = newSourceBuilder(file, name).build();
+        contents.put(canonicalPath, new FileContent(lastModifiedTime, size, source.getCharacters()));
+        return source;
+    }
+
+    public void clear() {
+        contents.clear();
+    }
+
+    private static Source.SourceBuilder newSourceBuilder(TruffleFile file, String name) {
+        Source.SourceBuilder builder = Source.newBuilder(JavaScriptLanguage.ID, file);
+        if (name != null) {
+            builder.name(name);
+        }
+        return builder;
+    }
+
+    private static final class FileContent {
+        private final FileTime lastModifiedTime;
+        private final long size;
+        private final CharSequence characters;
+
+        FileContent(FileTime lastModifiedTime, long size, CharSequence characters) {
+            this.lastModifiedTime = lastModifiedTime;
+            this.size = size;
+            this.characters = characters;
+        }
+
+        boolean isUpToDate(FileTime newLastModifiedTime, long newSize) {
+            return lastModifiedTime.equals(newLastModifiedTime) && size == newSize;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Engine-wide cache for CommonJS module resolution. Resolving a module identifier walks all
+ * {@code node_modules} folders up to the file system root and probes several file extensions and
+ * {@code package.json} files in each of them. With this cache, each (identifier, parent directory)
+ * pair is resolved only once per engine, and the individual file probes and {@code package.json}
+ * {@code main} lookups are shared as well.
+ *
+ * Paths are stored as strings, since {@link com.oracle.truffle.api.TruffleFile}s are bound to the
+ * environment of a single context. A cached resolution is only a hint: callers check that the
+ * resolved file still exists through the file system of the requesting context before using it.
+ * Entries expire once a time to live is configured with the
+ * {@code js.commonjs-resolution-cache-ttl} option. Without a time to live, only resolved paths
+ * are cached; negative results, file probes and {@code package.json} lookups could never be
+ * revalidated and are not cached at all. Each map holds at most
+ * {@code js.commonjs-resolution-cache-size} entries, least recently used entries are evicted
+ * first.
+ */
+public final class ModuleResolutionCache {
+
+    /** Cached result for an identifier that could not be resolved. */
+    public static final Object NOT_FOUND = new Object();
+    /** Cached {@code main} value of a {@code package.json} without a string {@code main}. */
+    public static final Object NO_MAIN = new Object();
+    /** Cached {@code main} value of a {@code package.json} that is not a JSON object. */
+    public static final Object INVALID_PACKAGE = new Object();
+
+    private final long timeToLiveNanos;
+    private final Map<ResolutionKey, Entry<Object>> resolutions;
+    /** File probes and {@code package.json} lookups, {@code null} without a time to live. */
+    private final Map<String, Entry<Boolean>> regularFiles;
+    private final Map<String, Entry<Object>> packageMains;
+
+    /**
+     * @param timeToLiveMillis time after which entries are invalidated, or 0 to cache only
+     *            resolved paths, without expiry
+     * @param maxSize maximum number of entries of each map
+     */
+    public ModuleResolutionCache(long timeToLiveMillis, int maxSize) {
+        this.timeToLiveNanos = timeToLiveMillis * 1_000_000L;
+        this.resolutions = createLRUMap(maxSize);
+        this.regularFiles = timeToLiveNanos > 0 ? createLRUMap(maxSize) : null;
+        this.packageMains = timeToLiveNanos > 0 ? createLRUMap(maxSize) : null;
+    }
+
+    private static <K, V> Map<K, V> createLRUMap(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Returns the cached resolved path, {@link #NOT_FOUND}, or {@code null} if not cached.
+     */
+    @TruffleBoundary
+    public Object getResolution(String moduleIdentifier, String parentPath) {
+        return get(resolutions, new ResolutionKey(moduleIdentifier, parentPath));
+    }
+
+    /**
+     * Caches the resolved path, or that the identifier could not be resolved if
+     * {@code resolvedPath} is {@code null}.
+     */
+    @TruffleBoundary
+    public void putResolution(String moduleIdentifier, String parentPath, String resolvedPath) {
+        ResolutionKey key = new ResolutionKey(moduleIdentifier, parentPath);
+        if (resolvedPath == null && timeToLiveNanos == 0) {
+            resolutions.remove(key);
+            return;
+        }
+        resolutions.put(key, new Entry<>(resolvedPath == null ? NOT_FOUND : resolvedPath, now()));
+    }
+
+    /**
+     * Returns whether the path was found to be a regular file, or {@code null} if not cached.
+     */
+    @TruffleBoundary
+    public Boolean getRegularFile(String path) {
+        return regularFiles == null ? null : get(regularFiles, path);
+    }
+
+    @TruffleBoundary
+    public void putRegularFile(String path, boolean regularFile) {
+        if (regularFiles != null) {
+            regularFiles.put(path, new Entry<>(regularFile, now()));
+        }
+    }
+
+    /**
+     * Returns the cached {@code main} value of a {@code package.json} file, {@link #NO_MAIN},
+     * {@link #INVALID_PACKAGE}, or {@code null} if not cached.
+     */
+    @TruffleBoundary
+    public Object getPackageMain(String packageJsonPath) {
+        return packageMains == null ? null : get(packageMains, packageJsonPath);
+    }
+
+    @TruffleBoundary
+    public void putPackageMain(String packageJsonPath, Object main) {
+        if (packageMains != null) {
+            packageMains.put(packageJsonPath, new Entry<>(main, now()));
+        }
+    }
+
+    @TruffleBoundary
+    public void clear() {
+        resolutions.clear();
+        if (regularFiles != null) {
+            regularFiles.clear();
+            packageMains.clear();
+        }
+    }
+
+    private <K, V> V get(Map<K, Entry<V>> map, K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (timeToLiveNanos > 0 && now() - entry.timestamp > timeToLiveNanos) {
+            map.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    private long now() {
+        return timeToLiveNanos > 0 ? System.nanoTime() : 0L;
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long timestamp;
+
+        Entry(V value, long timestamp) {
+            this.value = value;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private static final class ResolutionKey {
+        private final String moduleIdentifier;
+        private final String parentPath;
+
+        ResolutionKey(String moduleIdentifier, String parentPath) {
+            this.moduleIdentifier = moduleIdentifier;
+            this.parentPath = parentPath;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ResolutionKey)) {
+                return false;
+            }
+            ResolutionKey other = (ResolutionKey) obj;
+            return moduleIdentifier.equals(other.moduleIdentifier) && parentPath.equals(other.parentPath);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(moduleIdentifier, parentPath);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
+
+/**
+ * Records the functions executed during the startup phase of an application and replays such a
+ * recording on the next run.
+ *
+ * Functions are identified by the name or path of their source and the character range of their
+ * body. When recording, every function that is called for the first time within the configured
+ * duration is added to the profile, which replaces the profile file when a context is disposed.
+ * When replaying, functions whose translation has been deferred by {@code js.lazy-translation}
+ * are translated on a system thread of the parsing context as soon as their enclosing code has
+ * been parsed, if they are part of the profile, so that they are usually ready by the time they
+ * are first called.
+ */
+public final class StartupProfile {
+
+    private final long startTime;
+    private final long durationNanos;
+    /** Functions executed so far, or {@code null} if not recording. */
+    private final Set<String> recordedFunctions;
+    /** Functions to be prepared ahead of time, or {@code null} if not replaying. */
+    private final Set<String> replayedFunctions;
+    private final String recordPath;
+    /**
+     * Translates replayed functions on a system thread of the context that parsed them. Each
+     * executor is shut down when its context is disposed.
+     */
+    private final Map<TruffleLanguage.Env, ThreadPoolExecutor> executors = new HashMap<>();
+
+    private StartupProfile(String recordPath, int durationMillis, Set<String> replayedFunctions) {
+        this.startTime = System.nanoTime();
+        this.durationNanos = TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        this.recordPath = recordPath;
+        this.recordedFunctions = recordPath == null ? null : ConcurrentHashMap.newKeySet();
+        this.replayedFunctions = replayedFunctions;
+    }
+
+    /**
+     * Creates a startup profile for the given options, or returns {@code null} if neither recording
+     * nor replaying is enabled.
+     */
+    @TruffleBoundary
+    public static StartupProfile create(TruffleLanguage.Env env, String recordPath, int durationMillis, String replayPath) {
+        Set<String> replayed = replayPath.isEmpty() ? null : readProfile(env, replayPath);
+        if (recordPath.isEmpty() && replayed == null) {
+            return null;
+        }
+        return new StartupProfile(recordPath.isEmpty() ? null : recordPath, durationMillis, replayed);
+    }
+
+    public boolean isRecording() {
+        return recordedFunctions != null;
+    }
+
+    /**
+     * Adds a function that is called for the first time to the profile, if still in the startup
+     * phase.
+     */
+    @TruffleBoundary
+    public void recordFunction(CallTarget rootTarget) {
+        if (recordedFunctions == null || System.nanoTime() - startTime > durationNanos || !(rootTarget instanceof RootCallTarget)) {
+            return;
+        }
+        String key = functionKey(((RootCallTarget) rootTarget).getRootNode().getSourceSection());
+        if (key != null) {
+            recordedFunctions.add(key);
+        }
+    }
+
+    /**
+     * Schedules the translation of a lazily translated function, if it is part of the replayed
+     * profile.
+     */
+    @TruffleBoundary
+    public void prepareFunction(JSContext context, JSFunctionData functionData, SourceSection sourceSection) {
+        if (replayedFunctions == null) {
+            return;
+        }
+        String key = functionKey(sourceSection);
+        if (key != null && replayedFunctions.contains(key)) {
+            execute(context.getRealm().getEnv(), functionData::materialize);
+        }
+    }
+
+    /**
+     * Stops the background thread of the context that is being disposed. Functions that have not
+     * been translated yet are translated on first call.
+     */
+    @TruffleBoundary
+    public void disposeContext(TruffleLanguage.Env env) {
+        ThreadPoolExecutor stopped;
+        synchronized (this) {
+            stopped = executors.remove(env);
+        }
+        if (stopped == null) {
+            return;
+        }
+        stopped.shutdownNow();
+        try {
+            stopped.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the functions recorded so far to the profile file, replacing its previous content.
+     * Functions translated ahead of time are recorded on their first call as well, so functions
+     * that are no longer called during startup drop out of the profile.
+     */
+    @TruffleBoundary
+    public void write(TruffleLanguage.Env env) throws IOException {
+        if (recordedFunctions == null) {
+            return;
+        }
+        List<String> lines = new ArrayList<>(recordedFunctions);
+        Collections.sort(lines);
+        TruffleFile file = env.getPublicTruffleFile(recordPath);
+        try (BufferedWriter writer = file.newBufferedWriter(StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    private static Set<String> readProfile(TruffleLanguage.Env env, String path) {
+        Set<String> functions = new HashSet<>();
+        try (BufferedReader reader = env.getPublicTruffleFile(path).newBufferedReader(StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    functions.add(line);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // no profile recorded yet
+            return null;
+        } catch (IOException | SecurityException e) {
+            // the profile is only a hint, start without it
+            return null;
+        }
+        return functions;
+    }
+
+    private static String functionKey(SourceSection sourceSection) {
+        if (sourceSection == null || !sourceSection.isAvailable()) {
+            return null;
+        }
+        Source source = sourceSection.getSource();
+        if (source.isInternal()) {
+            return null;
+        }
+        String sourceName = source.getPath() != null ? source.getPath() : source.getName();
+        if (sourceName == null || sourceName.indexOf('\n') >= 0) {
+            return null;
+        }
+        return sourceSection.getCharIndex() + ":" + sourceSection.getCharLength() + ":" + sourceName;
+    }
+
+    private synchronized void execute(TruffleLanguage.Env env, Runnable task) {
+        ThreadPoolExecutor executor = executors.get(env);
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), (runnable) -> {
+                Thread thread = env.createSystemThread(runnable);
+                thread.setName("graal.js startup profile");
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            executors.put(env, executor);
+        }
+        executor.execute(task);
+    }
+}